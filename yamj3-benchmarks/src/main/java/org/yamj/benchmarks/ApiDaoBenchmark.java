@@ -0,0 +1,120 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.yamj.benchmarks.fixture.DatabaseSeeder;
+import org.yamj.core.api.model.dto.ApiPersonDTO;
+import org.yamj.core.api.model.dto.ApiVideoDTO;
+import org.yamj.core.api.options.OptionsId;
+import org.yamj.core.api.options.OptionsIndexVideo;
+import org.yamj.core.api.wrapper.ApiWrapperList;
+import org.yamj.core.database.dao.MetadataDao;
+import org.yamj.core.database.service.JsonApiStorageService;
+
+/**
+ * Benchmarks the index queries of the API against a seeded H2 database.
+ *
+ * Each parameter combination needs its own fork, because the database is seeded once per JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiDaoBenchmark {
+
+    @Param({"1000", "10000"})
+    public int movies;
+
+    private JsonApiStorageService jsonApiStorageService;
+
+    @Setup
+    public void setUp() {
+        jsonApiStorageService = BenchmarkContext.getBean(JsonApiStorageService.class);
+
+        DatabaseSeeder seeder = new DatabaseSeeder(
+                BenchmarkContext.getBean(PlatformTransactionManager.class),
+                BenchmarkContext.getBean(MetadataDao.class),
+                42L);
+        // one series with 2 seasons of 10 episodes for every 10 movies
+        seeder.seed(movies, movies / 10, 2, 10, movies);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public List<ApiVideoDTO> videoIndexMovies() {
+        OptionsIndexVideo options = new OptionsIndexVideo();
+        options.setType("movie");
+        options.setSortby("title");
+        options.setPerpage(50);
+        options.setPage(1);
+        return getVideoList(options);
+    }
+
+    @Benchmark
+    public List<ApiVideoDTO> videoIndexAllWithArtwork() {
+        OptionsIndexVideo options = new OptionsIndexVideo();
+        options.setType("all");
+        options.setSortby("title");
+        options.setArtwork("poster,fanart");
+        options.setPerpage(50);
+        options.setPage(3);
+        return getVideoList(options);
+    }
+
+    @Benchmark
+    public List<ApiVideoDTO> videoIndexSearch() {
+        OptionsIndexVideo options = new OptionsIndexVideo();
+        options.setType("movie,series");
+        options.setField("title");
+        options.setSearch("the");
+        options.setMode("ANY");
+        options.setSortby("title");
+        options.setPerpage(50);
+        return getVideoList(options);
+    }
+
+    @Benchmark
+    public List<ApiPersonDTO> personIndex() {
+        OptionsId options = new OptionsId();
+        options.setSortby("name");
+        options.setPerpage(50);
+        options.setPage(2);
+        ApiWrapperList<ApiPersonDTO> wrapper = new ApiWrapperList<>(options);
+        return jsonApiStorageService.getPersonList(wrapper, options);
+    }
+
+    private List<ApiVideoDTO> getVideoList(OptionsIndexVideo options) {
+        ApiWrapperList<ApiVideoDTO> wrapper = new ApiWrapperList<>(options);
+        return jsonApiStorageService.getVideoList(wrapper, options);
+    }
+}
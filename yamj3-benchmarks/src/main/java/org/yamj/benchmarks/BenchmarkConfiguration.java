@@ -0,0 +1,81 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.io.File;
+import java.util.Properties;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.config.PropertiesFactoryBean;
+import org.springframework.beans.factory.config.PropertyPlaceholderConfigurer;
+import org.springframework.context.annotation.*;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
+import org.yamj.common.tools.PropertyTools;
+import ro.fortsoft.pf4j.DefaultPluginManager;
+import ro.fortsoft.pf4j.PluginManager;
+
+/**
+ * Non-web variant of the core configuration, used to bootstrap the core services for benchmarks.
+ */
+@Configuration
+@ComponentScan(basePackages = "org.yamj.core", excludeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, value = WebMvcConfigurationSupport.class))
+public class BenchmarkConfiguration {
+
+    @Bean
+    public static PropertyPlaceholderConfigurer propertyConfigurer() {
+        final String yamjHome = System.getProperty("yamj3.home", ".");
+        
+        PropertyPlaceholderConfigurer configurer = new PropertyTools();
+        configurer.setIgnoreResourceNotFound(true);
+        configurer.setLocations(
+               new ClassPathResource("/yamj3-core-static.properties"),
+               new FileSystemResource(yamjHome + "/config/yamj3-core-static.properties"),
+               new FileSystemResource(yamjHome + "/config/yamj3-core-static.user.properties"));
+        return configurer;
+    }
+
+    @Bean
+    public FactoryBean<Properties> dynamicProperties() {
+        PropertiesFactoryBean factoryBean = new PropertiesFactoryBean();
+        // benchmark properties override the core defaults
+        factoryBean.setLocations(
+                new ClassPathResource("/yamj3-core-dynamic.properties"),
+                new ClassPathResource("/yamj3-benchmark-dynamic.properties"));
+        return factoryBean;
+    }
+
+    @Bean(destroyMethod="stopPlugins")
+    public PluginManager pluginManager() {
+        final String yamjHome = System.getProperty("yamj3.home", ".");
+        File pluginsDir = new File(yamjHome + "/plugins");
+        pluginsDir.mkdirs();
+
+        // plugins are only loaded if explicitly installed in the YAMJ home
+        PluginManager pluginManager = new DefaultPluginManager(pluginsDir);
+        pluginManager.loadPlugins();
+        pluginManager.startPlugins();
+        return pluginManager;
+    }
+}
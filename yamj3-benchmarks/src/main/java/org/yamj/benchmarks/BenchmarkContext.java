@@ -0,0 +1,111 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import org.apache.commons.io.FileUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.yamj.core.database.DatabaseType;
+
+/**
+ * Holds the core application context shared by all benchmarks of a JMH fork.
+ *
+ * The context runs against a H2 database within a temporary YAMJ home directory,
+ * which will be removed when the JVM terminates.
+ */
+public final class BenchmarkContext {
+
+    private static final String YAMJ3_HOME = "yamj3.home";
+    private static AnnotationConfigApplicationContext context;
+    private static File homeDirectory;
+    private static boolean temporaryHome = false;
+
+    private BenchmarkContext() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static synchronized AnnotationConfigApplicationContext getContext() {
+        if (context == null) {
+            try {
+                if (System.getProperty(YAMJ3_HOME) == null) {
+                    homeDirectory = Files.createTempDirectory("yamj3-benchmark").toFile();
+                    System.setProperty(YAMJ3_HOME, homeDirectory.getAbsolutePath());
+                    temporaryHome = true;
+                } else {
+                    homeDirectory = new File(System.getProperty(YAMJ3_HOME));
+                }
+                if (System.getProperty("spring.profiles.active") == null) {
+                    System.setProperty("spring.profiles.active", DatabaseType.H2);
+                }
+                if (System.getProperty("yamj3.database.port") == null) {
+                    // avoid clashes with a running YAMJ or other forks
+                    System.setProperty("yamj3.database.port", Integer.toString(freePort()));
+                }
+                
+                context = new AnnotationConfigApplicationContext(BenchmarkConfiguration.class);
+                
+                Runtime.getRuntime().addShutdownHook(new Thread() {
+                    @Override
+                    public void run() {
+                        close();
+                    }
+                });
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to create benchmark context", ex);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Close the context; must be called on tear down, cause the scheduler
+     * threads would otherwise prevent the forked JVM from exiting.
+     */
+    public static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+            if (temporaryHome) {
+                FileUtils.deleteQuietly(homeDirectory);
+            }
+        }
+    }
+
+    public static <T> T getBean(Class<T> requiredType) {
+        return getContext().getBean(requiredType);
+    }
+
+    public static synchronized File getHomeDirectory() {
+        getContext();
+        return homeDirectory;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FilenameUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.yamj.benchmarks.fixture.FilenameFixtures;
+import org.yamj.core.database.model.StageDirectory;
+import org.yamj.core.database.model.StageFile;
+import org.yamj.core.service.mediaimport.FilenameDTO;
+import org.yamj.core.service.mediaimport.FilenameScanner;
+
+/**
+ * Benchmarks the file name scanning of the media import.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilenameScannerBenchmark {
+
+    private static final int FILE_COUNT = 1000;
+
+    private FilenameScanner filenameScanner;
+    private StageFile[] stageFiles;
+
+    @Setup
+    public void setUp() {
+        filenameScanner = BenchmarkContext.getBean(FilenameScanner.class);
+
+        StageDirectory stageDirectory = new StageDirectory();
+        stageDirectory.setDirectoryPath("/media/videos");
+
+        List<String> fileNames = FilenameFixtures.generate(FILE_COUNT, 42L);
+        stageFiles = new StageFile[fileNames.size()];
+        for (int i = 0; i < stageFiles.length; i++) {
+            StageFile stageFile = new StageFile();
+            stageFile.setStageDirectory(stageDirectory);
+            stageFile.setBaseName(FilenameUtils.removeExtension(fileNames.get(i)));
+            stageFile.setExtension(FilenameUtils.getExtension(fileNames.get(i)));
+            stageFiles[i] = stageFile;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_COUNT)
+    public void scan(Blackhole blackhole) {
+        for (StageFile stageFile : stageFiles) {
+            FilenameDTO dto = new FilenameDTO(stageFile);
+            filenameScanner.scan(dto);
+            blackhole.consume(dto);
+        }
+    }
+}
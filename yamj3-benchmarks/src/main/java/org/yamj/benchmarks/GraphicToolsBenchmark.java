@@ -0,0 +1,89 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.sanselan.ImageReadException;
+import org.openjdk.jmh.annotations.*;
+import org.yamj.benchmarks.fixture.ImageFixtures;
+import org.yamj.core.tools.image.GraphicTools;
+
+/**
+ * Benchmarks the image operations used when generating artwork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class GraphicToolsBenchmark {
+
+    /** Size of the source image, as width x height */
+    @Param({"1000x1500", "2000x3000"})
+    public String sourceSize;
+
+    private BufferedImage image;
+    private File imageFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] size = sourceSize.split("x");
+        image = ImageFixtures.createImage(Integer.parseInt(size[0]), Integer.parseInt(size[1]), 42L);
+
+        imageFile = ImageFixtures.writeJPEG(image, File.createTempFile("poster-" + sourceSize, ".jpg"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        imageFile.delete();
+    }
+
+    @Benchmark
+    public BufferedImage loadJPEGImage() throws IOException, ImageReadException {
+        return GraphicTools.loadJPEGImage(imageFile);
+    }
+
+    @Benchmark
+    public BufferedImage scaleToSize() {
+        return GraphicTools.scaleToSize(400, 600, image);
+    }
+
+    @Benchmark
+    public BufferedImage scaleToSizeNormalized() {
+        return GraphicTools.scaleToSizeNormalized(400, 600, image);
+    }
+
+    @Benchmark
+    public BufferedImage cropToSize() {
+        return GraphicTools.cropToSize(400, 400, image);
+    }
+
+    @Benchmark
+    public BufferedImage createReflectedPicture() {
+        return GraphicTools.createReflectedPicture(GraphicTools.scaleToSize(400, 600, image));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.yamj.benchmarks.fixture.FilenameFixtures;
+import org.yamj.core.CachingNames;
+import org.yamj.core.service.various.IdentifierService;
+
+/**
+ * Benchmarks the identifier cleaning used for every stored video, series and person.
+ *
+ * The cleaning is measured with an empty memo cache and with all names served from the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdentifierServiceBenchmark {
+
+    private static final int NAME_COUNT = 500;
+
+    private IdentifierService identifierService;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        identifierService = BenchmarkContext.getBean(IdentifierService.class);
+
+        List<String> fileNames = FilenameFixtures.generate(NAME_COUNT, 42L);
+        names = fileNames.toArray(new String[fileNames.size()]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    /**
+     * Clears the memo cache before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class EmptyCache {
+
+        private Cache identifierCache;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            identifierCache = BenchmarkContext.getBean(CacheManager.class).getCache(CachingNames.SERVICE_IDENTIFIER);
+        }
+
+        @Setup(Level.Invocation)
+        public void clear() {
+            identifierCache.clear();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void cleanIdentifier(EmptyCache emptyCache, Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(identifierService.cleanIdentifier(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void cleanIdentifierCached(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(identifierService.cleanIdentifier(name));
+        }
+    }
+}
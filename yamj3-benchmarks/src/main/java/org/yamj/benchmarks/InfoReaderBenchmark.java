@@ -0,0 +1,86 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FilenameUtils;
+import org.openjdk.jmh.annotations.*;
+import org.yamj.benchmarks.fixture.NfoFixtures;
+import org.yamj.core.database.model.StageDirectory;
+import org.yamj.core.database.model.StageFile;
+import org.yamj.core.service.metadata.nfo.InfoDTO;
+import org.yamj.core.service.metadata.nfo.InfoReader;
+
+/**
+ * Benchmarks the reading of NFO files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InfoReaderBenchmark {
+
+    @Param({NfoFixtures.TYPE_MOVIE, NfoFixtures.TYPE_TVSHOW, NfoFixtures.TYPE_MOVIE_URL})
+    public String nfoType;
+
+    @Param({"5", "50"})
+    public int actors;
+
+    private InfoReader infoReader;
+    private StageFile stageFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        infoReader = BenchmarkContext.getBean(InfoReader.class);
+
+        File directory = new File(BenchmarkContext.getHomeDirectory(), "nfo");
+        File nfoFile = NfoFixtures.write(directory, nfoType, NfoFixtures.generate(nfoType, actors, 42L));
+
+        StageDirectory stageDirectory = new StageDirectory();
+        stageDirectory.setDirectoryPath(FilenameUtils.separatorsToUnix(directory.getAbsolutePath()));
+        stageFile = new StageFile();
+        stageFile.setStageDirectory(stageDirectory);
+        stageFile.setBaseName(FilenameUtils.getBaseName(nfoFile.getName()));
+        stageFile.setExtension(FilenameUtils.getExtension(nfoFile.getName()));
+        stageFile.setFullPath(nfoFile.getAbsolutePath());
+        stageFile.setFileDate(new Date(nfoFile.lastModified()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public InfoDTO readNfoFile() {
+        InfoDTO dto = new InfoDTO(new HashMap<String, String>(0), NfoFixtures.TYPE_TVSHOW.equals(nfoType));
+        infoReader.readNfoFile(stageFile, dto);
+        return dto;
+    }
+}
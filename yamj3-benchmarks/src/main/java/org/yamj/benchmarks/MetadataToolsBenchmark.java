@@ -0,0 +1,53 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.yamj.plugin.api.metadata.MetadataTools;
+
+/**
+ * Benchmarks the date parsing used by the NFO reader and the online scanners.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataToolsBenchmark {
+
+    @Param({"2008-07-18", "18.07.2008", "07/18/2008", "July 18, 2008", "18 July 2008", "2008-07-18T20:15:00", "2008"})
+    public String date;
+
+    @Benchmark
+    public Date parseToDate() {
+        return MetadataTools.parseToDate(date);
+    }
+
+    @Benchmark
+    public int extractYearAsInt() {
+        return MetadataTools.extractYearAsInt(date);
+    }
+}
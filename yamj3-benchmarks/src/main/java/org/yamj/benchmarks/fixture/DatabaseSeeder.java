@@ -0,0 +1,224 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks.fixture;
+
+import static org.yamj.plugin.api.model.type.ArtworkType.*;
+
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yamj.common.type.StatusType;
+import org.yamj.core.database.dao.MetadataDao;
+import org.yamj.core.database.model.*;
+import org.yamj.plugin.api.model.type.ArtworkType;
+
+/**
+ * Seeds the database with movies, series and persons.
+ *
+ * The entities are stored in the same way the media import creates them, but
+ * with status DONE, so that no scanner will pick them up.
+ */
+public final class DatabaseSeeder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseSeeder.class);
+    private static final String SOURCE = "benchmark";
+    private static final int BATCH_SIZE = 250;
+    private static final String[] FIRST_NAMES = new String[]{"Christian", "Heath", "Aaron", "Maggie", "Gary", "Marion", "Jürgen", "Zoë", "François", "Ken"};
+    private static final String[] LAST_NAMES = new String[]{"Bale", "Ledger", "Eckhart", "Gyllenhaal", "Oldman", "Cotillard", "Prochnow", "Saldaña", "Cluzet", "Watanabe"};
+
+    private final TransactionTemplate transactionTemplate;
+    private final MetadataDao metadataDao;
+    private final Random random;
+
+    public DatabaseSeeder(PlatformTransactionManager transactionManager, MetadataDao metadataDao, long seed) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metadataDao = metadataDao;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Seed the database.
+     *
+     * @param movies number of movies
+     * @param series number of series
+     * @param seasons number of seasons per series
+     * @param episodes number of episodes per season
+     * @param persons number of persons
+     */
+    public void seed(int movies, final int series, final int seasons, final int episodes, int persons) {
+        LOG.info("Seeding database with {} movies, {} series and {} persons", movies, series, persons);
+
+        for (int start = 0; start < movies; start += BATCH_SIZE) {
+            final int from = start;
+            final int to = Math.min(movies, start + BATCH_SIZE);
+            inTransaction(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = from; i < to; i++) {
+                        createMovie(i);
+                    }
+                }
+            });
+        }
+
+        // episodes are stored together with their series
+        final int seriesBatch = Math.max(1, BATCH_SIZE / Math.max(1, seasons * episodes));
+        for (int start = 0; start < series; start += seriesBatch) {
+            final int from = start;
+            final int to = Math.min(series, start + seriesBatch);
+            inTransaction(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = from; i < to; i++) {
+                        createSeries(i, seasons, episodes);
+                    }
+                }
+            });
+        }
+
+        for (int start = 0; start < persons; start += BATCH_SIZE) {
+            final int from = start;
+            final int to = Math.min(persons, start + BATCH_SIZE);
+            inTransaction(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = from; i < to; i++) {
+                        createPerson(i);
+                    }
+                }
+            });
+        }
+    }
+
+    private void inTransaction(final Runnable runnable) {
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                runnable.run();
+                metadataDao.flushAndClear();
+            }
+        });
+    }
+
+    private void createMovie(int index) {
+        final String title = FilenameFixtures.randomTitle(random);
+        final int year = FilenameFixtures.randomYear(random);
+
+        VideoData videoData = new VideoData(identifier(title, year, index));
+        videoData.setTitle(title, SOURCE);
+        videoData.setTitleOriginal(title, SOURCE);
+        videoData.setTitleSort(title);
+        videoData.setPublicationYear(year, SOURCE);
+        videoData.setStatus(StatusType.DONE);
+        videoData.setTrailerStatus(StatusType.DONE);
+        metadataDao.saveEntity(videoData);
+
+        createArtwork(POSTER, videoData, null, null);
+        createArtwork(FANART, videoData, null, null);
+    }
+
+    private void createSeries(int index, int seasons, int episodes) {
+        final String title = FilenameFixtures.randomTitle(random);
+        final int year = FilenameFixtures.randomYear(random);
+        final String seriesIdentifier = identifier(title, year, index);
+
+        Series series = new Series(seriesIdentifier);
+        series.setTitle(title, SOURCE);
+        series.setTitleOriginal(title, SOURCE);
+        series.setTitleSort(title);
+        series.setStatus(StatusType.DONE);
+        series.setTrailerStatus(StatusType.DONE);
+        metadataDao.saveEntity(series);
+
+        createArtwork(POSTER, null, null, series);
+        createArtwork(FANART, null, null, series);
+        createArtwork(BANNER, null, null, series);
+
+        for (int s = 1; s <= seasons; s++) {
+            Season season = new Season(seriesIdentifier + "_S" + s);
+            season.setSeason(s);
+            season.setTitle(title, SOURCE);
+            season.setTitleOriginal(title, SOURCE);
+            season.setTitleSort(title);
+            season.setPublicationYear(year + s - 1, SOURCE);
+            season.setSeries(series);
+            season.setStatus(StatusType.DONE);
+            metadataDao.saveEntity(season);
+
+            createArtwork(POSTER, null, season, null);
+
+            for (int e = 1; e <= episodes; e++) {
+                VideoData videoData = new VideoData(seriesIdentifier + "_S" + s + "E" + e);
+                videoData.setTitle("Episode " + e, SOURCE);
+                videoData.setTitleOriginal("Episode " + e, SOURCE);
+                videoData.setTitleSort("Episode " + e);
+                videoData.setSeason(season);
+                videoData.setEpisode(e);
+                videoData.setStatus(StatusType.DONE);
+                videoData.setTrailerStatus(StatusType.DONE);
+                metadataDao.saveEntity(videoData);
+
+                createArtwork(VIDEOIMAGE, videoData, null, null);
+            }
+        }
+    }
+
+    private void createPerson(int index) {
+        final String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        final String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        final String name = firstName + " " + lastName;
+
+        Person person = new Person(name.replace(' ', '_') + "_" + index);
+        person.setName(name, SOURCE);
+        person.setFirstName(firstName, SOURCE);
+        person.setLastName(lastName, SOURCE);
+        person.setStatus(StatusType.DONE);
+        person.setFilmographyStatus(StatusType.DONE);
+        metadataDao.saveEntity(person);
+
+        Artwork photo = new Artwork();
+        photo.setArtworkType(PHOTO);
+        photo.setPerson(person);
+        photo.setStatus(StatusType.DONE);
+        person.setPhoto(photo);
+        metadataDao.saveEntity(photo);
+    }
+
+    private void createArtwork(ArtworkType artworkType, VideoData videoData, Season season, Series series) {
+        Artwork artwork = new Artwork();
+        artwork.setArtworkType(artworkType);
+        artwork.setStatus(StatusType.DONE);
+        artwork.setVideoData(videoData);
+        artwork.setSeason(season);
+        artwork.setSeries(series);
+        metadataDao.saveEntity(artwork);
+    }
+
+    private static String identifier(String title, int year, int index) {
+        return title.replaceAll("[^\\p{L}\\p{N}]+", "_") + "_" + year + "_" + index;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks.fixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates realistic media file names, as found in typical libraries.
+ *
+ * The generated names are deterministic for a given seed, so benchmark runs are comparable.
+ */
+public final class FilenameFixtures {
+
+    public static final String[] TITLES = new String[]{
+        "The Dark Knight", "Inception", "Amélie", "Léon The Professional", "Die Fälscher",
+        "Crouching Tiger, Hidden Dragon", "Star Wars Episode IV - A New Hope", "Ocean's Eleven",
+        "WALL·E", "Æon Flux", "The Lord of the Rings The Return of the King", "Das Boot",
+        "La vita è bella", "Spirited Away", "Pan's Labyrinth", "Once Upon a Time in the West",
+        "2001 A Space Odyssey", "Se7en", "Mission Impossible - Ghost Protocol", "Blade Runner 2049",
+        "Game of Thrones", "Breaking Bad", "The Wire", "Doctor Who", "Dark", "Les Revenants",
+        "Sherlock", "The Office (US)", "Borgen", "Stranger Things"
+    };
+    private static final String[] EPISODE_TITLES = new String[]{
+        "Pilot", "Winter Is Coming", "The Kingsroad", "Lord Snow", "Ozymandias", "A Study in Pink", "Secrets"
+    };
+    private static final String[] QUALITIES = new String[]{"480p", "720p", "1080p", "2160p", "SDTV", "HDTV"};
+    private static final String[] SOURCES = new String[]{"BluRay", "BDRip", "WEB-DL", "HDTV", "DVDRip", "REMUX"};
+    private static final String[] CODECS = new String[]{"x264", "x265", "XviD", "H.264", "HEVC"};
+    private static final String[] AUDIO = new String[]{"DTS", "AC3", "DD5.1", "AAC", "TrueHD"};
+    private static final String[] LANGUAGES = new String[]{"German", "FRENCH", "ita", "Multi", "DL"};
+    private static final String[] GROUPS = new String[]{"SPARKS", "DIMENSION", "AMIABLE", "YIFY", "KILLERS"};
+    private static final String[] EXTENSIONS = new String[]{"mkv", "mkv", "mkv", "avi", "mp4", "m2ts", "iso"};
+    private static final String[] SEPARATORS = new String[]{".", " ", "_"};
+
+    private FilenameFixtures() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Generate a list of movie and episode file names.
+     *
+     * @param count the number of file names
+     * @param seed the random seed
+     * @return the file names
+     */
+    public static List<String> generate(int count, long seed) {
+        final Random random = new Random(seed);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(10)) {
+                case 0:
+                case 1:
+                case 2:
+                case 3:
+                    names.add(movieRelease(random));
+                    break;
+                case 4:
+                    names.add(movieSimple(random));
+                    break;
+                case 5:
+                case 6:
+                case 7:
+                    names.add(episodeRelease(random));
+                    break;
+                case 8:
+                    names.add(episodeSimple(random));
+                    break;
+                default:
+                    names.add(movieExtra(random));
+                    break;
+            }
+        }
+        return names;
+    }
+
+    public static String randomTitle(Random random) {
+        return pick(random, TITLES);
+    }
+
+    public static int randomYear(Random random) {
+        return 1950 + random.nextInt(70);
+    }
+
+    // The.Dark.Knight.2008.German.1080p.BluRay.DTS.x264-SPARKS.mkv
+    private static String movieRelease(Random random) {
+        final String sep = pick(random, SEPARATORS);
+        StringBuilder sb = new StringBuilder();
+        sb.append(replaceSpaces(randomTitle(random), sep)).append(sep).append(randomYear(random)).append(sep);
+        if (random.nextInt(3) == 0) {
+            sb.append(pick(random, LANGUAGES)).append(sep);
+        }
+        sb.append(pick(random, QUALITIES)).append(sep);
+        sb.append(pick(random, SOURCES)).append(sep);
+        sb.append(pick(random, AUDIO)).append(sep);
+        sb.append(pick(random, CODECS)).append('-').append(pick(random, GROUPS));
+        if (random.nextInt(8) == 0) {
+            sb.append(sep).append("CD").append(1 + random.nextInt(2));
+        }
+        return sb.append('.').append(pick(random, EXTENSIONS)).toString();
+    }
+
+    // Inception (2010) [SET Nolan-3].mkv
+    private static String movieSimple(Random random) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(randomTitle(random)).append(" (").append(randomYear(random)).append(')');
+        if (random.nextBoolean()) {
+            sb.append(" [SET ").append(pick(random, GROUPS)).append('-').append(1 + random.nextInt(5)).append(']');
+        }
+        return sb.append('.').append(pick(random, EXTENSIONS)).toString();
+    }
+
+    // Inception (2010) [EXTRA Making Of].mkv
+    private static String movieExtra(Random random) {
+        return randomTitle(random) + " (" + randomYear(random) + ") [EXTRA Making Of].mkv";
+    }
+
+    // Game.of.Thrones.S01E01E02.Winter.Is.Coming.720p.HDTV.x264-KILLERS.mkv
+    private static String episodeRelease(Random random) {
+        final String sep = pick(random, SEPARATORS);
+        final int episode = 1 + random.nextInt(22);
+        StringBuilder sb = new StringBuilder();
+        sb.append(replaceSpaces(randomTitle(random), sep)).append(sep);
+        sb.append(String.format("S%02dE%02d", 1 + random.nextInt(10), episode));
+        if (random.nextInt(6) == 0) {
+            sb.append(String.format("E%02d", episode + 1));
+        }
+        sb.append(sep).append(replaceSpaces(pick(random, EPISODE_TITLES), sep)).append(sep);
+        sb.append(pick(random, QUALITIES)).append(sep);
+        sb.append(pick(random, SOURCES)).append(sep);
+        sb.append(pick(random, CODECS)).append('-').append(pick(random, GROUPS));
+        return sb.append('.').append(pick(random, EXTENSIONS)).toString();
+    }
+
+    // Doctor Who 3x05 - Secrets.avi
+    private static String episodeSimple(Random random) {
+        return randomTitle(random) + " " + (1 + random.nextInt(10)) + "x" + String.format("%02d", 1 + random.nextInt(22))
+                + " - " + pick(random, EPISODE_TITLES) + "." + pick(random, EXTENSIONS);
+    }
+
+    private static String replaceSpaces(String value, String sep) {
+        return value.replace(" ", sep);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
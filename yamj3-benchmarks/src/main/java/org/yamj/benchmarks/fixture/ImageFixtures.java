@@ -0,0 +1,94 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks.fixture;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+/**
+ * Generates poster like images.
+ */
+public final class ImageFixtures {
+
+    private ImageFixtures() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Create an image with gradients, shapes and text, so that scaling and
+     * JPEG compression behave like on real artwork.
+     *
+     * @param width
+     * @param height
+     * @param seed the random seed
+     * @return the image
+     */
+    public static BufferedImage createImage(int width, int height, long seed) {
+        final Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setPaint(new GradientPaint(0, 0, randomColor(random), width, height, randomColor(random)));
+            g2d.fillRect(0, 0, width, height);
+
+            for (int i = 0; i < 60; i++) {
+                g2d.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 64 + random.nextInt(128)));
+                int w = 1 + random.nextInt(width / 3);
+                int h = 1 + random.nextInt(height / 3);
+                if (random.nextBoolean()) {
+                    g2d.fillOval(random.nextInt(width), random.nextInt(height), w, h);
+                } else {
+                    g2d.fillRect(random.nextInt(width), random.nextInt(height), w, h);
+                }
+            }
+
+            // some noise, as found in photos
+            for (int i = 0; i < (width * height) / 20; i++) {
+                image.setRGB(random.nextInt(width), random.nextInt(height), random.nextInt(0xFFFFFF));
+            }
+
+            g2d.setColor(Color.WHITE);
+            g2d.setFont(new Font(Font.SANS_SERIF, Font.BOLD, Math.max(12, width / 12)));
+            g2d.drawString(FilenameFixtures.randomTitle(random), width / 20, height - height / 10);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    public static File writeJPEG(BufferedImage image, File file) throws IOException {
+        if (!ImageIO.write(image, "jpg", file)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return file;
+    }
+
+    private static Color randomColor(Random random) {
+        return new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.benchmarks.fixture;
+
+import static org.yamj.plugin.api.Constants.UTF8;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * Generates NFO files in the XBMC/Kodi format.
+ */
+public final class NfoFixtures {
+
+    public static final String TYPE_MOVIE = "movie";
+    public static final String TYPE_TVSHOW = "tvshow";
+    public static final String TYPE_MOVIE_URL = "movieWithUrl";
+
+    private static final String[] GENRES = new String[]{"Action", "Drama", "Crime", "Thriller", "Science Fiction", "Comedy", "Animation"};
+    private static final String[] COUNTRIES = new String[]{"USA", "United Kingdom", "Germany", "France", "Japan"};
+    private static final String[] STUDIOS = new String[]{"Warner Bros.", "Legendary Pictures", "Studio Ghibli", "Canal+", "HBO"};
+    private static final String[] FIRST_NAMES = new String[]{"Christian", "Heath", "Aaron", "Maggie", "Gary", "Marion", "Jürgen", "Zoë", "François"};
+    private static final String[] LAST_NAMES = new String[]{"Bale", "Ledger", "Eckhart", "Gyllenhaal", "Oldman", "Cotillard", "Prochnow", "Saldaña", "Cluzet"};
+    private static final String PLOT = "When the menace known as the Joker wreaks havoc and chaos on the people of Gotham, "
+            + "the Dark Knight must accept one of the greatest psychological and physical tests of his ability to fight injustice. ";
+
+    private NfoFixtures() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Generate the content of a NFO file.
+     *
+     * @param type the NFO type; one of TYPE_MOVIE, TYPE_TVSHOW or TYPE_MOVIE_URL
+     * @param actors number of actors
+     * @param seed the random seed
+     * @return the NFO content
+     */
+    public static String generate(String type, int actors, long seed) {
+        final Random random = new Random(seed);
+        if (TYPE_TVSHOW.equals(type)) {
+            return tvShowNfo(random, actors);
+        }
+        if (TYPE_MOVIE_URL.equals(type)) {
+            // XML followed by a plain URL is a common variant
+            return movieNfo(random, actors) + "\nhttp://www.imdb.com/title/tt0468569/\n";
+        }
+        return movieNfo(random, actors);
+    }
+
+    public static File write(File directory, String baseName, String content) throws IOException {
+        File nfoFile = new File(directory, baseName + ".nfo");
+        FileUtils.writeStringToFile(nfoFile, content, UTF8);
+        return nfoFile;
+    }
+
+    private static String movieNfo(Random random, int actors) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\" ?>\n");
+        sb.append("<movie>\n");
+        appendCommon(sb, random, actors);
+        sb.append("  <id>tt").append(1000000 + random.nextInt(8999999)).append("</id>\n");
+        sb.append("  <id moviedb=\"tmdb\">").append(random.nextInt(500000)).append("</id>\n");
+        sb.append("  <set order=\"").append(1 + random.nextInt(3)).append("\">The Dark Knight Collection</set>\n");
+        sb.append("  <director>Christopher Nolan</director>\n");
+        sb.append("  <credits>Jonathan Nolan</credits>\n");
+        sb.append("  <credits>David S. Goyer</credits>\n");
+        sb.append("  <trailer>http://www.example.com/trailer/").append(random.nextInt(100000)).append(".mp4</trailer>\n");
+        sb.append("  <fileinfo><streamdetails><video><codec>h264</codec><aspect>2.40</aspect><width>1920</width><height>800</height></video>");
+        sb.append("<audio><codec>dts</codec><language>eng</language><channels>6</channels></audio></streamdetails></fileinfo>\n");
+        sb.append("</movie>\n");
+        return sb.toString();
+    }
+
+    private static String tvShowNfo(Random random, int actors) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\" ?>\n");
+        sb.append("<tvshow>\n");
+        appendCommon(sb, random, actors);
+        sb.append("  <id>").append(70000 + random.nextInt(300000)).append("</id>\n");
+        sb.append("  <episodeguide><url cache=\"auth.json\">https://api.thetvdb.com/login</url></episodeguide>\n");
+        sb.append("</tvshow>\n");
+        for (int episode = 1; episode <= 10; episode++) {
+            sb.append("<episodedetails>\n");
+            sb.append("  <title>Episode ").append(episode).append("</title>\n");
+            sb.append("  <season>1</season>\n");
+            sb.append("  <episode>").append(episode).append("</episode>\n");
+            sb.append("  <rating>").append(5 + random.nextInt(5)).append(".").append(random.nextInt(10)).append("</rating>\n");
+            sb.append("  <aired>2011-04-").append(String.format("%02d", episode)).append("</aired>\n");
+            sb.append("  <plot>").append(escape(PLOT)).append("</plot>\n");
+            sb.append("</episodedetails>\n");
+        }
+        return sb.toString();
+    }
+
+    private static void appendCommon(StringBuilder sb, Random random, int actors) {
+        final String title = FilenameFixtures.randomTitle(random);
+        sb.append("  <title>").append(escape(title)).append("</title>\n");
+        sb.append("  <originaltitle>").append(escape(title)).append("</originaltitle>\n");
+        sb.append("  <sorttitle>").append(escape(title)).append("</sorttitle>\n");
+        sb.append("  <year>").append(FilenameFixtures.randomYear(random)).append("</year>\n");
+        sb.append("  <rating>").append(random.nextInt(10)).append(".").append(random.nextInt(10)).append("</rating>\n");
+        sb.append("  <votes>").append(random.nextInt(2000000)).append("</votes>\n");
+        sb.append("  <top250>").append(random.nextInt(250)).append("</top250>\n");
+        sb.append("  <outline>").append(escape(PLOT)).append("</outline>\n");
+        sb.append("  <plot>").append(escape(PLOT)).append(escape(PLOT)).append("</plot>\n");
+        sb.append("  <tagline>Why So Serious?</tagline>\n");
+        sb.append("  <runtime>").append(80 + random.nextInt(100)).append("</runtime>\n");
+        sb.append("  <mpaa>Rated PG-13 for intense sequences of violence and some menace</mpaa>\n");
+        sb.append("  <certification>USA:PG-13 / Germany:16</certification>\n");
+        sb.append("  <premiered>").append(FilenameFixtures.randomYear(random)).append("-07-18</premiered>\n");
+        sb.append("  <studio>").append(escape(pick(random, STUDIOS))).append("</studio>\n");
+        sb.append("  <watched>").append(random.nextBoolean()).append("</watched>\n");
+        sb.append("  <thumb>http://www.example.com/poster/").append(random.nextInt(100000)).append(".jpg</thumb>\n");
+        sb.append("  <fanart><thumb>http://www.example.com/fanart/").append(random.nextInt(100000)).append(".jpg</thumb></fanart>\n");
+        for (int i = 0; i < 3; i++) {
+            sb.append("  <genre>").append(pick(random, GENRES)).append("</genre>\n");
+        }
+        sb.append("  <country>").append(pick(random, COUNTRIES)).append("</country>\n");
+        for (int i = 0; i < actors; i++) {
+            sb.append("  <actor>\n");
+            sb.append("    <name>").append(escape(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES))).append("</name>\n");
+            sb.append("    <role>Role ").append(i + 1).append(" / Voice</role>\n");
+            sb.append("    <thumb>http://www.example.com/person/").append(random.nextInt(100000)).append(".jpg</thumb>\n");
+            sb.append("  </actor>\n");
+        }
+    }
+
+    private static String escape(String value) {
+        return StringEscapeUtils.escapeXml10(value);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -23,8 +23,37 @@
 package org.yamj.common.remote.service;
 
 import org.yamj.common.dto.ImportDTO;
+import org.yamj.common.type.StatusType;
 
 public interface FileImportService {
 
+    /**
+     * Import a scanned directory synchronously.
+     *
+     * @param importDTO
+     */
     void importScanned(ImportDTO importDTO);
+
+    /**
+     * Spool a scanned directory for asynchronous import.
+     *
+     * @param importDTO
+     * @return the key to poll the import status with
+     */
+    String enqueueScanned(ImportDTO importDTO);
+
+    /**
+     * Get the import status of a spooled directory.
+     *
+     * @param key the key returned by enqueueScanned
+     * @return NEW if still pending, DONE or ERROR if finished, NOTFOUND if unknown
+     */
+    StatusType getImportStatus(String key);
+
+    /**
+     * Get the number of spooled directories waiting for import.
+     *
+     * @return the inbox depth
+     */
+    int getInboxSize();
 }
@@ -82,6 +82,9 @@ public class CachingConfiguration implements CachingConfigurer {
                 .cache(cacheConfig(API_BOXEDSETS, 5000, TTL_ONE_WEEK))
                 .cache(cacheConfig(API_TRAILERS, 5000, TTL_ONE_WEEK))
                 .cache(cacheConfig(API_VIDEOSOURCE, 5000, TTL_ONE_WEEK))
+                
+                // caches for services
+                .cache(cacheConfig(SERVICE_IDENTIFIER, 10000, TTL_ONE_DAY))
             );
     }
 
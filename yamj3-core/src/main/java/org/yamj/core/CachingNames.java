@@ -45,6 +45,8 @@ public final class CachingNames {
     public static final String API_BOXEDSETS = "api_boxsets"; 
     public static final String API_TRAILERS = "api_trailers"; 
     public static final String API_VIDEOSOURCE = "api_videosource"; 
+
+    public static final String SERVICE_IDENTIFIER = "service_identifier";
     
     private CachingNames() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
@@ -35,12 +35,14 @@ import org.yamj.core.service.artwork.ArtworkInitialization;
 import org.yamj.core.service.artwork.ArtworkScannerService;
 import org.yamj.core.service.metadata.extras.ExtrasScannerService;
 import org.yamj.core.service.metadata.online.OnlineScannerService;
+import org.yamj.core.service.plugin.PluginInvoker;
 import org.yamj.core.service.trailer.TrailerProcessorService;
 import org.yamj.core.service.trailer.TrailerScannerService;
 import org.yamj.plugin.api.NeedsConfigService;
 import org.yamj.plugin.api.NeedsHttpClient;
 import org.yamj.plugin.api.NeedsLocaleService;
 import org.yamj.plugin.api.NeedsMetadataService;
+import org.yamj.plugin.api.OnlineScanner;
 import org.yamj.plugin.api.artwork.ArtworkScanner;
 import org.yamj.plugin.api.extras.ExtrasScanner;
 import org.yamj.plugin.api.metadata.MetadataScanner;
@@ -74,6 +76,8 @@ public class PluginExtensionInitialization {
     private TrailerProcessorService trailerProcessorService;
     @Autowired
     private ExtrasScannerService extrasScannerService;
+    @Autowired
+    private PluginInvoker pluginInvoker;
     
     @PostConstruct
     public void init() {
@@ -81,22 +85,22 @@ public class PluginExtensionInitialization {
         
         for (MetadataScanner metadataScanner : pluginManager.getExtensions(MetadataScanner.class)) {
             initExtensionPoint(metadataScanner);
-            onlineScannerService.registerMetadataScanner(metadataScanner);
+            onlineScannerService.registerMetadataScanner(guard(metadataScanner, MetadataScanner.class));
         }
         
         for (ExtrasScanner extrasScanner : pluginManager.getExtensions(ExtrasScanner.class)) {
             initExtensionPoint(extrasScanner);
-            extrasScannerService.registerExtraScanner(extrasScanner);
+            extrasScannerService.registerExtraScanner(guard(extrasScanner, ExtrasScanner.class));
         }
 
         for (ArtworkScanner artworkScanner : pluginManager.getExtensions(ArtworkScanner.class)) {
             initExtensionPoint(artworkScanner);
-            artworkScannerService.registerArtworkScanner(artworkScanner);
+            artworkScannerService.registerArtworkScanner(guard(artworkScanner, ArtworkScanner.class));
         }
 
         for (TrailerScanner trailerScanner : pluginManager.getExtensions(TrailerScanner.class)) {
             initExtensionPoint(trailerScanner);
-            trailerScannerService.registerTrailerScanner(trailerScanner);
+            trailerScannerService.registerTrailerScanner(guard(trailerScanner, TrailerScanner.class));
         }
 
         for (TrailerDownloadBuilder downloadBuilder : pluginManager.getExtensions(TrailerDownloadBuilder.class)) {
@@ -105,6 +109,14 @@ public class PluginExtensionInitialization {
         }
     }
     
+    /**
+     * Route all calls of an online scanner through the plugin invoker,
+     * so that a hanging or failing provider can't stall the scanning queues.
+     */
+    private <T extends OnlineScanner> T guard(T onlineScanner, Class<T> type) {
+        return pluginInvoker.guard(onlineScanner, onlineScanner.getScannerName(), type);
+    }
+
     private void initExtensionPoint(ExtensionPoint extensionPoint) {
         if (extensionPoint instanceof NeedsConfigService) {
             ((NeedsConfigService)extensionPoint).setConfigService(congfigServiceWrapper);
@@ -51,6 +51,8 @@ import org.yamj.api.common.http.PoolingHttpClient;
 import org.yamj.common.tools.PropertyTools;
 import org.yamj.core.config.ConfigServiceWrapper;
 import org.yamj.core.config.LocaleService;
+import org.yamj.core.service.metrics.MetricsRegistry;
+import org.yamj.core.web.RequestMetricsInterceptor;
 import org.yamj.plugin.api.NeedsConfigService;
 import org.yamj.plugin.api.NeedsHttpClient;
 import org.yamj.plugin.api.NeedsLocaleService;
@@ -66,6 +68,8 @@ public class YamjConfiguration extends WebMvcConfigurationSupport {
     private LocaleService localeService;
     @Autowired
     private PoolingHttpClient poolingHttpClient;
+    @Autowired
+    private MetricsRegistry metricsRegistry;
     
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
@@ -157,6 +161,7 @@ public class YamjConfiguration extends WebMvcConfigurationSupport {
         LocaleChangeInterceptor interceptor = new LocaleChangeInterceptor();
         interceptor.setParamName("language");
         registry.addInterceptor(interceptor);
+        registry.addInterceptor(new RequestMetricsInterceptor(metricsRegistry));
     }
 
     @Bean(destroyMethod="stopPlugins")
@@ -25,6 +25,7 @@ package org.yamj.core.api.json;
 import java.io.FileInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -45,7 +46,8 @@ import org.yamj.core.database.service.ArtworkStorageService;
 import org.yamj.core.database.service.CommonStorageService;
 import org.yamj.core.database.service.JsonApiStorageService;
 import org.yamj.core.scheduling.ArtworkProcessScheduler;
-import org.yamj.core.service.artwork.ArtworkProcessorService;
+import org.yamj.core.scheduling.ArtworkRegenerationScheduler;
+import org.yamj.core.service.artwork.ArtworkGenerationCoordinator;
 import org.yamj.core.service.artwork.ArtworkUploadService;
 import org.yamj.core.service.artwork.ImageDTO;
 import org.yamj.core.service.file.FileStorageService;
@@ -68,7 +70,9 @@ public class ArtworkController {
     @Autowired
     private ArtworkStorageService artworkStorageService;
     @Autowired
-    private ArtworkProcessorService artworkLocatedProcessorService;
+    private ArtworkGenerationCoordinator artworkGenerationCoordinator;
+    @Autowired
+    private ArtworkRegenerationScheduler artworkRegenerationScheduler;
     
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public ApiWrapperSingle<ApiArtworkDTO> getArtwork(@PathVariable("id") Long id) {
@@ -124,6 +128,14 @@ public class ArtworkController {
         return ApiStatus.ok("No image regeneration needed");
     }
 
+    /**
+     * Get the progress of the regeneration of images outdated by profile changes.
+     */
+    @RequestMapping(value = "/regeneration", method = RequestMethod.GET)
+    public Map<String, Object> getRegenerationProgress() {
+        return artworkRegenerationScheduler.getProgress();
+    }
+
     /**
      * Mark a located artwork as ignored.
      *
@@ -176,10 +188,16 @@ public class ArtworkController {
     public ResponseEntity<byte[]> getImage(@PathVariable("profile") String profile, @PathVariable("id") Long id) {
         final long start = System.currentTimeMillis();
         try {
-            ImageDTO image = this.artworkLocatedProcessorService.getImage(id, profile);
+            ImageDTO image = this.artworkGenerationCoordinator.getImage(id, profile);
             if (image == null) {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
+            if (image.isPending()) {
+                // image is still in generation; client should retry later
+                HttpHeaders headers = new HttpHeaders();
+                headers.set("Retry-After", "5");
+                return new ResponseEntity<>(headers, HttpStatus.ACCEPTED);
+            }
             
             try (FileInputStream fos = new FileInputStream(image.getResource())) {
                 HttpHeaders headers = new HttpHeaders();
@@ -0,0 +1,100 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.api.json;
+
+import java.util.Date;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.api.model.ApiStatus;
+import org.yamj.core.api.model.dto.ApiChangesDTO;
+import org.yamj.core.api.wrapper.ApiWrapperSingle;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.service.JsonApiStorageService;
+
+@RestController
+@RequestMapping(value = "/api/changes", method = RequestMethod.GET, produces = "application/json; charset=utf-8")
+public class ChangeController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeController.class);
+    private static final int MAX_RESULTS = 5000;
+    
+    @Autowired
+    private JsonApiStorageService jsonApiStorageService;
+    @Autowired
+    private ConfigService configService;
+
+    /**
+     * Get the IDs of objects added, changed or deleted since the given time.
+     *
+     * The update time is set when the change is flushed, not when it is committed,
+     * so the end of the period lags behind the current time by a safety lag; else
+     * changes of still running transactions could be lost for the next sync.
+     *
+     * @param type the meta data type
+     * @param since time in milliseconds of the last sync; 0 for an initial sync
+     * @param until end of the period, taken from the first page; capped by the safety lag
+     * @param lastId the last ID of the previous page
+     * @param max the maximum number of IDs in the page
+     * @return the changes
+     */
+    @RequestMapping("")
+    public ApiWrapperSingle<ApiChangesDTO> getChanges(
+            @RequestParam(required = true) String type,
+            @RequestParam(required = false, defaultValue = "0") long since,
+            @RequestParam(required = false, defaultValue = "0") long until,
+            @RequestParam(required = false, defaultValue = "0") long lastId,
+            @RequestParam(required = false, defaultValue = "500") int max)
+    {
+        ApiWrapperSingle<ApiChangesDTO> wrapper = new ApiWrapperSingle<>();
+
+        final MetaDataType metaDataType = MetaDataType.fromString(type);
+        if (!metaDataType.isRealMetaData()) {
+            wrapper.setStatusCheck(ApiStatus.badRequest("Changes not available for type '" + type + "'"));
+            return wrapper;
+        }
+        
+        if (until > 0 && until < since) {
+            wrapper.setStatusCheck(ApiStatus.badRequest("Until must not be before since"));
+            return wrapper;
+        }
+
+        // the end of the period must be fixed while paging and must not include uncommitted changes
+        final int safetyLagSeconds = configService.getIntProperty("yamj3.changes.safetyLagSeconds", 300);
+        final long maxEnd = System.currentTimeMillis() - safetyLagSeconds * 1000L;
+        final long end = Math.max(since, until > 0 ? Math.min(until, maxEnd) : maxEnd);
+        
+        final int maxResults = Math.max(1, Math.min(max, MAX_RESULTS));
+        LOG.debug("Get {} changes from {} to {} after ID {}", metaDataType, since, end, lastId);
+        ApiChangesDTO changes = jsonApiStorageService.getChanges(metaDataType, new Date(since), new Date(end), lastId, maxResults);
+        
+        // tombstones older than the retention are deleted; so deletions may be unknown
+        final int retentionDays = configService.getIntProperty("yamj3.changes.tombstone.retentionDays", 90);
+        changes.setFullSync(since > 0 && since < (System.currentTimeMillis() - retentionDays * 86400000L));
+        
+        wrapper.setResult(changes);
+        return wrapper;
+    }
+}
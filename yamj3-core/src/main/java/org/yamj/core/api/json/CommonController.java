@@ -36,8 +36,13 @@ import org.yamj.core.api.wrapper.ApiWrapperList;
 import org.yamj.core.api.wrapper.ApiWrapperSingle;
 import org.yamj.core.database.model.Genre;
 import org.yamj.core.database.model.Studio;
+import org.yamj.core.database.model.type.RescanWaveOrder;
+import org.yamj.core.database.model.type.RescanWaveState;
 import org.yamj.core.database.service.JsonApiStorageService;
+import org.yamj.core.database.service.RescanStorageService;
 import org.yamj.core.scheduling.*;
+import org.yamj.core.service.tasks.ExecutionTaskService;
+import org.yamj.core.service.trailer.TrailerDownloadManager;
 
 @RestController
 @RequestMapping(value = "/api", produces = "application/json; charset=utf-8")
@@ -56,6 +61,14 @@ public class CommonController {
     private TrailerScanScheduler trailerScanScheduler;
     @Autowired
     private TrailerProcessScheduler trailerProcessScheduler;
+    @Autowired
+    private TrailerDownloadManager trailerDownloadManager;
+    @Autowired
+    private RescanStorageService rescanStorageService;
+    @Autowired
+    private RescanWaveScheduler rescanWaveScheduler;
+    @Autowired
+    private ExecutionTaskService executionTaskService;
 
     //<editor-fold defaultstate="collapsed" desc="Alphabetical Methods">
     @RequestMapping(value = "/alphabetical/list", method = RequestMethod.GET)
@@ -147,13 +160,61 @@ public class CommonController {
         return apiStatus;
     }
 
+    @RequestMapping(value = "/override/resolve", method = {RequestMethod.GET, RequestMethod.PUT})
+    public ApiStatus overrideResolve() {
+        return executionTaskService.scheduleOnce("overrideresolve");
+    }
+
     @RequestMapping(value = "/rescan/all", method = {RequestMethod.GET, RequestMethod.PUT})
     public ApiStatus rescanAll() {
-        ApiStatus apiStatus = jsonApiStorageService.rescanAll();
-        if (apiStatus.isSuccessful()) {
-            this.metadataScanScheduler.trigger();
+        return rescanWaveScheduler.rescanAll();
+    }
+
+    @RequestMapping(value = "/rescan/wave/list", method = RequestMethod.GET)
+    public ApiWrapperList<ApiRescanWaveDTO> rescanWaves() {
+        ApiWrapperList<ApiRescanWaveDTO> wrapper = new ApiWrapperList<>();
+        return wrapper.setResults(rescanStorageService.getWaveStatus());
+    }
+
+    @RequestMapping(value = "/rescan/wave/create/{name}", method = {RequestMethod.GET, RequestMethod.PUT})
+    public ApiStatus rescanWaveCreate(@PathVariable("name") String name, @ModelAttribute("options") OptionsRescanWave options) {
+        final MetaDataType metaDataType = MetaDataType.fromString(options.getType());
+        if (MetaDataType.MOVIE != metaDataType && MetaDataType.SERIES != metaDataType && MetaDataType.PERSON != metaDataType && MetaDataType.BOXSET != metaDataType) {
+            return ApiStatus.badRequest("Rescan waves are just supported for type movie, series, person or boxset");
         }
-        return apiStatus;
+        
+        RescanWaveOrder order = RescanWaveOrder.LEAST_RECENTLY_SCANNED;
+        if (StringUtils.isNotBlank(options.getOrder())) {
+            order = RescanWaveOrder.fromString(options.getOrder());
+            if (order == null) {
+                return ApiStatus.badRequest("Invalid rescan wave order '" + options.getOrder() + "'");
+            }
+            if (RescanWaveOrder.RECENTLY_WATCHED == order && MetaDataType.MOVIE != metaDataType) {
+                return ApiStatus.badRequest("Rescan wave order '" + options.getOrder() + "' is just supported for movies");
+            }
+        }
+        
+        final Long library = options.getLibrary() > 0 ? options.getLibrary() : null;
+        if (library != null && MetaDataType.BOXSET == metaDataType) {
+            return ApiStatus.badRequest("Rescan waves for boxed sets can't be filtered by library");
+        }
+        final String source = StringUtils.trimToNull(options.getSource());
+        return rescanWaveScheduler.createWave(name, metaDataType, order, options.getRate(), library, source);
+    }
+
+    @RequestMapping(value = "/rescan/wave/pause/{name}", method = {RequestMethod.GET, RequestMethod.PUT})
+    public ApiStatus rescanWavePause(@PathVariable("name") String name) {
+        return rescanStorageService.changeWaveState(name, RescanWaveState.PAUSED);
+    }
+
+    @RequestMapping(value = "/rescan/wave/resume/{name}", method = {RequestMethod.GET, RequestMethod.PUT})
+    public ApiStatus rescanWaveResume(@PathVariable("name") String name) {
+        return rescanStorageService.changeWaveState(name, RescanWaveState.ACTIVE);
+    }
+
+    @RequestMapping(value = "/rescan/wave/cancel/{name}", method = {RequestMethod.GET, RequestMethod.PUT})
+    public ApiStatus rescanWaveCancel(@PathVariable("name") String name) {
+        return rescanStorageService.changeWaveState(name, RescanWaveState.CANCELLED);
     }
     //</editor-fold>
 
@@ -189,6 +250,11 @@ public class CommonController {
         return apiStatus;
     }
 
+    @RequestMapping(value = "/trailer/downloads", method = RequestMethod.GET)
+    public ApiWrapperList<ApiTrailerDownloadDTO> trailerDownloads() {
+        ApiWrapperList<ApiTrailerDownloadDTO> wrapper = new ApiWrapperList<>();
+        return wrapper.setResults(trailerDownloadManager.getActiveDownloads());
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Genre Methods">
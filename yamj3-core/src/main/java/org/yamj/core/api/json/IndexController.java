@@ -35,7 +35,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.yamj.common.type.MetaDataType;
 import org.yamj.core.api.model.CountGeneric;
+import org.yamj.core.api.model.ApiStatus;
 import org.yamj.core.api.model.CountTimestamp;
+import org.yamj.core.api.model.builder.IndexCursor;
 import org.yamj.core.api.model.dto.ApiPersonDTO;
 import org.yamj.core.api.model.dto.ApiVideoDTO;
 import org.yamj.core.api.options.OptionsId;
@@ -56,6 +58,9 @@ public class IndexController {
         LOG.debug("Video index: {}", options);
 
         ApiWrapperList<ApiVideoDTO> wrapper = new ApiWrapperList<>(options);
+        if (!checkCursor(wrapper, options, IndexCursor.VIDEO_SORT_FIELDS)) {
+            return wrapper;
+        }
         wrapper.setResults(jsonApiStorageService.getVideoList(wrapper, options));
         LOG.debug("Got video index with {} entries: {}", wrapper.getCount(), wrapper.getQueryDuration());
         return wrapper;
@@ -66,11 +71,30 @@ public class IndexController {
         LOG.debug("Person index: {}", options);
 
         ApiWrapperList<ApiPersonDTO> wrapper = new ApiWrapperList<>(options);
+        if (!checkCursor(wrapper, options, IndexCursor.PERSON_SORT_FIELDS)) {
+            return wrapper;
+        }
         wrapper.setResults(jsonApiStorageService.getPersonList(wrapper, options));
         LOG.debug("Got person index with {} entries: {}", wrapper.getCount(), wrapper.getQueryDuration());
         return wrapper;
     }
 
+    /**
+     * Check if a requested cursor is valid for the sorting.
+     */
+    private static boolean checkCursor(ApiWrapperList<?> wrapper, OptionsId options, List<String> sortFields) {
+        if (options.getCursor() != null) {
+            try {
+                IndexCursor.parse(options.getCursor(), options.getSortby(), options.getSortdir(), sortFields);
+            } catch (IllegalArgumentException ex) {
+                LOG.debug("Invalid cursor: {}", ex.getMessage());
+                wrapper.setStatusCheck(ApiStatus.badRequest(ex.getMessage()));
+                return false;
+            }
+        }
+        return true;
+    }
+
     @RequestMapping("/count")
     public List<CountTimestamp> getCount(@RequestParam(required = false, defaultValue = ALL) String type) {
         List<CountTimestamp> results = new ArrayList<>();
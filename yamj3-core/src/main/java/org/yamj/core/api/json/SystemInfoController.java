@@ -22,6 +22,10 @@
  */
 package org.yamj.core.api.json;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.BooleanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,8 +34,12 @@ import org.springframework.web.bind.annotation.*;
 import org.yamj.common.model.YamjInfo;
 import org.yamj.common.model.YamjInfoBuild;
 import org.yamj.common.type.MetaDataType;
+import org.yamj.core.api.model.ApiStatus;
 import org.yamj.core.api.model.CountTimestamp;
 import org.yamj.core.database.service.JsonApiStorageService;
+import org.yamj.core.service.metrics.MetricsRegistry;
+import org.yamj.core.service.plugin.PluginInvoker;
+import org.yamj.core.web.DiskHttpCacheStorage;
 
 @RestController
 @RequestMapping(value = "/system", method = RequestMethod.GET, produces = "application/json; charset=utf-8")
@@ -42,6 +50,12 @@ public class SystemInfoController {
     
     @Autowired
     private JsonApiStorageService jsonApiStorageService;
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+    @Autowired
+    private PluginInvoker pluginInvoker;
+    @Autowired
+    private DiskHttpCacheStorage httpCacheStorage;
 
     @RequestMapping("")
     public String getSystemUp() {
@@ -69,4 +83,49 @@ public class SystemInfoController {
         }
         return YAMJ_INFO;
     }
+
+    /**
+     * Get the call limits and the circuit state of the plugins.
+     */
+    @RequestMapping("/plugins")
+    public List<Map<String, Object>> getPluginStatus() {
+        return pluginInvoker.getStatus();
+    }
+
+    /**
+     * Get the statistics of the persistent HTTP response cache.
+     */
+    @RequestMapping("/httpcache")
+    public Map<String, Object> getHttpCacheStatistics() {
+        return httpCacheStorage.getStatistics();
+    }
+
+    /**
+     * Purge the persistent HTTP response cache, optionally only for one host.
+     */
+    @RequestMapping(value = "/httpcache/purge", method = RequestMethod.POST)
+    public ApiStatus purgeHttpCache(@RequestParam(required = false) String host) {
+        final int purged = httpCacheStorage.purge(host);
+        return ApiStatus.ok("Purged " + purged + " HTTP cache entries");
+    }
+
+    @RequestMapping("/metrics")
+    public List<Map<String, Object>> getMetrics() {
+        return metricsRegistry.getSnapshot();
+    }
+
+    @RequestMapping(value = "/metrics", params = "format=prometheus")
+    public void getMetricsAsPrometheus(HttpServletResponse response) throws IOException {
+        getPrometheusMetrics(response);
+    }
+
+    /**
+     * Get the metrics in the Prometheus text format.
+     */
+    @RequestMapping("/metrics/prometheus")
+    public void getPrometheusMetrics(HttpServletResponse response) throws IOException {
+        response.setContentType("text/plain; version=0.0.4; charset=utf-8");
+        response.getWriter().write(metricsRegistry.getPrometheusText());
+        response.flushBuffer();
+    }
 }
@@ -0,0 +1,239 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.api.model.builder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * Position for keyset pagination of an index.
+ *
+ * The cursor is an opaque string which encodes the sort field and direction
+ * together with the sort value, type and id of the last delivered row; the
+ * next page is selected by seeking behind that row instead of using an offset.
+ */
+public final class IndexCursor {
+
+    public static final String PARAM_VALUE = "cursorValue";
+    public static final String PARAM_ID = "cursorId";
+    /** Column of the video index holding the video year without null values for ordering */
+    public static final String YEAR_KEY = "cursorYear";
+    
+    /** Sort fields of the video index which are not null and so usable for seeking */
+    public static final List<String> VIDEO_SORT_FIELDS = Collections.unmodifiableList(Arrays.asList("id", "title", "sortTitle", "videoYear", "createTimestamp"));
+    /** Sort fields of the person index which are not null and so usable for seeking */
+    public static final List<String> PERSON_SORT_FIELDS = Collections.unmodifiableList(Arrays.asList("id", "name"));
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+    
+    private final String sortField;
+    private final boolean descending;
+    private final boolean start;
+    private final String type;
+    private final long id;
+    private final Object value;
+
+    private IndexCursor(String sortField, boolean descending, boolean start, String type, long id, Object value) {
+        this.sortField = sortField;
+        this.descending = descending;
+        this.start = start;
+        this.type = type;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * Parse the cursor of a request.
+     *
+     * @param cursor the cursor; blank or "first" for the first page
+     * @param sortBy the requested sort field; id if blank
+     * @param sortDir the requested sort direction
+     * @param sortFields the supported sort fields
+     * @return the cursor
+     * @throws IllegalArgumentException if the cursor is invalid or does not match the sorting
+     */
+    public static IndexCursor parse(String cursor, String sortBy, String sortDir, List<String> sortFields) {
+        final String field = findSortField(StringUtils.defaultIfBlank(sortBy, "id"), sortFields);
+        final boolean descending = "DESC".equalsIgnoreCase(sortDir);
+        
+        if (StringUtils.isBlank(cursor) || "first".equalsIgnoreCase(cursor)) {
+            return new IndexCursor(field, descending, true, null, -1L, null);
+        }
+
+        final String decoded = new String(Base64.decodeBase64(cursor), StandardCharsets.UTF_8);
+        final String[] parts = StringUtils.splitPreserveAllTokens(decoded, SEPARATOR, 7);
+        if (parts.length != 7 || !VERSION.equals(parts[0]) || !NumberUtils.isDigits(parts[4])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!field.equals(parts[1]) || descending != "D".equals(parts[2])) {
+            throw new IllegalArgumentException("Cursor does not match sorting by " + field + (descending ? " DESC" : " ASC"));
+        }
+        
+        return new IndexCursor(field, descending, false, StringUtils.trimToNull(parts[3]), Long.parseLong(parts[4]), decodeValue(parts[5], parts[6]));
+    }
+
+    private static String findSortField(String sortBy, List<String> sortFields) {
+        for (String field : sortFields) {
+            if (field.equalsIgnoreCase(sortBy)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Sorting by '" + sortBy + "' is not supported with cursor, use one of " + sortFields);
+    }
+    
+    private static Object decodeValue(String kind, String value) {
+        try {
+            switch (kind) {
+                case "S":
+                    return value;
+                case "I":
+                    return Integer.valueOf(value);
+                case "L":
+                    return Long.valueOf(value);
+                case "D":
+                    return new Date(Long.parseLong(value));
+                default:
+                    throw new IllegalArgumentException("Invalid cursor");
+            }
+        } catch (NumberFormatException ex) { //NOSONAR
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Create the cursor positioned on the given row.
+     *
+     * @param rowType the type of the row, may be null
+     * @param rowId the id of the row
+     * @param rowValue the sort value of the row
+     * @return the cursor
+     */
+    public IndexCursor next(String rowType, long rowId, Object rowValue) {
+        return new IndexCursor(sortField, descending, false, rowType, rowId, rowValue);
+    }
+
+    /**
+     * @return the opaque cursor string
+     */
+    public String encode() {
+        final String kind;
+        final String encoded;
+        if (value instanceof Integer) {
+            kind = "I";
+            encoded = value.toString();
+        } else if (value instanceof Number) {
+            kind = "L";
+            encoded = value.toString();
+        } else if (value instanceof Date) {
+            kind = "D";
+            encoded = String.valueOf(((Date) value).getTime());
+        } else {
+            kind = "S";
+            encoded = value == null ? "" : value.toString();
+        }
+        
+        StringBuilder sb = new StringBuilder(VERSION).append(SEPARATOR);
+        sb.append(sortField).append(SEPARATOR);
+        sb.append(descending ? "D" : "A").append(SEPARATOR);
+        sb.append(StringUtils.trimToEmpty(type)).append(SEPARATOR);
+        sb.append(id).append(SEPARATOR);
+        sb.append(kind).append(SEPARATOR);
+        sb.append(encoded);
+        return Base64.encodeBase64URLSafeString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Append the seek condition for the rows behind the cursor.
+     *
+     * The condition is the expanded form of (sortkey,type,id) > (:value,type,:id), so
+     * that an index on the sort column can be used; the type is constant for each
+     * part of a union and therefore resolved here.
+     *
+     * @param sb the SQL
+     * @param keyColumn the column of the sort field
+     * @param rowType the type of the rows in this part, may be null
+     * @param idColumn the id column
+     */
+    public void appendSeek(StringBuilder sb, String keyColumn, String rowType, String idColumn) {
+        if (start) {
+            return;
+        }
+        
+        final String op = descending ? "<" : ">";
+        int cmp = StringUtils.trimToEmpty(rowType).compareTo(StringUtils.trimToEmpty(type));
+        if (descending) {
+            cmp = -cmp;
+        }
+        
+        sb.append(" AND ");
+        if (cmp > 0) {
+            sb.append(keyColumn).append(op).append("=:").append(PARAM_VALUE);
+        } else if (cmp < 0) {
+            sb.append(keyColumn).append(op).append(":").append(PARAM_VALUE);
+        } else {
+            sb.append("(").append(keyColumn).append(op).append(":").append(PARAM_VALUE);
+            sb.append(" OR (").append(keyColumn).append("=:").append(PARAM_VALUE);
+            sb.append(" AND ").append(idColumn).append(op).append(":").append(PARAM_ID).append("))");
+        }
+        sb.append(" ");
+    }
+
+    /**
+     * Get the ordering matching the seek condition.
+     *
+     * @param keyColumn the column of the sort field
+     * @param typeColumn the type column, may be null
+     * @param idColumn the id column
+     * @return the order by clause
+     */
+    public String getOrderBy(String keyColumn, String typeColumn, String idColumn) {
+        final String dir = descending ? " DESC" : " ASC";
+        StringBuilder sb = new StringBuilder(" ORDER BY ");
+        sb.append(keyColumn).append(dir);
+        if (typeColumn != null) {
+            sb.append(", ").append(typeColumn).append(dir);
+        }
+        sb.append(", ").append(idColumn).append(dir);
+        return sb.toString();
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public boolean isStart() {
+        return start;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+}
@@ -56,6 +56,7 @@ public class IndexParams {
     private int ratingValue;
     private String newestSource;
     private Date newestDate;
+    private IndexCursor cursor;
     
     public IndexParams(OptionsIndexVideo options) {
         this.options = options;
@@ -80,9 +81,21 @@ public class IndexParams {
     }
 
     public String getSortString() {
+        if (cursor != null) {
+            final String keyColumn = "videoYear".equals(cursor.getSortField()) ? IndexCursor.YEAR_KEY : cursor.getSortField();
+            return cursor.getOrderBy(keyColumn, "videoType", "id");
+        }
         return options.getSortString();
     }
 
+    public IndexCursor getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(IndexCursor cursor) {
+        this.cursor = cursor;
+    }
+
     public List<DataItem> getDataItems() {
         return options.splitDataItems();
     }
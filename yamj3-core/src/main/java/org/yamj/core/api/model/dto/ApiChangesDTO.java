@@ -0,0 +1,103 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.api.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.yamj.common.type.MetaDataType;
+
+/**
+ * A page of the change feed for one meta data type.
+ *
+ * The client pages through the period (since, until] by passing the last ID of
+ * a page until the page is complete; then "until" becomes the next "since".
+ */
+public class ApiChangesDTO extends AbstractApiDTO {
+
+    private final MetaDataType type;
+    private final long since;
+    private final long until;
+    private long lastId;
+    private boolean complete;
+    private boolean fullSync;
+    private final List<Long> added = new ArrayList<>();
+    private final List<Long> changed = new ArrayList<>();
+    private final List<Long> deleted = new ArrayList<>();
+
+    public ApiChangesDTO(MetaDataType type, long since, long until) {
+        this.type = type;
+        this.since = since;
+        this.until = until;
+    }
+
+    public MetaDataType getType() {
+        return type;
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public long getUntil() {
+        return until;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * @return true if deletions since the requested time are no longer known, so that the client must do a full sync
+     */
+    public boolean isFullSync() {
+        return fullSync;
+    }
+
+    public void setFullSync(boolean fullSync) {
+        this.fullSync = fullSync;
+    }
+
+    public List<Long> getAdded() {
+        return added;
+    }
+
+    public List<Long> getChanged() {
+        return changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+}
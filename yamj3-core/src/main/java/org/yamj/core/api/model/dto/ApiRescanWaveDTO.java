@@ -0,0 +1,152 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.api.model.dto;
+
+import java.util.Date;
+
+public class ApiRescanWaveDTO extends AbstractApiIdentifiableDTO {
+
+    private String name;
+    private String type;
+    private String order;
+    private String state;
+    private int itemsPerHour;
+    private Long libraryId;
+    private String sourceDb;
+    private int totalCount;
+    private int enqueuedCount;
+    private int remainingCount;
+    private Date createTimestamp;
+    private Date lastEnqueued;
+
+    public ApiRescanWaveDTO() {
+        // empty constructor
+    }
+
+    public ApiRescanWaveDTO(Long id) {
+        super(id);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getOrder() {
+        return order;
+    }
+
+    public void setOrder(String order) {
+        this.order = order;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public int getItemsPerHour() {
+        return itemsPerHour;
+    }
+
+    public void setItemsPerHour(int itemsPerHour) {
+        this.itemsPerHour = itemsPerHour;
+    }
+
+    public Long getLibraryId() {
+        return libraryId;
+    }
+
+    public void setLibraryId(Long libraryId) {
+        this.libraryId = libraryId;
+    }
+
+    public String getSourceDb() {
+        return sourceDb;
+    }
+
+    public void setSourceDb(String sourceDb) {
+        this.sourceDb = sourceDb;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public int getEnqueuedCount() {
+        return enqueuedCount;
+    }
+
+    public void setEnqueuedCount(int enqueuedCount) {
+        this.enqueuedCount = enqueuedCount;
+    }
+
+    public int getRemainingCount() {
+        return remainingCount;
+    }
+
+    public void setRemainingCount(int remainingCount) {
+        this.remainingCount = remainingCount;
+    }
+
+    public int getProgress() {
+        if (totalCount <= 0) {
+            return 100;
+        }
+        return Math.min(100, (100 * (totalCount - remainingCount)) / totalCount);
+    }
+
+    public Date getCreateTimestamp() {
+        return createTimestamp;
+    }
+
+    public void setCreateTimestamp(Date createTimestamp) {
+        this.createTimestamp = createTimestamp;
+    }
+
+    public Date getLastEnqueued() {
+        return lastEnqueued;
+    }
+
+    public void setLastEnqueued(Date lastEnqueued) {
+        this.lastEnqueued = lastEnqueued;
+    }
+}
@@ -24,6 +24,7 @@ package org.yamj.core.api.model.dto;
 
 import static org.yamj.plugin.api.metadata.MetadataTools.formatDateLong;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import java.util.*;
@@ -50,6 +51,7 @@ public class ApiVideoDTO extends AbstractMetaDataDTO {
     private Long season;
     private Long episode = -1L;
     private Date newest;
+    private Date createTimestamp;
     private String status;
     private String videoSource;
     private List<ApiGenreDTO> genres = Collections.emptyList();
@@ -173,6 +175,11 @@ public class ApiVideoDTO extends AbstractMetaDataDTO {
         return formatDateLong(this.newest);
     }
 
+    @JsonIgnore
+    public Date getCreateTimestamp() {
+        return createTimestamp;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -300,6 +307,10 @@ public class ApiVideoDTO extends AbstractMetaDataDTO {
         this.newest = newest;
     }
 
+    public void setCreateTimestamp(Date createTimestamp) {
+        this.createTimestamp = createTimestamp;
+    }
+
     public void setStatus(String status) {
         this.status = status;
     }
@@ -34,6 +34,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 public class OptionsId extends OptionsAbstractSortSearch {
 
     private Long id = -1L;
+    private String cursor;
 
     public Long getId() {
         return id;
@@ -42,4 +43,17 @@ public class OptionsId extends OptionsAbstractSortSearch {
     public void setId(Long id) {
         this.id = id;
     }
+
+    /**
+     * Get the cursor for keyset pagination; null if offset paging is used.
+     *
+     * @return
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
 }
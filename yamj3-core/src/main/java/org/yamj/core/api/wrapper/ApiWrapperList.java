@@ -22,6 +22,8 @@
  */
 package org.yamj.core.api.wrapper;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import java.util.Collection;
 import java.util.Collections;
 import org.apache.commons.collections.CollectionUtils;
@@ -37,6 +39,7 @@ import org.yamj.core.api.options.IOptions;
 public final class ApiWrapperList<T> extends ApiWrapperAbstract {
 
     private Collection<T> results = Collections.emptyList();
+    private String nextCursor;
 
     public ApiWrapperList() {
         super(null);
@@ -68,4 +71,18 @@ public final class ApiWrapperList<T> extends ApiWrapperAbstract {
         
         return this;
     }
+
+    /**
+     * Get the cursor of the next page if keyset pagination is used.
+     *
+     * @return the cursor or null if there are no more results
+     */
+    @JsonInclude(Include.NON_NULL)
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
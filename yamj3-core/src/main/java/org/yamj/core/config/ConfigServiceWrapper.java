@@ -123,7 +123,7 @@ public class ConfigServiceWrapper implements PluginConfigService {
         return this.configService.getBooleanProperty(sb.toString(), false);
     }
 
-    public boolean isOnlineArtworkScanEnabled(Artwork artwork, List<ArtworkLocated> locatedArtwork) { //NOSONAR
+    public boolean isOnlineArtworkScanEnabled(Artwork artwork, Collection<ArtworkLocated> locatedArtwork) { //NOSONAR
         StringBuilder sb = new StringBuilder();
         sb.append("yamj3.artwork.scan.online.");
         addScanArtworkType(artwork, sb);
@@ -47,6 +47,7 @@ public final class Literals {
     public static final String LITERAL_GENERATED_ID = "generatedId";
     public static final String LITERAL_ID = "id";
     public static final String LITERAL_IDENTIFIER = "identifier";
+    public static final String LITERAL_IDENTIFIER_LOWER = "identifierLower";
     public static final String LITERAL_JOB = "job";
     public static final String LITERAL_LAST_NAME = "lastName"; 
     public static final String LITERAL_LASTSCAN = "lastscan";
@@ -54,6 +55,7 @@ public final class Literals {
     public static final String LITERAL_LOCATED_ID = "locatedId";
     public static final String LITERAL_METADATA_TYPE = "metaDataType";
     public static final String LITERAL_NAME = "name";
+    public static final String LITERAL_NAME_LOWER = "nameLower";
     public static final String LITERAL_NEWEST_DATE = "newestDate";
     public static final String LITERAL_PLOT = "plot";
     public static final String LITERAL_ORIGINAL_TITLE = "originalTitle";
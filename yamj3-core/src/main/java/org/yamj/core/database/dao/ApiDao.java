@@ -64,6 +64,9 @@ public class ApiDao extends HibernateDao {
     @SuppressWarnings({"unchecked", "rawtypes"})
     public List<ApiVideoDTO> getVideoList(ApiWrapperList<ApiVideoDTO> wrapper, OptionsIndexVideo options) {
         IndexParams params = new IndexParams(options);
+        if (options.getCursor() != null) {
+            params.setCursor(IndexCursor.parse(options.getCursor(), options.getSortby(), options.getSortdir(), IndexCursor.VIDEO_SORT_FIELDS));
+        }
 
         SqlScalars sqlScalars = new SqlScalars(generateSqlForVideoList(params));
         sqlScalars.addScalar(LITERAL_ID, LongType.INSTANCE);
@@ -88,7 +91,22 @@ public class ApiDao extends HibernateDao {
         // add additional parameters
         params.addScalarParameters(sqlScalars);
 
-        List<ApiVideoDTO> queryResults = executeQueryWithTransform(ApiVideoDTO.class, sqlScalars, wrapper);
+        final List<ApiVideoDTO> queryResults;
+        final IndexCursor cursor = params.getCursor();
+        if (cursor == null) {
+            queryResults = executeQueryWithTransform(ApiVideoDTO.class, sqlScalars, wrapper);
+        } else {
+            if ("createTimestamp".equals(cursor.getSortField())) {
+                sqlScalars.addScalar("createTimestamp", TimestampType.INSTANCE);
+            }
+            
+            queryResults = executeCursorQuery(ApiVideoDTO.class, sqlScalars, cursor, options.getMax());
+            if (options.getMax() > 0 && queryResults.size() > options.getMax()) {
+                queryResults.remove(queryResults.size() - 1);
+                final ApiVideoDTO last = queryResults.get(queryResults.size() - 1);
+                wrapper.setNextCursor(cursor.next(last.getVideoType().name(), last.getId(), getCursorValue(cursor, last)).encode());
+            }
+        }
 
         if (!queryResults.isEmpty() && CollectionUtils.isNotEmpty(options.getArtworkTypes())) {
             LOG.trace("Adding artwork to index videos");
@@ -118,6 +136,71 @@ public class ApiDao extends HibernateDao {
         return queryResults;
     }
 
+    /**
+     * Execute the query for a page of a keyset pagination.
+     *
+     * One more row than requested is fetched, so that the caller knows if there is a next page.
+     */
+    private <T> List<T> executeCursorQuery(Class<T> entityClass, SqlScalars sqlScalars, IndexCursor cursor, int max) {
+        if (!cursor.isStart()) {
+            sqlScalars.addParameter(IndexCursor.PARAM_VALUE, cursor.getValue());
+            sqlScalars.addParameter(IndexCursor.PARAM_ID, cursor.getId());
+        }
+        return executeQueryWithTransform(entityClass, sqlScalars, max > 0 ? max + 1 : -1);
+    }
+
+    private static Object getCursorValue(IndexCursor cursor, ApiVideoDTO video) {
+        switch (cursor.getSortField()) {
+            case "title":
+                return video.getTitle();
+            case "sortTitle":
+                return video.getSortTitle();
+            case "videoYear":
+                return video.getVideoYear() == null ? Integer.valueOf(-1) : video.getVideoYear();
+            case "createTimestamp":
+                return video.getCreateTimestamp();
+            default:
+                return video.getId();
+        }
+    }
+
+    /**
+     * Append the seek condition of the cursor for a part of the video list
+     */
+    private static void appendCursorSeek(IndexParams params, StringBuilder sbSQL, MetaDataType type, String alias) {
+        final IndexCursor cursor = params.getCursor();
+        if (cursor != null) {
+            cursor.appendSeek(sbSQL, getCursorColumn(cursor, alias), type.name(), alias + ".id");
+        }
+    }
+
+    /**
+     * Append the video year used for ordering, cause the start year of a series may be null
+     */
+    private static void appendCursorYear(IndexParams params, StringBuilder sbSQL, String alias) {
+        final IndexCursor cursor = params.getCursor();
+        if (cursor != null && "videoYear".equals(cursor.getSortField())) {
+            sbSQL.append(", ").append(getCursorColumn(cursor, alias)).append(" AS ").append(IndexCursor.YEAR_KEY).append(" ");
+        }
+    }
+
+    private static String getCursorColumn(IndexCursor cursor, String alias) {
+        switch (cursor.getSortField()) {
+            case "title":
+                return alias + ".title";
+            case "sortTitle":
+                return alias + ".title_sort";
+            case "videoYear":
+                return "ser".equals(alias) ? "COALESCE(ser.start_year,-1)" : alias + ".publication_year";
+            case "createTimestamp":
+                return alias + ".create_timestamp";
+            case "name":
+                return alias + ".name";
+            default:
+                return alias + ".id";
+        }
+    }
+
     /**
      * Generate the SQL for the video list
      *
@@ -182,6 +265,7 @@ public class ApiDao extends HibernateDao {
         sbSQL.append(", vd.publication_year AS videoYear, vd.release_date as releaseDate");
         sbSQL.append(", null AS seriesId, vd.season_id AS seasonId, null AS season, vd.episode AS episode ");
         sbSQL.append(", vd.watched AS watched, vd.create_timestamp as createTimestamp ");
+        appendCursorYear(params, sbSQL, "vd");
         
         sbSQL.append(DataItemTools.addSqlDataItems(params.getDataItems(), "vd"));
 
@@ -283,6 +367,9 @@ public class ApiDao extends HibernateDao {
         }
 
         // add the search string, this will be empty if there is no search required
+        // seek behind the cursor position
+        appendCursorSeek(params, sbSQL, type, "vd");
+
         return sbSQL.append(params.getSearchString(false));
     }
 
@@ -298,6 +385,7 @@ public class ApiDao extends HibernateDao {
         sbSQL.append(", ser.id AS seriesId, null AS seasonId, null AS season, -1 AS episode");
         sbSQL.append(", (SELECT min(vid.watched) from videodata vid,season sea where vid.season_id=sea.id and sea.series_id=ser.id) as watched");
         sbSQL.append(", ser.create_timestamp as createTimestamp ");
+        appendCursorYear(params, sbSQL, "ser");
         sbSQL.append(DataItemTools.addSqlDataItems(params.getDataItems(), "ser"));
 
         if (params.checkNewest()) {
@@ -403,6 +491,9 @@ public class ApiDao extends HibernateDao {
         }
 
         // add the search string, this will be empty if there is no search required
+        // seek behind the cursor position
+        appendCursorSeek(params, sbSQL, SERIES, "ser");
+
         return sbSQL.append(params.getSearchString(false));
     }
 
@@ -423,6 +514,7 @@ public class ApiDao extends HibernateDao {
         sbSQL.append(", sea.series_id AS seriesId, sea.id AS seasonId, sea.season AS season, -1 AS episode");
         sbSQL.append(", (SELECT min(vid.watched) from videodata vid where vid.season_id=sea.id) as watched");
         sbSQL.append(", sea.create_timestamp as createTimestamp ");
+        appendCursorYear(params, sbSQL, "sea");
         sbSQL.append(DataItemTools.addSqlDataItems(params.getDataItems(), "sea"));
 
         if (params.checkNewest()) {
@@ -525,6 +617,9 @@ public class ApiDao extends HibernateDao {
         }
 
         // add the search string, this will be empty if there is no search required
+        // seek behind the cursor position
+        appendCursorSeek(params, sbSQL, SEASON, "sea");
+
         return sbSQL.append(params.getSearchString(false));
     }
 
@@ -929,8 +1024,21 @@ public class ApiDao extends HibernateDao {
      * @param wrapper
      */
     public List<ApiPersonDTO> getPersonList(ApiWrapperList<ApiPersonDTO> wrapper, OptionsId options) {
-        SqlScalars sqlScalars = generateSqlForPerson(options);
-        List<ApiPersonDTO> results = executeQueryWithTransform(ApiPersonDTO.class, sqlScalars, wrapper);
+        final List<ApiPersonDTO> results;
+        if (options.getCursor() == null) {
+            SqlScalars sqlScalars = generateSqlForPerson(options, null);
+            results = executeQueryWithTransform(ApiPersonDTO.class, sqlScalars, wrapper);
+        } else {
+            final IndexCursor cursor = IndexCursor.parse(options.getCursor(), options.getSortby(), options.getSortdir(), IndexCursor.PERSON_SORT_FIELDS);
+            SqlScalars sqlScalars = generateSqlForPerson(options, cursor);
+            results = executeCursorQuery(ApiPersonDTO.class, sqlScalars, cursor, options.getMax());
+            if (options.getMax() > 0 && results.size() > options.getMax()) {
+                results.remove(results.size() - 1);
+                final ApiPersonDTO last = results.get(results.size() - 1);
+                final Object value = "name".equals(cursor.getSortField()) ? last.getName() : last.getId();
+                wrapper.setNextCursor(cursor.next(null, last.getId(), value).encode());
+            }
+        }
         
         if (!results.isEmpty()) {
         	
@@ -968,7 +1076,7 @@ public class ApiDao extends HibernateDao {
      * @param wrapper
      */
     public ApiPersonDTO getPerson(ApiWrapperSingle<ApiPersonDTO> wrapper, OptionsId options) {
-        SqlScalars sqlScalars = generateSqlForPerson(options);
+        SqlScalars sqlScalars = generateSqlForPerson(options, null);
         List<ApiPersonDTO> results = executeQueryWithTransform(ApiPersonDTO.class, sqlScalars, wrapper);
         
         ApiPersonDTO person = null;
@@ -1240,7 +1348,7 @@ public class ApiDao extends HibernateDao {
      * @param options
      * @return
      */
-    private static SqlScalars generateSqlForPerson(OptionsId options) {
+    private static SqlScalars generateSqlForPerson(OptionsId options, IndexCursor cursor) {
         SqlScalars sqlScalars = new SqlScalars();
         // Make sure to set the alias for the files for the Transformation into the class
         sqlScalars.addToSql("SELECT DISTINCT p.id,p.name,");
@@ -1272,8 +1380,18 @@ public class ApiDao extends HibernateDao {
 
             // Add the search string
             sqlScalars.addToSql(options.getSearchString(false));
-            // This will default to blank if there's no sort required
-            sqlScalars.addToSql(options.getSortString());
+            
+            if (cursor == null) {
+                // This will default to blank if there's no sort required
+                sqlScalars.addToSql(options.getSortString());
+            } else {
+                // seek behind the cursor position
+                final String column = getCursorColumn(cursor, "p");
+                StringBuilder sb = new StringBuilder();
+                cursor.appendSeek(sb, column, null, "p.id");
+                sb.append(cursor.getOrderBy(column, null, "p.id"));
+                sqlScalars.addToSql(sb.toString());
+            }
         }
 
         sqlScalars.addScalar(LITERAL_ID, LongType.INSTANCE);
@@ -2413,12 +2531,4 @@ public class ApiDao extends HibernateDao {
 
         return executeQueryWithTransform(ApiYearDecadeDTO.class, sqlScalars, wrapper);
     }
-    
-    public void rescanAll() {
-        this.executeUpdate(Person.UPDATE_RESCAN_ALL);
-        this.executeUpdate(VideoData.UPDATE_RESCAN_ALL);
-        this.executeUpdate(Season.UPDATE_RESCAN_ALL);
-        this.executeUpdate(Series.UPDATE_RESCAN_ALL);
-        this.executeUpdate(Artwork.UPDATE_RESCAN_ALL);
-    }
 }
@@ -28,9 +28,10 @@ import static org.yamj.common.type.StatusType.DELETED;
 import static org.yamj.common.type.StatusType.DONE;
 import static org.yamj.core.database.Literals.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import org.apache.commons.lang3.time.DateUtils;
 import org.hibernate.Criteria;
+import org.hibernate.Query;
 import org.hibernate.ScrollableResults;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Restrictions;
@@ -96,6 +97,8 @@ public class ArtworkDao extends HibernateDao {
 	public List<QueueDTO> getArtworkQueueForScanning(final int maxResults,boolean scanPhoto) {
         return currentSession().getNamedQuery(Artwork.QUERY_SCANNING_QUEUE)
                 .setString("personStatus", scanPhoto?DONE.name():"NONE")
+                // truncated to minutes to keep the query cacheable
+                .setTimestamp("now", DateUtils.truncate(new Date(), Calendar.MINUTE))
                 .setReadOnly(true)
                 .setCacheable(true)
                 .setCacheMode(NORMAL)
@@ -134,21 +137,60 @@ public class ArtworkDao extends HibernateDao {
                 .list();
     }
 
-    public void saveArtworkLocated(Artwork artwork, ArtworkLocated scannedLocated) {
-        final int index = artwork.getArtworkLocated().indexOf(scannedLocated);
-        if (index < 0) {
-            // just store if not contained before
-            artwork.getArtworkLocated().add(scannedLocated);
-            this.saveEntity(scannedLocated);
-        } else {
-            // reset deletion status
-            ArtworkLocated stored = artwork.getArtworkLocated().get(index);
-            if (stored.isDeleted()) {
-                stored.setStatus(stored.getPreviousStatus());
-                this.updateEntity(stored);
+    /**
+     * Merge the scanned located artwork into the located artwork of the artwork.
+     *
+     * @param artwork
+     * @param scannedLocated
+     */
+    public void saveArtworkLocated(Artwork artwork, Collection<ArtworkLocated> scannedLocated) {
+        final Map<String, ArtworkLocated> stored = new HashMap<>();
+        for (ArtworkLocated located : artwork.getArtworkLocated()) {
+            stored.put(located.buildMergeKey(), located);
+        }
+
+        for (ArtworkLocated located : scannedLocated) {
+            final String key = located.buildMergeKey();
+            final ArtworkLocated existing = stored.get(key);
+            if (existing == null) {
+                // just store if not contained before
+                artwork.getArtworkLocated().add(located);
+                stored.put(key, located);
+                this.saveEntity(located);
+            } else if (existing.isDeleted()) {
+                // reset deletion status
+                existing.setStatus(existing.getPreviousStatus());
+                this.updateEntity(existing);
             }
         }
     }
+
+    /**
+     * Get the located artwork for the given artwork IDs in one go.
+     *
+     * @param artworkIds
+     * @return the located artwork by merge key per artwork ID
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, Map<String, ArtworkLocated>> getArtworkLocated(Collection<Long> artworkIds) {
+        final Map<Long, Map<String, ArtworkLocated>> result = new HashMap<>();
+        final List<Long> ids = new ArrayList<>(artworkIds);
+        for (int start = 0; start < ids.size(); start += 500) {
+            final List<ArtworkLocated> locatedList = currentSession().getNamedQuery(ArtworkLocated.QUERY_BY_ARTWORKS)
+                    .setParameterList("ids", ids.subList(start, Math.min(start + 500, ids.size())))
+                    .list();
+
+            for (ArtworkLocated located : locatedList) {
+                Map<String, ArtworkLocated> byKey = result.get(located.getArtwork().getId());
+                if (byKey == null) {
+                    byKey = new HashMap<>();
+                    result.put(located.getArtwork().getId(), byKey);
+                }
+                byKey.put(located.buildMergeKey(), located);
+            }
+        }
+        return result;
+    }
     
     @SuppressWarnings("unchecked")
 	public List<ArtworkLocated> getArtworkLocatedWithCacheFilename(long lastId) {
@@ -170,6 +212,80 @@ public class ArtworkDao extends HibernateDao {
         
     }
     
+    /**
+     * Get the generated artwork which is outdated cause the profile changed after generation.
+     *
+     * @param profileHashes the actual profile hash by profile ID
+     * @param maxResults
+     * @return the IDs of the outdated generated artwork by located artwork ID
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, List<Long>> getOutdatedArtworkGenerated(Map<Long, String> profileHashes, int maxResults) {
+        final Map<Long, List<Long>> result = new LinkedHashMap<>();
+        if (profileHashes.isEmpty()) {
+            return result;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SELECT gen.id, loc.id FROM ArtworkGenerated gen JOIN gen.artworkLocated loc ");
+        appendOutdatedRestriction(sb, profileHashes);
+        sb.append("ORDER BY loc.id, gen.id");
+
+        final Query query = currentSession().createQuery(sb.toString()).setReadOnly(true).setMaxResults(maxResults);
+        applyOutdatedParameters(query, profileHashes);
+
+        for (Object[] row : (List<Object[]>) query.list()) {
+            final Long locatedId = (Long) row[1];
+            List<Long> generatedIds = result.get(locatedId);
+            if (generatedIds == null) {
+                generatedIds = new ArrayList<>();
+                result.put(locatedId, generatedIds);
+            }
+            generatedIds.add((Long) row[0]);
+        }
+        return result;
+    }
+
+    public long countOutdatedArtworkGenerated(Map<Long, String> profileHashes) {
+        if (profileHashes.isEmpty()) {
+            return 0;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SELECT count(gen.id) FROM ArtworkGenerated gen JOIN gen.artworkLocated loc ");
+        appendOutdatedRestriction(sb, profileHashes);
+
+        final Query query = currentSession().createQuery(sb.toString()).setReadOnly(true);
+        applyOutdatedParameters(query, profileHashes);
+        return ((Number) query.uniqueResult()).longValue();
+    }
+
+    private static void appendOutdatedRestriction(StringBuilder sb, Map<Long, String> profileHashes) {
+        // generated artwork marked as UPDATED is regenerated by the artwork processing;
+        // generated artwork with errors is not retried; located artwork must be cached,
+        // else the regeneration skips it and it would be selected again on each run
+        sb.append("WHERE gen.status NOT IN ('UPDATED','ERROR','DELETED') AND loc.status = 'DONE' ");
+        sb.append("AND loc.cacheFilename is not null AND loc.cacheFilename != '' ");
+        sb.append("AND loc.cacheDirectory is not null AND loc.cacheDirectory != '' AND (");
+        for (int i = 0; i < profileHashes.size(); i++) {
+            if (i > 0) {
+                sb.append(" OR ");
+            }
+            sb.append("(gen.artworkProfile.id=:profile").append(i);
+            sb.append(" AND (gen.profileHash is null OR gen.profileHash != :hash").append(i).append("))");
+        }
+        sb.append(") ");
+    }
+
+    private static void applyOutdatedParameters(Query query, Map<Long, String> profileHashes) {
+        int i = 0;
+        for (Map.Entry<Long, String> entry : profileHashes.entrySet()) {
+            query.setLong("profile" + i, entry.getKey());
+            query.setString("hash" + i, entry.getValue());
+            i++;
+        }
+    }
+
     public ArtworkGenerated getArtworkGenerated(Long locatedId, String profileName) {
         return (ArtworkGenerated)currentSession().getNamedQuery(ArtworkGenerated.QUERY_GET)
                 .setLong("locatedId", locatedId)
@@ -0,0 +1,107 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.dao;
+
+import static org.yamj.core.database.Literals.LITERAL_ID;
+import static org.yamj.core.database.Literals.LITERAL_TYPE;
+
+import java.util.Date;
+import java.util.List;
+import org.springframework.stereotype.Repository;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.model.Tombstone;
+import org.yamj.core.hibernate.HibernateDao;
+
+@Repository("changeDao")
+public class ChangeDao extends HibernateDao {
+
+    private static final String LITERAL_SINCE = "since";
+    private static final String LITERAL_UNTIL = "until";
+    
+    /**
+     * Get the objects which have been created or updated within the given period.
+     * 
+     * @param type
+     * @param since exclusive start of the period
+     * @param until inclusive end of the period
+     * @param lastId the last ID already delivered
+     * @param maxResults
+     * @return the ID and creation timestamp of the objects, ordered by ID
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> getChangedObjects(MetaDataType type, Date since, Date until, long lastId, int maxResults) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SELECT e.id, e.createTimestamp ");
+        switch (type) {
+            case MOVIE:
+                sb.append("FROM VideoData e WHERE e.episode<0 AND ");
+                break;
+            case EPISODE:
+                sb.append("FROM VideoData e WHERE e.episode>=0 AND ");
+                break;
+            case SEASON:
+                sb.append("FROM Season e WHERE ");
+                break;
+            case SERIES:
+                sb.append("FROM Series e WHERE ");
+                break;
+            case PERSON:
+                sb.append("FROM Person e WHERE e.status!='DELETED' AND ");
+                break;
+            default:
+                throw new IllegalArgumentException("No changes for meta data type " + type);
+        }
+        sb.append("e.id>:id ");
+        sb.append("AND ((e.createTimestamp>:since AND e.createTimestamp<=:until) ");
+        sb.append("OR (e.updateTimestamp>:since AND e.updateTimestamp<=:until)) ");
+        sb.append("ORDER BY e.id");
+        
+        return currentSession().createQuery(sb.toString())
+                .setLong(LITERAL_ID, lastId)
+                .setTimestamp(LITERAL_SINCE, since)
+                .setTimestamp(LITERAL_UNTIL, until)
+                .setMaxResults(maxResults)
+                .list();
+    }
+
+    /**
+     * Get the objects which have been deleted within the given period.
+     * 
+     * @param type
+     * @param since exclusive start of the period
+     * @param until inclusive end of the period
+     * @param lastId the last ID already delivered
+     * @param maxResults
+     * @return the IDs of the deleted objects, ordered by ID
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> getDeletedObjects(MetaDataType type, Date since, Date until, long lastId, int maxResults) {
+        return currentSession().getNamedQuery(Tombstone.QUERY_DELETED)
+                .setParameter(LITERAL_TYPE, type)
+                .setTimestamp(LITERAL_SINCE, since)
+                .setTimestamp(LITERAL_UNTIL, until)
+                .setLong(LITERAL_ID, lastId)
+                .setMaxResults(maxResults)
+                .list();
+    }
+}
@@ -35,6 +35,7 @@ import static org.yamj.plugin.api.model.type.ArtworkType.FANART;
 import static org.yamj.plugin.api.model.type.ArtworkType.POSTER;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.type.IntegerType;
@@ -74,12 +75,12 @@ public class CommonDao extends HibernateDao {
         return getById(Genre.class, id);
     }
 
-    @Cacheable(value=DB_GENRE, key="#name.toLowerCase()", unless="#result==null")
+    @Cacheable(value=DB_GENRE, key="#name.toLowerCase(T(java.util.Locale).ENGLISH)", unless="#result==null")
     public Genre getGenre(String name) {
-        return getByNaturalIdCaseInsensitive(Genre.class, LITERAL_NAME, name);
+        return getByLowerCaseField(Genre.class, LITERAL_NAME_LOWER, name.toLowerCase(Locale.ENGLISH));
     }
 
-    @CachePut(value=DB_GENRE, key="#name.toLowerCase()")
+    @CachePut(value=DB_GENRE, key="#name.toLowerCase(T(java.util.Locale).ENGLISH)")
     public Genre saveGenre(String name, String targetXml) {
         Genre genre = new Genre();
         genre.setName(name);
@@ -148,12 +149,12 @@ public class CommonDao extends HibernateDao {
         return getById(Studio.class, id);
     }
 
-    @Cacheable(value=DB_STUDIO, key="#name.toLowerCase()", unless="#result==null")
+    @Cacheable(value=DB_STUDIO, key="#name.toLowerCase(T(java.util.Locale).ENGLISH)", unless="#result==null")
     public Studio getStudio(String name) {
-        return getByNaturalIdCaseInsensitive(Studio.class, LITERAL_NAME, name);
+        return getByLowerCaseField(Studio.class, LITERAL_NAME_LOWER, name.toLowerCase(Locale.ENGLISH));
     }
 
-    @CachePut(value=DB_STUDIO, key="#name.toLowerCase()")
+    @CachePut(value=DB_STUDIO, key="#name.toLowerCase(T(java.util.Locale).ENGLISH)")
     public Studio saveStudio(String name) {
         Studio studio = new Studio();
         studio.setName(name);
@@ -313,7 +314,7 @@ public class CommonDao extends HibernateDao {
     }
 
     public BoxedSet getBoxedSet(String identifier) {
-        return getByNaturalIdCaseInsensitive(BoxedSet.class, LITERAL_IDENTIFIER, identifier);
+        return getByLowerCaseField(BoxedSet.class, LITERAL_IDENTIFIER_LOWER, AbstractScannable.toIdentifierLower(identifier));
     }
     
     @Cacheable(value=DB_BOXEDSET, key="#id", unless="#result==null")
@@ -322,7 +323,7 @@ public class CommonDao extends HibernateDao {
     }
 
     public void storeNewBoxedSet(BoxedSetDTO dto) {
-        BoxedSet boxedSet = getByNaturalIdCaseInsensitive(BoxedSet.class, LITERAL_IDENTIFIER, dto.getIdentifier());
+        BoxedSet boxedSet = getBoxedSet(dto.getIdentifier());
         
         if (boxedSet == null) {
             // create new boxed set
@@ -360,6 +361,24 @@ public class CommonDao extends HibernateDao {
         dto.setBoxedSetId(boxedSet.getId());
     }
 
+    /**
+     * Update the source id of a boxed set which is already known by its id.
+     *
+     * @param dto the boxed set
+     * @return false if the boxed set does not exist anymore
+     */
+    public boolean updateBoxedSetSourceId(BoxedSetDTO dto) {
+        BoxedSet boxedSet = getById(BoxedSet.class, dto.getBoxedSetId());
+        if (boxedSet == null) {
+            return false;
+        }
+        
+        if (dto.getSourceId() != null && boxedSet.setSourceDbId(dto.getSource(), dto.getSourceId())) {
+            this.updateEntity(boxedSet);
+        }
+        return true;
+    }
+
     public List<ApiRatingDTO> getRatings(ApiWrapperList<ApiRatingDTO> wrapper) {
         OptionsRating options = (OptionsRating) wrapper.getOptions();
 
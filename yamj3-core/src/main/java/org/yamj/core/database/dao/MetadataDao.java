@@ -30,11 +30,11 @@ import static org.yamj.core.CachingNames.DB_PERSON;
 import static org.yamj.core.database.Literals.LITERAL_ARTWORK_TYPE;
 import static org.yamj.core.database.Literals.LITERAL_ID;
 import static org.yamj.core.database.Literals.LITERAL_IDENTIFIER;
+import static org.yamj.core.database.Literals.LITERAL_IDENTIFIER_LOWER;
+import static org.yamj.core.database.model.AbstractScannable.toIdentifierLower;
 import static org.yamj.plugin.api.model.type.ArtworkType.PHOTO;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
@@ -52,6 +52,11 @@ import org.yamj.plugin.api.artwork.ArtworkDTO;
 @Repository("metadataDao")
 public class MetadataDao extends HibernateDao {
 
+    private static final String QUEUED_STATES = "('NEW','UPDATED')";
+    private static final String SERIES_PENDING_CHILDREN = "ser.status='DONE' AND ("
+                    + "exists (SELECT sea.id FROM Season sea WHERE sea.series.id=ser.id AND sea.status in " + QUEUED_STATES + ") OR "
+                    + "exists (SELECT vd.id FROM VideoData vd JOIN vd.season s WHERE s.series.id=ser.id AND vd.status in " + QUEUED_STATES + "))";
+
     @Autowired
     private ArtworkDao artworkDao;
 
@@ -66,19 +71,19 @@ public class MetadataDao extends HibernateDao {
     }
 
     public VideoData getVideoData(String identifier) {
-        return getByNaturalIdCaseInsensitive(VideoData.class, LITERAL_IDENTIFIER, identifier);
+        return getByLowerCaseField(VideoData.class, LITERAL_IDENTIFIER_LOWER, toIdentifierLower(identifier));
     }
 
     public Season getSeason(String identifier) {
-        return getByNaturalIdCaseInsensitive(Season.class, LITERAL_IDENTIFIER, identifier);
+        return getByLowerCaseField(Season.class, LITERAL_IDENTIFIER_LOWER, toIdentifierLower(identifier));
     }
 
     public Series getSeries(String identifier) {
-        return getByNaturalIdCaseInsensitive(Series.class, LITERAL_IDENTIFIER, identifier);
+        return getByLowerCaseField(Series.class, LITERAL_IDENTIFIER_LOWER, toIdentifierLower(identifier));
     }
 
     public Person getPerson(String identifier) {
-        return getByNaturalIdCaseInsensitive(Person.class, LITERAL_IDENTIFIER, identifier);
+        return getByLowerCaseField(Person.class, LITERAL_IDENTIFIER_LOWER, toIdentifierLower(identifier));
     }
 
     @Cacheable(value=DB_PERSON, key="#id", unless="#result==null")
@@ -129,7 +134,7 @@ public class MetadataDao extends HibernateDao {
     }
     
     public void storeMovieCredit(CreditDTO dto) {
-        Person person = getByNaturalIdCaseInsensitive(Person.class, LITERAL_IDENTIFIER, dto.getIdentifier());
+        Person person = getByLowerCaseField(Person.class, LITERAL_IDENTIFIER_LOWER, toIdentifierLower(dto.getIdentifier()));
         if (person == null) {
             // create new person
             person = new Person(dto.getIdentifier());
@@ -149,36 +154,63 @@ public class MetadataDao extends HibernateDao {
             photo.setStatus(NEW);
             person.setPhoto(photo);
             this.saveEntity(photo);
-        } else {
-            // just update person in database
-            if (OverrideTools.checkOverwriteFirstName(person, dto.getSource())) {
-                person.setFirstName(dto.getFirstName(), dto.getSource());
-            }
-            if (OverrideTools.checkOverwriteLastName(person, dto.getSource())) {
-                person.setLastName(dto.getLastName(), dto.getSource());
-            }
-            if (OverrideTools.checkOverwriteBirthName(person, dto.getSource())) {
-                person.setBirthName(dto.getRealName(), dto.getSource());
+            
+            if (CollectionUtils.isNotEmpty(dto.getPhotoDTOS())) {
+                this.updateLocatedArtwork(person.getPhoto(), dto.getPhotoDTOS());
             }
+        } else {
+            this.updatePerson(person, dto);
+        }
 
-            if (person.setSourceDbId(dto.getSource(), dto.getSourceId())) {
-                // if IDs have changed then person update is needed
-                person.setStatus(UPDATED);
-            } else if (person.isDeleted()) {
-                // if previously deleted then set as updated now
-                person.setStatus(UPDATED);
-            }
+        // set person id for later use
+        dto.setPersonId(person.getId());
+    }
+
+    /**
+     * Update the credit of a person which is already known by its id.
+     *
+     * @param personId the id of the person
+     * @param dto the credit
+     * @return false if the person does not exist anymore
+     */
+    public boolean updateMovieCredit(Long personId, CreditDTO dto) {
+        Person person = getById(Person.class, personId);
+        if (person == null) {
+            return false;
         }
         
+        this.updatePerson(person, dto);
+        dto.setPersonId(person.getId());
+        return true;
+    }
+
+    private void updatePerson(Person person, CreditDTO dto) {
+        // just update person in database
+        if (OverrideTools.checkOverwriteFirstName(person, dto.getSource())) {
+            person.setFirstName(dto.getFirstName(), dto.getSource());
+        }
+        if (OverrideTools.checkOverwriteLastName(person, dto.getSource())) {
+            person.setLastName(dto.getLastName(), dto.getSource());
+        }
+        if (OverrideTools.checkOverwriteBirthName(person, dto.getSource())) {
+            person.setBirthName(dto.getRealName(), dto.getSource());
+        }
+
+        if (person.setSourceDbId(dto.getSource(), dto.getSourceId())) {
+            // if IDs have changed then person update is needed
+            person.setStatus(UPDATED);
+        } else if (person.isDeleted()) {
+            // if previously deleted then set as updated now
+            person.setStatus(UPDATED);
+        }
+
         if (CollectionUtils.isNotEmpty(dto.getPhotoDTOS())) {
             this.updateLocatedArtwork(person.getPhoto(), dto.getPhotoDTOS());
         }
-
-        // set person id for later use
-        dto.setPersonId(person.getId());
     }
 
     public void updateLocatedArtwork(Artwork artwork, Collection<ArtworkDTO> dtos) {
+        List<ArtworkLocated> locatedArtworks = new ArrayList<>(dtos.size());
         for (ArtworkDTO dto : dtos) {
             ArtworkLocated located = new ArtworkLocated();
             located.setArtwork(artwork);
@@ -188,18 +220,97 @@ public class MetadataDao extends HibernateDao {
             located.setPriority(5);
             located.setImageType(dto.getImageType());
             located.setStatus(NEW);
-            
-            artworkDao.saveArtworkLocated(artwork, located);
+            locatedArtworks.add(located);
         }
+        artworkDao.saveArtworkLocated(artwork, locatedArtworks);
     }
 
     @SuppressWarnings("unchecked")
 	public List<Artwork> findPersonArtworks(String identifier) {
         return currentSession().getNamedQuery(Artwork.QUERY_FIND_PERSON_ARTWORKS)
                 .setParameter(LITERAL_ARTWORK_TYPE, PHOTO)
-                .setString(LITERAL_IDENTIFIER, identifier.toLowerCase())
+                .setString(LITERAL_IDENTIFIER, toIdentifierLower(identifier))
                 .setCacheable(true)
                 .setCacheMode(NORMAL)
                 .list();
     }
+
+    /**
+     * Enqueue done series which have seasons or episodes waiting for scanning.
+     *
+     * @return the number of enqueued series
+     */
+    public int enqueueSeriesWithPendingChildren() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("UPDATE Series ser SET ser.queueDate=current_timestamp() ");
+        sb.append("WHERE ser.queueDate is null AND ").append(SERIES_PENDING_CHILDREN);
+        return currentSession().createQuery(sb.toString()).executeUpdate();
+    }
+
+    /**
+     * Check the scanning queue dates against the status of the objects
+     * and repair inconsistent entries.
+     *
+     * @return the number of repaired objects
+     */
+    public int repairScanQueue() {
+        int repaired = 0;
+        for (String entity : new String[]{"VideoData", "Season", "Person"}) {
+            repaired += executeQueueUpdate("UPDATE " + entity + " SET queueDate=current_timestamp() WHERE queueDate is null AND status in " + QUEUED_STATES);
+            repaired += executeQueueUpdate("UPDATE " + entity + " SET queueDate=null WHERE queueDate is not null AND status not in " + QUEUED_STATES);
+        }
+
+        repaired += executeQueueUpdate("UPDATE Series ser SET ser.queueDate=current_timestamp() WHERE ser.queueDate is null AND ser.status in " + QUEUED_STATES);
+        repaired += enqueueSeriesWithPendingChildren();
+        repaired += executeQueueUpdate("UPDATE Series ser SET ser.queueDate=null WHERE ser.queueDate is not null AND ser.status not in " + QUEUED_STATES
+                        + " AND NOT (" + SERIES_PENDING_CHILDREN + ")");
+
+        repaired += executeQueueUpdate("UPDATE Person SET filmographyQueueDate=current_timestamp() WHERE filmographyQueueDate is null AND filmographyStatus in " + QUEUED_STATES);
+        repaired += executeQueueUpdate("UPDATE Person SET filmographyQueueDate=null WHERE filmographyQueueDate is not null AND filmographyStatus not in " + QUEUED_STATES);
+        return repaired;
+    }
+
+    /**
+     * Count the objects waiting in a scanning queue.
+     *
+     * @param entity the entity name
+     * @param queueDateProperty the property holding the queue date
+     * @return the number of queued objects
+     */
+    public long countQueued(String entity, String queueDateProperty) {
+        final Number count = (Number) currentSession()
+                .createQuery("SELECT count(*) FROM " + entity + " WHERE " + queueDateProperty + " is not null")
+                .setReadOnly(true)
+                .uniqueResult();
+        return count == null ? 0 : count.longValue();
+    }
+
+    /**
+     * Get the IDs of a source database for the given objects.
+     *
+     * @param idTable the table holding the source IDs
+     * @param objectColumn the column holding the object ID
+     * @param sourceDb the source database
+     * @param ids the object IDs
+     * @return the source IDs by object ID
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, String> getSourceDbIds(String idTable, String objectColumn, String sourceDb, Collection<Long> ids) {
+        final List<Object[]> rows = currentSession()
+                .createSQLQuery("SELECT " + objectColumn + ", sourcedb_id FROM " + idTable + " WHERE sourcedb=:sourcedb AND " + objectColumn + " IN (:ids)")
+                .setString("sourcedb", sourceDb)
+                .setParameterList("ids", ids)
+                .setReadOnly(true)
+                .list();
+
+        final Map<Long, String> result = new HashMap<>(rows.size());
+        for (Object[] row : rows) {
+            result.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return result;
+    }
+
+    private int executeQueueUpdate(String queryString) {
+        return currentSession().createQuery(queryString).executeUpdate();
+    }
 }
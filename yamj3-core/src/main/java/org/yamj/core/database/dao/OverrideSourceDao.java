@@ -0,0 +1,132 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.dao;
+
+import static org.yamj.core.database.Literals.LITERAL_ID;
+import static org.yamj.core.database.Literals.LITERAL_TYPE;
+
+import java.util.*;
+import java.util.Map.Entry;
+import org.springframework.stereotype.Repository;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.model.OverrideSourceValue;
+import org.yamj.core.database.model.type.OverrideFlag;
+import org.yamj.core.hibernate.HibernateDao;
+
+@Repository("overrideSourceDao")
+public class OverrideSourceDao extends HibernateDao {
+
+    @SuppressWarnings("unchecked")
+    public List<OverrideSourceValue> getSourceValues(MetaDataType type, long objectId) {
+        return currentSession().getNamedQuery(OverrideSourceValue.QUERY_BY_OBJECT)
+                .setParameter(LITERAL_TYPE, type)
+                .setLong(LITERAL_ID, objectId)
+                .list();
+    }
+
+    /**
+     * Get the next IDs of objects for which source values are present.
+     *
+     * @param type
+     * @param lastId the last ID already processed
+     * @param maxResults
+     * @return the ordered object IDs
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> getObjectIds(MetaDataType type, long lastId, int maxResults) {
+        return currentSession().getNamedQuery(OverrideSourceValue.QUERY_OBJECT_IDS)
+                .setParameter(LITERAL_TYPE, type)
+                .setLong(LITERAL_ID, lastId)
+                .setMaxResults(maxResults)
+                .list();
+    }
+
+    /**
+     * Get the next IDs of objects for which source values have been stored since the given date.
+     *
+     * @param type
+     * @param since
+     * @param lastId the last ID already processed
+     * @param maxResults
+     * @return the ordered object IDs
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> getChangedObjectIds(MetaDataType type, Date since, long lastId, int maxResults) {
+        return currentSession().getNamedQuery(OverrideSourceValue.QUERY_CHANGED_OBJECT_IDS)
+                .setParameter(LITERAL_TYPE, type)
+                .setTimestamp("since", since)
+                .setLong(LITERAL_ID, lastId)
+                .setMaxResults(maxResults)
+                .list();
+    }
+
+    public int deleteSourceValues(MetaDataType type, long objectId) {
+        return currentSession().getNamedQuery(OverrideSourceValue.DELETE_BY_OBJECT)
+                .setParameter(LITERAL_TYPE, type)
+                .setLong(LITERAL_ID, objectId)
+                .executeUpdate();
+    }
+
+    /**
+     * Store the values delivered by the sources of a scan.
+     *
+     * All stored values of a delivering source are replaced, so that values
+     * no longer delivered by that source will be removed.
+     *
+     * @param type
+     * @param objectId
+     * @param sourceValues the values by override flag and source
+     */
+    public void storeSourceValues(MetaDataType type, long objectId, Map<OverrideFlag, Map<String, String>> sourceValues) {
+        final Set<String> sources = new HashSet<>();
+        for (Map<String, String> values : sourceValues.values()) {
+            sources.addAll(values.keySet());
+        }
+
+        final Map<OverrideSourceValue, OverrideSourceValue> stored = new HashMap<>();
+        for (OverrideSourceValue osv : getSourceValues(type, objectId)) {
+            if (sources.contains(osv.getSource())) {
+                stored.put(osv, osv);
+            }
+        }
+
+        for (Entry<OverrideFlag, Map<String, String>> flagEntry : sourceValues.entrySet()) {
+            for (Entry<String, String> entry : flagEntry.getValue().entrySet()) {
+                final OverrideSourceValue key = new OverrideSourceValue(type, objectId, flagEntry.getKey(), entry.getKey());
+                OverrideSourceValue osv = stored.remove(key);
+                if (osv == null) {
+                    key.setValue(entry.getValue());
+                    saveEntity(key);
+                } else if (!entry.getValue().equals(osv.getValue())) {
+                    osv.setValue(entry.getValue());
+                    updateEntity(osv);
+                }
+            }
+        }
+
+        // remaining values are no longer delivered
+        for (OverrideSourceValue osv : stored.values()) {
+            deleteEntity(osv);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.dao;
+
+import static org.yamj.core.database.Literals.LITERAL_LIBRARY;
+import static org.yamj.core.database.Literals.LITERAL_NAME;
+import static org.yamj.core.database.Literals.LITERAL_SOURCE;
+import static org.yamj.core.database.Literals.LITERAL_TYPE;
+
+import java.util.*;
+import org.hibernate.Query;
+import org.springframework.stereotype.Repository;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.model.RescanWave;
+import org.yamj.core.database.model.dto.RefreshCandidateDTO;
+import org.yamj.core.database.model.type.RescanWaveOrder;
+import org.yamj.core.hibernate.HibernateDao;
+
+@Repository("rescanDao")
+public class RescanDao extends HibernateDao {
+
+    private static final String COMPARE_DATE = "compareDate";
+    private static final String ID_LIST = "idList";
+    private static final String NOT_QUEUED = "status not in ('NEW','UPDATED') ";
+    private static final String BOXSET_ARTWORK = "FROM Artwork obj WHERE obj.boxedSet is not null AND ";
+
+    /**
+     * Get the IDs of the objects which should be enqueued next by the wave.
+     *
+     * Objects already in the queue, scanned after the wave has been started or
+     * with a scanning error (handled by the recheck task) are not returned.
+     * For boxed sets the IDs of their artwork are returned, cause boxed sets
+     * have no metadata scan.
+     *
+     * @param wave
+     * @param maxResults
+     * @return the IDs in wave order
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> getCandidateIds(RescanWave wave, int maxResults) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT obj.id ");
+        appendCandidateQuery(sb, wave);
+        appendOrder(sb, wave);
+        
+        Query query = createCandidateQuery(sb, wave);
+        query.setMaxResults(maxResults);
+        return query.list();
+    }
+
+    public int countCandidates(RescanWave wave) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT count(obj.id) ");
+        appendCandidateQuery(sb, wave);
+        
+        Number count = (Number) createCandidateQuery(sb, wave).uniqueResult();
+        return count == null ? 0 : count.intValue();
+    }
+
+    private static void appendCandidateQuery(StringBuilder sb, RescanWave wave) {
+        switch (wave.getMetaDataType()) {
+            case MOVIE:
+                sb.append("FROM VideoData obj WHERE obj.episode<0 AND ");
+                break;
+            case SERIES:
+                sb.append("FROM Series obj WHERE ");
+                break;
+            case BOXSET:
+                sb.append(BOXSET_ARTWORK);
+                break;
+            default:
+                sb.append("FROM Person obj WHERE ");
+                break;
+        }
+        sb.append("obj.status not in ('NEW','UPDATED','ERROR') ");
+        final String scanned = lastScanned(wave.getMetaDataType());
+        sb.append("AND (").append(scanned).append(" is null or ").append(scanned).append("<=:compareDate) ");
+        
+        if (wave.getSourceDb() != null) {
+            if (MetaDataType.BOXSET == wave.getMetaDataType()) {
+                sb.append("AND :source in indices(obj.boxedSet.sourceDbIdMap) ");
+            } else {
+                sb.append("AND :source in indices(obj.sourceDbIdMap) ");
+            }
+        }
+        
+        // boxed set waves can't be filtered by library
+        if (wave.getLibraryId() != null && MetaDataType.BOXSET != wave.getMetaDataType()) {
+            switch (wave.getMetaDataType()) {
+                case MOVIE:
+                    sb.append("AND exists (SELECT mf.id FROM MediaFile mf JOIN mf.videoDatas vd JOIN mf.stageFiles sf ");
+                    sb.append("WHERE vd.id=obj.id AND sf.stageDirectory.library.id=:library) ");
+                    break;
+                case SERIES:
+                    sb.append("AND exists (SELECT mf.id FROM MediaFile mf JOIN mf.videoDatas vd JOIN mf.stageFiles sf ");
+                    sb.append("WHERE vd.season.series.id=obj.id AND sf.stageDirectory.library.id=:library) ");
+                    break;
+                default:
+                    sb.append("AND exists (SELECT mf.id FROM CastCrew cc, MediaFile mf JOIN mf.videoDatas vd JOIN mf.stageFiles sf ");
+                    sb.append("WHERE cc.castCrewPK.person.id=obj.id AND cc.castCrewPK.videoData.id=vd.id AND sf.stageDirectory.library.id=:library) ");
+                    break;
+            }
+        }
+    }
+
+    private static String lastScanned(MetaDataType type) {
+        // artwork has no scan date, but it is updated by the artwork scan
+        return MetaDataType.BOXSET == type ? "obj.updateTimestamp" : "obj.lastScanned";
+    }
+
+    private static void appendOrder(StringBuilder sb, RescanWave wave) {
+        if (RescanWaveOrder.RECENTLY_ADDED == wave.getWaveOrder()) {
+            sb.append("ORDER BY obj.createTimestamp DESC, obj.id DESC");
+        } else if (RescanWaveOrder.RECENTLY_WATCHED == wave.getWaveOrder() && MetaDataType.MOVIE == wave.getMetaDataType()) {
+            sb.append("ORDER BY obj.watched DESC, obj.watchedDate DESC, obj.id");
+        } else {
+            sb.append("ORDER BY ").append(lastScanned(wave.getMetaDataType())).append(", obj.id");
+        }
+    }
+
+    private Query createCandidateQuery(StringBuilder sb, RescanWave wave) {
+        Query query = currentSession().createQuery(sb.toString());
+        query.setTimestamp(COMPARE_DATE, wave.getCompareDate());
+        if (wave.getSourceDb() != null) {
+            query.setString(LITERAL_SOURCE, wave.getSourceDb());
+        }
+        if (wave.getLibraryId() != null && MetaDataType.BOXSET != wave.getMetaDataType()) {
+            query.setLong(LITERAL_LIBRARY, wave.getLibraryId());
+        }
+        query.setReadOnly(true);
+        return query;
+    }
+
+    /**
+     * Get objects which are not queued and have been scanned before the compare date.
+     *
+     * @param type MOVIE, SERIES or PERSON
+     * @param compareDate
+     * @param maxResults
+     * @return the candidates, least recently scanned first
+     */
+    public List<RefreshCandidateDTO> getRefreshCandidates(MetaDataType type, Date compareDate, int maxResults) {
+        return getRefreshCandidates(type, compareDate, null, null, maxResults);
+    }
+
+    /**
+     * Get objects like the refresh candidates, but only those which get a boost:
+     * recently watched or added objects, still airing series and objects whose
+     * sources delivered changed values since the change date.
+     *
+     * @param type MOVIE, SERIES or PERSON
+     * @param compareDate
+     * @param recentDate the date since which an object is recently watched or added
+     * @param changeDate the date since which a changed source value counts
+     * @param maxResults
+     * @return the boosted candidates, least recently scanned first
+     */
+    public List<RefreshCandidateDTO> getBoostedRefreshCandidates(MetaDataType type, Date compareDate, Date recentDate, Date changeDate, int maxResults) {
+        return getRefreshCandidates(type, compareDate, recentDate, changeDate, maxResults);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RefreshCandidateDTO> getRefreshCandidates(MetaDataType type, Date compareDate, Date recentDate, Date changeDate, int maxResults) {
+        final String lastChange = "(SELECT max(osv.updateTimestamp) FROM OverrideSourceValue osv WHERE osv.metaDataType=:type AND osv.objectId=obj.id)";
+        final int actualYear = Calendar.getInstance().get(Calendar.YEAR);
+        final boolean boosted = recentDate != null;
+        
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT obj.id, obj.lastScanned, obj.createTimestamp, ").append(lastChange);
+        switch (type) {
+            case MOVIE:
+                sb.append(", obj.watchedDate FROM VideoData obj WHERE obj.episode<0 AND ");
+                break;
+            case SERIES:
+                sb.append(", obj.endYear FROM Series obj WHERE ");
+                break;
+            default:
+                sb.append(" FROM Person obj WHERE ");
+                break;
+        }
+        sb.append("obj.status in ('DONE','NOTFOUND','ERROR') ");
+        sb.append("AND (obj.lastScanned is null or obj.lastScanned<=:compareDate) ");
+        if (boosted) {
+            sb.append("AND (obj.createTimestamp>=:recentDate ");
+            if (MetaDataType.MOVIE == type) {
+                sb.append("OR obj.watchedDate>=:recentDate ");
+            } else if (MetaDataType.SERIES == type) {
+                sb.append("OR obj.endYear>=:actualYear ");
+            }
+            sb.append("OR exists (SELECT osv.id FROM OverrideSourceValue osv WHERE osv.metaDataType=:type ");
+            sb.append("AND osv.objectId=obj.id AND osv.updateTimestamp>=:changeDate)) ");
+        }
+        sb.append("ORDER BY obj.lastScanned, obj.id");
+
+        Query query = currentSession().createQuery(sb.toString())
+                .setParameter(LITERAL_TYPE, type)
+                .setTimestamp(COMPARE_DATE, compareDate)
+                .setReadOnly(true)
+                .setMaxResults(maxResults);
+        if (boosted) {
+            query.setTimestamp("recentDate", recentDate);
+            query.setTimestamp("changeDate", changeDate);
+            if (MetaDataType.SERIES == type) {
+                query.setInteger("actualYear", actualYear);
+            }
+        }
+        List<Object[]> rows = query.list();
+
+        List<RefreshCandidateDTO> candidates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            RefreshCandidateDTO candidate = new RefreshCandidateDTO((Long) row[0], (Date) row[1], (Date) row[2]);
+            candidate.setLastChange((Date) row[3]);
+            if (MetaDataType.MOVIE == type) {
+                candidate.setWatchedDate((Date) row[4]);
+            } else if (MetaDataType.SERIES == type) {
+                // an unknown end year doesn't mean the series is still airing
+                final int endYear = ((Number) row[4]).intValue();
+                candidate.setAiring(endYear >= actualYear);
+            }
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    /**
+     * Count the objects waiting in the scanning queue which is fed by the given type.
+     *
+     * @param type
+     * @return the number of pending objects
+     */
+    public long countPending(MetaDataType type) {
+        if (MetaDataType.PERSON == type) {
+            return count("SELECT count(p.id) FROM Person p WHERE p.status in ('NEW','UPDATED')");
+        }
+        if (MetaDataType.BOXSET == type) {
+            return count("SELECT count(a.id) FROM Artwork a WHERE a.status in ('NEW','UPDATED')");
+        }
+        return count("SELECT count(vd.id) FROM VideoData vd WHERE vd.status in ('NEW','UPDATED')")
+             + count("SELECT count(ser.id) FROM Series ser WHERE ser.status in ('NEW','UPDATED')");
+    }
+
+    private long count(String queryString) {
+        Number count = (Number) currentSession().createQuery(queryString).uniqueResult();
+        return count == null ? 0 : count.longValue();
+    }
+
+    /**
+     * Mark the objects and their artwork for a rescan; series include seasons and episodes.
+     * For boxed sets the IDs are the IDs of their artwork.
+     *
+     * @param type
+     * @param idList
+     * @return the number of marked objects
+     */
+    public int markForRescan(MetaDataType type, List<Long> idList) {
+        if (idList.isEmpty()) {
+            return 0;
+        }
+        
+        final String seasonIds = "SELECT sea.id FROM Season sea WHERE sea.series.id in (:idList)";
+        final String episodeIds = "SELECT vd.id FROM VideoData vd WHERE vd.season.series.id in (:idList)";
+        int updated;
+        
+        switch (type) {
+            case MOVIE:
+                updated = executeUpdateWithIds("UPDATE VideoData SET status='UPDATED',queueDate=current_timestamp() WHERE id in (:idList)", idList);
+                executeUpdateWithIds("UPDATE Artwork SET status='UPDATED' WHERE videoData.id in (:idList) AND " + NOT_QUEUED, idList);
+                break;
+            case SERIES:
+                updated = executeUpdateWithIds("UPDATE Series SET status='UPDATED',queueDate=current_timestamp() WHERE id in (:idList)", idList);
+                executeUpdateWithIds("UPDATE Season SET status='UPDATED',queueDate=current_timestamp() WHERE series.id in (:idList) AND " + NOT_QUEUED, idList);
+                executeUpdateWithIds("UPDATE VideoData SET status='UPDATED',queueDate=current_timestamp() WHERE season.id in (" + seasonIds + ") AND " + NOT_QUEUED, idList);
+                executeUpdateWithIds("UPDATE Artwork SET status='UPDATED' WHERE (series.id in (:idList) OR season.id in (" + seasonIds + ") "
+                                + "OR videoData.id in (" + episodeIds + ")) AND " + NOT_QUEUED, idList);
+                break;
+            case PERSON:
+                updated = executeUpdateWithIds("UPDATE Person SET status='UPDATED',queueDate=current_timestamp() WHERE id in (:idList)", idList);
+                executeUpdateWithIds("UPDATE Artwork SET status='UPDATED' WHERE person.id in (:idList) AND " + NOT_QUEUED, idList);
+                break;
+            case BOXSET:
+                updated = executeUpdateWithIds("UPDATE Artwork SET status='UPDATED' WHERE id in (:idList) AND " + NOT_QUEUED, idList);
+                break;
+            default:
+                updated = 0;
+                break;
+        }
+        return updated;
+    }
+
+    private int executeUpdateWithIds(String queryString, List<Long> idList) {
+        return currentSession().createQuery(queryString)
+                .setParameterList(ID_LIST, idList)
+                .executeUpdate();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<RescanWave> getWaves(String queryName) {
+        return currentSession().getNamedQuery(queryName).list();
+    }
+
+    public RescanWave getWave(String name) {
+        return getByNaturalIdCaseInsensitive(RescanWave.class, LITERAL_NAME, name);
+    }
+}
@@ -128,7 +128,7 @@ public class StagingDao extends HibernateDao {
         
         return currentSession().getNamedQuery(VideoData.QUERY_FIND_VIDEOS_FOR_NFO_BY_NAME_AND_DIRECTORY)
                 .setBoolean(LITERAL_EXTRA, false)
-                .setString(LITERAL_BASENAME, baseName.toLowerCase())
+                .setString(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH))
                 .setParameter(LITERAL_STAGE_DIRECTORY, stageDirectory)
                 .setCacheable(true)
                 .setCacheMode(NORMAL)
@@ -143,7 +143,7 @@ public class StagingDao extends HibernateDao {
 
         return currentSession().getNamedQuery(VideoData.QUERY_FIND_VIDEOS_FOR_NFO_BY_NAME_AND_LIBRARY)
                 .setBoolean(LITERAL_EXTRA, false)
-                .setString(LITERAL_BASENAME, baseName.toLowerCase())
+                .setString(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH))
                 .setParameter(LITERAL_LIBRARY, library)
                 .setCacheable(true)
                 .setCacheMode(NORMAL)
@@ -170,7 +170,7 @@ public class StagingDao extends HibernateDao {
         }
 
         return (StageFile)currentSession().getNamedQuery(StageFile.QUERY_FIND_NFO)
-                .setString(LITERAL_BASENAME, baseName.toLowerCase())
+                .setString(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH))
                 .setParameter(LITERAL_STAGE_DIRECTORY, stageDirectory)
                 .setCacheable(true)
                 .setCacheMode(NORMAL)
@@ -205,7 +205,7 @@ public class StagingDao extends HibernateDao {
         params.put(LITERAL_EXTRA, Boolean.FALSE);
         params.put(LITERAL_STAGE_DIRECTORY, stageDirectory);
         if (baseName != null) {
-            params.put(LITERAL_BASENAME, baseName);
+            params.put(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH));
         }
 
         // for movies
@@ -214,7 +214,7 @@ public class StagingDao extends HibernateDao {
         sb.append("WHERE a.artworkType=:artworkType AND sf.fileType='VIDEO' AND sf.status!='DELETED' ");
         sb.append("AND mf.extra=:extra AND vd.episode < 0 AND sf.stageDirectory=:stageDirectory ");
         if (baseName != null) {
-            sb.append("AND lower(sf.baseName)=:baseName ");
+            sb.append("AND sf.baseNameLower=:baseName ");
         }
         result.addAll(this.findByNamedParameters(sb, params));
 
@@ -224,7 +224,7 @@ public class StagingDao extends HibernateDao {
         sb.append("WHERE a.artworkType=:artworkType AND sf.fileType='VIDEO' AND sf.status!='DELETED' ");
         sb.append("AND mf.extra=:extra AND sf.stageDirectory=:stageDirectory ");
         if (baseName != null) {
-            sb.append("AND lower(sf.baseName)=:baseName ");
+            sb.append("AND sf.baseNameLower=:baseName ");
         }
         result.addAll(this.findByNamedParameters(sb, params));
 
@@ -260,7 +260,7 @@ public class StagingDao extends HibernateDao {
         Map<String, Object> params = new HashMap<>();
         params.put(LITERAL_ARTWORK_TYPE, artworkType);
         params.put(LITERAL_EXTRA, Boolean.FALSE);
-        params.put(LITERAL_BASENAME, baseName);
+        params.put(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH));
         if (library != null) {
             params.put(LITERAL_LIBRARY, library);
         }
@@ -272,7 +272,7 @@ public class StagingDao extends HibernateDao {
             sb.append("JOIN sf.stageDirectory sd ");
         }
         sb.append("WHERE a.artworkType=:artworkType AND sf.fileType='VIDEO' AND sf.status!='DELETED' ");
-        sb.append("AND mf.extra=:extra AND vd.episode < 0 AND lower(sf.baseName)=:baseName ");
+        sb.append("AND mf.extra=:extra AND vd.episode < 0 AND sf.baseNameLower=:baseName ");
         if (library != null) {
             sb.append("AND sd.library=:library ");
         }
@@ -285,7 +285,7 @@ public class StagingDao extends HibernateDao {
             sb.append("JOIN sf.stageDirectory sd ");
         }
         sb.append("WHERE a.artworkType=:artworkType AND sf.fileType='VIDEO' AND sf.status!='DELETED' ");
-        sb.append("AND mf.extra=:extra AND lower(sf.baseName)=:baseName ");
+        sb.append("AND mf.extra=:extra AND sf.baseNameLower=:baseName ");
         if (library != null) {
             sb.append("AND sd.library=:library ");
         }
@@ -297,7 +297,7 @@ public class StagingDao extends HibernateDao {
     @SuppressWarnings("unchecked")
 	public List<Artwork> findMatchingVideoImages(String baseName, StageDirectory stageDirectory) {
         return currentSession().getNamedQuery(Artwork.QUERY_FIND_MATCHING_VIDEOIMAGES_BY_NAME_AND_DIRECTORY)
-                .setString(LITERAL_BASENAME, baseName)
+                .setString(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH))
                 .setParameter(LITERAL_STAGE_DIRECTORY, stageDirectory)
                 .setBoolean(LITERAL_EXTRA, false)
                 .setCacheable(true)
@@ -308,17 +308,17 @@ public class StagingDao extends HibernateDao {
     @SuppressWarnings("unchecked")
 	public List<StageFile> findStageFiles(FileType fileType, String baseName, String searchExtension, StageDirectory stageDirectory) {
         StringBuilder sb = new StringBuilder();
-        sb.append("SELECT distinct sf FROM StageFile sf WHERE sf.fileType=:fileType AND lower(sf.baseName)=:baseName ");
+        sb.append("SELECT distinct sf FROM StageFile sf WHERE sf.fileType=:fileType AND sf.baseNameLower=:baseName ");
         if (searchExtension != null) {
-            sb.append("AND lower(sf.extension)=:extension ");
+            sb.append("AND sf.extensionLower=:extension ");
         }
         sb.append("AND sf.stageDirectory=:stageDirectory AND sf.status not in ('DUPLICATE','DELETED') ");
 
         Query query = currentSession().createQuery(sb.toString());
         query.setParameter(LITERAL_FILE_TYPE, fileType);
-        query.setString(LITERAL_BASENAME, baseName.toLowerCase());
+        query.setString(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH));
         if (searchExtension != null) {
-            query.setString(LITERAL_EXTENSION, searchExtension.toLowerCase());
+            query.setString(LITERAL_EXTENSION, searchExtension.toLowerCase(Locale.ENGLISH));
         }
         query.setParameter(LITERAL_STAGE_DIRECTORY, stageDirectory);
         query.setCacheable(true);
@@ -333,9 +333,9 @@ public class StagingDao extends HibernateDao {
         if (library != null) {
             sb.append("JOIN sf.stageDirectory sd ");
         }
-        sb.append("WHERE sf.fileType=:fileType AND lower(sf.baseName)=:baseName ");
+        sb.append("WHERE sf.fileType=:fileType AND sf.baseNameLower=:baseName ");
         if (searchExtension != null) {
-            sb.append("AND lower(sf.extension)=:extension ");
+            sb.append("AND sf.extensionLower=:extension ");
         }
         if (library != null) {
             sb.append("AND sd.library=:library ");
@@ -344,9 +344,9 @@ public class StagingDao extends HibernateDao {
 
         Query query = currentSession().createQuery(sb.toString());
         query.setParameter(LITERAL_FILE_TYPE, fileType);
-        query.setString(LITERAL_BASENAME, baseName.toLowerCase());
+        query.setString(LITERAL_BASENAME, baseName.toLowerCase(Locale.ENGLISH));
         if (searchExtension != null) {
-            query.setString(LITERAL_EXTENSION, searchExtension.toLowerCase());
+            query.setString(LITERAL_EXTENSION, searchExtension.toLowerCase(Locale.ENGLISH));
         }
         if (library != null) {
             query.setParameter(LITERAL_LIBRARY, library);
@@ -367,7 +367,7 @@ public class StagingDao extends HibernateDao {
         if (library != null) {
             params.put(LITERAL_LIBRARY, library);
         }
-        params.put("folderName", folderName.toLowerCase());
+        params.put("folderName", folderName.toLowerCase(Locale.ENGLISH));
         params.put("searchNames", searchNames);
 
         StringBuilder sb = new StringBuilder();
@@ -375,9 +375,9 @@ public class StagingDao extends HibernateDao {
         if (library != null) {
             sb.append("AND sd.library=:library ");
         }
-        sb.append("AND sf.status not in ('DUPLICATE','DELETED') AND lower(sf.baseName) in (:searchNames) ");
+        sb.append("AND sf.status not in ('DUPLICATE','DELETED') AND sf.baseNameLower in (:searchNames) ");
 
-        String dirFragment = StringEscapeUtils.escapeSql(FileTools.getPathFragment(folderName).toLowerCase());
+        String dirFragment = StringEscapeUtils.escapeSql(FileTools.getPathFragment(folderName).toLowerCase(Locale.ENGLISH));
         sb.append("AND (lower(sd.directoryName)=:folderName or lower(sd.directoryPath) like '%").append(dirFragment).append("%') ");
 
         return this.findByNamedParameters(sb, params);
@@ -390,20 +390,20 @@ public class StagingDao extends HibernateDao {
         if (StringUtils.isBlank(folderName)) {
             sb.append(" sd.id=:dirId ");
         } else {
-            String dirFragment = StringEscapeUtils.escapeSql(FileTools.getPathFragment(folderName).toLowerCase());
+            String dirFragment = StringEscapeUtils.escapeSql(FileTools.getPathFragment(folderName).toLowerCase(Locale.ENGLISH));
             sb.append(" (sd.id=:dirId or lower(sd.directory_name)=:dirName or lower(sd.directory_path) like '%").append(dirFragment).append("%') ");
         }
         if (checkLibrary) {
             sb.append(" and sd.library_id=:libraryId ");
         }
-        sb.append("WHERE sf.file_type='WATCHED' AND sf.status!='DELETED' AND (lower(sf.base_name)=:check1 or lower(sf.base_name)=:check2) ");
+        sb.append("WHERE sf.file_type='WATCHED' AND sf.status!='DELETED' AND (sf.base_name_lower=:check1 or sf.base_name_lower=:check2) ");
 
         Query query = currentSession().createSQLQuery(sb.toString());
         query.setLong("dirId", videoFile.getStageDirectory().getId());
-        query.setString("check1", StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase()));
-        query.setString("check2", StringEscapeUtils.escapeSql(videoFile.getFileName().toLowerCase()));
+        query.setString("check1", StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase(Locale.ENGLISH)));
+        query.setString("check2", StringEscapeUtils.escapeSql(videoFile.getFileName().toLowerCase(Locale.ENGLISH)));
         if (StringUtils.isNotBlank(folderName)) {
-            query.setString("dirName", StringEscapeUtils.escapeSql(folderName.toLowerCase()));
+            query.setString("dirName", StringEscapeUtils.escapeSql(folderName.toLowerCase(Locale.ENGLISH)));
         }
         if (checkLibrary) {
             query.setLong("libraryId", videoFile.getStageDirectory().getLibrary().getId());
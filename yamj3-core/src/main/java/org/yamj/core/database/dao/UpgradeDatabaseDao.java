@@ -25,11 +25,14 @@ package org.yamj.core.database.dao;
 import static org.yamj.plugin.api.metadata.MetadataTools.cleanRole;
 
 import java.util.List;
+import java.util.Locale;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.yamj.core.database.DatabaseType;
 import org.yamj.core.database.model.CastCrew;
+import org.yamj.core.database.model.StageFile;
 import org.yamj.core.hibernate.HibernateDao;
 
 @Transactional
@@ -150,6 +153,110 @@ public class UpgradeDatabaseDao extends HibernateDao {
     
     // PATCHES
     
+    /**
+     * Fill the lower case identifiers and names used for indexed lookups.
+     * 
+     * The values are lowercased in Java, cause SQL lower() may differ for non-ASCII characters.
+     * 
+     * @param databaseType
+     */
+    public void patchIdentifierLower(String databaseType) {
+        // entity, field, lower case field, table, lower case column
+        final String[][] patches = new String[][]{
+            {"VideoData", "identifier", "identifierLower", "videodata", "identifier_lower"},
+            {"Season", "identifier", "identifierLower", "season", "identifier_lower"},
+            {"Series", "identifier", "identifierLower", "series", "identifier_lower"},
+            {"Person", "identifier", "identifierLower", "person", "identifier_lower"},
+            {"BoxedSet", "identifier", "identifierLower", "boxed_set", "identifier_lower"},
+            {"Genre", "name", "nameLower", "genre", "name_lower"},
+            {"Studio", "name", "nameLower", "studio", "name_lower"}
+        };
+        
+        for (String[] patch : patches) {
+            fillLowerCase(patch[0], patch[1], patch[2]);
+            
+            // the index may not have been created by the schema update
+            final String indexName = "IX_" + patch[3].replace("_", "").toUpperCase() + "_" + patch[2].toUpperCase();
+            if (DatabaseType.MYSQL.equals(databaseType) && !mysqlExistsIndex(patch[3], indexName)) {
+                currentSession()
+                .createSQLQuery("CREATE INDEX " + indexName + " ON " + patch[3] + " (" + patch[4] + ")")
+                .executeUpdate();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fillLowerCase(String entity, String field, String lowerField) {
+        List<Object[]> rows;
+        do {
+            rows = currentSession()
+                .createQuery("SELECT e.id, e." + field + " FROM " + entity + " e WHERE e." + lowerField + " IS NULL")
+                .setMaxResults(500)
+                .list();
+            
+            for (Object[] row : rows) {
+                // bulk update, so that the audit timestamps stay untouched
+                currentSession()
+                .createQuery("UPDATE " + entity + " SET " + lowerField + "=:lower WHERE id=:id")
+                .setString("lower", ((String) row[1]).toLowerCase(Locale.ENGLISH))
+                .setLong("id", (Long) row[0])
+                .executeUpdate();
+            }
+        } while (rows.size() == 500);
+    }
+
+    /**
+     * Fill the normalized name keys of the stage files.
+     * 
+     * @param databaseType
+     */
+    @SuppressWarnings("unchecked")
+    public void patchStageFileNameKeys(String databaseType) {
+        List<Object[]> rows;
+        long lastId = -1;
+        do {
+            // boxed set artwork is updated too, cause '_' separates the name token now
+            rows = currentSession()
+                .createQuery("SELECT sf.id, sf.baseName, sf.extension FROM StageFile sf WHERE sf.id>:lastId "
+                           + "AND (sf.baseNameLower IS NULL OR (sf.baseNameLower LIKE 'set!_%' ESCAPE '!' AND sf.nameToken IS NULL)) ORDER BY sf.id")
+                .setLong("lastId", lastId)
+                .setMaxResults(500)
+                .list();
+            
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                StageFile keys = new StageFile();
+                keys.setBaseName((String) row[1]);
+                keys.setExtension((String) row[2]);
+                
+                // bulk update, so that the audit timestamps stay untouched
+                currentSession()
+                .createQuery("UPDATE StageFile SET baseNameLower=:baseNameLower, extensionLower=:extensionLower, nameToken=:nameToken, setName=:setName WHERE id=:id")
+                .setString("baseNameLower", keys.getBaseNameLower())
+                .setString("extensionLower", keys.getExtensionLower())
+                .setString("nameToken", keys.getNameToken())
+                .setString("setName", keys.getSetName())
+                .setLong("id", (Long) row[0])
+                .executeUpdate();
+            }
+        } while (rows.size() == 500);
+
+        // the indexes may not have been created by the schema update
+        if (DatabaseType.MYSQL.equals(databaseType)) {
+            createMissingIndex("stage_file", "IX_STAGEFILE_NAMEKEY", "base_name_lower,extension_lower");
+            createMissingIndex("stage_file", "IX_STAGEFILE_DIRNAMEKEY", "directory_id,base_name_lower");
+            createMissingIndex("stage_file", "IX_STAGEFILE_SETNAME", "set_name,name_token");
+        }
+    }
+
+    private void createMissingIndex(String table, String indexName, String columns) {
+        if (!mysqlExistsIndex(table, indexName)) {
+            currentSession()
+            .createSQLQuery("CREATE INDEX " + indexName + " ON " + table + " (" + columns + ")")
+            .executeUpdate();
+        }
+    }
+
     public void deleteOrphanConfigs() {
         currentSession()
         .createSQLQuery("DELETE FROM configuration WHERE config_key like '%.throwError.tempUnavailable'")
@@ -30,6 +30,7 @@ import javax.persistence.*;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.annotations.NaturalId;
+import org.yamj.common.type.StatusType;
 import org.yamj.core.api.model.dto.ApiExternalIdDTO;
 import org.yamj.core.api.model.dto.ApiRatingDTO;
 import org.yamj.core.database.model.dto.QueueDTO;
@@ -82,6 +83,12 @@ public abstract class AbstractScannable extends AbstractStateful implements ISca
     @NaturalId
     @Column(name = "identifier", length = 200, nullable = false)
     private String identifier;
+
+    /**
+     * The lower case identifier for indexed case insensitive lookups.
+     */
+    @Column(name = "identifier_lower", length = 200)
+    private String identifierLower;
     
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "last_scanned")
@@ -90,8 +97,18 @@ public abstract class AbstractScannable extends AbstractStateful implements ISca
     @Column(name = "retries", nullable = false)
     private int retries = 0;
 
+    /**
+     * Set while the object waits for scanning, used for indexed queue selection.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "queue_date")
+    private Date queueDate;
+
     @Transient
     private Set<String> modifiedSources;
+
+    @Transient
+    private Map<OverrideFlag, Map<String, String>> sourceValues;
     
     // CONSTRUCTORS
     
@@ -101,7 +118,7 @@ public abstract class AbstractScannable extends AbstractStateful implements ISca
     
     public AbstractScannable(String identifier) {
         super();
-        this.identifier = identifier;
+        setIdentifier(identifier);
     }
     
     // GETTER and SETTER
@@ -110,9 +127,22 @@ public abstract class AbstractScannable extends AbstractStateful implements ISca
         return identifier;
     }
 
-    @SuppressWarnings("unused")
     private void setIdentifier(String identifier) {
         this.identifier = identifier;
+        this.identifierLower = toIdentifierLower(identifier);
+    }
+
+    public String getIdentifierLower() {
+        return identifierLower;
+    }
+
+    @SuppressWarnings("unused")
+    private void setIdentifierLower(String identifierLower) {
+        this.identifierLower = identifierLower;
+    }
+
+    public static String toIdentifierLower(String identifier) {
+        return identifier == null ? null : identifier.toLowerCase(Locale.ENGLISH);
     }
 
     @Override
@@ -124,6 +154,41 @@ public abstract class AbstractScannable extends AbstractStateful implements ISca
         this.lastScanned = lastScanned;
     }
 
+    public Date getQueueDate() {
+        return queueDate;
+    }
+
+    public void setQueueDate(Date queueDate) {
+        this.queueDate = queueDate;
+    }
+
+    @Override
+    public void setStatus(StatusType status) {
+        super.setStatus(status);
+        if (isUpdated()) {
+            this.queueDate = new Date();
+            enqueueParent();
+        } else {
+            this.queueDate = null;
+        }
+    }
+
+    /**
+     * Put the object into the scanning queue without changing the status,
+     * needed if the scan is triggered by a child object.
+     */
+    protected void enqueue() {
+        this.queueDate = new Date();
+    }
+
+    /**
+     * Put the parent object into the scanning queue if the parent is the
+     * object which will be scanned.
+     */
+    protected void enqueueParent() {
+        // nothing to do by default
+    }
+
     @Override
     public int getRetries() {
         return retries;
@@ -292,6 +357,47 @@ public abstract class AbstractScannable extends AbstractStateful implements ISca
         return StringUtils.equals(getOverrideSource(overrideFlag), sourceDb);
     }
     
+    /**
+     * Remember the value a source delivered for an override flag,
+     * regardless if the value has been taken or not.
+     *
+     * @param overrideFlag
+     * @param source
+     * @param value a string, a positive number or a date
+     */
+    public void addSourceValue(OverrideFlag overrideFlag, String source, Object value) {
+        final String stringValue = toSourceValue(value);
+        if (stringValue == null || StringUtils.isBlank(source)) {
+            return;
+        }
+        if (sourceValues == null) {
+            sourceValues = new EnumMap<>(OverrideFlag.class);
+        }
+        Map<String, String> values = sourceValues.get(overrideFlag);
+        if (values == null) {
+            values = new HashMap<>(2);
+            sourceValues.put(overrideFlag, values);
+        }
+        values.put(source.toLowerCase(), stringValue);
+    }
+
+    public Map<OverrideFlag, Map<String, String>> getSourceValues() {
+        return sourceValues;
+    }
+
+    private static String toSourceValue(Object value) {
+        if (value instanceof Date) {
+            return Long.toString(((Date) value).getTime());
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue() > 0 ? value.toString() : null;
+        }
+        if (value instanceof String && StringUtils.isNotBlank((String) value)) {
+            return ((String) value).trim();
+        }
+        return null;
+    }
+
     public boolean removeOverrideSource(String sourceDb) {
         boolean removed = false;
         for (Iterator<Entry<OverrideFlag, String>> it = getOverrideFlags().entrySet().iterator(); it.hasNext();) {
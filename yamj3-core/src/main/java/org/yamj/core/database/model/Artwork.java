@@ -23,6 +23,7 @@
 package org.yamj.core.database.model;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import javax.persistence.*;
 import javax.persistence.CascadeType;
@@ -46,18 +47,18 @@ import org.yamj.plugin.api.model.type.ArtworkType;
                 "LEFT OUTER JOIN FETCH art.person LEFT OUTER JOIN FETCH art.boxedSet LEFT OUTER JOIN FETCH art.artworkLocated WHERE art.id=:id"
     ),
     @NamedQuery(name = Artwork.QUERY_FIND_PERSON_ARTWORKS,
-        query = "SELECT art FROM Artwork art JOIN art.person p WHERE art.artworkType=:artworkType AND lower(p.identifier)=:identifier"
+        query = "SELECT art FROM Artwork art JOIN art.person p WHERE art.artworkType=:artworkType AND p.identifierLower=:identifier"
     ),
     @NamedQuery(name = Artwork.QUERY_FIND_MATCHING_VIDEOIMAGES_BY_NAME_AND_DIRECTORY,
         query = "SELECT art FROM Artwork art JOIN art.videoData vd JOIN vd.mediaFiles mf JOIN mf.stageFiles sf WHERE art.artworkType='VIDEOIMAGE' "+
                 "AND sf.fileType='VIDEO' AND sf.status!='DELETED' AND sf.stageDirectory=:stageDirectory AND mf.extra=:extra "+
-                "AND vd.episode >=0 AND lower(sf.baseName)=:baseName ORDER by vd.episode"
-    ),
-    @NamedQuery(name = Artwork.UPDATE_RESCAN_ALL,
-        query = "UPDATE Artwork SET status='UPDATED' WHERE status not in ('NEW','UPDATED')"
+                "AND vd.episode >=0 AND sf.baseNameLower=:baseName ORDER by vd.episode"
     ),
     @NamedQuery(name = Artwork.UPDATE_STATUS,
         query = "UPDATE Artwork SET status=:status WHERE id=:id"
+    ),
+    @NamedQuery(name = Artwork.UPDATE_DEFERRED,
+        query = "UPDATE Artwork SET deferredUntil=:deferredUntil WHERE id=:id"
     )
 })
 
@@ -67,7 +68,8 @@ import org.yamj.plugin.api.model.type.ArtworkType;
                 "FROM artwork art LEFT OUTER JOIN videodata vd ON vd.id=art.videodata_id LEFT OUTER JOIN season sea ON sea.id=art.season_id "+
                 "LEFT OUTER JOIN series ser ON ser.id=art.series_id LEFT OUTER JOIN person p ON p.id=art.person_id "+
                 "WHERE art.status in ('NEW','UPDATED') AND (vd.status is null OR vd.status='DONE') AND (sea.status is null OR sea.status='DONE') "+
-                "AND (ser.status is null OR ser.status='DONE') AND (p.status is null OR p.status=:personStatus) ORDER BY maxdate ASC"
+                "AND (ser.status is null OR ser.status='DONE') AND (p.status is null OR p.status=:personStatus) "+
+                "AND (art.deferred_until is null OR art.deferred_until<:now) ORDER BY maxdate ASC"
     ),
     @NamedNativeQuery(name = Artwork.QUERY_PROCESSING_QUEUE,
         query = "SELECT loc1.id,1 as is_located,(case when loc1.update_timestamp is null then loc1.create_timestamp else loc1.update_timestamp end) as maxdate "+
@@ -91,8 +93,8 @@ public class Artwork extends AbstractStateful {
     public static final String QUERY_REQUIRED = "artwork.required";
     public static final String QUERY_FIND_PERSON_ARTWORKS = "artwork.personArtworks";
     public static final String QUERY_FIND_MATCHING_VIDEOIMAGES_BY_NAME_AND_DIRECTORY = "artwork.findMatchingVideoImages.byNameAndDirectory";
-    public static final String UPDATE_RESCAN_ALL = "artwork.rescanAll";
     public static final String UPDATE_STATUS = "artwork.updateStatus";
+    public static final String UPDATE_DEFERRED = "artwork.updateDeferred";
     public static final String QUERY_SCANNING_QUEUE = "artwork.scanning.queue";
     public static final String QUERY_PROCESSING_QUEUE = "artwork.processing.queue";
     
@@ -134,6 +136,13 @@ public class Artwork extends AbstractStateful {
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true, mappedBy = "artwork")
     private List<ArtworkLocated> artworkLocated = new ArrayList<>(0);
 
+    /**
+     * Set if online scanners were not available, so the scan is retried afterwards.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "deferred_until")
+    private Date deferredUntil;
+
     // GETTER and SETTER
     
     public ArtworkType getArtworkType() {
@@ -192,6 +201,14 @@ public class Artwork extends AbstractStateful {
         return artworkLocated;
     }
 
+    public Date getDeferredUntil() {
+        return deferredUntil;
+    }
+
+    public void setDeferredUntil(Date deferredUntil) {
+        this.deferredUntil = deferredUntil;
+    }
+
     // EQUALITY CHECKS
     
     @Override
@@ -47,6 +47,10 @@ import org.hibernate.annotations.NaturalId;
     @NamedQuery(name = ArtworkGenerated.UPDATE_STATUS_FOR_PROFILE,
         query = "UPDATE ArtworkGenerated gen SET status='UPDATED' WHERE gen.artworkProfile.id=:id AND gen.status != 'UPDATED' "+
                 "AND ((gen.updateTimestamp is null and gen.createTimestamp<=:profileDate) OR (gen.updateTimestamp is not null and gen.updateTimestamp<=:profileDate))"
+    ),
+    @NamedQuery(name = ArtworkGenerated.UPDATE_PROFILE_HASH,
+        query = "UPDATE ArtworkGenerated gen SET profileHash=:profileHash WHERE gen.artworkProfile.id=:id AND gen.profileHash is null AND gen.status != 'UPDATED' "+
+                "AND ((gen.updateTimestamp is null and gen.createTimestamp>:profileDate) OR (gen.updateTimestamp is not null and gen.updateTimestamp>:profileDate))"
     )
 })
 
@@ -62,6 +66,7 @@ public class ArtworkGenerated extends AbstractStateful {
     public static final String QUERY_REQUIRED = "artworkGenerated.required";
     public static final String UPDATE_STATUS = "artworkGenerated.updateStatus";
     public static final String UPDATE_STATUS_FOR_PROFILE = "artworkGenerated.updateStatus.forProfile";
+    public static final String UPDATE_PROFILE_HASH = "artworkGenerated.updateProfileHash";
 
     @NaturalId(mutable = true)
     @ManyToOne(fetch = FetchType.LAZY)
@@ -80,6 +85,9 @@ public class ArtworkGenerated extends AbstractStateful {
 
     @Column(name = "cache_dir", nullable = false, length = 50)
     private String cacheDirectory;
+
+    @Column(name = "profile_hash", length = 32)
+    private String profileHash;
     
     // GETTER and SETTER
 
@@ -99,6 +107,14 @@ public class ArtworkGenerated extends AbstractStateful {
         this.cacheFilename = cacheFilename;
     }
 
+    public String getProfileHash() {
+        return profileHash;
+    }
+
+    public void setProfileHash(String profileHash) {
+        this.profileHash = profileHash;
+    }
+
     public ArtworkLocated getArtworkLocated() {
         return artworkLocated;
     }
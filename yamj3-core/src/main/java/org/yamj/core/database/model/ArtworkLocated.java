@@ -45,6 +45,9 @@ import org.yamj.plugin.api.model.type.ImageType;
                 "LEFT OUTER JOIN FETCH art.series LEFT OUTER JOIN FETCH art.person LEFT OUTER JOIN FETCH art.boxedSet "+
                 "LEFT OUTER JOIN FETCH loc.stageFile WHERE loc.id=:id"
     ),
+    @NamedQuery(name = ArtworkLocated.QUERY_BY_ARTWORKS,
+        query = "FROM ArtworkLocated loc WHERE loc.artwork.id IN (:ids)"
+    ),
     @NamedQuery(name = ArtworkLocated.QUERY_FOR_DELETION,
         query = "SELECT al.id FROM ArtworkLocated al WHERE al.status = 'DELETED'"
     ),
@@ -62,6 +65,7 @@ public class ArtworkLocated extends AbstractCacheable {
 
     private static final long serialVersionUID = -981494909436217076L;
     public static final String QUERY_REQUIRED = "artworkLocated.required";
+    public static final String QUERY_BY_ARTWORKS = "artworkLocated.byArtworks";
     public static final String QUERY_FOR_DELETION = "artworkLocated.forDeletion";
     public static final String UPDATE_STATUS = "artworkLocated.updateStatus";
 
@@ -207,6 +211,16 @@ public class ArtworkLocated extends AbstractCacheable {
         this.generatedArtworks = generatedArtworks;
     }
 
+    /**
+     * Build the key which identifies this located artwork within its artwork;
+     * corresponds to the natural ID without the artwork.
+     *
+     * @return the merge key
+     */
+    public String buildMergeKey() {
+        return getSource() + "#" + getHashCode();
+    }
+
     // EQUALITY CHECKS
     
     @Override
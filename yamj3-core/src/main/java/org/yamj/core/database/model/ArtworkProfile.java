@@ -24,6 +24,7 @@ package org.yamj.core.database.model;
 
 import java.io.Serializable;
 import javax.persistence.*;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.hibernate.annotations.NaturalId;
@@ -178,6 +179,25 @@ public class ArtworkProfile extends AbstractAuditable implements Serializable {
 
     // COMMON METHODS
 
+    /**
+     * Build a hash of all values which have an effect on the generated image,
+     * so that outdated generated images can be detected after profile changes.
+     *
+     * @return the profile hash
+     */
+    public String buildProfileHash() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getWidth()).append('|');
+        sb.append(getHeight()).append('|');
+        sb.append(getScalingType()).append('|');
+        sb.append(isReflection()).append('|');
+        sb.append(isRoundedCorners()).append('|');
+        sb.append(getCornerQuality()).append('|');
+        sb.append(getQuality()).append('|');
+        sb.append(getImageType());
+        return DigestUtils.md5Hex(sb.toString());
+    }
+
     public float getRatio() {
         return (float) getWidth() / (float) getHeight();
     }
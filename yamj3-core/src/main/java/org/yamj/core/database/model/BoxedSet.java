@@ -73,7 +73,8 @@ import org.yamj.core.api.model.dto.ApiBoxedSetDTO;
 
 @Entity
 @Table(name = "boxed_set",
-        uniqueConstraints = @UniqueConstraint(name = "UIX_BOXEDSET_NATURALID", columnNames = {"identifier"})
+        uniqueConstraints = @UniqueConstraint(name = "UIX_BOXEDSET_NATURALID", columnNames = {"identifier"}),
+        indexes = @Index(name = "IX_BOXEDSET_IDENTIFIERLOWER", columnList = "identifier_lower")
 )
 @SuppressWarnings("unused")
 public class BoxedSet extends AbstractIdentifiable implements Serializable {
@@ -84,6 +85,12 @@ public class BoxedSet extends AbstractIdentifiable implements Serializable {
     @NaturalId
     @Column(name = "identifier", length = 100, nullable = false)
     private String identifier;
+
+    /**
+     * The lower case identifier for indexed case insensitive lookups.
+     */
+    @Column(name = "identifier_lower", length = 100)
+    private String identifierLower;
     
     @Column(name = "name", length = 100, nullable = false)
     private String name;
@@ -118,6 +125,15 @@ public class BoxedSet extends AbstractIdentifiable implements Serializable {
 
     private void setIdentifier(String identifier) {
         this.identifier = identifier;
+        this.identifierLower = AbstractScannable.toIdentifierLower(identifier);
+    }
+
+    public String getIdentifierLower() {
+        return identifierLower;
+    }
+
+    private void setIdentifierLower(String identifierLower) {
+        this.identifierLower = identifierLower;
     }
     
     public String getName() {
@@ -23,6 +23,7 @@
 package org.yamj.core.database.model;
 
 import java.io.Serializable;
+import java.util.Locale;
 import javax.persistence.*;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -31,10 +32,10 @@ import org.yamj.core.api.model.dto.ApiGenreDTO;
 
 @NamedQueries({
     @NamedQuery(name = Genre.UPDATE_TARGET_XML_CLEAN,
-        query = "UPDATE Genre SET targetXml = null WHERE targetXml is not null AND lower(name) not in (:subGenres)"
+        query = "UPDATE Genre SET targetXml = null WHERE targetXml is not null AND nameLower not in (:subGenres)"
     ),
     @NamedQuery(name = Genre.UPDATE_TARGET_XML_SET,
-        query = "UPDATE Genre SET targetXml=:targetXml WHERE lower(name)=:subGenre"
+        query = "UPDATE Genre SET targetXml=:targetXml WHERE nameLower=:subGenre"
     )
 })
 
@@ -87,7 +88,8 @@ import org.yamj.core.api.model.dto.ApiGenreDTO;
 
 @Entity
 @Table(name = "genre",
-        uniqueConstraints = @UniqueConstraint(name = "UIX_GENRE_NATURALID", columnNames = {"name"})
+        uniqueConstraints = @UniqueConstraint(name = "UIX_GENRE_NATURALID", columnNames = {"name"}),
+        indexes = @Index(name = "IX_GENRE_NAMELOWER", columnList = "name_lower")
 )
 public class Genre extends AbstractIdentifiable implements Serializable {
 
@@ -101,6 +103,12 @@ public class Genre extends AbstractIdentifiable implements Serializable {
     @Column(name = "name", nullable = false, length = 50)
     private String name;
 
+    /**
+     * The lower case name for indexed case insensitive lookups.
+     */
+    @Column(name = "name_lower", length = 50)
+    private String nameLower;
+
     @Column(name = "target_api", length = 100)
     private String targetApi;
 
@@ -112,7 +120,7 @@ public class Genre extends AbstractIdentifiable implements Serializable {
     }
 
     public Genre(String name) {
-        this.name = name;
+        setName(name);
     }
 
     // GETTER and SETTER
@@ -123,6 +131,16 @@ public class Genre extends AbstractIdentifiable implements Serializable {
 
     public void setName(String name) {
         this.name = name;
+        this.nameLower = name == null ? null : name.toLowerCase(Locale.ENGLISH);
+    }
+
+    public String getNameLower() {
+        return nameLower;
+    }
+
+    @SuppressWarnings("unused")
+    private void setNameLower(String nameLower) {
+        this.nameLower = nameLower;
     }
 
     public String getTargetApi() {
@@ -0,0 +1,183 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.model;
+
+import java.io.Serializable;
+import javax.persistence.*;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.hibernate.annotations.Type;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.model.type.OverrideFlag;
+
+/**
+ * Holds the value a source delivered for an override flag of a scannable object.
+ */
+@NamedQueries({    
+    @NamedQuery(name = OverrideSourceValue.QUERY_BY_OBJECT,
+        query = "FROM OverrideSourceValue osv WHERE osv.metaDataType=:type AND osv.objectId=:id"
+    ),
+    @NamedQuery(name = OverrideSourceValue.QUERY_OBJECT_IDS,
+        query = "SELECT DISTINCT osv.objectId FROM OverrideSourceValue osv WHERE osv.metaDataType=:type AND osv.objectId>:id ORDER BY osv.objectId"
+    ),
+    @NamedQuery(name = OverrideSourceValue.QUERY_CHANGED_OBJECT_IDS,
+        query = "SELECT DISTINCT osv.objectId FROM OverrideSourceValue osv WHERE osv.metaDataType=:type AND osv.objectId>:id "+
+                "AND (osv.createTimestamp>=:since OR osv.updateTimestamp>=:since) ORDER BY osv.objectId"
+    ),
+    @NamedQuery(name = OverrideSourceValue.DELETE_BY_OBJECT,
+        query = "DELETE FROM OverrideSourceValue osv WHERE osv.metaDataType=:type AND osv.objectId=:id"
+    )
+})
+
+@Entity
+@Table(name = "override_source_value",
+    uniqueConstraints = @UniqueConstraint(name = "UIX_OVERRIDESOURCEVALUE_NATURALID", columnNames = {"meta_data_type", "object_id", "override_flag", "source"})
+)
+public class OverrideSourceValue extends AbstractAuditable implements Serializable {
+
+    private static final long serialVersionUID = 6327829436204935841L;
+    public static final String QUERY_BY_OBJECT = "overrideSourceValue.byObject";
+    public static final String QUERY_OBJECT_IDS = "overrideSourceValue.objectIds";
+    public static final String QUERY_CHANGED_OBJECT_IDS = "overrideSourceValue.changedObjectIds";
+    public static final String DELETE_BY_OBJECT = "overrideSourceValue.deleteByObject";
+
+    @Type(type = "metaDataType")
+    @Column(name = "meta_data_type", nullable = false, length = 30)
+    private MetaDataType metaDataType;
+
+    @Column(name = "object_id", nullable = false)
+    private long objectId;
+
+    @Type(type = "overrideFlag")
+    @Column(name = "override_flag", nullable = false, length = 30)
+    private OverrideFlag overrideFlag;
+
+    @Column(name = "source", nullable = false, length = 40)
+    private String source;
+
+    @Lob
+    @Column(name = "flag_value", nullable = false, length = 50000)
+    private String value;
+
+    // CONSTRUCTORS
+    
+    public OverrideSourceValue() {
+        super();
+    }
+
+    public OverrideSourceValue(MetaDataType metaDataType, long objectId, OverrideFlag overrideFlag, String source) {
+        super();
+        this.metaDataType = metaDataType;
+        this.objectId = objectId;
+        this.overrideFlag = overrideFlag;
+        this.source = source;
+    }
+
+    // GETTER AND SETTER
+
+    public MetaDataType getMetaDataType() {
+        return metaDataType;
+    }
+
+    public void setMetaDataType(MetaDataType metaDataType) {
+        this.metaDataType = metaDataType;
+    }
+
+    public long getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(long objectId) {
+        this.objectId = objectId;
+    }
+
+    public OverrideFlag getOverrideFlag() {
+        return overrideFlag;
+    }
+
+    public void setOverrideFlag(OverrideFlag overrideFlag) {
+        this.overrideFlag = overrideFlag;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    // EQUALITY CHECKS
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+                .append(getMetaDataType())
+                .append(getObjectId())
+                .append(getOverrideFlag())
+                .append(getSource())
+                .toHashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof OverrideSourceValue) {
+            final OverrideSourceValue other = (OverrideSourceValue) obj;
+            return new EqualsBuilder()
+                    .append(getMetaDataType(), other.getMetaDataType())
+                    .append(getObjectId(), other.getObjectId())
+                    .append(getOverrideFlag(), other.getOverrideFlag())
+                    .append(getSource(), other.getSource())
+                    .isEquals();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("OverrideSourceValue [ID=");
+        sb.append(getId());
+        sb.append(", type=");
+        sb.append(getMetaDataType());
+        sb.append(", objectId=");
+        sb.append(getObjectId());
+        sb.append(", flag=");
+        sb.append(getOverrideFlag());
+        sb.append(", source=");
+        sb.append(getSource());
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -52,28 +52,25 @@ import org.yamj.core.tools.PersonName;
     @NamedQuery(name = Person.QUERY_IDS_RECHECK,
         query = "SELECT p.id FROM Person p WHERE p.status not in ('NEW','UPDATED') AND (p.lastScanned is null or p.lastScanned<=:compareDate) ORDER BY p.lastScanned"
     ),
-    @NamedQuery(name = Person.UPDATE_RESCAN_ALL,
-        query = "UPDATE Person SET status='UPDATED' WHERE status not in ('NEW','UPDATED')"
-    ),
     @NamedQuery(name = Person.UPDATE_STATUS,
-        query = "UPDATE Person SET status=:status WHERE id=:id"
+        query = "UPDATE Person SET status=:status,queueDate=null WHERE id=:id"
     ),
     @NamedQuery(name = Person.UPDATE_STATUS_RECHECK,
-        query = "UPDATE Person p SET p.status='UPDATED',p.filmographyStatus='NEW' WHERE p.id in (:idList)"
+        query = "UPDATE Person p SET p.status='UPDATED',p.filmographyStatus='NEW',p.queueDate=current_timestamp(),p.filmographyQueueDate=current_timestamp() WHERE p.id in (:idList)"
     ),
     @NamedQuery(name = Person.UPDATE_FILMOGRAPHY_STATUS,
-        query = "UPDATE Person SET filmographyStatus=:status WHERE id=:id"
+        query = "UPDATE Person SET filmographyStatus=:status,filmographyQueueDate=null WHERE id=:id"
     )
 })
 
 @NamedNativeQueries({    
     @NamedNativeQuery(name = Person.QUERY_SCANNING_QUEUE, resultSetMapping = "metadata.queue",
-        query = "SELECT p.id,'PERSON' as metatype,(case when p.update_timestamp is null then p.create_timestamp else p.update_timestamp end) as maxdate "+
-                "FROM person p WHERE p.status in ('NEW','UPDATED') ORDER BY maxdate ASC"
+        query = "SELECT p.id,'PERSON' as metatype,p.queue_date as maxdate "+
+                "FROM person p WHERE p.queue_date is not null ORDER BY p.queue_date ASC"
     ),
     @NamedNativeQuery(name = Person.QUERY_FILMOGRAPHY_QUEUE, resultSetMapping = "metadata.queue",
-        query = "SELECT p.id,'FILMOGRAPHY' as metatype,(case when p.update_timestamp is null then p.create_timestamp else p.update_timestamp end) as maxdate "+
-                "FROM person p WHERE p.status='DONE' and (p.filmography_status is null or p.filmography_status in ('NEW','UPDATED')) ORDER BY maxdate ASC"
+        query = "SELECT p.id,'FILMOGRAPHY' as metatype,p.filmography_queue_date as maxdate "+
+                "FROM person p WHERE p.filmography_queue_date is not null and p.status='DONE' ORDER BY p.filmography_queue_date ASC"
     ),
     @NamedNativeQuery(name = "metadata.externalid.person", resultSetMapping="metadata.externalid",
         query = "SELECT ids.person_id AS id, ids.sourcedb_id AS externalId, ids.sourcedb,"+
@@ -88,7 +85,10 @@ import org.yamj.core.tools.PersonName;
         indexes = {
             @Index(name = "IX_PERSON_STATUS", columnList = "status"),
             @Index(name = "IX_PERSON_FILMOGRAPHY_STATUS", columnList = "filmography_status"),
-            @Index(name = "IX_PERSON_NAME", columnList = "name")}
+            @Index(name = "IX_PERSON_NAME", columnList = "name"),
+            @Index(name = "IX_PERSON_IDENTIFIERLOWER", columnList = "identifier_lower"),
+            @Index(name = "IX_PERSON_QUEUEDATE", columnList = "queue_date"),
+            @Index(name = "IX_PERSON_FILMOGRAPHYQUEUEDATE", columnList = "filmography_queue_date,status")}
 )
 @SuppressWarnings("unused")
 public class Person extends AbstractScannable {
@@ -96,7 +96,6 @@ public class Person extends AbstractScannable {
     private static final long serialVersionUID = 660066902996412843L;
     public static final String QUERY_ORPHANS = "person.orphans";
     public static final String QUERY_IDS_RECHECK = "person.ids.forRecheck";
-    public static final String UPDATE_RESCAN_ALL = "person.rescanAll";
     public static final String UPDATE_STATUS = "person.updateStatus";
     public static final String UPDATE_STATUS_RECHECK = "person.updateStatus.forRecheck";
     public static final String UPDATE_FILMOGRAPHY_STATUS = "person.updateFilmographyStatus";
@@ -157,6 +156,10 @@ public class Person extends AbstractScannable {
     @Column(name = "filmography_status", nullable = false, length = 30)
     private StatusType filmographyStatus;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "filmography_queue_date")
+    private Date filmographyQueueDate;
+
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true, mappedBy = "person")
     private Set<FilmParticipation> filmography = new HashSet<>(0);
 
@@ -422,6 +425,19 @@ public class Person extends AbstractScannable {
 
     public void setFilmographyStatus(StatusType filmographyStatus) {
         this.filmographyStatus = filmographyStatus;
+        if (StatusType.NEW == filmographyStatus || StatusType.UPDATED == filmographyStatus) {
+            this.filmographyQueueDate = new Date();
+        } else {
+            this.filmographyQueueDate = null;
+        }
+    }
+
+    public Date getFilmographyQueueDate() {
+        return filmographyQueueDate;
+    }
+
+    public void setFilmographyQueueDate(Date filmographyQueueDate) {
+        this.filmographyQueueDate = filmographyQueueDate;
     }
 
     public Set<FilmParticipation> getFilmography() {
@@ -0,0 +1,224 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import javax.persistence.*;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.hibernate.annotations.Type;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.model.type.RescanWaveOrder;
+import org.yamj.core.database.model.type.RescanWaveState;
+
+@NamedQueries({    
+    @NamedQuery(name = RescanWave.QUERY_ALL,
+        query = "FROM RescanWave rw ORDER BY rw.id"
+    ),
+    @NamedQuery(name = RescanWave.QUERY_ACTIVE,
+        query = "FROM RescanWave rw WHERE rw.state='ACTIVE' ORDER BY rw.id"
+    )
+})
+
+@Entity
+@Table(name = "rescan_wave",
+    uniqueConstraints = @UniqueConstraint(name = "UIX_RESCANWAVE_NATURALID", columnNames = {"name"})
+)
+public class RescanWave extends AbstractAuditable implements Serializable {
+
+    private static final long serialVersionUID = -4195627426290312466L;
+    public static final String QUERY_ALL = "rescanWave.all";
+    public static final String QUERY_ACTIVE = "rescanWave.active";
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Type(type = "metaDataType")
+    @Column(name = "meta_data_type", nullable = false, length = 30)
+    private MetaDataType metaDataType;
+
+    @Type(type = "rescanWaveOrder")
+    @Column(name = "wave_order", nullable = false, length = 30)
+    private RescanWaveOrder waveOrder;
+
+    @Type(type = "rescanWaveState")
+    @Column(name = "state", nullable = false, length = 30)
+    private RescanWaveState state;
+
+    @Column(name = "items_per_hour", nullable = false)
+    private int itemsPerHour;
+
+    @Column(name = "library_id")
+    private Long libraryId;
+
+    @Column(name = "sourcedb", length = 40)
+    private String sourceDb;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "compare_date", nullable = false)
+    private Date compareDate;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "last_enqueued")
+    private Date lastEnqueued;
+
+    @Column(name = "total_count", nullable = false)
+    private int totalCount = 0;
+
+    @Column(name = "enqueued_count", nullable = false)
+    private int enqueuedCount = 0;
+
+    // GETTER AND SETTER
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public MetaDataType getMetaDataType() {
+        return metaDataType;
+    }
+
+    public void setMetaDataType(MetaDataType metaDataType) {
+        this.metaDataType = metaDataType;
+    }
+
+    public RescanWaveOrder getWaveOrder() {
+        return waveOrder;
+    }
+
+    public void setWaveOrder(RescanWaveOrder waveOrder) {
+        this.waveOrder = waveOrder;
+    }
+
+    public RescanWaveState getState() {
+        return state;
+    }
+
+    public void setState(RescanWaveState state) {
+        this.state = state;
+    }
+
+    public int getItemsPerHour() {
+        return itemsPerHour;
+    }
+
+    public void setItemsPerHour(int itemsPerHour) {
+        this.itemsPerHour = itemsPerHour;
+    }
+
+    public Long getLibraryId() {
+        return libraryId;
+    }
+
+    public void setLibraryId(Long libraryId) {
+        this.libraryId = libraryId;
+    }
+
+    public String getSourceDb() {
+        return sourceDb;
+    }
+
+    public void setSourceDb(String sourceDb) {
+        this.sourceDb = sourceDb;
+    }
+
+    public Date getCompareDate() {
+        return compareDate;
+    }
+
+    public void setCompareDate(Date compareDate) {
+        this.compareDate = compareDate;
+    }
+
+    public Date getLastEnqueued() {
+        return lastEnqueued;
+    }
+
+    public void setLastEnqueued(Date lastEnqueued) {
+        this.lastEnqueued = lastEnqueued;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public int getEnqueuedCount() {
+        return enqueuedCount;
+    }
+
+    public void setEnqueuedCount(int enqueuedCount) {
+        this.enqueuedCount = enqueuedCount;
+    }
+
+    // EQUALITY CHECKS
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+                .append(getName())
+                .toHashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof RescanWave) {
+            return new EqualsBuilder()
+                    .append(getName(), ((RescanWave)obj).getName())
+                    .isEquals();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("RescanWave [ID=");
+        sb.append(getId());
+        sb.append(", name=");
+        sb.append(getName());
+        sb.append(", type=");
+        sb.append(getMetaDataType());
+        sb.append(", state=");
+        sb.append(getState());
+        sb.append(", itemsPerHour=");
+        sb.append(getItemsPerHour());
+        sb.append(", enqueued=");
+        sb.append(getEnqueuedCount());
+        sb.append("/");
+        sb.append(getTotalCount());
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -46,9 +46,6 @@ import org.yamj.core.database.model.type.OverrideFlag;
     ),
     @NamedQuery(name = Season.UPDATE_STATUS_RECHECK,
         query = "UPDATE Season sea SET sea.status='UPDATED' WHERE sea.id in (:idList)"
-    ),
-    @NamedQuery(name = Season.UPDATE_RESCAN_ALL,
-        query = "UPDATE Season SET status='UPDATED' WHERE status not in ('NEW','UPDATED')"
     )
 })
 
@@ -72,7 +69,10 @@ import org.yamj.core.database.model.type.OverrideFlag;
         indexes = {@Index(name = "IX_SEASON_TITLE", columnList = "title"),
                    @Index(name = "IX_SEASON_STATUS", columnList = "status"),
                    @Index(name = "IX_SEASON_SEASON", columnList = "season"),
-                   @Index(name = "IX_SEASON_PUBLICATIONYEAR", columnList = "publication_year")}
+                   @Index(name = "IX_SEASON_PUBLICATIONYEAR", columnList = "publication_year"),
+                   @Index(name = "IX_SEASON_IDENTIFIERLOWER", columnList = "identifier_lower"),
+                   @Index(name = "IX_SEASON_SORTTITLE", columnList = "title_sort"),
+                   @Index(name = "IX_SEASON_CREATETIMESTAMP", columnList = "create_timestamp")}
 )
 @SuppressWarnings("unused")
 public class Season extends AbstractMetadata {
@@ -80,7 +80,6 @@ public class Season extends AbstractMetadata {
     private static final long serialVersionUID = 1858640563119637343L;
     public static final String QUERY_IDS_RECHECK = "season.ids.forRecheck";
     public static final String UPDATE_STATUS_RECHECK = "season.updateStatus.forRecheck";
-    public static final String UPDATE_RESCAN_ALL = "season.rescanAll";
     
     @Column(name = "season", nullable = false)
     private int season; //NOSONAR
@@ -230,6 +229,16 @@ public class Season extends AbstractMetadata {
 
     public void setSeries(Series series) {
         this.series = series;
+        if (isUpdated()) {
+            enqueueParent();
+        }
+    }
+
+    @Override
+    protected void enqueueParent() {
+        if (series != null && StatusType.DONE == series.getStatus()) {
+            series.enqueue();
+        }
     }
 
     public Set<VideoData> getVideoDatas() {
@@ -59,14 +59,11 @@ import org.yamj.plugin.api.model.type.ArtworkType;
     @NamedQuery(name = Series.QUERY_IDS_RECHECK,
         query = "SELECT ser.id FROM Series ser WHERE ser.status not in ('NEW','UPDATED') AND (ser.lastScanned is null or ser.lastScanned<=:compareDate) ORDER BY ser.lastScanned"
     ),
-    @NamedQuery(name = Series.UPDATE_RESCAN_ALL,
-        query = "UPDATE Series SET status='UPDATED' WHERE status not in ('NEW','UPDATED')"
-    ),
     @NamedQuery(name = Series.UPDATE_STATUS,
-        query = "UPDATE Series SET status=:status WHERE id=:id"
+        query = "UPDATE Series SET status=:status,queueDate=null WHERE id=:id"
     ),
     @NamedQuery(name = Series.UPDATE_STATUS_RECHECK,
-        query = "UPDATE Series ser SET ser.status='UPDATED' WHERE ser.id in (:idList)"
+        query = "UPDATE Series ser SET ser.status='UPDATED',ser.queueDate=current_timestamp() WHERE ser.id in (:idList)"
     ),
     @NamedQuery(name = Series.UPDATE_TRAILER_STATUS,
         query = "UPDATE Series SET trailerStatus=:status WHERE id=:id"
@@ -75,11 +72,8 @@ import org.yamj.plugin.api.model.type.ArtworkType;
 
 @NamedNativeQueries({    
     @NamedNativeQuery(name = Series.QUERY_METADATA_QUEUE, resultSetMapping="metadata.queue",
-        query = "SELECT vd1.id,'MOVIE' as metatype,(case when vd1.update_timestamp is null then vd1.create_timestamp else vd1.update_timestamp end) as maxdate "+
-                "FROM videodata vd1 WHERE vd1.status in ('NEW','UPDATED') and vd1.episode<0 UNION "+
-                "SELECT DISTINCT ser.id,'SERIES' as metatype,(case when ser.update_timestamp is null then ser.create_timestamp else ser.update_timestamp end) as maxdate "+
-                "FROM series ser, season sea, videodata vd WHERE ser.id=sea.series_id and sea.id=vd.season_id and (ser.status in ('NEW','UPDATED') "+
-                "or  (ser.status='DONE' and sea.status in ('NEW','UPDATED')) or  (ser.status='DONE' and vd.status in ('NEW','UPDATED'))) "
+        query = "SELECT vd.id,'MOVIE' as metatype,vd.queue_date as maxdate FROM videodata vd WHERE vd.queue_date is not null and vd.episode<0 UNION ALL "+
+                "SELECT ser.id,'SERIES' as metatype,ser.queue_date as maxdate FROM series ser WHERE ser.queue_date is not null"
     ),
     @NamedNativeQuery(name = "metadata.rating.series", resultSetMapping="metadata.rating",
         query = "SELECT r1.rating, r1.sourcedb AS source, 2 AS sorting "+
@@ -100,7 +94,11 @@ import org.yamj.plugin.api.model.type.ArtworkType;
         uniqueConstraints = @UniqueConstraint(name = "UIX_SERIES_NATURALID", columnNames = {"identifier"}),
         indexes = {
             @Index(name = "IX_SERIES_TITLE", columnList = "title"),
-            @Index(name = "IX_SERIES_STATUS", columnList = "status")}
+            @Index(name = "IX_SERIES_STATUS", columnList = "status"),
+            @Index(name = "IX_SERIES_IDENTIFIERLOWER", columnList = "identifier_lower"),
+            @Index(name = "IX_SERIES_QUEUEDATE", columnList = "queue_date"),
+            @Index(name = "IX_SERIES_SORTTITLE", columnList = "title_sort"),
+            @Index(name = "IX_SERIES_CREATETIMESTAMP", columnList = "create_timestamp")}
 )
 @SuppressWarnings("unused")
 public class Series extends AbstractMetadata {
@@ -109,7 +107,6 @@ public class Series extends AbstractMetadata {
     public static final String QUERY_REQUIRED = "series.required";
     public static final String QUERY_REQUIRED_FOR_TRAILER = "series.required.forTrailer";
     public static final String QUERY_IDS_RECHECK = "series.ids.forRecheck";
-    public static final String UPDATE_RESCAN_ALL = "series.rescanAll";
     public static final String UPDATE_STATUS = "series.updateStatus";
     public static final String UPDATE_STATUS_RECHECK = "series.updateStatus.forRecheck";
     public static final String UPDATE_TRAILER_STATUS = "series.updateTrailerStatus";
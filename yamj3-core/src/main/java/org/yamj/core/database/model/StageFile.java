@@ -31,6 +31,7 @@ import javax.persistence.Index;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
 import javax.persistence.Table;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.hibernate.Hibernate;
@@ -40,7 +41,7 @@ import org.yamj.core.database.model.type.FileType;
 @NamedQueries({    
     @NamedQuery(name = StageFile.QUERY_FIND_NFO,
         query = "SELECT distinct sf FROM StageFile sf "+
-                "WHERE sf.fileType='NFO' AND lower(sf.baseName)=:baseName AND sf.stageDirectory=:stageDirectory AND sf.status != 'DELETED'"
+                "WHERE sf.fileType='NFO' AND sf.baseNameLower=:baseName AND sf.stageDirectory=:stageDirectory AND sf.status != 'DELETED'"
     ),
     @NamedQuery(name = StageFile.QUERY_VALID_NFOS_VIDEO,
         query = "SELECT distinct sf FROM StageFile sf JOIN FETCH sf.nfoRelations nfrel JOIN nfrel.nfoRelationPK.videoData vd "+
@@ -65,7 +66,7 @@ import org.yamj.core.database.model.type.FileType;
     ),
     @NamedQuery(name = StageFile.QUERY_ARTWORK_FILES,
         query = "SELECT distinct sf FROM StageFile sf WHERE sf.stageDirectory in (:directories) and sf.fileType='IMAGE' "+
-                "AND lower(sf.baseName) in (:artworkNames) AND sf.status != 'DELETED'" 
+                "AND sf.baseNameLower in (:artworkNames) AND sf.status != 'DELETED'" 
     ),
     @NamedQuery(name = StageFile.QUERY_FOR_DELETION,
         query = "SELECT sf.id FROM StageFile sf WHERE sf.status = 'DELETED'"
@@ -83,7 +84,10 @@ import org.yamj.core.database.model.type.FileType;
        uniqueConstraints = @UniqueConstraint(name = "UIX_STAGEFILE_NATURALID", columnNames = {"directory_id", "base_name", "extension"}),
        indexes = {@Index(name = "IX_STAGEFILE_BASENAME", columnList = "base_name"),
                   @Index(name = "IX_STAGEFILE_STATUS", columnList = "status"),
-                  @Index(name = "IX_STAGEFILE_FILETYPE", columnList = "file_type")}
+                  @Index(name = "IX_STAGEFILE_FILETYPE", columnList = "file_type"),
+                  @Index(name = "IX_STAGEFILE_NAMEKEY", columnList = "base_name_lower,extension_lower"),
+                  @Index(name = "IX_STAGEFILE_DIRNAMEKEY", columnList = "directory_id,base_name_lower"),
+                  @Index(name = "IX_STAGEFILE_SETNAME", columnList = "set_name,name_token")}
 )
 @SuppressWarnings("unused")
 public class StageFile extends AbstractStateful {
@@ -114,6 +118,18 @@ public class StageFile extends AbstractStateful {
     @Column(name = "extension", nullable = false, length = 30)
     private String extension;
 
+    @Column(name = "base_name_lower", length = 255)
+    private String baseNameLower;
+
+    @Column(name = "extension_lower", length = 30)
+    private String extensionLower;
+
+    @Column(name = "name_token", length = 30)
+    private String nameToken;
+
+    @Column(name = "set_name", length = 255)
+    private String setName;
+
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "file_date", nullable = false)
     private Date fileDate;
@@ -165,6 +181,7 @@ public class StageFile extends AbstractStateful {
 
     public void setBaseName(String baseName) {
         this.baseName = baseName;
+        updateNameKeys();
     }
 
     public String getExtension() {
@@ -173,6 +190,39 @@ public class StageFile extends AbstractStateful {
 
     public void setExtension(String extension) {
         this.extension = extension;
+        updateNameKeys();
+    }
+
+    public String getBaseNameLower() {
+        return baseNameLower;
+    }
+
+    private void setBaseNameLower(String baseNameLower) {
+        this.baseNameLower = baseNameLower;
+    }
+
+    public String getExtensionLower() {
+        return extensionLower;
+    }
+
+    private void setExtensionLower(String extensionLower) {
+        this.extensionLower = extensionLower;
+    }
+
+    public String getNameToken() {
+        return nameToken;
+    }
+
+    private void setNameToken(String nameToken) {
+        this.nameToken = nameToken;
+    }
+
+    public String getSetName() {
+        return setName;
+    }
+
+    private void setSetName(String setName) {
+        this.setName = setName;
     }
 
     public Date getFileDate() {
@@ -261,6 +311,44 @@ public class StageFile extends AbstractStateful {
 
     // TRANSIENT METHODS
     
+    /**
+     * Update the normalized lookup keys from base name and extension.
+     *
+     * The name token is the last part of the base name after a '.', '-' or '_',
+     * like "fanart" for "movie.fanart"; the set name is the part between "set_"
+     * and the '_' in front of counter or token of boxed set artwork names like
+     * "set_name_1.fanart" or "set_name_fanart".
+     */
+    public void updateNameKeys() {
+        this.extensionLower = extension == null ? null : extension.toLowerCase(Locale.ENGLISH);
+        if (baseName == null) {
+            this.baseNameLower = null;
+            this.nameToken = null;
+            this.setName = null;
+            return;
+        }
+
+        this.baseNameLower = baseName.toLowerCase(Locale.ENGLISH);
+
+        final int sep = Math.max(baseNameLower.lastIndexOf('_'), Math.max(baseNameLower.lastIndexOf('.'), baseNameLower.lastIndexOf('-')));
+        final String token = sep < 0 ? null : baseNameLower.substring(sep + 1);
+        this.nameToken = (token == null || token.isEmpty() || token.length() > 30) ? null : token;
+
+        int setEnd = baseNameLower.lastIndexOf('_');
+        if (setEnd == sep && setEnd > 4) {
+            // token separated by '_'; a counter may be in front of it
+            final int counterEnd = baseNameLower.lastIndexOf('_', sep - 1);
+            if (counterEnd > 4 && StringUtils.isNumeric(baseNameLower.substring(counterEnd + 1, sep))) {
+                setEnd = counterEnd;
+            }
+        }
+        if (baseNameLower.startsWith("set_") && setEnd > 4) {
+            this.setName = baseNameLower.substring(4, setEnd);
+        } else {
+            this.setName = null;
+        }
+    }
+
     public String getFileName() {
         return getBaseName().concat(".").concat(getExtension());
     }
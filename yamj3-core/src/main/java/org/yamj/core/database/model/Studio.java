@@ -23,6 +23,7 @@
 package org.yamj.core.database.model;
 
 import java.io.Serializable;
+import java.util.Locale;
 import javax.persistence.*;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -34,19 +35,20 @@ import org.hibernate.annotations.NaturalId;
                 "AND not exists (select 1 from series_studios ss where ss.studio_id=id)"
     ),
     @NamedNativeQuery(name = "metadata.studio.series", resultClass = Studio.class,
-        query = "SELECT s.id, s.name FROM studio s JOIN series_studios ss ON s.id=ss.studio_id and ss.series_id=:id ORDER BY name"
+        query = "SELECT s.id, s.name, s.name_lower FROM studio s JOIN series_studios ss ON s.id=ss.studio_id and ss.series_id=:id ORDER BY name"
     ),
     @NamedNativeQuery(name = "metadata.studio.season", resultClass = Studio.class,
-        query = "SELECT s.id, s.name FROM studio s JOIN season sea ON sea.id=:id JOIN series_studios ss ON s.id=ss.studio_id and ss.series_id=sea.series_id ORDER BY name"
+        query = "SELECT s.id, s.name, s.name_lower FROM studio s JOIN season sea ON sea.id=:id JOIN series_studios ss ON s.id=ss.studio_id and ss.series_id=sea.series_id ORDER BY name"
     ),
     @NamedNativeQuery(name = "metadata.studio.movie", resultClass = Studio.class,
-        query = "SELECT s.id, s.name FROM studio s JOIN videodata_studios vs ON s.id=vs.studio_id and vs.data_id=:id ORDER BY name"
+        query = "SELECT s.id, s.name, s.name_lower FROM studio s JOIN videodata_studios vs ON s.id=vs.studio_id and vs.data_id=:id ORDER BY name"
     )    
 })
 
 @Entity
 @Table(name = "studio",
-        uniqueConstraints = @UniqueConstraint(name = "UIX_STUDIO_NATURALID", columnNames = {"name"})
+        uniqueConstraints = @UniqueConstraint(name = "UIX_STUDIO_NATURALID", columnNames = {"name"}),
+        indexes = @Index(name = "IX_STUDIO_NAMELOWER", columnList = "name_lower")
 )
 public class Studio extends AbstractIdentifiable implements Serializable {
 
@@ -57,6 +59,12 @@ public class Studio extends AbstractIdentifiable implements Serializable {
     @Column(name = "name", nullable = false, length = 200)
     private String name;
 
+    /**
+     * The lower case name for indexed case insensitive lookups.
+     */
+    @Column(name = "name_lower", length = 200)
+    private String nameLower;
+
     // GETTER and SETTER
     
     public String getName() {
@@ -65,6 +73,16 @@ public class Studio extends AbstractIdentifiable implements Serializable {
 
     public void setName(String name) {
         this.name = name;
+        this.nameLower = name == null ? null : name.toLowerCase(Locale.ENGLISH);
+    }
+
+    public String getNameLower() {
+        return nameLower;
+    }
+
+    @SuppressWarnings("unused")
+    private void setNameLower(String nameLower) {
+        this.nameLower = nameLower;
     }
 
     // EQUALITY CHECKS
@@ -0,0 +1,102 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import javax.persistence.*;
+import org.hibernate.annotations.Type;
+import org.yamj.common.type.MetaDataType;
+
+/**
+ * Records the deletion of a meta data object, so that clients can sync deletions.
+ */
+@NamedQueries({    
+    @NamedQuery(name = Tombstone.QUERY_DELETED,
+        query = "SELECT t.objectId FROM Tombstone t WHERE t.metaDataType=:type AND t.deletionTimestamp>:since AND t.deletionTimestamp<=:until "+
+                "AND t.objectId>:id ORDER BY t.objectId"
+    ),
+    @NamedQuery(name = Tombstone.DELETE_EXPIRED,
+        query = "DELETE FROM Tombstone t WHERE t.deletionTimestamp<:date"
+    )
+})
+
+@Entity
+@Table(name = "tombstone",
+    indexes = @Index(name = "IX_TOMBSTONE_DELETION", columnList = "meta_data_type,deletion_timestamp")
+)
+public class Tombstone extends AbstractIdentifiable implements Serializable {
+
+    private static final long serialVersionUID = -1832616749287345873L;
+    public static final String QUERY_DELETED = "tombstone.deleted";
+    public static final String DELETE_EXPIRED = "tombstone.deleteExpired";
+
+    @Type(type = "metaDataType")
+    @Column(name = "meta_data_type", nullable = false, length = 30)
+    private MetaDataType metaDataType;
+
+    @Column(name = "object_id", nullable = false)
+    private long objectId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "deletion_timestamp", nullable = false)
+    private Date deletionTimestamp;
+
+    // CONSTRUCTORS
+    
+    public Tombstone() {
+        super();
+    }
+
+    public Tombstone(MetaDataType metaDataType, long objectId) {
+        this.metaDataType = metaDataType;
+        this.objectId = objectId;
+        this.deletionTimestamp = new Date();
+    }
+
+    // GETTER AND SETTER
+
+    public MetaDataType getMetaDataType() {
+        return metaDataType;
+    }
+
+    public void setMetaDataType(MetaDataType metaDataType) {
+        this.metaDataType = metaDataType;
+    }
+
+    public long getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(long objectId) {
+        this.objectId = objectId;
+    }
+
+    public Date getDeletionTimestamp() {
+        return deletionTimestamp;
+    }
+
+    public void setDeletionTimestamp(Date deletionTimestamp) {
+        this.deletionTimestamp = deletionTimestamp;
+    }
+}
@@ -62,11 +62,11 @@ import org.yamj.plugin.api.model.type.ArtworkType;
     ),
     @NamedQuery(name = VideoData.QUERY_FIND_VIDEOS_FOR_NFO_BY_NAME_AND_DIRECTORY,
         query = "SELECT distinct vd FROM VideoData vd JOIN vd.mediaFiles mf JOIN mf.stageFiles sf WHERE sf.fileType='VIDEO' "+
-                "AND mf.extra=:extra AND lower(sf.baseName)=:baseName AND sf.stageDirectory=:stageDirectory AND sf.status != 'DELETED'"
+                "AND mf.extra=:extra AND sf.baseNameLower=:baseName AND sf.stageDirectory=:stageDirectory AND sf.status != 'DELETED'"
     ),
     @NamedQuery(name = VideoData.QUERY_FIND_VIDEOS_FOR_NFO_BY_NAME_AND_LIBRARY,
         query = "SELECT distinct vd FROM VideoData vd JOIN vd.mediaFiles mf JOIN mf.stageFiles sf JOIN sf.stageDirectory sd "+
-                "WHERE sf.fileType='VIDEO' AND mf.extra=:extra AND lower(sf.baseName)=:baseName AND sd.library=:library AND sf.status != 'DELETED'"
+                "WHERE sf.fileType='VIDEO' AND mf.extra=:extra AND sf.baseNameLower=:baseName AND sd.library=:library AND sf.status != 'DELETED'"
     ),
     @NamedQuery(name = VideoData.QUERY_FIND_VIDEOS_FOR_NFO_BY_DIRECTORIES,
         query = "SELECT distinct vd FROM VideoData vd JOIN vd.mediaFiles mf JOIN mf.stageFiles sf "+
@@ -81,14 +81,11 @@ import org.yamj.plugin.api.model.type.ArtworkType;
     @NamedQuery(name = VideoData.QUERY_IDS_RECHECK_EPISODE,
         query = "SELECT vd.id FROM VideoData vd WHERE vd.status not in ('NEW','UPDATED') AND (vd.lastScanned is null or vd.lastScanned<=:compareDate) AND vd.episode>=0 ORDER BY vd.lastScanned"
     ),
-    @NamedQuery(name = VideoData.UPDATE_RESCAN_ALL,
-        query = "UPDATE VideoData SET status='UPDATED' WHERE status not in ('NEW','UPDATED')"
-    ),
     @NamedQuery(name = VideoData.UPDATE_STATUS,
-        query = "UPDATE VideoData SET status=:status WHERE id=:id"
+        query = "UPDATE VideoData SET status=:status,queueDate=null WHERE id=:id"
     ),
     @NamedQuery(name = VideoData.UPDATE_STATUS_RECHECK,
-        query = "UPDATE VideoData vd SET vd.status='UPDATED' WHERE vd.id in (:idList)"
+        query = "UPDATE VideoData vd SET vd.status='UPDATED',vd.queueDate=current_timestamp() WHERE vd.id in (:idList)"
     ),
     @NamedQuery(name = VideoData.UPDATE_TRAILER_STATUS,
         query = "UPDATE VideoData SET trailerStatus=:status WHERE id=:id"
@@ -157,7 +154,11 @@ import org.yamj.plugin.api.model.type.ArtworkType;
         indexes = {
             @Index(name = "IX_VIDEODATA_TITLE", columnList = "title"),
             @Index(name = "IX_VIDEODATA_STATUS", columnList = "status"),
-            @Index(name = "IX_VIDEODATA_PUBLICATIONYEAR", columnList = "publication_year")}
+            @Index(name = "IX_VIDEODATA_PUBLICATIONYEAR", columnList = "publication_year"),
+            @Index(name = "IX_VIDEODATA_IDENTIFIERLOWER", columnList = "identifier_lower"),
+            @Index(name = "IX_VIDEODATA_QUEUEDATE", columnList = "queue_date,episode"),
+            @Index(name = "IX_VIDEODATA_SORTTITLE", columnList = "title_sort"),
+            @Index(name = "IX_VIDEODATA_CREATETIMESTAMP", columnList = "create_timestamp")}
 )
 @SuppressWarnings("unused")
 public class VideoData extends AbstractMetadata {
@@ -171,7 +172,6 @@ public class VideoData extends AbstractMetadata {
     public static final String QUERY_FIND_VIDEOS_FOR_PERSON = "videoData.findVideoDatas.forPerson";
     public static final String QUERY_IDS_RECHECK_MOVIE = "videoData.ids.forMovieRecheck";
     public static final String QUERY_IDS_RECHECK_EPISODE = "videoData.ids.forEpisodeRecheck";
-    public static final String UPDATE_RESCAN_ALL = "videoData.rescanAll";
     public static final String UPDATE_STATUS = "videoData.updateStatus";
     public static final String UPDATE_STATUS_RECHECK ="videoData.updateStatus.forRecheck";
     public static final String UPDATE_TRAILER_STATUS = "videoData.updateTrailerStatus";
@@ -776,6 +776,16 @@ public class VideoData extends AbstractMetadata {
 
     public void setSeason(Season season) {
         this.season = season;
+        if (isUpdated()) {
+            enqueueParent();
+        }
+    }
+
+    @Override
+    protected void enqueueParent() {
+        if (season != null) {
+            season.enqueueParent();
+        }
     }
 
     public Set<MediaFile> getMediaFiles() {
@@ -0,0 +1,83 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.model.dto;
+
+import java.util.Date;
+
+/**
+ * Holds the data for computing the refresh score of a scanned object.
+ */
+public final class RefreshCandidateDTO {
+
+    private final Long id;
+    private final Date lastScanned;
+    private final Date createTimestamp;
+    private Date watchedDate;
+    private boolean airing = false;
+    private Date lastChange;
+
+    public RefreshCandidateDTO(Long id, Date lastScanned, Date createTimestamp) {
+        this.id = id;
+        this.lastScanned = lastScanned;
+        this.createTimestamp = createTimestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Date getLastScanned() {
+        return lastScanned;
+    }
+
+    public Date getCreateTimestamp() {
+        return createTimestamp;
+    }
+
+    public Date getWatchedDate() {
+        return watchedDate;
+    }
+
+    public void setWatchedDate(Date watchedDate) {
+        this.watchedDate = watchedDate;
+    }
+
+    public boolean isAiring() {
+        return airing;
+    }
+
+    public void setAiring(boolean airing) {
+        this.airing = airing;
+    }
+
+    /**
+     * The last time a source delivered a changed value.
+     */
+    public Date getLastChange() {
+        return lastChange;
+    }
+
+    public void setLastChange(Date lastChange) {
+        this.lastChange = lastChange;
+    }
+}
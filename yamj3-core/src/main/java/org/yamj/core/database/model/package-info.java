@@ -42,7 +42,11 @@
     @TypeDef(name = "intervalType", typeClass = EnumStringUserType.class,
         parameters = {@Parameter(name = "enumClassName", value = "org.yamj.core.database.model.type.IntervalType")}),
     @TypeDef(name = "scalingType", typeClass = EnumStringUserType.class,
-        parameters = {@Parameter(name = "enumClassName", value = "org.yamj.core.database.model.type.ScalingType")})
+        parameters = {@Parameter(name = "enumClassName", value = "org.yamj.core.database.model.type.ScalingType")}),
+    @TypeDef(name = "rescanWaveState", typeClass = EnumStringUserType.class,
+        parameters = {@Parameter(name = "enumClassName", value = "org.yamj.core.database.model.type.RescanWaveState")}),
+    @TypeDef(name = "rescanWaveOrder", typeClass = EnumStringUserType.class,
+        parameters = {@Parameter(name = "enumClassName", value = "org.yamj.core.database.model.type.RescanWaveOrder")})
 })
 package org.yamj.core.database.model;
 
@@ -139,7 +139,7 @@ public class ArtworkLocatorService {
         if (!parentDirectories.isEmpty()) {
             artworkNames.addAll(tokens);
             for (StageDirectory parent : parentDirectories) {
-                final String directoryName = StringEscapeUtils.escapeSql(parent.getDirectoryName().toLowerCase());
+                final String directoryName = StringEscapeUtils.escapeSql(parent.getDirectoryName().toLowerCase(Locale.ENGLISH));
 
                 if (ArtworkType.POSTER == artworkType) {
                     artworkNames.add(directoryName);
@@ -176,8 +176,8 @@ public class ArtworkLocatorService {
         
         for (StageFile videoFile : videoFiles) {
             directories.add(videoFile.getStageDirectory());
-            final String directoryName = StringEscapeUtils.escapeSql(videoFile.getStageDirectory().getDirectoryName().toLowerCase());
-            final String fileName = StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase());
+            final String directoryName = StringEscapeUtils.escapeSql(videoFile.getStageDirectory().getDirectoryName().toLowerCase(Locale.ENGLISH));
+            final String fileName = StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase(Locale.ENGLISH));
             
             if (ArtworkType.POSTER == artworkType) {
                 artworkNames.add(fileName);
@@ -193,7 +193,7 @@ public class ArtworkLocatorService {
         final Set<String> artworkNames = new HashSet<>();
         
         for (StageFile videoFile : videoFiles) {
-            final String fileName = StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase());
+            final String fileName = StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase(Locale.ENGLISH));
             
             if (ArtworkType.POSTER == artworkType) {
                 artworkNames.add(fileName);
@@ -221,21 +221,19 @@ public class ArtworkLocatorService {
 	public List<StageFile> getMatchingArtwork(ArtworkType artworkType, BoxedSet boxedSet) {
         final StringBuilder sb = new StringBuilder();
         sb.append("select distinct f from StageFile f ");
-        sb.append("where lower(f.baseName) like 'set_");
-        sb.append(StringEscapeUtils.escapeSql(boxedSet.getName().toLowerCase()));
-        sb.append("_%' ");
+        sb.append("where f.setName=:setName ");
         if (ArtworkType.FANART == artworkType) {
-            sb.append(" and lower(f.baseName) like '%fanart' ");
+            sb.append("and f.nameToken='fanart' ");
         } else if (ArtworkType.BANNER == artworkType) {
-            sb.append(" and lower(f.baseName) like '%banner' ");
+            sb.append("and f.nameToken='banner' ");
         } else {
-            sb.append(" and lower(f.baseName) not like '%fanart' ");
-            sb.append(" and lower(f.baseName) not like '%banner' ");
+            sb.append("and (f.nameToken is null or f.nameToken not in ('fanart','banner')) ");
         }
         sb.append("and f.status != :deleted ");
         sb.append("and f.fileType = :fileType ");
 
         final Map<String,Object> params = new HashMap<>();
+        params.put("setName", boxedSet.getName().toLowerCase(Locale.ENGLISH));
         params.put("deleted", StatusType.DELETED);
         params.put("fileType", FileType.IMAGE);
         
@@ -276,12 +274,12 @@ public class ArtworkLocatorService {
 
     public List<StageFile> getPhotos(Person person) {
         Set<String> artworkNames = new HashSet<>();
-        artworkNames.add(StringEscapeUtils.escapeSql(person.getName().toLowerCase()));
-        artworkNames.add(StringEscapeUtils.escapeSql(person.getName().toLowerCase() + ".photo"));
-        artworkNames.add(StringEscapeUtils.escapeSql(person.getName().toLowerCase() + "-photo"));
-        artworkNames.add(person.getIdentifier().toLowerCase());
-        artworkNames.add(person.getIdentifier().toLowerCase() + ".photo");
-        artworkNames.add(person.getIdentifier().toLowerCase() + "-photo");
+        artworkNames.add(StringEscapeUtils.escapeSql(person.getName().toLowerCase(Locale.ENGLISH)));
+        artworkNames.add(StringEscapeUtils.escapeSql(person.getName().toLowerCase(Locale.ENGLISH) + ".photo"));
+        artworkNames.add(StringEscapeUtils.escapeSql(person.getName().toLowerCase(Locale.ENGLISH) + "-photo"));
+        artworkNames.add(person.getIdentifier().toLowerCase(Locale.ENGLISH));
+        artworkNames.add(person.getIdentifier().toLowerCase(Locale.ENGLISH) + ".photo");
+        artworkNames.add(person.getIdentifier().toLowerCase(Locale.ENGLISH) + "-photo");
         
         List<StageFile> artworks;
         if (StringUtils.isNotBlank(photoFolderName)) {
@@ -310,7 +308,7 @@ public class ArtworkLocatorService {
         final Set<String> artworkNames = new HashSet<>();
         for (StageFile videoFile : videoFiles) {
             directories.add(videoFile.getStageDirectory());
-            final String fileName = StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase());
+            final String fileName = StringEscapeUtils.escapeSql(videoFile.getBaseName().toLowerCase(Locale.ENGLISH));
             if (episodePart == 0) {
                 artworkNames.add(fileName+".videoimage");
                 artworkNames.add(fileName+".videoimage_1"); // just to be complete
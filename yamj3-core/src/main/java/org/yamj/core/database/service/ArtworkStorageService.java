@@ -97,14 +97,12 @@ public class ArtworkStorageService {
     }
 
     @Transactional
-    public void updateArtwork(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    public void updateArtwork(Artwork artwork, Collection<ArtworkLocated> locatedArtworks, Date deferredUntil) {
         if (artwork.getArtworkLocated().isEmpty()) {
             // no located artwork presents; just store all
             this.artworkDao.storeAll(locatedArtworks);
         } else if (CollectionUtils.isNotEmpty(locatedArtworks)) {
-            for (ArtworkLocated located : locatedArtworks) {
-                this.artworkDao.saveArtworkLocated(artwork, located);
-            }
+            this.artworkDao.saveArtworkLocated(artwork, locatedArtworks);
         }
 
         // update not found stage files to DONE
@@ -117,7 +115,11 @@ public class ArtworkStorageService {
         }
         
         // set status of artwork
-        if (CollectionUtils.isEmpty(artwork.getArtworkLocated())) {
+        artwork.setDeferredUntil(deferredUntil);
+        if (deferredUntil != null) {
+            // scan again when the skipped scanners are available
+            artwork.setStatus(UPDATED);
+        } else if (CollectionUtils.isEmpty(artwork.getArtworkLocated())) {
             artwork.setStatus(NOTFOUND);
         } else {
             artwork.setStatus(DONE);
@@ -168,6 +170,14 @@ public class ArtworkStorageService {
         artworkDao.executeUpdate(Artwork.UPDATE_STATUS, params);
     }
 
+    @Transactional
+    public void deferArtwork(Long id, Date deferredUntil) {
+        Map<String, Object> params = new HashMap<>(2);
+        params.put(LITERAL_ID, id);
+        params.put("deferredUntil", deferredUntil);
+        artworkDao.executeUpdate(Artwork.UPDATE_DEFERRED, params);
+    }
+
     @SuppressWarnings("unchecked")
 	@Transactional(readOnly = true)
     public ArtworkLocated getRequiredArtworkLocated(long id) {
@@ -218,11 +228,13 @@ public class ArtworkStorageService {
             generated.setArtworkProfile(profile);
             generated.setCacheDirectory(cacheDir);
             generated.setCacheFilename(cacheFileName);
+            generated.setProfileHash(profile.buildProfileHash());
             generated.setStatus(DONE);
             this.artworkDao.saveEntity(generated);
         } else {
             generated.setCacheDirectory(cacheDir);
             generated.setCacheFilename(cacheFileName);
+            generated.setProfileHash(profile.buildProfileHash());
             generated.setStatus(DONE);
             this.artworkDao.updateEntity(generated);
         }
@@ -327,4 +339,46 @@ public class ArtworkStorageService {
         params.put("profileDate", profileDate);
         return this.artworkDao.executeUpdate(ArtworkGenerated.UPDATE_STATUS_FOR_PROFILE, params);
     }
+
+    /**
+     * Set the profile hash of generated artwork without a hash which has been
+     * generated after the last change of its profile.
+     *
+     * @return the number of updated generated artwork
+     */
+    @Transactional
+    public int initProfileHashes() {
+        int count = 0;
+        for (ArtworkProfile profile : artworkDao.getAllArtworkProfiles()) {
+            Date profileDate = profile.getCreateTimestamp();
+            if (profile.getUpdateTimestamp() != null) {
+                profileDate = profile.getUpdateTimestamp();
+            }
+
+            Map<String,Object> params = new HashMap<>(3);
+            params.put(LITERAL_ID, profile.getId());
+            params.put("profileHash", profile.buildProfileHash());
+            params.put("profileDate", profileDate);
+            count += this.artworkDao.executeUpdate(ArtworkGenerated.UPDATE_PROFILE_HASH, params);
+        }
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, List<Long>> getOutdatedArtworkGenerated(int maxResults) {
+        return this.artworkDao.getOutdatedArtworkGenerated(getProfileHashes(), maxResults);
+    }
+
+    @Transactional(readOnly = true)
+    public long countOutdatedArtworkGenerated() {
+        return this.artworkDao.countOutdatedArtworkGenerated(getProfileHashes());
+    }
+
+    private Map<Long, String> getProfileHashes() {
+        Map<Long, String> profileHashes = new HashMap<>();
+        for (ArtworkProfile profile : artworkDao.getAllArtworkProfiles()) {
+            profileHashes.put(profile.getId(), profile.buildProfileHash());
+        }
+        return profileHashes;
+    }
 }
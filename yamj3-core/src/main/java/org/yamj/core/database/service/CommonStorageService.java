@@ -39,6 +39,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.yamj.common.type.MetaDataType;
 import org.yamj.core.database.dao.StagingDao;
 import org.yamj.core.database.model.*;
 import org.yamj.core.database.model.dto.DeletionDTO;
@@ -259,6 +260,7 @@ public class CommonStorageService {
         }
 
         this.stagingDao.deleteEntity(videoData);
+        this.stagingDao.saveEntity(new Tombstone(videoData.isMovie() ? MetaDataType.MOVIE : MetaDataType.EPISODE, videoData.getId()));
     }
 
     private void delete(Season season, Set<String> filesToDelete) {
@@ -276,6 +278,7 @@ public class CommonStorageService {
         }
 
         this.stagingDao.deleteEntity(season);
+        this.stagingDao.saveEntity(new Tombstone(MetaDataType.SEASON, season.getId()));
     }
 
     private void delete(Series series, Set<String> filesToDelete) {
@@ -287,6 +290,7 @@ public class CommonStorageService {
         }
 
         this.stagingDao.deleteEntity(series);
+        this.stagingDao.saveEntity(new Tombstone(MetaDataType.SERIES, series.getId()));
     }
 
     private void delete(Artwork artwork, Set<String> filesToDelete) {
@@ -369,11 +373,18 @@ public class CommonStorageService {
         if (person != null) {
             this.delete(person.getPhoto(), filesToDelete);
             this.stagingDao.deleteEntity(person);
+            this.stagingDao.saveEntity(new Tombstone(MetaDataType.PERSON, person.getId()));
         }
 
         return filesToDelete;
     }
 
+    @Transactional
+    public int deleteExpiredTombstones(Date expirationDate) {
+        Map<String, Object> params = Collections.singletonMap("date", (Object) expirationDate);
+        return this.stagingDao.executeUpdate(Tombstone.DELETE_EXPIRED, params);
+    }
+
     @SuppressWarnings("unchecked")
 	@Transactional(readOnly = true)
     public List<Long> getOrphanBoxedSets() {
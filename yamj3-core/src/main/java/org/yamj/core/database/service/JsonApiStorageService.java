@@ -53,6 +53,7 @@ import org.yamj.core.api.model.builder.DataItem;
 import org.yamj.core.api.model.dto.ApiArtworkDTO;
 import org.yamj.core.api.model.dto.ApiAudioCodecDTO;
 import org.yamj.core.api.model.dto.ApiAwardDTO;
+import org.yamj.core.api.model.dto.ApiChangesDTO;
 import org.yamj.core.api.model.dto.ApiBoxedSetDTO;
 import org.yamj.core.api.model.dto.ApiCertificationDTO;
 import org.yamj.core.api.model.dto.ApiCountryDTO;
@@ -80,6 +81,7 @@ import org.yamj.core.api.wrapper.ApiWrapperList;
 import org.yamj.core.api.wrapper.ApiWrapperSingle;
 import org.yamj.core.config.LocaleService;
 import org.yamj.core.database.dao.ApiDao;
+import org.yamj.core.database.dao.ChangeDao;
 import org.yamj.core.database.dao.CommonDao;
 import org.yamj.core.database.dao.MediaDao;
 import org.yamj.core.database.dao.MetadataDao;
@@ -119,6 +121,8 @@ public class JsonApiStorageService {
     @Autowired
     private PlayerDao playerDao;
     @Autowired
+    private ChangeDao changeDao;
+    @Autowired
     private LocaleService localeService;
     @Autowired
     private MetadataStorageService metadataStorageService;
@@ -211,7 +215,45 @@ public class JsonApiStorageService {
         }
         return ct;
     }
-    //</editor-fold>
+
+    /**
+     * Get a page of the objects which have been added, changed or deleted within a period.
+     *
+     * @param type the meta data type
+     * @param since exclusive start of the period
+     * @param until inclusive end of the period
+     * @param lastId the last ID of the previous page
+     * @param maxResults the maximum number of IDs in the page
+     * @return the changes
+     */
+    public ApiChangesDTO getChanges(MetaDataType type, Date since, Date until, long lastId, int maxResults) {
+        final ApiChangesDTO changes = new ApiChangesDTO(type, since.getTime(), until.getTime());
+        final List<Object[]> changed = changeDao.getChangedObjects(type, since, until, lastId, maxResults);
+        final List<Long> deleted = changeDao.getDeletedObjects(type, since, until, lastId, maxResults);
+
+        // merge both lists ordered by ID, so that the last ID is a valid cursor for both
+        int c = 0;
+        int d = 0;
+        long last = lastId;
+        while ((c + d) < maxResults && (c < changed.size() || d < deleted.size())) {
+            if (d >= deleted.size() || (c < changed.size() && (Long) changed.get(c)[0] < deleted.get(d))) {
+                final Object[] row = changed.get(c++);
+                last = (Long) row[0];
+                if (since.before((Date) row[1])) {
+                    changes.getAdded().add(last);
+                } else {
+                    changes.getChanged().add(last);
+                }
+            } else {
+                last = deleted.get(d++);
+                changes.getDeleted().add(last);
+            }
+        }
+        
+        changes.setLastId(last);
+        changes.setComplete(changed.size() < maxResults && deleted.size() < maxResults && c == changed.size() && d == deleted.size());
+        return changes;
+    }
 
     //<editor-fold defaultstate="collapsed" desc="Person Methods">
     public List<ApiPersonDTO> getPersonList(ApiWrapperList<ApiPersonDTO> wrapper, OptionsId options) {
@@ -1159,12 +1201,6 @@ public class JsonApiStorageService {
 
         return ApiStatus.badRequest("No valid " + type.name().toLowerCase() + " ID provided");
     }
-
-    @Transactional
-    public ApiStatus rescanAll() {
-        this.apiDao.rescanAll();
-        return ApiStatus.ok("Rescan forced for all meta data objects");
-    }
     
     //</editor-fold>
     
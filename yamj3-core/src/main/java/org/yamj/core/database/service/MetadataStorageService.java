@@ -24,11 +24,13 @@ package org.yamj.core.database.service;
 
 import static org.yamj.core.CachingNames.*;
 import static org.yamj.core.ServiceConstants.STORAGE_ERROR;
+import static org.yamj.core.database.model.AbstractScannable.toIdentifierLower;
+import static org.yamj.core.database.service.ReferenceRegistry.ReferenceType.*;
 import static org.yamj.core.tools.YamjTools.getEqualObject;
 
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Callable;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -41,6 +43,7 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.yamj.common.type.MetaDataType;
 import org.yamj.common.type.StatusType;
 import org.yamj.core.CachingNames;
@@ -59,13 +62,6 @@ import org.yamj.plugin.api.model.type.ArtworkType;
 public class MetadataStorageService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MetadataStorageService.class);
-    private static final ReentrantLock COUNTRY_STORAGE_LOCK = new ReentrantLock(true);
-    private static final ReentrantLock STUDIO_STORAGE_LOCK = new ReentrantLock(true);
-    private static final ReentrantLock CERTIFICATION_STORAGE_LOCK = new ReentrantLock(true);
-    private static final ReentrantLock AWARD_STORAGE_LOCK = new ReentrantLock(true);
-    private static final ReentrantLock GENRE_STORAGE_LOCK = new ReentrantLock(true);
-    private static final ReentrantLock PERSON_STORAGE_LOCK = new ReentrantLock(true);
-    private static final ReentrantLock BOXSET_STORAGE_LOCK = new ReentrantLock(true);
     private static final String COMPARE_DATE = "compareDate";
     private static final String ID_LIST = "idList";
     
@@ -73,6 +69,10 @@ public class MetadataStorageService {
     private CommonDao commonDao;
     @Autowired
     private MetadataDao metadataDao;
+    @Autowired
+    private OverrideSourceStorageService overrideSourceStorageService;
+    @Autowired
+    private ReferenceRegistry referenceRegistry;
 
     @Transactional(readOnly = true)
     public List<QueueDTO> getMetaDataQueueForScanning(final int maxResults) {
@@ -89,6 +89,29 @@ public class MetadataStorageService {
         return metadataDao.getMetadataQueue(Person.QUERY_FILMOGRAPHY_QUEUE, maxResults);
     }
 
+    @Transactional(readOnly = true)
+    public long getScanQueueSize(String entity, String queueDateProperty) {
+        return metadataDao.countQueued(entity, queueDateProperty);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, String> getSourceDbIds(MetaDataType type, String sourceDb, Collection<Long> ids) {
+        switch (type) {
+            case MOVIE:
+            case EPISODE:
+                return metadataDao.getSourceDbIds("videodata_ids", "videodata_id", sourceDb, ids);
+            case SERIES:
+                return metadataDao.getSourceDbIds("series_ids", "series_id", sourceDb, ids);
+            case SEASON:
+                return metadataDao.getSourceDbIds("season_ids", "season_id", sourceDb, ids);
+            case PERSON:
+            case FILMOGRAPHY:
+                return metadataDao.getSourceDbIds("person_ids", "person_id", sourceDb, ids);
+            default:
+                return Collections.emptyMap();
+        }
+    }
+
     @Transactional(readOnly = true)
     public VideoData getRequiredVideoData(Long id) {
         VideoData videoData = metadataDao.getById(VideoData.class, id);
@@ -129,19 +152,44 @@ public class MetadataStorageService {
         this.storeBoxedSets(videoData.getBoxedSetDTOS());
         
         // store persons
-        for (CreditDTO creditDTO : videoData.getCreditDTOS()) {
-            PERSON_STORAGE_LOCK.lock();
+        for (final CreditDTO creditDTO : videoData.getCreditDTOS()) {
             try {
-                this.metadataDao.storeMovieCredit(creditDTO);
+                final Long personId = this.referenceRegistry.resolve(PERSON, toIdentifierLower(creditDTO.getIdentifier()), new Callable<Long>() {
+                    @Override
+                    public Long call() {
+                        metadataDao.storeMovieCredit(creditDTO);
+                        return creditDTO.getPersonId();
+                    }
+                });
+                
+                if (personId == null) {
+                    // nothing resolved, so store it directly
+                    this.metadataDao.storeMovieCredit(creditDTO);
+                } else if (creditDTO.getPersonId() == null) {
+                    // known person, so update it by primary key if the credit has new values
+                    if (!hasPersonUpdates(creditDTO)) {
+                        creditDTO.setPersonId(personId);
+                    } else if (!this.metadataDao.updateMovieCredit(personId, creditDTO)) {
+                        // registered person does not exist anymore
+                        this.referenceRegistry.evict(PERSON, personId);
+                        this.metadataDao.storeMovieCredit(creditDTO);
+                    }
+                }
             } catch (Exception ex) {
                 LOG.error("Failed to store person '{}', error: {}", creditDTO.getName(), ex.getMessage());
                 LOG.trace(STORAGE_ERROR, ex);
-            } finally {
-                PERSON_STORAGE_LOCK.unlock();
             }
         }
     }
     
+    private static boolean hasPersonUpdates(CreditDTO creditDTO) {
+        return StringUtils.isNotBlank(creditDTO.getSourceId())
+            || CollectionUtils.isNotEmpty(creditDTO.getPhotoDTOS())
+            || StringUtils.isNotBlank(creditDTO.getFirstName())
+            || StringUtils.isNotBlank(creditDTO.getLastName())
+            || StringUtils.isNotBlank(creditDTO.getRealName());
+    }
+
     /**
      * Store associated entities, like genres or cast.
      *
@@ -168,17 +216,22 @@ public class MetadataStorageService {
         }
 
         // store new countries
-        for (String countryCode: countryCodes) {
-            COUNTRY_STORAGE_LOCK.lock();
+        for (final String countryCode: countryCodes) {
             try {
-                if (this.commonDao.getCountry(countryCode) == null) {
-                    this.commonDao.saveCountry(countryCode);
-                }
+                this.referenceRegistry.resolve(COUNTRY, countryCode, new ReferenceCreator() {
+                    @Override
+                    protected Long lookup() {
+                        return getId(commonDao.getCountry(countryCode));
+                    }
+                    
+                    @Override
+                    protected Long create() {
+                        return commonDao.saveCountry(countryCode).getId();
+                    }
+                });
             } catch (Exception ex) {
                 LOG.error("Failed to store country '{}', error: {}", countryCode, ex.getMessage());
                 LOG.trace(STORAGE_ERROR, ex);
-            } finally {
-                COUNTRY_STORAGE_LOCK.unlock();
             }
         }
     }
@@ -189,17 +242,22 @@ public class MetadataStorageService {
         }
         
         // store new studios
-        for (String studioName : studioNames) {
-            STUDIO_STORAGE_LOCK.lock();
+        for (final String studioName : studioNames) {
             try {
-                if (this.commonDao.getStudio(studioName) == null) {
-                    this.commonDao.saveStudio(studioName);
-                }
+                this.referenceRegistry.resolve(STUDIO, toIdentifierLower(studioName), new ReferenceCreator() {
+                    @Override
+                    protected Long lookup() {
+                        return getId(commonDao.getStudio(studioName));
+                    }
+                    
+                    @Override
+                    protected Long create() {
+                        return commonDao.saveStudio(studioName).getId();
+                    }
+                });
             } catch (Exception ex) {
                 LOG.error("Failed to store studio '{}', error: {}", studioName, ex.getMessage());
                 LOG.trace(STORAGE_ERROR, ex);
-            } finally {
-                STUDIO_STORAGE_LOCK.unlock();
             }
         }
     }
@@ -210,73 +268,145 @@ public class MetadataStorageService {
         }
 
         // store new genres
-        for (String genreName : genreNames) {
-            GENRE_STORAGE_LOCK.lock();
+        for (final String genreName : genreNames) {
             try {
-                if (this.commonDao.getGenre(genreName) == null) {
-                    final String targetXml = GenreXmlTools.getMasterGenre(genreName);
-                    this.commonDao.saveGenre(genreName, targetXml);
-                }
+                this.referenceRegistry.resolve(GENRE, toIdentifierLower(genreName), new ReferenceCreator() {
+                    @Override
+                    protected Long lookup() {
+                        return getId(commonDao.getGenre(genreName));
+                    }
+                    
+                    @Override
+                    protected Long create() {
+                        final String targetXml = GenreXmlTools.getMasterGenre(genreName);
+                        return commonDao.saveGenre(genreName, targetXml).getId();
+                    }
+                });
             } catch (Exception ex) {
                 LOG.error("Failed to store genre '{}', error: {}", genreName, ex.getMessage());
                 LOG.trace(STORAGE_ERROR, ex);
-            } finally {
-                GENRE_STORAGE_LOCK.unlock();
             }
         }
     }
 
     private void storeCertifications(Map<String,String> certificationInfos) {
-        for (Entry<String,String> entry : certificationInfos.entrySet()) {
-            CERTIFICATION_STORAGE_LOCK.lock();
+        for (final Entry<String,String> entry : certificationInfos.entrySet()) {
+            final String key = toIdentifierLower(entry.getKey() + "#" + entry.getValue());
             try {
-                if (this.commonDao.getCertification(entry.getKey(), entry.getValue()) == null) {
-                    this.commonDao.saveCertification(entry.getKey(), entry.getValue());
-                }
+                this.referenceRegistry.resolve(CERTIFICATION, key, new ReferenceCreator() {
+                    @Override
+                    protected Long lookup() {
+                        return getId(commonDao.getCertification(entry.getKey(), entry.getValue()));
+                    }
+                    
+                    @Override
+                    protected Long create() {
+                        return commonDao.saveCertification(entry.getKey(), entry.getValue()).getId();
+                    }
+                });
             } catch (Exception ex) {
                 LOG.error("Failed to store certification '{}'-'{}', error: {}", entry.getKey(), entry.getValue(), ex.getMessage());
                 LOG.trace(STORAGE_ERROR, ex);
-            } finally {
-                CERTIFICATION_STORAGE_LOCK.unlock();
             }
         }
     }
 
     private void storeAwards(Collection<AwardDTO> awards) {
-        for (AwardDTO award : awards) {
-            AWARD_STORAGE_LOCK.lock();
+        for (final AwardDTO award : awards) {
+            final String key = award.getEvent() + "#" + award.getCategory() + "#" + award.getSource();
             try {
-                if (this.commonDao.getAward(award.getEvent(), award.getCategory(), award.getSource()) == null) {
-                    this.commonDao.saveAward(award.getEvent(), award.getCategory(), award.getSource());
-                }
+                this.referenceRegistry.resolve(AWARD, key, new ReferenceCreator() {
+                    @Override
+                    protected Long lookup() {
+                        return getId(commonDao.getAward(award.getEvent(), award.getCategory(), award.getSource()));
+                    }
+                    
+                    @Override
+                    protected Long create() {
+                        return commonDao.saveAward(award.getEvent(), award.getCategory(), award.getSource()).getId();
+                    }
+                });
             } catch (Exception ex) {
                 LOG.error("Failed to store award '{}'-'{}', error: {}", award.getEvent(), award.getCategory(), ex.getMessage());
                 LOG.trace(STORAGE_ERROR, ex);
-            } finally {
-                AWARD_STORAGE_LOCK.unlock();
             }
         }
     }
 
     private void storeBoxedSets(Collection<BoxedSetDTO> boxedSets) {
-        for (BoxedSetDTO boxedSet : boxedSets) {
-            BOXSET_STORAGE_LOCK.lock();
+        for (final BoxedSetDTO boxedSet : boxedSets) {
             try {
-                this.commonDao.storeNewBoxedSet(boxedSet);
+                final Long boxedSetId = this.referenceRegistry.resolve(BOXED_SET, toIdentifierLower(boxedSet.getIdentifier()), new Callable<Long>() {
+                    @Override
+                    public Long call() {
+                        commonDao.storeNewBoxedSet(boxedSet);
+                        return boxedSet.getBoxedSetId();
+                    }
+                });
+
+                if (boxedSetId == null) {
+                    // nothing resolved, so store it directly
+                    this.commonDao.storeNewBoxedSet(boxedSet);
+                } else if (boxedSet.getBoxedSetId() == null) {
+                    // known boxed set, so just update the source id by primary key
+                    boxedSet.setBoxedSetId(boxedSetId);
+                    if (!this.commonDao.updateBoxedSetSourceId(boxedSet)) {
+                        // registered boxed set does not exist anymore
+                        this.referenceRegistry.evict(BOXED_SET, boxedSetId);
+                        this.commonDao.storeNewBoxedSet(boxedSet);
+                    }
+                }
             } catch (Exception ex) {
                 LOG.error("Failed to store boxed set '{}', error: {}", boxedSet.getName(), ex.getMessage());
                 LOG.trace(STORAGE_ERROR, ex);
-            } finally {
-                BOXSET_STORAGE_LOCK.unlock();
             }
         }
     }
 
+    /**
+     * Looks up a reference entity and creates it if not existent.
+     * 
+     * If the creation fails cause the entity has been inserted concurrently,
+     * then the existing entity will be used (insert-or-ignore); that is only
+     * possible outside of a transaction, because a failed creation marks
+     * a surrounding transaction as rollback-only.
+     */
+    private abstract static class ReferenceCreator implements Callable<Long> {
+
+        protected abstract Long lookup();
+
+        protected abstract Long create();
+        
+        protected static Long getId(AbstractIdentifiable entity) {
+            return entity == null ? null : entity.getId();
+        }
+
+        @Override
+        public Long call() {
+            Long id = lookup();
+            if (id == null) {
+                try {
+                    id = create();
+                } catch (RuntimeException ex) {
+                    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                        throw ex;
+                    }
+                    id = lookup();
+                    if (id == null) {
+                        throw ex;
+                    }
+                }
+            }
+            return id;
+        }
+    }
+
     @Transactional(timeout=120)
     public void updateScannedPerson(Person person) {
         // update entity
         person.setLastScanned(new Date());
         metadataDao.updateEntity(person);
+        overrideSourceStorageService.storeSourceValues(person);
 
         // update artwork
         this.updateLocatedArtwork(person);
@@ -321,6 +451,7 @@ public class MetadataStorageService {
         // update entity
         videoData.setLastScanned(new Date());
         metadataDao.updateEntity(videoData);
+        overrideSourceStorageService.storeSourceValues(videoData);
 
         // update genres
         updateGenres(videoData);
@@ -352,6 +483,7 @@ public class MetadataStorageService {
         // update entity
         series.setLastScanned(new Date());
         metadataDao.updateEntity(series);
+        overrideSourceStorageService.storeSourceValues(series);
 
         // update genres
         updateGenres(series);
@@ -384,6 +516,7 @@ public class MetadataStorageService {
                 season.setLastScanned(series.getLastScanned());
             }
             metadataDao.updateEntity(season);
+            overrideSourceStorageService.storeSourceValues(season);
 
             for (VideoData videoData : season.getVideoDatas()) {
                 if (!StatusType.DONE.equals(videoData.getStatus())) {
@@ -903,6 +1036,11 @@ public class MetadataStorageService {
             updated += this.commonDao.executeUpdate(VideoData.UPDATE_STATUS_RECHECK, updateParams);
         }
 
+        if (updated > 0) {
+            // series will be scanned for the updated seasons and episodes
+            this.metadataDao.enqueueSeriesWithPendingChildren();
+        }
+
         // return if something has updated
         return updated > 0;
     }
@@ -921,6 +1059,11 @@ public class MetadataStorageService {
         return this.commonDao.executeUpdate(Person.UPDATE_STATUS_RECHECK, params)>0;
     }
 
+    @Transactional
+    public int repairScanQueue() {
+        return this.metadataDao.repairScanQueue();
+    }
+
     public void handleModifiedSources(VideoData videoData) {
         if (videoData.hasModifiedSource()) { 
             
@@ -0,0 +1,239 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.dao.MetadataDao;
+import org.yamj.core.database.dao.OverrideSourceDao;
+import org.yamj.core.database.model.*;
+import org.yamj.core.database.model.type.OverrideFlag;
+import org.yamj.core.tools.OverrideTools;
+
+@Service("overrideSourceStorageService")
+public class OverrideSourceStorageService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OverrideSourceStorageService.class);
+
+    @Autowired
+    private OverrideSourceDao overrideSourceDao;
+    @Autowired
+    private MetadataDao metadataDao;
+
+    /**
+     * Store the source values collected while scanning the given object.
+     *
+     * @param scannable
+     */
+    public void storeSourceValues(AbstractScannable scannable) {
+        if (scannable.getSourceValues() != null && scannable.getId() > 0) {
+            overrideSourceDao.storeSourceValues(getMetaDataType(scannable), scannable.getId(), scannable.getSourceValues());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getObjectIds(MetaDataType type, long lastId, int maxResults) {
+        return overrideSourceDao.getObjectIds(type, lastId, maxResults);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getChangedObjectIds(MetaDataType type, Date since, long lastId, int maxResults) {
+        return overrideSourceDao.getChangedObjectIds(type, since, lastId, maxResults);
+    }
+
+    /**
+     * Re-resolve the override flags of an object from the stored source values
+     * by using the actual priorities.
+     *
+     * @param type
+     * @param objectId
+     * @return true if the object has been changed, else false
+     */
+    @Transactional
+    public boolean resolveOverrides(MetaDataType type, long objectId) {
+        final AbstractScannable scannable = getScannable(type, objectId);
+        if (scannable == null) {
+            // object has been deleted
+            overrideSourceDao.deleteSourceValues(type, objectId);
+            return false;
+        }
+
+        final Map<OverrideFlag, Map<String, String>> sourceValues = new EnumMap<>(OverrideFlag.class);
+        for (OverrideSourceValue osv : overrideSourceDao.getSourceValues(type, objectId)) {
+            Map<String, String> values = sourceValues.get(osv.getOverrideFlag());
+            if (values == null) {
+                values = new HashMap<>();
+                sourceValues.put(osv.getOverrideFlag(), values);
+            }
+            values.put(osv.getSource(), osv.getValue());
+        }
+
+        boolean changed = false;
+        for (Map.Entry<OverrideFlag, Map<String, String>> entry : sourceValues.entrySet()) {
+            final String source = OverrideTools.resolveSource(scannable, entry.getKey(), entry.getValue().keySet());
+            if (source != null) {
+                LOG.trace("Override {} of {}-{} with value from {}", entry.getKey(), type, objectId, source);
+                changed |= applySourceValue(scannable, entry.getKey(), entry.getValue().get(source), source);
+            }
+        }
+
+        if (changed) {
+            metadataDao.updateEntity(scannable);
+        }
+        return changed;
+    }
+
+    private AbstractScannable getScannable(MetaDataType type, long objectId) {
+        switch (type) {
+            case MOVIE:
+            case EPISODE:
+                return metadataDao.getById(VideoData.class, objectId);
+            case SERIES:
+                return metadataDao.getById(Series.class, objectId);
+            case SEASON:
+                return metadataDao.getById(Season.class, objectId);
+            case PERSON:
+                return metadataDao.getById(Person.class, objectId);
+            default:
+                return null;
+        }
+    }
+
+    static MetaDataType getMetaDataType(AbstractScannable scannable) {
+        if (scannable instanceof VideoData) {
+            return ((VideoData) scannable).isMovie() ? MetaDataType.MOVIE : MetaDataType.EPISODE;
+        }
+        if (scannable instanceof Series) {
+            return MetaDataType.SERIES;
+        }
+        if (scannable instanceof Season) {
+            return MetaDataType.SEASON;
+        }
+        if (scannable instanceof Person) {
+            return MetaDataType.PERSON;
+        }
+        return MetaDataType.UNKNOWN;
+    }
+
+    static boolean applySourceValue(AbstractScannable scannable, OverrideFlag overrideFlag, String value, String source) {
+        try {
+            if (scannable instanceof Person) {
+                return applyPersonValue((Person) scannable, overrideFlag, value, source);
+            }
+            if (scannable instanceof AbstractMetadata) {
+                return applyMetadataValue((AbstractMetadata) scannable, overrideFlag, value, source);
+            }
+        } catch (NumberFormatException ex) {
+            LOG.warn("Invalid {} value '{}' of source {}", overrideFlag, value, source);
+            LOG.trace("Source value error", ex);
+        }
+        return false;
+    }
+
+    private static boolean applyMetadataValue(AbstractMetadata metadata, OverrideFlag overrideFlag, String value, String source) {
+        switch (overrideFlag) {
+            case TITLE:
+                metadata.setTitle(value, source);
+                return true;
+            case ORIGINALTITLE:
+                metadata.setTitleOriginal(value, source);
+                return true;
+            case PLOT:
+                metadata.setPlot(value, source);
+                return true;
+            case OUTLINE:
+                metadata.setOutline(value, source);
+                return true;
+            default:
+                break;
+        }
+
+        if (metadata instanceof VideoData) {
+            final VideoData videoData = (VideoData) metadata;
+            switch (overrideFlag) {
+                case YEAR:
+                    videoData.setPublicationYear(Integer.parseInt(value), source);
+                    return true;
+                case TAGLINE:
+                    videoData.setTagline(value, source);
+                    return true;
+                case QUOTE:
+                    videoData.setQuote(value, source);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        
+        if (OverrideFlag.YEAR == overrideFlag) {
+            if (metadata instanceof Series) {
+                ((Series) metadata).setStartYear(Integer.parseInt(value), source);
+                return true;
+            }
+            if (metadata instanceof Season) {
+                ((Season) metadata).setPublicationYear(Integer.parseInt(value), source);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean applyPersonValue(Person person, OverrideFlag overrideFlag, String value, String source) {
+        switch (overrideFlag) {
+            case NAME:
+                person.setName(value, source);
+                return true;
+            case FIRSTNAME:
+                person.setFirstName(value, source);
+                return true;
+            case LASTNAME:
+                person.setLastName(value, source);
+                return true;
+            case BIRTHDAY:
+                person.setBirthDay(new Date(Long.parseLong(value)), source);
+                return true;
+            case BIRTHPLACE:
+                person.setBirthPlace(value, source);
+                return true;
+            case BIRTHNAME:
+                person.setBirthName(value, source);
+                return true;
+            case DEATHDAY:
+                person.setDeathDay(new Date(Long.parseLong(value)), source);
+                return true;
+            case DEATHPLACE:
+                person.setDeathPlace(value, source);
+                return true;
+            case BIOGRAPHY:
+                person.setBiography(value, source);
+                return true;
+            default:
+                return false;
+        }
+    }
+}
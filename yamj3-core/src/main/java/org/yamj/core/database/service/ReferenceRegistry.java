@@ -0,0 +1,204 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory registry of reference entities (countries, genres, persons, ...) which
+ * are known to exist in the database, mapping the normalized name to the entity id.
+ *
+ * Creation is single-flight per name: only the first caller for an unknown name
+ * runs the creator, concurrent callers for the same name wait for its result and
+ * callers for other names are not blocked at all.
+ *
+ * If the caller runs inside a transaction, then a created id is only registered
+ * after the transaction has been committed and a used id is dropped if the
+ * transaction is rolled back.
+ */
+@Component("referenceRegistry")
+public class ReferenceRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReferenceRegistry.class);
+    private static final int MAX_ENTRIES = 50000;
+
+    public enum ReferenceType {
+        COUNTRY,
+        STUDIO,
+        GENRE,
+        CERTIFICATION,
+        AWARD,
+        BOXED_SET,
+        PERSON;
+    }
+
+    private final Map<ReferenceType, ConcurrentMap<String, Long>> registries = new EnumMap<>(ReferenceType.class);
+    private final Map<ReferenceType, ConcurrentMap<String, FutureTask<Long>>> creations = new EnumMap<>(ReferenceType.class);
+
+    public ReferenceRegistry() {
+        for (ReferenceType type : ReferenceType.values()) {
+            registries.put(type, new ConcurrentHashMap<String, Long>());
+            creations.put(type, new ConcurrentHashMap<String, FutureTask<Long>>());
+        }
+    }
+
+    /**
+     * Get the id of an already registered entity.
+     *
+     * @param type the reference type
+     * @param key the normalized name
+     * @return the id or null if the entity is not known or not committed yet
+     */
+    public Long getId(ReferenceType type, String key) {
+        return registries.get(type).get(key);
+    }
+
+    /**
+     * Resolve the id of an entity; the creator is only called if the name
+     * is not registered and no other thread is creating it right now.
+     *
+     * A failed creation will not be registered, so it will be retried by the next caller.
+     * If the concurrent creation has not been committed yet, then the creator is called
+     * again, because the id of an uncommitted entity must not be shared.
+     *
+     * @param type the reference type
+     * @param key the normalized name
+     * @param creator callable which looks up or creates the entity and returns its id
+     * @return the entity id
+     * @throws Exception if the creation failed
+     */
+    public Long resolve(final ReferenceType type, final String key, final Callable<Long> creator) throws Exception {
+        Long id = registries.get(type).get(key);
+        if (id != null) {
+            register(type, key, id, false);
+            return id;
+        }
+
+        final Callable<Long> registeringCreator = new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                Long createdId = creator.call();
+                if (createdId != null) {
+                    register(type, key, createdId, true);
+                }
+                return createdId;
+            }
+        };
+
+        final ConcurrentMap<String, FutureTask<Long>> creation = creations.get(type);
+        final FutureTask<Long> newTask = new FutureTask<>(registeringCreator);
+        final FutureTask<Long> task = creation.putIfAbsent(key, newTask);
+        if (task == null) {
+            try {
+                newTask.run();
+                return getResult(newTask);
+            } finally {
+                creation.remove(key, newTask);
+            }
+        }
+
+        try {
+            getResult(task);
+        } catch (Exception ex) { //NOSONAR
+            // ignore failure of concurrent creation
+        }
+        id = registries.get(type).get(key);
+        if (id != null) {
+            register(type, key, id, false);
+            return id;
+        }
+        return registeringCreator.call();
+    }
+
+    private static Long getResult(FutureTask<Long> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private void register(final ReferenceType type, final String key, final Long id, final boolean created) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (created) {
+                put(type, key, id);
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    if (created) {
+                        put(type, key, id);
+                    }
+                } else {
+                    registries.get(type).remove(key, id);
+                }
+            }
+        });
+    }
+
+    private void put(ReferenceType type, String key, Long id) {
+        final ConcurrentMap<String, Long> registry = registries.get(type);
+        if (registry.size() >= MAX_ENTRIES) {
+            LOG.debug("Reference registry for {} is full, clear it", type);
+            registry.clear();
+        }
+        registry.put(key, id);
+    }
+
+    /**
+     * Evict all entries of the given type, needed if entities have been deleted.
+     *
+     * @param type the reference type
+     */
+    public void evict(ReferenceType type) {
+        registries.get(type).clear();
+    }
+
+    /**
+     * Evict the entries of a deleted entity.
+     *
+     * @param type the reference type
+     * @param id the id of the deleted entity
+     */
+    public void evict(ReferenceType type, Long id) {
+        registries.get(type).values().removeAll(Collections.singleton(id));
+    }
+}
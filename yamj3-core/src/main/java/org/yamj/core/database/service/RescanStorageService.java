@@ -0,0 +1,289 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.api.model.ApiStatus;
+import org.yamj.core.api.model.dto.ApiRescanWaveDTO;
+import org.yamj.core.database.dao.RescanDao;
+import org.yamj.core.database.model.RescanWave;
+import org.yamj.core.database.model.dto.RefreshCandidateDTO;
+import org.yamj.core.database.model.type.RescanWaveOrder;
+import org.yamj.core.database.model.type.RescanWaveState;
+
+@Service("rescanStorageService")
+public class RescanStorageService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RescanStorageService.class);
+    private static final long HOUR = 3600000L;
+    private static final long DAY = 24 * HOUR;
+    private static final long RECENT_PERIOD = 30 * DAY;
+    // maximal boost of the refresh score
+    private static final double MAX_REFRESH_BOOST = 1.5d * 1.5d * 2d * 1.5d;
+    
+    @Autowired
+    private RescanDao rescanDao;
+
+    /**
+     * Create a new rescan wave; a finished wave with the same name will be replaced.
+     *
+     * @param name
+     * @param type MOVIE, SERIES, PERSON or BOXSET; a boxed set wave rescans the artwork of boxed sets
+     * @param order
+     * @param itemsPerHour
+     * @param libraryId the library to filter for, may be null
+     * @param sourceDb the source to filter for, may be null
+     * @return the API status
+     */
+    @Transactional
+    public ApiStatus createWave(String name, MetaDataType type, RescanWaveOrder order, int itemsPerHour, Long libraryId, String sourceDb) {
+        RescanWave wave = rescanDao.getWave(name);
+        if (wave == null) {
+            wave = new RescanWave();
+            wave.setName(name);
+        } else if (!wave.getState().isFinished()) {
+            return ApiStatus.conflict("Rescan wave '" + name + "' is still " + wave.getState().name().toLowerCase());
+        }
+        
+        final Date now = new Date();
+        wave.setMetaDataType(type);
+        wave.setWaveOrder(order);
+        wave.setItemsPerHour(itemsPerHour);
+        wave.setLibraryId(libraryId);
+        wave.setSourceDb(sourceDb);
+        wave.setState(RescanWaveState.ACTIVE);
+        wave.setCompareDate(now);
+        wave.setLastEnqueued(now);
+        wave.setEnqueuedCount(0);
+        wave.setTotalCount(rescanDao.countCandidates(wave));
+        rescanDao.storeEntity(wave);
+        
+        LOG.info("Created rescan wave {}", wave);
+        return ApiStatus.ok("Rescan wave '" + name + "' created for " + wave.getTotalCount() + " " + type.name().toLowerCase() + " objects");
+    }
+
+    /**
+     * Pause, resume or cancel a rescan wave.
+     *
+     * @param name
+     * @param state the new state
+     * @return the API status
+     */
+    @Transactional
+    public ApiStatus changeWaveState(String name, RescanWaveState state) {
+        RescanWave wave = rescanDao.getWave(name);
+        if (wave == null) {
+            return ApiStatus.notFound("No rescan wave found with name '" + name + "'");
+        }
+        
+        final RescanWaveState current = wave.getState();
+        boolean valid;
+        switch (state) {
+            case PAUSED:
+                valid = RescanWaveState.ACTIVE == current;
+                break;
+            case ACTIVE:
+                valid = RescanWaveState.PAUSED == current;
+                break;
+            case CANCELLED:
+                valid = !current.isFinished();
+                break;
+            default:
+                valid = false;
+                break;
+        }
+        
+        if (!valid) {
+            return ApiStatus.conflict("Rescan wave '" + name + "' is " + current.name().toLowerCase());
+        }
+        
+        if (RescanWaveState.ACTIVE == state) {
+            // no burst after a long pause
+            wave.setLastEnqueued(new Date());
+        }
+        wave.setState(state);
+        LOG.info("Changed state of rescan wave '{}' from {} to {}", name, current, state);
+        return ApiStatus.ok("Rescan wave '" + name + "' is " + state.name().toLowerCase());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ApiRescanWaveDTO> getWaveStatus() {
+        List<ApiRescanWaveDTO> result = new ArrayList<>();
+        for (RescanWave wave : rescanDao.getWaves(RescanWave.QUERY_ALL)) {
+            ApiRescanWaveDTO dto = new ApiRescanWaveDTO(wave.getId());
+            dto.setName(wave.getName());
+            dto.setType(wave.getMetaDataType().name());
+            dto.setOrder(wave.getWaveOrder().name());
+            dto.setState(wave.getState().name());
+            dto.setItemsPerHour(wave.getItemsPerHour());
+            dto.setLibraryId(wave.getLibraryId());
+            dto.setSourceDb(wave.getSourceDb());
+            dto.setTotalCount(wave.getTotalCount());
+            dto.setEnqueuedCount(wave.getEnqueuedCount());
+            dto.setRemainingCount(wave.getState().isFinished() ? 0 : Math.min(wave.getTotalCount(), rescanDao.countCandidates(wave)));
+            dto.setCreateTimestamp(wave.getCreateTimestamp());
+            dto.setLastEnqueued(wave.getLastEnqueued());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RescanWave> getActiveWaves() {
+        return rescanDao.getWaves(RescanWave.QUERY_ACTIVE);
+    }
+
+    /**
+     * Enqueue the next objects of a wave.
+     * 
+     * The number of objects is limited by the rate of the wave and by the number
+     * of objects which are already waiting in the scanning queue.
+     *
+     * @param waveId
+     * @param maxPending the maximum number of pending objects in the scanning queue
+     * @return the number of enqueued objects
+     */
+    @Transactional
+    public int enqueueNext(long waveId, int maxPending) {
+        RescanWave wave = rescanDao.getById(RescanWave.class, waveId);
+        if (wave == null || RescanWaveState.ACTIVE != wave.getState()) {
+            return 0;
+        }
+        
+        final Date now = new Date();
+        final long elapsed = now.getTime() - wave.getLastEnqueued().getTime();
+        final long allowed = (wave.getItemsPerHour() * elapsed) / HOUR;
+        if (allowed < 1) {
+            return 0;
+        }
+        
+        final long free = maxPending - rescanDao.countPending(wave.getMetaDataType());
+        if (free < 1) {
+            LOG.trace("Scanning queue is filled; delay rescan wave '{}'", wave.getName());
+            return 0;
+        }
+        
+        List<Long> idList = rescanDao.getCandidateIds(wave, (int)Math.min(allowed, free));
+        if (idList.isEmpty()) {
+            wave.setState(RescanWaveState.DONE);
+            LOG.info("Finished rescan wave {}", wave);
+            return 0;
+        }
+        
+        rescanDao.markForRescan(wave.getMetaDataType(), idList);
+        wave.setEnqueuedCount(wave.getEnqueuedCount() + idList.size());
+        wave.setLastEnqueued(now);
+        LOG.debug("Rescan wave '{}' enqueued {} objects", wave.getName(), idList.size());
+        return idList.size();
+    }
+
+    /**
+     * Enqueue the due objects with the highest refresh score.
+     *
+     * @param type MOVIE, SERIES or PERSON
+     * @param budget the maximum number of objects to enqueue
+     * @param maxPending the maximum number of pending objects in the scanning queue
+     * @param maxDays the number of days after which an object without any boost is due
+     * @return the number of enqueued objects
+     */
+    @Transactional
+    public int enqueueRefresh(MetaDataType type, int budget, int maxPending, int maxDays) {
+        final int max = (int)Math.min(budget, maxPending - rescanDao.countPending(type));
+        if (max < 1) {
+            return 0;
+        }
+
+        final long now = System.currentTimeMillis();
+        final Date compareDate = new Date(now - (long)(maxDays * DAY / MAX_REFRESH_BOOST));
+        final int window = Math.max(100, max * 10);
+        final List<RefreshCandidateDTO> candidates = new ArrayList<>(rescanDao.getRefreshCandidates(type, compareDate, window));
+        // boosted objects may be scanned more recently than the oldest ones, so they are selected separately
+        candidates.addAll(rescanDao.getBoostedRefreshCandidates(type, compareDate,
+                        new Date(now - RECENT_PERIOD), new Date(now - maxDays * DAY), window));
+
+        final Map<Long, Double> scores = new HashMap<>(candidates.size());
+        for (RefreshCandidateDTO candidate : candidates) {
+            final double score = refreshScore(candidate, now, maxDays);
+            if (score >= 1d) {
+                scores.put(candidate.getId(), score);
+            }
+        }
+        if (scores.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> idList = new ArrayList<>(scores.keySet());
+        Collections.sort(idList, new Comparator<Long>() {
+            @Override
+            public int compare(Long id1, Long id2) {
+                return Double.compare(scores.get(id2), scores.get(id1));
+            }
+        });
+        if (idList.size() > max) {
+            idList = idList.subList(0, max);
+        }
+
+        rescanDao.markForRescan(type, idList);
+        LOG.debug("Refresh enqueued {} {} objects", idList.size(), type.name().toLowerCase());
+        return idList.size();
+    }
+
+    /**
+     * Compute the refresh score; the object is due if the score reaches 1.
+     *
+     * The age relative to the maximum days is boosted for recently watched or added
+     * objects, for still airing series and for objects whose sources delivered changed
+     * values during the last period.
+     */
+    static double refreshScore(RefreshCandidateDTO candidate, long now, int maxDays) {
+        if (candidate.getLastScanned() == null) {
+            return Double.MAX_VALUE;
+        }
+        
+        final long period = maxDays * DAY;
+        double score = (double)(now - candidate.getLastScanned().getTime()) / period;
+        if (isWithin(candidate.getWatchedDate(), now, RECENT_PERIOD)) {
+            score *= 1.5d;
+        }
+        if (isWithin(candidate.getCreateTimestamp(), now, RECENT_PERIOD)) {
+            score *= 1.5d;
+        }
+        if (candidate.isAiring()) {
+            score *= 2d;
+        }
+        if (isWithin(candidate.getLastChange(), now, period)) {
+            score *= 1.5d;
+        }
+        return score;
+    }
+
+    private static boolean isWithin(Date date, long now, long period) {
+        return date != null && (now - date.getTime()) <= period;
+    }
+}
@@ -76,5 +76,19 @@ public class UpgradeDatabaseService {
         } catch (Exception ex) {
             LOG.warn("Failed upgrade 'deleteOrphanConfigs' for database type "+databaseType, ex);
         }
+
+        // fill lower case identifiers for indexed lookups (same for all database types)
+        try {
+            upgradeDatabaseDao.patchIdentifierLower(databaseType);
+        } catch (Exception ex) {
+            LOG.warn("Failed upgrade 'patchIdentifierLower' for database type "+databaseType, ex);
+        }
+
+        // fill normalized stage file name keys for indexed lookups (same for all database types)
+        try {
+            upgradeDatabaseDao.patchStageFileNameKeys(databaseType);
+        } catch (Exception ex) {
+            LOG.warn("Failed upgrade 'patchStageFileNameKeys' for database type "+databaseType, ex);
+        }
     }
 }
@@ -171,6 +171,22 @@ public abstract class HibernateDao {
         return (T) currentSession().createCriteria(entityClass).add(Restrictions.ilike(field, name, MatchMode.EXACT)).uniqueResult();
     }
 
+    /**
+     * Get a single object by a field which holds lower case values.
+     * 
+     * Other than {@link #getByNaturalIdCaseInsensitive(Class, String, String)} this
+     * lookup can use an index on the field.
+     *
+     * @param entityClass
+     * @param field the field with lower case values
+     * @param name the lower case name
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getByLowerCaseField(Class<T> entityClass, String field, String name) {
+        return (T) currentSession().createCriteria(entityClass).add(Restrictions.eq(field, name)).uniqueResult();
+    }
+
     /**
      * Convert row object to a string.
      *
@@ -466,9 +482,58 @@ public abstract class HibernateDao {
      * @param wrapper
      * @return
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @SuppressWarnings("unchecked")
     public <T> List<T> executeQueryWithTransform(Class<T> entityClass, SqlScalars sqlScalars, IApiWrapper wrapper) { //NOSONAR
-        
+        SQLQuery query = createQueryWithTransform(entityClass, sqlScalars);
+
+        // run query
+		List<T> queryResults = query.list();
+
+        // if the wrapper is populated, then run the query to get the maximum results
+        if (wrapper != null) {
+            wrapper.setTotalCount(queryResults.size());
+
+            // if there is a start or max set, we will need to re-run the query after setting the options
+            IOptions options = wrapper.getOptions();
+            if (options != null && (options.getStart() > 0 || options.getMax() > 0)) {
+                if (options.getStart() > 0) {
+                    query.setFirstResult(options.getStart());
+                }
+
+                if (options.getMax() > 0) {
+                    query.setMaxResults(options.getMax());
+                }
+                
+                // this will get the trimmed list
+                queryResults = query.list();
+            }
+        }
+
+        return queryResults;
+    }
+
+    /**
+     * Execute a query to return a limited number of results.
+     *
+     * In contrast to the paging with a wrapper the query is executed only once,
+     * so this should be used for keyset pagination where no total count is needed.
+     *
+     * @param entityClass
+     * @param sqlScalars
+     * @param maxResults
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> executeQueryWithTransform(Class<T> entityClass, SqlScalars sqlScalars, int maxResults) { //NOSONAR
+        SQLQuery query = createQueryWithTransform(entityClass, sqlScalars);
+        if (maxResults > 0) {
+            query.setMaxResults(maxResults);
+        }
+        return query.list();
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private <T> SQLQuery createQueryWithTransform(Class<T> entityClass, SqlScalars sqlScalars) {
         SQLQuery query = currentSession().createSQLQuery(sqlScalars.getSql());
         query.setReadOnly(true).setCacheable(true);
         
@@ -501,30 +566,6 @@ public abstract class HibernateDao {
         } else {
             query.setResultTransformer(Transformers.aliasToBean(entityClass));
         }
-
-        // run query
-		List<T> queryResults = query.list();
-
-        // if the wrapper is populated, then run the query to get the maximum results
-        if (wrapper != null) {
-            wrapper.setTotalCount(queryResults.size());
-
-            // if there is a start or max set, we will need to re-run the query after setting the options
-            IOptions options = wrapper.getOptions();
-            if (options != null && (options.getStart() > 0 || options.getMax() > 0)) {
-                if (options.getStart() > 0) {
-                    query.setFirstResult(options.getStart());
-                }
-
-                if (options.getMax() > 0) {
-                    query.setMaxResults(options.getMax());
-                }
-                
-                // this will get the trimmed list
-                queryResults = query.list();
-            }
-        }
-
-        return queryResults;
+        return query;
     }
 }
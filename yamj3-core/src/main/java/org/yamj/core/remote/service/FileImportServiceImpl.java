@@ -28,8 +28,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.yamj.common.dto.ImportDTO;
 import org.yamj.common.remote.service.FileImportService;
+import org.yamj.common.type.StatusType;
 import org.yamj.core.database.model.Library;
 import org.yamj.core.scheduling.ImportScheduler;
+import org.yamj.core.service.various.ImportInboxService;
 import org.yamj.core.service.various.StagingService;
 
 @Service("fileImportService")
@@ -40,6 +42,8 @@ public class FileImportServiceImpl implements FileImportService {
     private StagingService stagingService;
     @Autowired
     private ImportScheduler importScheduler;
+    @Autowired
+    private ImportInboxService importInboxService;
     
     @Override
     public void importScanned(ImportDTO importDTO) {
@@ -54,4 +58,24 @@ public class FileImportServiceImpl implements FileImportService {
             throw new RuntimeException("Failed to import scanned directory: "+importDTO.getStageDirectory().getPath()); //NOSONAR
         }
     }
+
+    @Override
+    public String enqueueScanned(ImportDTO importDTO) {
+        try {
+            return importInboxService.enqueue(importDTO);
+        } catch (Exception error) {
+            LOG.error("Failed to spool scanned directory: {}", importDTO.getStageDirectory().getPath(), error);
+            throw new RuntimeException("Failed to spool scanned directory: "+importDTO.getStageDirectory().getPath()); //NOSONAR
+        }
+    }
+
+    @Override
+    public StatusType getImportStatus(String key) {
+        return importInboxService.getStatus(key);
+    }
+
+    @Override
+    public int getInboxSize() {
+        return importInboxService.getInboxSize();
+    }
 }
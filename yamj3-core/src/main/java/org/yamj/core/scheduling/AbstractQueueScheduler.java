@@ -24,18 +24,45 @@ package org.yamj.core.scheduling;
 
 import java.util.Collection;
 import java.util.concurrent.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.yamj.core.database.model.dto.QueueDTO;
+import org.yamj.core.service.metrics.Counter;
+import org.yamj.core.service.metrics.Gauge;
+import org.yamj.core.service.metrics.Histogram;
+import org.yamj.core.service.metrics.MetricsRegistry;
 
 public abstract class AbstractQueueScheduler {
 
-    protected void threadedProcessing(Collection<QueueDTO> queueElements, int maxThreads, IQueueProcessService service) {
+    private static final String LABEL_QUEUE = "queue";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+    private final ConcurrentMap<String, BlockingQueue<QueueDTO>> pendingQueues = new ConcurrentHashMap<>();
+
+    protected void threadedProcessing(String queueName, Collection<QueueDTO> queueElements, int maxThreads, IQueueProcessService service) {
+        final long start = System.currentTimeMillis();
         final BlockingQueue<QueueDTO> queue = new LinkedBlockingQueue<>(queueElements);
 
+        metricsRegistry.histogram("queue_batch_size", Histogram.SIZE_BUCKETS, LABEL_QUEUE, queueName).update(queueElements.size());
+        if (pendingQueues.put(queueName, queue) == null) {
+            // register gauge only once; it always reads the queue of the current batch
+            final String name = queueName;
+            metricsRegistry.gauge("queue_pending_elements", new Gauge() {
+                @Override
+                public Number getValue() {
+                    return pendingQueues.get(name).size();
+                }
+            }, LABEL_QUEUE, queueName);
+        }
+        
+        final Histogram elementTimer = metricsRegistry.timer("queue_element_duration_millis", LABEL_QUEUE, queueName);
+        final Counter errorCounter = metricsRegistry.counter("queue_element_errors_total", LABEL_QUEUE, queueName);
+
         if (maxThreads > 1) {
             // instantiate executor if more then 1 thread should be used
             final ExecutorService executor = Executors.newFixedThreadPool(maxThreads);
             for (int i = 0; i < maxThreads; i++) {
-                executor.execute(new QueueProcessRunner(queue, service));
+                executor.execute(new QueueProcessRunner(queue, service, elementTimer, errorCounter));
             }
             
             executor.shutdown();
@@ -50,7 +77,9 @@ public abstract class AbstractQueueScheduler {
             }
         } else {
             // single threaded processing
-            new QueueProcessRunner(queue, service).run();
+            new QueueProcessRunner(queue, service, elementTimer, errorCounter).run();
         }
+        
+        metricsRegistry.timer("queue_batch_duration_millis", LABEL_QUEUE, queueName).updateSince(start);
     }
 }
@@ -93,7 +93,7 @@ public class ArtworkProcessScheduler extends AbstractQueueScheduler {
             watchProcess.set(false);
         } else {
             LOG.info("Found {} artwork objects to process; process with {} threads", queueElements.size(), maxThreads);
-            this.threadedProcessing(queueElements, maxThreads, artworkProcessorService);
+            this.threadedProcessing("artwork_process", queueElements, maxThreads, artworkProcessorService);
             LOG.debug("Finished artwork processing");
         }
     }
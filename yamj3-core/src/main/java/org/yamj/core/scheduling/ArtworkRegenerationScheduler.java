@@ -0,0 +1,122 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.scheduling;
+
+import static org.yamj.core.ServiceConstants.IMAGE_GENERATION_ERROR;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.service.ArtworkStorageService;
+import org.yamj.core.service.artwork.ArtworkProcessorService;
+
+/**
+ * Regenerates generated artwork which is outdated by changes of its artwork profile.
+ *
+ * Outdated images are detected by the profile hash stored with each generated
+ * artwork; the number of regenerated images per run is limited by a configurable rate.
+ */
+@Component
+public class ArtworkRegenerationScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtworkRegenerationScheduler.class);
+
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private ArtworkStorageService artworkStorageService;
+    @Autowired
+    private ArtworkProcessorService artworkProcessorService;
+
+    private final AtomicBoolean hashesInitialized = new AtomicBoolean(false);
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong regenerated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Date lastRun;
+
+    @Scheduled(initialDelay = 120000, fixedDelay = 60000)
+    public void run() {
+        final int imagesPerMinute = configService.getIntProperty("yamj3.artwork.regeneration.imagesPerMinute", 30);
+        if (imagesPerMinute <= 0 || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (hashesInitialized.compareAndSet(false, true)) {
+                int count = artworkStorageService.initProfileHashes();
+                LOG.debug("Initialized profile hash of {} generated images", count);
+            }
+
+            Map<Long, List<Long>> outdated = artworkStorageService.getOutdatedArtworkGenerated(imagesPerMinute);
+            if (!outdated.isEmpty()) {
+                LOG.debug("Regenerate outdated images of {} located artwork", outdated.size());
+            }
+            
+            for (Entry<Long, List<Long>> entry : outdated.entrySet()) {
+                regenerate(entry.getKey(), entry.getValue());
+            }
+            lastRun = new Date();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void regenerate(Long locatedId, List<Long> generatedIds) {
+        try {
+            int count = artworkProcessorService.regenerateImages(locatedId, generatedIds);
+            regenerated.addAndGet(count);
+            failed.addAndGet(generatedIds.size() - count);
+        } catch (Exception ex) {
+            LOG.warn("Failed to regenerate images of located artwork {}: {}", locatedId, ex.getMessage());
+            LOG.trace(IMAGE_GENERATION_ERROR, ex);
+            failed.addAndGet(generatedIds.size());
+            // original image not readable; mark as error, so that the images are not retried on each run
+            for (Long generatedId : generatedIds) {
+                artworkStorageService.errorArtworkGenerated(generatedId);
+            }
+        }
+    }
+
+    /**
+     * Get the progress of the regeneration.
+     *
+     * @return the progress values
+     */
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("imagesPerMinute", configService.getIntProperty("yamj3.artwork.regeneration.imagesPerMinute", 30));
+        progress.put("outdated", artworkStorageService.countOutdatedArtworkGenerated());
+        progress.put("regenerated", regenerated.get());
+        progress.put("failed", failed.get());
+        progress.put("running", running.get());
+        progress.put("lastRun", lastRun);
+        return progress;
+    }
+}
@@ -98,7 +98,7 @@ public class ArtworkScanScheduler extends AbstractQueueScheduler {
                 watchProcess.set(false);
             } else {
                 LOG.info("Found {} artwork objects to scan; process with {} threads", queueElements.size(), maxThreads);
-                this.threadedProcessing(queueElements, maxThreads, artworkScannerService);
+                this.threadedProcessing("artwork_scan", queueElements, maxThreads, artworkScannerService);
                 LOG.debug("Finished artwork scanning");
             }
         }
@@ -63,11 +63,12 @@ public class ImportScheduler {
     public void run() {
         if (watchProcess.get() && IMPORT_LOCK.tryLock()) {
             try {
+                // reset before processing, so that a trigger during the processing is not lost
+                watchProcess.set(false);
                 processStageFiles();
             } finally {
                 IMPORT_LOCK.unlock();
             }
-            watchProcess.set(false);
         }
     }
 
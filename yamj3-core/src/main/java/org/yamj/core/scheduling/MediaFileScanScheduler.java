@@ -92,7 +92,7 @@ public class MediaFileScanScheduler extends AbstractQueueScheduler {
             watchProcess.set(false);
         } else {
             LOG.info("Found {} media files to process; scan with {} threads", queueElements.size(), maxThreads);
-            threadedProcessing(queueElements, maxThreads, mediaInfoService);
+            threadedProcessing("mediafile_scan", queueElements, maxThreads, mediaInfoService);
             LOG.debug("Finished media file scanning");
         }
     }
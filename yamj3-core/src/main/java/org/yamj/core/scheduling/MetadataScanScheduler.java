@@ -22,6 +22,8 @@
  */
 package org.yamj.core.scheduling;
 
+import static org.yamj.common.type.MetaDataType.*;
+
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
@@ -38,6 +40,7 @@ import org.yamj.core.database.model.dto.QueueDTO;
 import org.yamj.core.database.service.ExecutionTaskStorageService;
 import org.yamj.core.database.service.MetadataStorageService;
 import org.yamj.core.service.metadata.MetadataScannerService;
+import org.yamj.core.service.metadata.online.OnlineScannerService;
 
 @Component
 public class MetadataScanScheduler extends AbstractQueueScheduler {
@@ -51,6 +54,8 @@ public class MetadataScanScheduler extends AbstractQueueScheduler {
     private MetadataStorageService metadataStorageService;
     @Autowired
     private MetadataScannerService metadataScannerService;
+    @Autowired
+    private OnlineScannerService onlineScannerService;
     @Autowired 
     private ArtworkScanScheduler artworkScanScheduler;
     @Autowired 
@@ -118,6 +123,8 @@ public class MetadataScanScheduler extends AbstractQueueScheduler {
             }
             watchScanVideo.set(false);
             videosHasBeenScanned = false;
+        } else if (onlineScannerService.isScanDeferred(MOVIE) && onlineScannerService.isScanDeferred(SERIES)) {
+            LOG.debug("Metadata scanning deferred; online scanners not available");
         } else {
             
             if (messageDisabledVideo) {
@@ -150,7 +157,8 @@ public class MetadataScanScheduler extends AbstractQueueScheduler {
                 
             } else {
                 LOG.info("Found {} metadata objects to process; scan with {} threads", queueElements.size(), maxThreads);
-                threadedProcessing(queueElements, maxThreads, metadataScannerService);
+                metadataScannerService.prefetch(queueElements);
+                threadedProcessing("metadata_video", queueElements, maxThreads, metadataScannerService);
                 LOG.debug("Finished metadata scanning");
                 videosHasBeenScanned = true;
             }
@@ -172,6 +180,8 @@ public class MetadataScanScheduler extends AbstractQueueScheduler {
                 LOG.info("People scanning is disabled");
             }
             watchScanPeople.set(false);
+        } else if (onlineScannerService.isScanDeferred(PERSON)) {
+            LOG.debug("People scanning deferred; online scanners not available");
         } else {
             
             if (messageDisabledPeople) {
@@ -187,7 +197,8 @@ public class MetadataScanScheduler extends AbstractQueueScheduler {
                 watchScanFilmography.set(true);
             } else {
                 LOG.info("Found {} people objects to process; scan with {} threads", queueElements.size(), maxThreads);
-                threadedProcessing(queueElements, maxThreads, metadataScannerService);
+                metadataScannerService.prefetch(queueElements);
+                threadedProcessing("metadata_people", queueElements, maxThreads, metadataScannerService);
                 LOG.debug("Finished people data scanning");
             }
         }
@@ -214,6 +225,11 @@ public class MetadataScanScheduler extends AbstractQueueScheduler {
             messageDisabledFilmography = false;
         }
 
+        if (onlineScannerService.isScanDeferred(FILMOGRAPHY)) {
+            LOG.debug("Filmography scanning deferred; online scanners not available");
+            return;
+        }
+
         int maxResults = Math.max(1,configService.getIntProperty("yamj3.scheduler.filmographyscan.maxResults", 50));
         List<QueueDTO> queueElements = metadataStorageService.getFilmographyQueueForScanning(maxResults);
         if (CollectionUtils.isEmpty(queueElements)) {
@@ -223,7 +239,8 @@ public class MetadataScanScheduler extends AbstractQueueScheduler {
         }
 
         LOG.info("Found {} filmography objects to process; scan with {} threads", queueElements.size(), maxThreads);
-        threadedProcessing(queueElements, maxThreads, metadataScannerService);
+        metadataScannerService.prefetch(queueElements);
+        threadedProcessing("metadata_filmography", queueElements, maxThreads, metadataScannerService);
         LOG.debug("Finished filmography data scanning");
     }
 }
@@ -26,25 +26,33 @@ import java.util.concurrent.BlockingQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yamj.core.database.model.dto.QueueDTO;
+import org.yamj.core.service.metrics.Counter;
+import org.yamj.core.service.metrics.Histogram;
 
 public class QueueProcessRunner implements Runnable {
 
     private static final Logger LOG = LoggerFactory.getLogger(QueueProcessRunner.class);
     private final BlockingQueue<QueueDTO> queue;
     private final IQueueProcessService service;
+    private final Histogram elementTimer;
+    private final Counter errorCounter;
 
-    public QueueProcessRunner(BlockingQueue<QueueDTO> queue, IQueueProcessService service) {
+    public QueueProcessRunner(BlockingQueue<QueueDTO> queue, IQueueProcessService service, Histogram elementTimer, Counter errorCounter) {
         this.queue = queue;
         this.service = service;
+        this.elementTimer = elementTimer;
+        this.errorCounter = errorCounter;
     }
 
     @Override
     public void run() {
         QueueDTO queueElement;
         while ((queueElement = queue.poll()) != null) {
+            final long start = System.currentTimeMillis();
             try {
                 service.processQueueElement(queueElement);
             } catch (Exception error) {
+                errorCounter.increment();
                 try {
                     service.processErrorOccurred(queueElement, error);
                 } catch (Exception ex) {
@@ -52,6 +60,7 @@ public class QueueProcessRunner implements Runnable {
                     LOG.trace("Database error", ex);
                 }
             }
+            elementTimer.updateSince(start);
         }
     }
 }
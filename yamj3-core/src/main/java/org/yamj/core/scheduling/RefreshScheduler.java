@@ -0,0 +1,108 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.scheduling;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.service.RescanStorageService;
+
+/**
+ * Continuously trickles stale metadata objects into the scanning queues,
+ * limited by a budget per hour for each meta data type.
+ */
+@Component
+public class RefreshScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshScheduler.class);
+    private static final long HOUR = 3600000L;
+    private static final long DELAY = 300000L;
+
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private RescanStorageService rescanStorageService;
+    @Autowired 
+    private MetadataScanScheduler metadataScanScheduler;
+
+    private final Map<MetaDataType, Double> credits = new EnumMap<>(MetaDataType.class);
+    private long lastRun = System.currentTimeMillis();
+
+    @Scheduled(initialDelay = DELAY, fixedDelay = DELAY)
+    public void run() {
+        final long now = System.currentTimeMillis();
+        final long elapsed = now - lastRun;
+        lastRun = now;
+        
+        final int maxPending = configService.getIntProperty("yamj3.rescan.wave.maxPending", 25);
+        if (refresh(MetaDataType.MOVIE, "movie", 60, elapsed, maxPending) + refresh(MetaDataType.SERIES, "tvshow", 60, elapsed, maxPending) > 0) {
+            metadataScanScheduler.triggerScanVideo();
+        }
+        if (refresh(MetaDataType.PERSON, "person", 90, elapsed, maxPending) > 0) {
+            metadataScanScheduler.triggerScanPeople();
+        }
+    }
+
+    private int refresh(MetaDataType type, String key, int defaultMaxDays, long elapsed, int maxPending) {
+        final int itemsPerHour = getItemsPerHour(configService, key);
+        if (itemsPerHour <= 0) {
+            credits.remove(type);
+            return 0;
+        }
+        
+        // credits are capped, so no burst arises after a pause
+        final double maxCredit = Math.max(1d, (2d * itemsPerHour * DELAY) / HOUR);
+        Double credit = credits.get(type);
+        credit = Math.min(maxCredit, (credit == null ? 0d : credit) + ((double) itemsPerHour * elapsed) / HOUR);
+
+        int enqueued = 0;
+        if (credit >= 1d) {
+            try {
+                final int maxDays = configService.getIntProperty("yamj3.recheck." + key + ".maxDays", defaultMaxDays);
+                enqueued = rescanStorageService.enqueueRefresh(type, credit.intValue(), maxPending, maxDays);
+            } catch (Exception ex) {
+                LOG.error("Failed to enqueue {} objects for refresh", key);
+                LOG.warn("Refresh error", ex);
+            }
+        }
+        credits.put(type, credit - enqueued);
+        return enqueued;
+    }
+
+    /**
+     * Get the refresh budget per hour; the recheck task is skipped for types with a budget.
+     *
+     * @param configService
+     * @param key movie, tvshow or person
+     * @return the number of items per hour
+     */
+    public static int getItemsPerHour(ConfigService configService, String key) {
+        return configService.getIntProperty("yamj3.refresh." + key + ".itemsPerHour", 0);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.api.model.ApiStatus;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.model.RescanWave;
+import org.yamj.core.database.model.type.RescanWaveOrder;
+import org.yamj.core.database.service.RescanStorageService;
+
+/**
+ * Feeds the active rescan waves into the metadata scanning queues;
+ * boxed set waves feed the artwork scanning queue.
+ */
+@Component
+public class RescanWaveScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RescanWaveScheduler.class);
+    private static final MetaDataType[] RESCAN_ALL_TYPES = {MetaDataType.MOVIE, MetaDataType.SERIES, MetaDataType.PERSON, MetaDataType.BOXSET};
+
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private RescanStorageService rescanStorageService;
+    @Autowired 
+    private MetadataScanScheduler metadataScanScheduler;
+    @Autowired 
+    private ArtworkScanScheduler artworkScanScheduler;
+
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void run() {
+        final int maxPending = configService.getIntProperty("yamj3.rescan.wave.maxPending", 25);
+        
+        for (RescanWave wave : rescanStorageService.getActiveWaves()) {
+            try {
+                if (rescanStorageService.enqueueNext(wave.getId(), maxPending) > 0) {
+                    if (MetaDataType.PERSON == wave.getMetaDataType()) {
+                        metadataScanScheduler.triggerScanPeople();
+                    } else if (MetaDataType.BOXSET == wave.getMetaDataType()) {
+                        artworkScanScheduler.trigger();
+                    } else {
+                        metadataScanScheduler.triggerScanVideo();
+                    }
+                }
+            } catch (Exception ex) {
+                LOG.error("Failed to enqueue objects of rescan wave '{}'", wave.getName());
+                LOG.warn("Rescan wave error", ex);
+            }
+        }
+    }
+
+    /**
+     * Create a rescan wave; uses the default rate if no rate is given.
+     */
+    public ApiStatus createWave(String name, MetaDataType type, RescanWaveOrder order, int itemsPerHour, Long libraryId, String sourceDb) {
+        int rate = itemsPerHour;
+        if (rate <= 0) {
+            rate = configService.getIntProperty("yamj3.rescan.wave.itemsPerHour", 600);
+        }
+        return rescanStorageService.createWave(name, type, order, rate, libraryId, sourceDb);
+    }
+
+    /**
+     * Rescan all movies, series, persons and the artwork of boxed sets with the default rate.
+     *
+     * @return the API status; conflict if a wave could not be created
+     */
+    public ApiStatus rescanAll() {
+        StringBuilder sb = new StringBuilder();
+        boolean conflict = false;
+        for (MetaDataType type : RESCAN_ALL_TYPES) {
+            ApiStatus status = createWave("all-" + type.name().toLowerCase(), type, RescanWaveOrder.LEAST_RECENTLY_SCANNED, -1, null, null);
+            conflict |= !status.isSuccessful();
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append(status.getMessage());
+        }
+        return conflict ? ApiStatus.conflict(sb.toString()) : ApiStatus.ok(sb.toString());
+    }
+}
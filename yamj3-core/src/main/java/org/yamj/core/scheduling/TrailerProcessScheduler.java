@@ -92,7 +92,7 @@ public class TrailerProcessScheduler extends AbstractQueueScheduler {
             watchProcess.set(false);
         } else {
             LOG.info("Found {} trailer objects to process; process with {} threads", queueElements.size(), maxThreads);
-            this.threadedProcessing(queueElements, maxThreads, trailerProcessorService);
+            this.threadedProcessing("trailer_process", queueElements, maxThreads, trailerProcessorService);
             LOG.debug("Finished trailer processing");
         }
     }
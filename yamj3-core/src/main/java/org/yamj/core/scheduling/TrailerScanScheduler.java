@@ -93,7 +93,7 @@ public class TrailerScanScheduler extends AbstractQueueScheduler {
                 watchProcess.set(false);
             } else {
                 LOG.info("Found {} trailer objects to process; scan with {} threads", queueElements.size(), maxThreads);
-                threadedProcessing(queueElements, maxThreads, trailerScannerService);
+                threadedProcessing("trailer_scan", queueElements, maxThreads, trailerScannerService);
                 LOG.debug("Finished trailer scanning");
             }
         }
@@ -0,0 +1,157 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.artwork;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.yamj.core.config.ConfigService;
+
+/**
+ * Coordinates the on-demand generation of artwork images.
+ *
+ * Requests for the same located artwork and profile are coalesced, so that an image
+ * is only generated once even if it is requested concurrently. The generation runs
+ * in a dedicated bounded pool; callers wait at most the configured time and get a
+ * pending image if the generation takes longer or the pool is exhausted.
+ */
+@Service("artworkGenerationCoordinator")
+public class ArtworkGenerationCoordinator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtworkGenerationCoordinator.class);
+
+    private final ConcurrentMap<String, GenerationTask> inFlight = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private ArtworkProcessorService artworkProcessorService;
+
+    @PostConstruct
+    public void init() {
+        final int threads = Math.max(1, configService.getIntProperty("yamj3.artwork.generation.maxThreads", 2));
+        final int queueSize = Math.max(1, configService.getIntProperty("yamj3.artwork.generation.maxQueued", 50));
+        LOG.debug("Initialize artwork generation with {} threads", threads);
+        
+        final AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(queueSize), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "ArtworkGeneration-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the image for the located artwork and profile, generating it if needed.
+     *
+     * @param id the id of the located artwork
+     * @param profileName the name of the artwork profile
+     * @return the image, a pending image or null if the image can not be generated
+     * @throws Exception if the generation failed
+     */
+    public ImageDTO getImage(final Long id, final String profileName) throws Exception {
+        ImageDTO image = artworkProcessorService.getGeneratedImage(id, profileName);
+        if (image != null) {
+            return image;
+        }
+        
+        final String key = id + "/" + StringUtils.lowerCase(profileName);
+        GenerationTask task = inFlight.get(key);
+        if (task == null) {
+            GenerationTask newTask = new GenerationTask(key, new Callable<ImageDTO>() {
+                @Override
+                public ImageDTO call() throws Exception {
+                    return artworkProcessorService.getImage(id, profileName);
+                }
+            });
+            
+            task = inFlight.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                try {
+                    executor.execute(newTask);
+                } catch (RejectedExecutionException ex) { //NOSONAR
+                    inFlight.remove(key, newTask);
+                    LOG.debug("Artwork generation pool exhausted; image {} is pending", key);
+                    return ImageDTO.pending();
+                }
+            } else {
+                LOG.trace("Join running generation of image {}", key);
+            }
+        }
+
+        final long maxWait = configService.getLongProperty("yamj3.artwork.generation.maxWaitMillis", 10000);
+        try {
+            return task.get(maxWait, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) { //NOSONAR
+            LOG.debug("Generation of image {} exceeds wait limit; image is pending", key);
+            return ImageDTO.pending();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    /**
+     * @return the number of generations which are running or queued
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+    
+    private final class GenerationTask extends FutureTask<ImageDTO> {
+
+        private final String key;
+
+        GenerationTask(String key, Callable<ImageDTO> callable) {
+            super(callable);
+            this.key = key;
+        }
+
+        @Override
+        protected void done() {
+            inFlight.remove(key, this);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collection;
 import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sanselan.ImageReadException;
@@ -200,6 +201,7 @@ public class ArtworkProcessorService implements IQueueProcessService {
             createAndStoreImage(generated.getArtworkLocated(), generated.getArtworkProfile(), generated.getCacheFilename());
 
             // mark generated image as done
+            generated.setProfileHash(generated.getArtworkProfile().buildProfileHash());
             generated.setStatus(StatusType.DONE);
         } catch (Exception ex) {
             LOG.error("Failed to generate image for {}", generated);
@@ -287,14 +289,29 @@ public class ArtworkProcessorService implements IQueueProcessService {
         return true;
     }
     
-    public ImageDTO getImage(Long id, String profileName) throws IOException, ImageReadException { //NOSONAR
-        ImageDTO result = new ImageDTO();
-
+    /**
+     * Get an already generated image.
+     *
+     * @param id the id of the located artwork
+     * @param profileName the name of the artwork profile
+     * @return the image or null if the image has not been generated yet
+     */
+    public ImageDTO getGeneratedImage(Long id, String profileName) {
         ArtworkGenerated generated = this.artworkStorageService.getArtworkGenerated(id, profileName);
-        if (generated != null) {
-            final StorageType storageType = ArtworkStorageTools.getStorageType(generated.getArtworkProfile().getArtworkType());
-            result.setResource(this.fileStorageService.getStorageName(storageType, generated.getFullCacheFilename()));
-            result.setMediaType(MediaType.IMAGE_JPEG);
+        if (generated == null) {
+            return null;
+        }
+        
+        final StorageType storageType = ArtworkStorageTools.getStorageType(generated.getArtworkProfile().getArtworkType());
+        ImageDTO result = new ImageDTO();
+        result.setResource(this.fileStorageService.getStorageName(storageType, generated.getFullCacheFilename()));
+        result.setMediaType(MediaType.IMAGE_JPEG);
+        return result;
+    }
+    
+    public ImageDTO getImage(Long id, String profileName) throws IOException, ImageReadException { //NOSONAR
+        ImageDTO result = getGeneratedImage(id, profileName);
+        if (result != null) {
             return result;
         }
 
@@ -320,19 +337,64 @@ public class ArtworkProcessorService implements IQueueProcessService {
         }
         
         // create the image and the database entry
-        generated = this.generateImage(located, profile);
+        ArtworkGenerated generated = this.generateImage(located, profile);
         
         // return the image
         final StorageType storageType = ArtworkStorageTools.getStorageType(located);
+        result = new ImageDTO();
         result.setResource(this.fileStorageService.getStorageName(storageType, generated.getFullCacheFilename()));
         result.setMediaType(MediaType.IMAGE_JPEG);
         return result;
     }
 
+    /**
+     * Regenerate the outdated generated images of a located artwork.
+     *
+     * The original image is decoded only once for all generated images;
+     * generated images which fail are marked with an error.
+     *
+     * @param locatedId the id of the located artwork
+     * @param generatedIds the ids of the outdated generated artwork
+     * @return the number of regenerated images
+     * @throws IOException if the original image can not be read
+     * @throws ImageReadException if the original image is invalid
+     */
+    public int regenerateImages(Long locatedId, Collection<Long> generatedIds) throws IOException, ImageReadException { //NOSONAR
+        final ArtworkLocated located = artworkStorageService.getRequiredArtworkLocated(locatedId);
+        if (located.isNotCached()) {
+            // not cached located artwork is not selected as outdated; just changed concurrently
+            return 0;
+        }
+
+        final BufferedImage original = loadOriginalImage(located, ArtworkStorageTools.getStorageType(located));
+
+        int regenerated = 0;
+        for (Long generatedId : generatedIds) {
+            final ArtworkGenerated generated = artworkStorageService.getRequiredArtworkGenerated(generatedId);
+            final ArtworkProfile profile = generated.getArtworkProfile();
+            LOG.trace("Regenerate image for {} with profile {}", located, profile.getProfileName());
+
+            try {
+                storeImage(original, profile, generated.getCacheFilename());
+                generated.setProfileHash(profile.buildProfileHash());
+                generated.setStatus(StatusType.DONE);
+                regenerated++;
+            } catch (Exception ex) {
+                LOG.error("Failed to regenerate image for {}", generated);
+                LOG.warn(IMAGE_GENERATION_ERROR, ex);
+                generated.setStatus(StatusType.ERROR);
+            }
+            artworkStorageService.updateArtworkGenerated(generated);
+        }
+        return regenerated;
+    }
+
     private void createAndStoreImage(ArtworkLocated located, ArtworkProfile profile, String cacheFilename) throws IOException, ImageReadException { 
-        final StorageType storageType = ArtworkStorageTools.getStorageType(profile);
-        
         LOG.trace("Generate image for {} with profile {}", located, profile.getProfileName());
+        storeImage(loadOriginalImage(located, ArtworkStorageTools.getStorageType(profile)), profile, cacheFilename);
+    }
+
+    private BufferedImage loadOriginalImage(ArtworkLocated located, StorageType storageType) throws IOException, ImageReadException {
         BufferedImage imageGraphic = GraphicTools.loadJPEGImage(this.fileStorageService.getFile(storageType, located.getCacheFilename()));
     
         // set dimension of original image if not done before
@@ -340,7 +402,12 @@ public class ArtworkProcessorService implements IQueueProcessService {
             located.setWidth(imageGraphic.getWidth());
             located.setHeight(imageGraphic.getHeight());
         }
-    
+        return imageGraphic;
+    }
+
+    private void storeImage(BufferedImage imageGraphic, ArtworkProfile profile, String cacheFilename) throws IOException {
+        final StorageType storageType = ArtworkStorageTools.getStorageType(profile);
+
         // draw the image
         BufferedImage image = drawImage(imageGraphic, profile);
     
@@ -40,6 +40,8 @@ import org.yamj.core.scheduling.IQueueProcessService;
 import org.yamj.core.service.attachment.Attachment;
 import org.yamj.core.service.attachment.AttachmentScannerService;
 import org.yamj.core.service.file.FileTools;
+import org.yamj.core.service.plugin.PluginInvoker;
+import org.yamj.core.service.plugin.PluginUnavailableException;
 import org.yamj.plugin.api.artwork.*;
 import org.yamj.plugin.api.model.*;
 import org.yamj.plugin.api.model.mock.*;
@@ -55,6 +57,8 @@ public class ArtworkScannerService implements IQueueProcessService {
     private static final String SCANNER_NOT_REG_SERIES= "Series artwork scanner {} not registered";
     private static final String SCANNER_NOT_REG_BOXEDSET = "BoxedSet artwork scanner {} not registered";
     private static final String SCANNER_NOT_REG_PERSON = "Person artwork scanner {} not registered";
+    // minimum time before an artwork with skipped scanners is scanned again
+    private static final long MIN_DEFER_MILLIS = 60000L;
     
     private final HashMap<String, MovieArtworkScanner> registeredMovieArtworkScanner = new HashMap<>();
     private final HashMap<String, SeriesArtworkScanner> registeredSeriesArtworkScanner = new HashMap<>();
@@ -69,6 +73,8 @@ public class ArtworkScannerService implements IQueueProcessService {
     private AttachmentScannerService attachmentScannerService;
     @Autowired
     private ConfigServiceWrapper configServiceWrapper;
+    @Autowired
+    private PluginInvoker pluginInvoker;
     
     public void registerArtworkScanner(ArtworkScanner artworkScanner) {
         final String scannerName = artworkScanner.getScannerName().toLowerCase();
@@ -95,32 +101,34 @@ public class ArtworkScannerService implements IQueueProcessService {
         // get unique required artwork
         Artwork artwork = artworkStorageService.getRequiredArtwork(queueElement.getId());
 
-        // holds the located artwork
-        List<ArtworkLocated> locatedArtworks = new ArrayList<>();
+        // holds the located artwork by merge key
+        Map<String, ArtworkLocated> locatedArtworks = new LinkedHashMap<>();
+        // holds the online scanners which were not available
+        Set<String> skipped = new HashSet<>();
 
         if (ArtworkType.POSTER == artwork.getArtworkType()) {
             // poster only for movie, season, series and boxed sets
             this.scanPosterLocal(artwork, locatedArtworks);
             this.scanPosterAttached(artwork, locatedArtworks);
-            this.scanPosterOnline(artwork, locatedArtworks);
+            this.scanPosterOnline(artwork, locatedArtworks, skipped);
         } else if (ArtworkType.FANART == artwork.getArtworkType()) {
             // fanart only for movie, season, series and boxed sets
             this.scanFanartLocal(artwork, locatedArtworks);
             this.scanFanartAttached(artwork, locatedArtworks);
-            this.scanFanartOnline(artwork, locatedArtworks);
+            this.scanFanartOnline(artwork, locatedArtworks, skipped);
         } else if (ArtworkType.BANNER == artwork.getArtworkType()) {
             // banner only for season, series and boxed sets
             this.scanBannerLocal(artwork, locatedArtworks);
             this.scanBannerAttached(artwork, locatedArtworks);
-            this.scanBannerOnline(artwork, locatedArtworks);
+            this.scanBannerOnline(artwork, locatedArtworks, skipped);
         } else if (ArtworkType.VIDEOIMAGE == artwork.getArtworkType()) {
             // video image only for episodes
             this.scanVideoImageLocal(artwork, locatedArtworks);
             this.scanVideoImageAttached(artwork, locatedArtworks);
-            this.scanVideoImageOnline(artwork, locatedArtworks);
+            this.scanVideoImageOnline(artwork, locatedArtworks, skipped);
         } else if (ArtworkType.PHOTO == artwork.getArtworkType()) {
             this.scanPhotoLocal(artwork, locatedArtworks);
-            this.scanPhotoOnline(artwork, locatedArtworks);
+            this.scanPhotoOnline(artwork, locatedArtworks, skipped);
         } else {
             // Don't throw an exception here, just a debug message for now
             LOG.debug("Artwork scan not implemented for {}", artwork);
@@ -128,7 +136,7 @@ public class ArtworkScannerService implements IQueueProcessService {
 
         // storage
         try {
-            artworkStorageService.updateArtwork(artwork, locatedArtworks);
+            artworkStorageService.updateArtwork(artwork, locatedArtworks.values(), determineDeferredUntil(skipped));
         } catch (Exception error) {
             // NOTE: status will not be changed
             LOG.error("Failed storing artwork {}-{}", queueElement.getId(), artwork.getArtworkType().toString());
@@ -138,12 +146,20 @@ public class ArtworkScannerService implements IQueueProcessService {
 
     @Override
     public void processErrorOccurred(QueueDTO queueElement, Exception error) {
+        if (PluginInvoker.isUnavailable(error)) {
+            // NOTE: status will not be changed, so the artwork will be scanned later
+            LOG.info("Artwork scan deferred for {}: {}", queueElement.getId(), error.getMessage());
+            final String pluginName = ((PluginUnavailableException)error).getPluginName();
+            artworkStorageService.deferArtwork(queueElement.getId(), determineDeferredUntil(Collections.singleton(pluginName)));
+            return;
+        }
+
         LOG.error("Failed scan for artwork "+queueElement.getId(), error);
 
         artworkStorageService.errorArtwork(queueElement.getId());
     }
     
-    private void scanPosterLocal(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanPosterLocal(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isLocalArtworkScanEnabled(artwork)) {
             LOG.trace("Local poster scan disabled: {}", artwork);
             return;
@@ -169,7 +185,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksLocal(artwork, posters, locatedArtworks);
     }
 
-    private void scanPosterAttached(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanPosterAttached(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isAttachedArtworkScanEnabled(artwork)) {
             LOG.trace("Attached poster scan disabled: {}", artwork);
             return;
@@ -180,8 +196,8 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksAttached(artwork, attachments, locatedArtworks);
     }
 
-    private void scanPosterOnline(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
-        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks)) {
+    private void scanPosterOnline(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks, Set<String> skipped) {
+        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks.values())) {
             LOG.trace("Online poster scan disabled: {}", artwork);
             return;
         }
@@ -195,15 +211,19 @@ public class ArtworkScannerService implements IQueueProcessService {
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.poster.boxset.maxResults", 5);
             IBoxedSet iBoxedSet = buildBoxedSet(artwork.getBoxedSet());
 
-            for (String prio : determinePriorities("yamj3.artwork.scanner.poster.boxset.priorities", registeredBoxedSetArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.poster.boxset.priorities", registeredBoxedSetArtworkScanner.keySet(), skipped)) {
                 BoxedSetArtworkScanner scanner = registeredBoxedSetArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_BOXEDSET, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    posters = scanner.getPosters(iBoxedSet);
-                    if (CollectionUtils.isNotEmpty(posters)) {
-                        break;
+                    try {
+                        posters = scanner.getPosters(iBoxedSet);
+                        if (CollectionUtils.isNotEmpty(posters)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -212,15 +232,19 @@ public class ArtworkScannerService implements IQueueProcessService {
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.poster.movie.maxResults", 5);
             IMovie iMovie = buildMovie(artwork.getVideoData());
 
-            for (String prio : determinePriorities("yamj3.artwork.scanner.poster.movie.priorities", registeredMovieArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.poster.movie.priorities", registeredMovieArtworkScanner.keySet(), skipped)) {
                 MovieArtworkScanner scanner = registeredMovieArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_MOVIE, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    posters = scanner.getPosters(iMovie);
-                    if (CollectionUtils.isNotEmpty(posters)) {
-                        break;
+                    try {
+                        posters = scanner.getPosters(iMovie);
+                        if (CollectionUtils.isNotEmpty(posters)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -228,19 +252,23 @@ public class ArtworkScannerService implements IQueueProcessService {
             // CASE: TV show poster scan
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.poster.tvshow.maxResults", 5);
 
-            for (String prio : determinePriorities("yamj3.artwork.scanner.poster.tvshow.priorities", registeredSeriesArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.poster.tvshow.priorities", registeredSeriesArtworkScanner.keySet(), skipped)) {
                 SeriesArtworkScanner scanner = registeredSeriesArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_SERIES, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    if (artwork.getSeries() != null) {
-                        posters = scanner.getPosters(buildSeries(artwork.getSeries()));
-                    } else {
-                        posters = scanner.getPosters(buildSeason(artwork.getSeason()));
-                    }
-                    if (CollectionUtils.isNotEmpty(posters)) {
-                        break;
+                    try {
+                        if (artwork.getSeries() != null) {
+                            posters = scanner.getPosters(buildSeries(artwork.getSeries()));
+                        } else {
+                            posters = scanner.getPosters(buildSeason(artwork.getSeason()));
+                        }
+                        if (CollectionUtils.isNotEmpty(posters)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -259,7 +287,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksOnline(artwork, posters, locatedArtworks);
     }
 
-    private void scanFanartLocal(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanFanartLocal(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isLocalArtworkScanEnabled(artwork)) {
             LOG.trace("Local fanart scan disabled: {}", artwork);
             return;
@@ -285,7 +313,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksLocal(artwork, fanarts, locatedArtworks);
     }
 
-    private void scanFanartAttached(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanFanartAttached(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isAttachedArtworkScanEnabled(artwork)) {
             LOG.trace("Attached fanart scan disabled: {}", artwork);
             return;
@@ -296,8 +324,8 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksAttached(artwork, attachments, locatedArtworks);
     }
 
-    private void scanFanartOnline(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
-        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks)) {
+    private void scanFanartOnline(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks, Set<String> skipped) {
+        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks.values())) {
             LOG.trace("Online fanart scan disabled: {}", artwork);
             return;
         }
@@ -311,15 +339,19 @@ public class ArtworkScannerService implements IQueueProcessService {
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.fanart.boxset.maxResults", 5);
             IBoxedSet iBoxedSet = buildBoxedSet(artwork.getBoxedSet());
             
-            for (String prio : determinePriorities("yamj3.artwork.scanner.fanart.boxset.priorities", registeredBoxedSetArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.fanart.boxset.priorities", registeredBoxedSetArtworkScanner.keySet(), skipped)) {
                 BoxedSetArtworkScanner scanner = registeredBoxedSetArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_BOXEDSET, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    fanarts = scanner.getFanarts(iBoxedSet);
-                    if (CollectionUtils.isNotEmpty(fanarts)) {
-                        break;
+                    try {
+                        fanarts = scanner.getFanarts(iBoxedSet);
+                        if (CollectionUtils.isNotEmpty(fanarts)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -328,15 +360,19 @@ public class ArtworkScannerService implements IQueueProcessService {
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.fanart.movie.maxResults", 5);
             IMovie iMovie = buildMovie(artwork.getVideoData());
 
-            for (String prio : determinePriorities("yamj3.artwork.scanner.fanart.movie.priorities", registeredMovieArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.fanart.movie.priorities", registeredMovieArtworkScanner.keySet(), skipped)) {
                 MovieArtworkScanner scanner = registeredMovieArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_MOVIE, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    fanarts = scanner.getFanarts(iMovie);
-                    if (CollectionUtils.isNotEmpty(fanarts)) {
-                        break;
+                    try {
+                        fanarts = scanner.getFanarts(iMovie);
+                        if (CollectionUtils.isNotEmpty(fanarts)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -344,19 +380,23 @@ public class ArtworkScannerService implements IQueueProcessService {
             // CASE: TV show fanart
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.fanart.tvshow.maxResults", 5);
 
-            for (String prio : determinePriorities("yamj3.artwork.scanner.fanart.tvshow.priorities", registeredSeriesArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.fanart.tvshow.priorities", registeredSeriesArtworkScanner.keySet(), skipped)) {
                 SeriesArtworkScanner scanner = registeredSeriesArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_SERIES, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    if (artwork.getSeries() != null) {
-                        fanarts = scanner.getFanarts(buildSeries(artwork.getSeries()));
-                    } else {
-                        fanarts = scanner.getFanarts(buildSeason(artwork.getSeason()));
-                    }
-                    if (CollectionUtils.isNotEmpty(fanarts)) {
-                        break;
+                    try {
+                        if (artwork.getSeries() != null) {
+                            fanarts = scanner.getFanarts(buildSeries(artwork.getSeries()));
+                        } else {
+                            fanarts = scanner.getFanarts(buildSeason(artwork.getSeason()));
+                        }
+                        if (CollectionUtils.isNotEmpty(fanarts)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -376,7 +416,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksOnline(artwork, fanarts, locatedArtworks);
     }
 
-    private void scanBannerLocal(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanBannerLocal(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isLocalArtworkScanEnabled(artwork)) {
             LOG.trace("Local banner scan disabled: {}", artwork);
             return;
@@ -399,7 +439,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksLocal(artwork, banners, locatedArtworks);
     }
 
-    private void scanBannerAttached(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanBannerAttached(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isAttachedArtworkScanEnabled(artwork)) {
             LOG.trace("Attached banner scan disabled: {}", artwork);
             return;
@@ -410,8 +450,8 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksAttached(artwork, attachments, locatedArtworks);
     }
 
-    private void scanBannerOnline(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
-        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks)) {
+    private void scanBannerOnline(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks, Set<String> skipped) {
+        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks.values())) {
             LOG.trace("Online banner scan disabled: {}", artwork);
             return;
         }
@@ -425,15 +465,19 @@ public class ArtworkScannerService implements IQueueProcessService {
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.banner.boxset.maxResults", 5);
             IBoxedSet iBoxedSet = buildBoxedSet(artwork.getBoxedSet());
 
-            for (String prio : determinePriorities("yamj3.artwork.scanner.banner.boxset.priorities", registeredBoxedSetArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.banner.boxset.priorities", registeredBoxedSetArtworkScanner.keySet(), skipped)) {
                 BoxedSetArtworkScanner scanner = registeredBoxedSetArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_BOXEDSET, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    banners = scanner.getBanners(iBoxedSet);
-                    if (CollectionUtils.isNotEmpty(banners)) {
-                        break;
+                    try {
+                        banners = scanner.getBanners(iBoxedSet);
+                        if (CollectionUtils.isNotEmpty(banners)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -441,19 +485,23 @@ public class ArtworkScannerService implements IQueueProcessService {
             // CASE: TV show banner
             maxResults = this.configServiceWrapper.getIntProperty("yamj3.artwork.scanner.banner.tvshow.maxResults", 5);
 
-            for (String prio : determinePriorities("yamj3.artwork.scanner.banner.tvshow.priorities", registeredSeriesArtworkScanner.keySet())) {
+            for (String prio : determinePriorities("yamj3.artwork.scanner.banner.tvshow.priorities", registeredSeriesArtworkScanner.keySet(), skipped)) {
                 SeriesArtworkScanner scanner = registeredSeriesArtworkScanner.get(prio);
                 if (scanner == null) {
                     LOG.warn(SCANNER_NOT_REG_SERIES, prio);
                 } else {
                     LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                    if (artwork.getSeries() != null) {
-                        banners = scanner.getBanners(buildSeries(artwork.getSeries()));
-                    } else {
-                        banners = scanner.getBanners(buildSeason(artwork.getSeason()));
-                    }
-                    if (CollectionUtils.isNotEmpty(banners)) {
-                        break;
+                    try {
+                        if (artwork.getSeries() != null) {
+                            banners = scanner.getBanners(buildSeries(artwork.getSeries()));
+                        } else {
+                            banners = scanner.getBanners(buildSeason(artwork.getSeason()));
+                        }
+                        if (CollectionUtils.isNotEmpty(banners)) {
+                            break;
+                        }
+                    } catch (PluginUnavailableException ex) {
+                        skipScanner(prio, artwork, ex, skipped);
                     }
                 }
             }
@@ -472,7 +520,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksOnline(artwork, banners, locatedArtworks);
     }
 
-    private void scanVideoImageLocal(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanVideoImageLocal(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isLocalArtworkScanEnabled(artwork)) {
             LOG.trace("Local episode image scan disabled: {}", artwork);
             return;
@@ -508,7 +556,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksLocal(artwork, videoimages, locatedArtworks);
     }
 
-    private void scanVideoImageAttached(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanVideoImageAttached(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isAttachedArtworkScanEnabled(artwork)) {
             LOG.trace("Attached episode image scan disabled: {}", artwork);
             return;
@@ -519,8 +567,8 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksAttached(artwork, attachments, locatedArtworks);
     }
     
-    private void scanVideoImageOnline(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
-        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks)) {
+    private void scanVideoImageOnline(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks, Set<String> skipped) {
+        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks.values())) {
             LOG.trace("Online episode image scan disabled: {}", artwork);
             return;
         }
@@ -534,15 +582,19 @@ public class ArtworkScannerService implements IQueueProcessService {
         LOG.debug("Scan online for TV show episode image: {}", artwork);
         List<ArtworkDTO> videoimages = Collections.emptyList();
         
-        for (String prio : determinePriorities("yamj3.artwork.scanner.videoimage.priorities", registeredSeriesArtworkScanner.keySet())) {
+        for (String prio : determinePriorities("yamj3.artwork.scanner.videoimage.priorities", registeredSeriesArtworkScanner.keySet(), skipped)) {
             SeriesArtworkScanner scanner = registeredSeriesArtworkScanner.get(prio);
             if (scanner == null) {
                 LOG.warn(SCANNER_NOT_REG_SERIES, prio);
             } else {
                 LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), artwork);
-                videoimages = scanner.getVideoImages(buildEpisode(videoData));
-                if (CollectionUtils.isNotEmpty(videoimages)) {
-                    break;
+                try {
+                    videoimages = scanner.getVideoImages(buildEpisode(videoData));
+                    if (CollectionUtils.isNotEmpty(videoimages)) {
+                        break;
+                    }
+                } catch (PluginUnavailableException ex) {
+                    skipScanner(prio, artwork, ex, skipped);
                 }
             }
         }
@@ -561,7 +613,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksOnline(artwork, videoimages, locatedArtworks);
     }
 
-    private void scanPhotoLocal(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
+    private void scanPhotoLocal(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks) {
         if (!configServiceWrapper.isLocalArtworkScanEnabled(artwork)) {
             LOG.trace("Local photo scan disabled: {}", artwork);
             return;
@@ -578,8 +630,8 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksLocal(artwork, photos, locatedArtworks);
     }
 
-    private void scanPhotoOnline(Artwork artwork, List<ArtworkLocated> locatedArtworks) {
-        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks)) {
+    private void scanPhotoOnline(Artwork artwork, Map<String, ArtworkLocated> locatedArtworks, Set<String> skipped) {
+        if (!configServiceWrapper.isOnlineArtworkScanEnabled(artwork, locatedArtworks.values())) {
             LOG.trace("Online photo scan disabled: {}", artwork);
             return;
         }
@@ -594,15 +646,19 @@ public class ArtworkScannerService implements IQueueProcessService {
         List<ArtworkDTO> photos = null;
         IPerson iPerson = buildPerson(person);
         
-        for (String prio : determinePriorities("yamj3.artwork.scanner.photo.priorities", registeredPersonArtworkScanner.keySet())) {
+        for (String prio : determinePriorities("yamj3.artwork.scanner.photo.priorities", registeredPersonArtworkScanner.keySet(), skipped)) {
             PersonArtworkScanner scanner = registeredPersonArtworkScanner.get(prio);
             if (scanner == null) {
                 LOG.warn(SCANNER_NOT_REG_PERSON, prio);
             } else {
                 LOG.debug(USE_SCANNER_FOR, scanner.getScannerName(), person);
-                photos = scanner.getPhotos(iPerson);
-                if (CollectionUtils.isNotEmpty(photos)) {
-                    break;
+                try {
+                    photos = scanner.getPhotos(iPerson);
+                    if (CollectionUtils.isNotEmpty(photos)) {
+                        break;
+                    }
+                } catch (PluginUnavailableException ex) {
+                    skipScanner(prio, artwork, ex, skipped);
                 }
             }
         }
@@ -621,7 +677,7 @@ public class ArtworkScannerService implements IQueueProcessService {
         createLocatedArtworksOnline(artwork, photos, locatedArtworks);
     }
 
-    private static void createLocatedArtworksOnline(Artwork artwork, List<ArtworkDTO> dtos, List<ArtworkLocated> locatedArtworks) {
+    private static void createLocatedArtworksOnline(Artwork artwork, List<ArtworkDTO> dtos, Map<String, ArtworkLocated> locatedArtworks) {
         for (ArtworkDTO dto : dtos) {
             ArtworkLocated located = new ArtworkLocated();
             located.setArtwork(artwork);
@@ -634,13 +690,11 @@ public class ArtworkScannerService implements IQueueProcessService {
             located.setStatus(StatusType.NEW);
             located.setPriority(10);
             
-            if (!locatedArtworks.contains(located)) {
-                locatedArtworks.add(located);
-            }
+            addLocatedArtwork(locatedArtworks, located);
         }
     }
 
-    private static void createLocatedArtworksLocal(Artwork artwork, List<StageFile> stageFiles, List<ArtworkLocated> locatedArtworks) {
+    private static void createLocatedArtworksLocal(Artwork artwork, List<StageFile> stageFiles, Map<String, ArtworkLocated> locatedArtworks) {
         for (StageFile stageFile : stageFiles) {
             ArtworkLocated located = new ArtworkLocated();
             located.setArtwork(artwork);
@@ -656,13 +710,11 @@ public class ArtworkScannerService implements IQueueProcessService {
                 located.setStatus(StatusType.INVALID);
             }
             
-            if (!locatedArtworks.contains(located)) {
-                locatedArtworks.add(located);
-            }
+            addLocatedArtwork(locatedArtworks, located);
         }
     }
 
-    private static void createLocatedArtworksAttached(Artwork artwork, List<Attachment> attachments, List<ArtworkLocated> locatedArtworks) {
+    private static void createLocatedArtworksAttached(Artwork artwork, List<Attachment> attachments, Map<String, ArtworkLocated> locatedArtworks) {
         for (Attachment attachment : attachments) {
             ArtworkLocated located = new ArtworkLocated();
             located.setArtwork(artwork);
@@ -678,19 +730,50 @@ public class ArtworkScannerService implements IQueueProcessService {
                 located.setStatus(StatusType.INVALID);
             }
             
-            if (!locatedArtworks.contains(located)) {
-                locatedArtworks.add(located);
-            }
+            addLocatedArtwork(locatedArtworks, located);
         }
     }
 
-    private Set<String> determinePriorities(String configkey, Set<String> possibleScanners) {
+    private static void addLocatedArtwork(Map<String, ArtworkLocated> locatedArtworks, ArtworkLocated located) {
+        final String key = located.buildMergeKey();
+        if (!locatedArtworks.containsKey(key)) {
+            locatedArtworks.put(key, located);
+        }
+    }
+
+    private Set<String> determinePriorities(String configkey, Set<String> possibleScanners, Set<String> skipped) {
         final String configValue = this.configServiceWrapper.getProperty(configkey, "");
         Set<String> result = ArtworkStorageTools.determinePriorities(configValue, possibleScanners);
         LOG.trace("{} --> {}", configkey, result);
+
+        // skip scanners with open circuit; the other scanners are still used
+        for (Iterator<String> iter = result.iterator(); iter.hasNext(); ) {
+            final String scannerName = iter.next();
+            if (pluginInvoker.isCircuitOpen(scannerName)) {
+                LOG.debug("Skip unavailable artwork scanner {}", scannerName);
+                skipped.add(scannerName);
+                iter.remove();
+            }
+        }
         return result;
     }
 
+    private static void skipScanner(String scannerName, Artwork artwork, PluginUnavailableException ex, Set<String> skipped) {
+        LOG.info("Artwork scanner {} skipped for {}: {}", scannerName, artwork, ex.getMessage());
+        skipped.add(scannerName);
+    }
+
+    private Date determineDeferredUntil(Set<String> skipped) {
+        if (skipped.isEmpty()) {
+            return null;
+        }
+        long deferMillis = MIN_DEFER_MILLIS;
+        for (String scannerName : skipped) {
+            deferMillis = Math.max(deferMillis, pluginInvoker.getRemainingOpenMillis(scannerName));
+        }
+        return new Date(System.currentTimeMillis() + deferMillis);
+    }
+
     private static IMovie buildMovie(VideoData videoData) {
         MovieMock mock = new MovieMock(videoData.getIdMap());
         mock.setTitle(videoData.getTitle());
@@ -28,6 +28,16 @@ public class ImageDTO {
 
     private String resource;
     private MediaType mediaType;
+    private boolean pending;
+
+    /**
+     * Create an image which is still in generation.
+     */
+    public static ImageDTO pending() {
+        ImageDTO image = new ImageDTO();
+        image.setPending(true);
+        return image;
+    }
 
     public String getResource() {
         return resource;
@@ -44,4 +54,12 @@ public class ImageDTO {
     public void setMediaType(MediaType mediaType) {
         this.mediaType = mediaType;
     }
-}
\ No newline at end of file
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public void setPending(boolean pending) {
+        this.pending = pending;
+    }
+}
@@ -183,11 +183,15 @@ public class FileStorageService {
         LOG.debug("Store {} {} image: {}", type, imageType, filename);
         String storageFileName = getStorageName(type, filename);
         File outputFile = new File(storageFileName);
+        // write into a temporary file which replaces the output file when complete,
+        // so that concurrent readers and writers never see a partial image
+        File tempFile = new File(storageFileName + "." + Thread.currentThread().getId() + ".tmp");
 
         ImageWriter writer = null;
+        boolean written = false;
         try {
             if (ImageType.PNG == imageType) {
-                ImageIO.write(bi, "png", outputFile);
+                ImageIO.write(bi, "png", tempFile);
             } else {
                 float jpegQuality = (float) quality / 100;
                 BufferedImage bufImage = new BufferedImage(bi.getWidth(), bi.getHeight(), BufferedImage.TYPE_INT_RGB);
@@ -198,16 +202,24 @@ public class FileStorageService {
                 iwp.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
                 iwp.setCompressionQuality(jpegQuality);
 
-                try (FileImageOutputStream output = new FileImageOutputStream(outputFile)) {
+                try (FileImageOutputStream output = new FileImageOutputStream(tempFile)) {
                     writer.setOutput(output);
                     IIOImage image = new IIOImage(bufImage, null, null);
                     writer.write(null, image, iwp);
                 }
             }
+            
+            written = FileTools.moveFileAtomic(tempFile, outputFile);
+            if (!written) {
+                throw new IOException("Failed to move image to " + storageFileName);
+            }
         } finally {
             if (writer != null) {
                 writer.dispose();
             }
+            if (!written && tempFile.exists() && !tempFile.delete()) {
+                LOG.trace("Temporary image file {} could not be deleted", tempFile);
+            }
         }
     }
 
@@ -27,6 +27,9 @@ import static org.yamj.plugin.api.Constants.UTF8;
 import java.io.*;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -121,6 +124,31 @@ public final class FileTools {
         return returnValue;
     }
 
+    /**
+     * Move the source file to the destination, replacing an existing destination.
+     *
+     * The move will be done atomically if supported by the file system, so that
+     * readers never see a partially written destination file.
+     *
+     * @param src
+     * @param dst
+     * @return
+     */
+    public static boolean moveFileAtomic(File src, File dst) {
+        try {
+            try {
+                Files.move(src.toPath(), dst.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) { //NOSONAR
+                Files.move(src.toPath(), dst.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException error) {
+            LOG.error("Failed moving file '{}' to '{}'", src, dst);
+            LOG.error("File moving error", error);
+            return false;
+        }
+    }
+
     /**
      * Create all directories up to the level of the file passed
      *
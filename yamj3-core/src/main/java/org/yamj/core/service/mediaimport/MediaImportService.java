@@ -1081,6 +1081,13 @@ public class MediaImportService {
             return false;
         }
 
+        // load existing located artwork of all matching artwork at once
+        final List<Long> artworkIds = new ArrayList<>(artworks.size());
+        for (Artwork artwork : artworks) {
+            artworkIds.add(artwork.getId());
+        }
+        final Map<Long, Map<String, ArtworkLocated>> existing = this.artworkDao.getArtworkLocated(artworkIds);
+
         // add artwork stage file to artwork
         for (Artwork artwork : artworks) {
             if (!configServiceWrapper.isLocalArtworkScanEnabled(artwork)) {
@@ -1096,7 +1103,8 @@ public class MediaImportService {
             located.setHashCode(stageFile.getHashCode());
             located.setImageType(ImageType.fromString(stageFile.getExtension()));
 
-            if (!artwork.getArtworkLocated().contains(located)) {
+            final Map<String, ArtworkLocated> existingLocated = existing.get(artwork.getId());
+            if (existingLocated == null || !existingLocated.containsKey(located.buildMergeKey())) {
 
                 if (FileTools.isFileReadable(stageFile)) {
                     located.setStatus(NEW);
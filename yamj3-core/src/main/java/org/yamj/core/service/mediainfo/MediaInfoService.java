@@ -45,6 +45,7 @@ import org.yamj.core.database.model.dto.QueueDTO;
 import org.yamj.core.database.service.MediaStorageService;
 import org.yamj.core.scheduling.IQueueProcessService;
 import org.yamj.core.service.file.FileTools;
+import org.yamj.core.service.metrics.MetricsRegistry;
 import org.yamj.core.tools.AspectRatioTools;
 
 @Service("mediaInfoService")
@@ -73,6 +74,8 @@ public class MediaInfoService implements IQueueProcessService {
     private AspectRatioTools aspectRatioTools;
     @Autowired
     private LocaleService localeService;
+    @Autowired
+    private MetricsRegistry metricsRegistry;
     
     @PostConstruct
     public void init() {
@@ -165,6 +168,7 @@ public class MediaInfoService implements IQueueProcessService {
         LOG.debug("Scanning media file {}", stageFile.getFullPath());
 
         boolean scanned = false;
+        final long start = System.currentTimeMillis();
         try (MediaInfoStream stream = (stageFile.getContent() == null) ? createStream(stageFile.getFullPath()) : new MediaInfoStream(stageFile.getContent())) {
             Map<String, String> infosGeneral = new HashMap<>();
             List<Map<String, String>> infosVideo = new ArrayList<>();
@@ -181,6 +185,11 @@ public class MediaInfoService implements IQueueProcessService {
             LOG.warn("MediaInfo error", error);
         }
 
+        if (stageFile.getContent() == null) {
+            // duration of the forked MediaInfo process including parsing of the output
+            metricsRegistry.timer("mediainfo_process_duration_millis", "result", scanned ? "ok" : "error").updateSince(start);
+        }
+
         if (scanned) {
             mediaFile.setStatus(StatusType.DONE);
         } else {
@@ -27,6 +27,8 @@ import static org.yamj.core.ServiceConstants.STORAGE_ERROR;
 import static org.yamj.core.tools.ExceptionTools.isLockingError;
 import static org.yamj.core.tools.YamjTools.setSortTitle;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +74,51 @@ public class MetadataScannerService implements IQueueProcessService {
         }
     }
     
+    /**
+     * Group the queue elements per type and let batch capable scanners
+     * fetch them in advance; all other elements are scanned one by one.
+     *
+     * @param queueElements
+     */
+    public void prefetch(Collection<QueueDTO> queueElements) {
+        final List<Long> movies = new ArrayList<>();
+        final List<Long> series = new ArrayList<>();
+        final List<Long> persons = new ArrayList<>();
+        final List<Long> filmographies = new ArrayList<>();
+        for (QueueDTO queueElement : queueElements) {
+            if (queueElement.getId() == null) {
+                // nothing to do
+            } else if (queueElement.isMetadataType(MOVIE)) {
+                movies.add(queueElement.getId());
+            } else if (queueElement.isMetadataType(SERIES)) {
+                series.add(queueElement.getId());
+            } else if (queueElement.isMetadataType(PERSON)) {
+                persons.add(queueElement.getId());
+            } else if (queueElement.isMetadataType(FILMOGRAPHY)) {
+                filmographies.add(queueElement.getId());
+            }
+        }
+
+        try {
+            if (!movies.isEmpty()) {
+                this.onlineScannerService.prefetchMovies(movies);
+            }
+            if (!series.isEmpty()) {
+                this.onlineScannerService.prefetchSeries(series);
+            }
+            if (!persons.isEmpty()) {
+                this.onlineScannerService.prefetchPersons(persons);
+            }
+            if (!filmographies.isEmpty()) {
+                this.onlineScannerService.prefetchFilmographies(filmographies);
+            }
+        } catch (Exception error) {
+            // single scans will do the job
+            LOG.warn("Failed to prefetch metadata: {}", error.getMessage());
+            LOG.trace("Prefetch error", error);
+        }
+    }
+
     /**
      * Scan a movie
      *
@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.yamj.core.config.LocaleService;
 import org.yamj.core.database.model.VideoData;
 import org.yamj.core.database.model.dto.CreditDTO;
+import org.yamj.core.database.model.type.OverrideFlag;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.core.tools.OverrideTools;
 import org.yamj.plugin.api.model.IEpisode;
@@ -77,6 +78,7 @@ public class WrapperEpisode implements IEpisode {
 
     @Override
     public void setTitle(String title) {
+        videoData.addSourceValue(OverrideFlag.TITLE, getScannerName(), title);
         if (OverrideTools.checkOverwriteTitle(videoData, getScannerName())) {
             videoData.setTitle(title, getScannerName());
         }
@@ -89,6 +91,7 @@ public class WrapperEpisode implements IEpisode {
 
     @Override
     public void setOriginalTitle(String originalTitle) {
+        videoData.addSourceValue(OverrideFlag.ORIGINALTITLE, getScannerName(), originalTitle);
         if (OverrideTools.checkOverwriteOriginalTitle(videoData, getScannerName())) {
             videoData.setTitleOriginal(originalTitle, getScannerName());
         }
@@ -96,6 +99,7 @@ public class WrapperEpisode implements IEpisode {
 
     @Override
     public void setPlot(String plot) {
+        videoData.addSourceValue(OverrideFlag.PLOT, getScannerName(), plot);
         if (OverrideTools.checkOverwritePlot(videoData, getScannerName())) {
             videoData.setPlot(plot, getScannerName());
         }
@@ -103,6 +107,7 @@ public class WrapperEpisode implements IEpisode {
 
     @Override
     public void setOutline(String outline) {
+        videoData.addSourceValue(OverrideFlag.OUTLINE, getScannerName(), outline);
         if (OverrideTools.checkOverwriteOutline(videoData, getScannerName())) {
             videoData.setOutline(outline, getScannerName());
         }
@@ -110,6 +115,7 @@ public class WrapperEpisode implements IEpisode {
 
     @Override
     public void setTagline(String tagline) {
+        videoData.addSourceValue(OverrideFlag.TAGLINE, getScannerName(), tagline);
         if (OverrideTools.checkOverwriteTagline(videoData, getScannerName())) {
             videoData.setTagline(tagline, getScannerName());
         }
@@ -117,6 +123,7 @@ public class WrapperEpisode implements IEpisode {
 
     @Override
     public void setQuote(String quote) {
+        videoData.addSourceValue(OverrideFlag.QUOTE, getScannerName(), quote);
         if (OverrideTools.checkOverwriteQuote(videoData, getScannerName())) {
             videoData.setQuote(quote, getScannerName());
         }
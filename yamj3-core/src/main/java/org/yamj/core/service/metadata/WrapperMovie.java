@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.yamj.core.config.LocaleService;
 import org.yamj.core.database.model.VideoData;
 import org.yamj.core.database.model.dto.CreditDTO;
+import org.yamj.core.database.model.type.OverrideFlag;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.core.tools.OverrideTools;
 import org.yamj.plugin.api.OnlineScanner;
@@ -72,6 +73,7 @@ public class WrapperMovie implements IMovie {
 
     @Override
     public void setTitle(String title) {
+        videoData.addSourceValue(OverrideFlag.TITLE, scannerName, title);
         if (OverrideTools.checkOverwriteTitle(videoData, scannerName)) {
             videoData.setTitle(title, scannerName);
         }
@@ -84,6 +86,7 @@ public class WrapperMovie implements IMovie {
 
     @Override
     public void setOriginalTitle(String originalTitle) {
+        videoData.addSourceValue(OverrideFlag.ORIGINALTITLE, scannerName, originalTitle);
         if (OverrideTools.checkOverwriteOriginalTitle(videoData, scannerName)) {
             videoData.setTitleOriginal(originalTitle, scannerName);
         }
@@ -96,6 +99,7 @@ public class WrapperMovie implements IMovie {
 
     @Override
     public void setYear(int year) {
+        videoData.addSourceValue(OverrideFlag.YEAR, scannerName, year);
         if (OverrideTools.checkOverwriteYear(videoData, scannerName)) {
             videoData.setPublicationYear(year, scannerName);
         }
@@ -103,6 +107,7 @@ public class WrapperMovie implements IMovie {
 
     @Override
     public void setPlot(String plot) {
+        videoData.addSourceValue(OverrideFlag.PLOT, scannerName, plot);
         if (OverrideTools.checkOverwritePlot(videoData, scannerName)) {
             videoData.setPlot(plot, scannerName);
         }
@@ -110,6 +115,7 @@ public class WrapperMovie implements IMovie {
 
     @Override
     public void setOutline(String outline) {
+        videoData.addSourceValue(OverrideFlag.OUTLINE, scannerName, outline);
         if (OverrideTools.checkOverwriteOutline(videoData, scannerName)) {
             videoData.setOutline(outline, scannerName);
         }
@@ -117,6 +123,7 @@ public class WrapperMovie implements IMovie {
 
     @Override
     public void setTagline(String tagline) {
+        videoData.addSourceValue(OverrideFlag.TAGLINE, scannerName, tagline);
         if (OverrideTools.checkOverwriteTagline(videoData, scannerName)) {
             videoData.setTagline(tagline, scannerName);
         }
@@ -124,8 +131,9 @@ public class WrapperMovie implements IMovie {
 
     @Override
     public void setQuote(String quote) {
+        videoData.addSourceValue(OverrideFlag.QUOTE, scannerName, quote);
         if (OverrideTools.checkOverwriteQuote(videoData, scannerName)) {
-            videoData.setTagline(quote, scannerName);
+            videoData.setQuote(quote, scannerName);
         }
     }
 
@@ -27,6 +27,7 @@ import static org.yamj.core.tools.YamjTools.splitFullName;
 import java.util.Date;
 import org.apache.commons.lang3.StringUtils;
 import org.yamj.core.database.model.Person;
+import org.yamj.core.database.model.type.OverrideFlag;
 import org.yamj.core.tools.OverrideTools;
 import org.yamj.core.tools.PersonName;
 import org.yamj.plugin.api.OnlineScanner;
@@ -71,12 +72,15 @@ public class WrapperPerson implements IPerson {
     @Override
     public void setName(String name) {
         PersonName personName = splitFullName(name);
+        person.addSourceValue(OverrideFlag.NAME, scannerName, personName.getName());
         if (OverrideTools.checkOverwriteName(person, scannerName)) {
             person.setName(personName.getName(), scannerName);
         }
+        person.addSourceValue(OverrideFlag.FIRSTNAME, scannerName, personName.getFirstName());
         if (OverrideTools.checkOverwriteFirstName(person, scannerName)) {
             person.setFirstName(personName.getFirstName(), scannerName);
         }
+        person.addSourceValue(OverrideFlag.LASTNAME, scannerName, personName.getLastName());
         if (OverrideTools.checkOverwriteLastName(person, scannerName)) {
             person.setLastName(personName.getLastName(), scannerName);
         }
@@ -84,12 +88,15 @@ public class WrapperPerson implements IPerson {
 
     @Override
     public void setNames(String name, String firstName, String lastName) {
+        person.addSourceValue(OverrideFlag.NAME, scannerName, name);
         if (OverrideTools.checkOverwriteName(person, scannerName)) {
             person.setName(name, scannerName);
         }
+        person.addSourceValue(OverrideFlag.FIRSTNAME, scannerName, firstName);
         if (OverrideTools.checkOverwriteFirstName(person, scannerName)) {
             person.setFirstName(firstName, scannerName);
         }
+        person.addSourceValue(OverrideFlag.LASTNAME, scannerName, lastName);
         if (OverrideTools.checkOverwriteLastName(person, scannerName)) {
             person.setLastName(lastName, scannerName);
         }
@@ -97,6 +104,7 @@ public class WrapperPerson implements IPerson {
 
     @Override
     public void setBirthDay(Date birthDay) {
+        person.addSourceValue(OverrideFlag.BIRTHDAY, scannerName, birthDay);
         if (OverrideTools.checkOverwriteBirthDay(person, scannerName)) {
             person.setBirthDay(birthDay, scannerName);
         }
@@ -104,6 +112,7 @@ public class WrapperPerson implements IPerson {
 
     @Override
     public void setBirthPlace(String birthPlace) {
+        person.addSourceValue(OverrideFlag.BIRTHPLACE, scannerName, birthPlace);
         if (OverrideTools.checkOverwriteBirthPlace(person, scannerName)) {
             person.setBirthPlace(birthPlace, scannerName);
         }
@@ -111,6 +120,7 @@ public class WrapperPerson implements IPerson {
 
     @Override
     public void setBirthName(String birthName) {
+        person.addSourceValue(OverrideFlag.BIRTHNAME, scannerName, birthName);
         if (OverrideTools.checkOverwriteBirthName(person, scannerName)) {
             person.setBirthName(birthName, scannerName);
         }
@@ -118,6 +128,7 @@ public class WrapperPerson implements IPerson {
 
     @Override
     public void setDeathDay(Date deathDay) {
+        person.addSourceValue(OverrideFlag.DEATHDAY, scannerName, deathDay);
         if (OverrideTools.checkOverwriteDeathDay(person, scannerName)) {
             person.setDeathDay(deathDay, scannerName);
         }
@@ -125,6 +136,7 @@ public class WrapperPerson implements IPerson {
 
     @Override
     public void setDeathPlace(String deathPlace) {
+        person.addSourceValue(OverrideFlag.DEATHPLACE, scannerName, deathPlace);
         if (OverrideTools.checkOverwriteDeathPlace(person, scannerName)) {
             person.setDeathPlace(deathPlace, scannerName);
         }
@@ -132,6 +144,7 @@ public class WrapperPerson implements IPerson {
 
     @Override
     public void setBiography(String biography) {
+        person.addSourceValue(OverrideFlag.BIOGRAPHY, scannerName, biography);
         if (OverrideTools.checkOverwriteBiography(person, scannerName)) {
             person.setBiography(biography, scannerName);
         }
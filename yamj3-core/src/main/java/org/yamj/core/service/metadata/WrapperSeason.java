@@ -29,6 +29,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.yamj.core.config.LocaleService;
 import org.yamj.core.database.model.Season;
 import org.yamj.core.database.model.VideoData;
+import org.yamj.core.database.model.type.OverrideFlag;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.core.tools.OverrideTools;
 import org.yamj.plugin.api.model.IEpisode;
@@ -80,6 +81,7 @@ public class WrapperSeason implements ISeason {
 
     @Override
     public void setTitle(String title) {
+        season.addSourceValue(OverrideFlag.TITLE, getScannerName(), title);
         if (OverrideTools.checkOverwriteTitle(season, getScannerName())) {
             season.setTitle(title, getScannerName());
         }
@@ -92,6 +94,7 @@ public class WrapperSeason implements ISeason {
 
     @Override
     public void setOriginalTitle(String originalTitle) {
+        season.addSourceValue(OverrideFlag.ORIGINALTITLE, getScannerName(), originalTitle);
         if (OverrideTools.checkOverwriteOriginalTitle(season, getScannerName())) {
             season.setTitleOriginal(originalTitle, getScannerName());
         }
@@ -104,6 +107,7 @@ public class WrapperSeason implements ISeason {
 
     @Override
     public void setYear(int year) {
+        season.addSourceValue(OverrideFlag.YEAR, getScannerName(), year);
         if (OverrideTools.checkOverwriteYear(season, getScannerName())) {
             season.setPublicationYear(year, getScannerName());
         }
@@ -111,6 +115,7 @@ public class WrapperSeason implements ISeason {
 
     @Override
     public void setPlot(String plot) {
+        season.addSourceValue(OverrideFlag.PLOT, getScannerName(), plot);
         if (OverrideTools.checkOverwritePlot(season, getScannerName())) {
             season.setPlot(plot, getScannerName());
         }
@@ -118,6 +123,7 @@ public class WrapperSeason implements ISeason {
 
     @Override
     public void setOutline(String outline) {
+        season.addSourceValue(OverrideFlag.OUTLINE, getScannerName(), outline);
         if (OverrideTools.checkOverwriteOutline(season, getScannerName())) {
             season.setOutline(outline, getScannerName());
         }
@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.yamj.core.config.LocaleService;
 import org.yamj.core.database.model.Season;
 import org.yamj.core.database.model.Series;
+import org.yamj.core.database.model.type.OverrideFlag;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.core.tools.OverrideTools;
 import org.yamj.plugin.api.OnlineScanner;
@@ -77,6 +78,7 @@ public class WrapperSeries implements ISeries {
 
     @Override
     public void setTitle(String title) {
+        series.addSourceValue(OverrideFlag.TITLE, scannerName, title);
         if (OverrideTools.checkOverwriteTitle(series, scannerName)) {
             series.setTitle(title, scannerName);
         }
@@ -89,6 +91,7 @@ public class WrapperSeries implements ISeries {
 
     @Override
     public void setOriginalTitle(String originalTitle) {
+        series.addSourceValue(OverrideFlag.ORIGINALTITLE, scannerName, originalTitle);
         if (OverrideTools.checkOverwriteOriginalTitle(series, scannerName)) {
             series.setTitleOriginal(originalTitle, scannerName);
         }
@@ -101,6 +104,7 @@ public class WrapperSeries implements ISeries {
 
     @Override
     public void setStartYear(int startYear) {
+        series.addSourceValue(OverrideFlag.YEAR, scannerName, startYear);
         if (OverrideTools.checkOverwriteYear(series, scannerName)) {
             series.setStartYear(startYear, scannerName);
         }
@@ -120,6 +124,7 @@ public class WrapperSeries implements ISeries {
 
     @Override
     public void setPlot(String plot) {
+        series.addSourceValue(OverrideFlag.PLOT, scannerName, plot);
         if (OverrideTools.checkOverwritePlot(series, scannerName)) {
             series.setPlot(plot, scannerName);
         }
@@ -127,6 +132,7 @@ public class WrapperSeries implements ISeries {
 
     @Override
     public void setOutline(String outline) {
+        series.addSourceValue(OverrideFlag.OUTLINE, scannerName, outline);
         if (OverrideTools.checkOverwriteOutline(series, scannerName)) {
             series.setOutline(outline, scannerName);
         }
@@ -26,26 +26,32 @@ import static org.apache.commons.lang3.StringUtils.*;
 import static org.yamj.plugin.api.Constants.*;
 import static org.yamj.plugin.api.metadata.MetadataTools.*;
 
-import java.io.File;
+import java.io.*;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.math.NumberUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.*;
 import org.yamj.common.type.StatusType;
 import org.yamj.core.config.ConfigServiceWrapper;
 import org.yamj.core.config.LocaleService;
 import org.yamj.core.database.model.StageFile;
 import org.yamj.core.database.model.dto.CreditDTO;
+import org.yamj.core.service.metadata.nfo.NfoXmlCollector.CommonValues;
 import org.yamj.core.service.metadata.online.OnlineScannerService;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.core.service.various.StagingService;
 import org.yamj.core.tools.xml.DOMHelper;
+import org.yamj.core.tools.xml.StaxHelper;
+import org.yamj.core.tools.xml.XmlFragmentReader;
 import org.yamj.plugin.api.model.type.JobType;
 
 /**
@@ -58,6 +64,10 @@ public final class InfoReader {
     private static final String XML_START = "<";
     private static final String XML_END = "</";
     private static final String SPLITTER = "(?<!-)/|,|\\|";  // caters for the case where "-/" is not wanted as part of the split
+    private static final String XML_ROOT = "nfo";
+    private static final String[] FRAGMENT_TYPES = {DOMHelper.TYPE_MOVIE, DOMHelper.TYPE_TVSHOW, DOMHelper.TYPE_EPISODE};
+    private static final int MAX_TEXT_LENGTH = 65536;
+    private static final Pattern MARKUP_PATTERN = Pattern.compile("(?s)<\\?.*?\\?>|<!--.*?-->|<!DOCTYPE[^>]*>");
     
     @Autowired
     private ConfigServiceWrapper configServiceWrapper;
@@ -79,15 +89,15 @@ public final class InfoReader {
      */
     public void readNfoFile(StageFile stageFile, InfoDTO dto) {
         final String nfoFilename = stageFile.getFileName();
-        File nfoFile = new File(stageFile.getFullPath());
+        final File nfoFile = new File(stageFile.getFullPath());
         
         String nfoContent = null;
+        Reader reader;
         try {
-            nfoContent = FileUtils.readFileToString(nfoFile, UTF8);
-        } catch (Exception e) {
+            reader = StaxHelper.openReader(nfoFile);
+        } catch (IOException e) {
             LOG.error("Unable to read NFO file: " + stageFile.getFullPath(), e);
             
-            nfoFile = null;
             nfoContent = stageFile.getContent();
             
             if (isBlank(nfoContent)) {
@@ -105,32 +115,47 @@ public final class InfoReader {
             }
             
             LOG.warn("NFO file '{}' is not readable; try stage file content", nfoFilename);
+            reader = new StringReader(nfoContent);
         }
         
-        boolean parsedNfo = false;   // was the NFO XML parsed correctly or at all
-        boolean hasXml = false;
-
-        if (containsIgnoreCase(nfoContent, XML_START + DOMHelper.TYPE_MOVIE)
-                || containsIgnoreCase(nfoContent, XML_START + DOMHelper.TYPE_TVSHOW)
-                || containsIgnoreCase(nfoContent, XML_START + DOMHelper.TYPE_EPISODE)) {
-            hasXml = true;
-        }
-
-        // If the file has XML tags in it, try reading it as a pure XML file
-        if (hasXml) {
-            parsedNfo = this.readXmlNfo(nfoFile, nfoContent, nfoFilename, stageFile.getFileDate(), dto);
+        // stream the XML fragments; text before and after the XML is kept for the text scanner
+        XmlFragmentReader fragmentReader = new XmlFragmentReader(reader, XML_ROOT, MAX_TEXT_LENGTH, FRAGMENT_TYPES);
+        NfoXmlCollector collector = null;
+        boolean hasFragment;
+        try {
+            hasFragment = fragmentReader.findFragment();
+            if (hasFragment) {
+                collector = readXmlNfo(fragmentReader, nfoFilename);
+            }
+        } catch (IOException e) {
+            LOG.debug("Failed streaming NFO file {}: {}", nfoFilename, e.getMessage());
+            hasFragment = true;
+        } finally {
+            IOUtils.closeQuietly(fragmentReader);
         }
-
-        // If it has XML in it, but didn't parse correctly, try splitting it out
-        if (hasXml && !parsedNfo) {
+        
+        boolean parsedNfo = false;   // was the NFO XML parsed correctly or at all
+        String textContent = null;   // text to scan with the text scanner
+
+        if (collector != null) {
+            // XML parsed in one pass; remaining text is scanned with the text scanner
+            parseXML(collector, dto, stageFile.getFileDate());
+            parsedNfo = true;
+            textContent = join(stripMarkup(fragmentReader.getPrefix()), collector.getRemainder());
+        } else if (hasFragment) {
+            // it has XML in it, but didn't parse correctly, so try splitting it out
+            if (nfoContent == null) {
+                nfoContent = readContent(nfoFile, stageFile);
+            }
+            
             int posMovie = findPosition(nfoContent, DOMHelper.TYPE_MOVIE);
             int posTv = findPosition(nfoContent, DOMHelper.TYPE_TVSHOW);
             int posEp = findPosition(nfoContent, DOMHelper.TYPE_EPISODE);
             int start = Math.min(posMovie, Math.min(posTv, posEp));
 
-            posMovie = indexOf(nfoContent, XML_END + DOMHelper.TYPE_MOVIE);
-            posTv = indexOf(nfoContent, XML_END + DOMHelper.TYPE_TVSHOW);
-            posEp = indexOf(nfoContent, XML_END + DOMHelper.TYPE_EPISODE);
+            posMovie = indexOfIgnoreCase(nfoContent, XML_END + DOMHelper.TYPE_MOVIE);
+            posTv = indexOfIgnoreCase(nfoContent, XML_END + DOMHelper.TYPE_TVSHOW);
+            posEp = indexOfIgnoreCase(nfoContent, XML_END + DOMHelper.TYPE_EPISODE);
             int end = Math.max(posMovie, Math.max(posTv, posEp));
 
             if ((end > -1) && (end > start)) {
@@ -138,22 +163,33 @@ public final class InfoReader {
 
                 // Send text to be read
                 String nfoTrimmed = substring(nfoContent, start, end);
-                parsedNfo = readXmlNfo(null, nfoTrimmed, nfoFilename, stageFile.getFileDate(), dto);
-
-                nfoTrimmed = remove(nfoContent, nfoTrimmed);
-                if (parsedNfo && isNotBlank(nfoTrimmed)) {
-                    // we have some text left, so scan that with the text scanner
-                    readTextNfo(nfoTrimmed, dto);
+                collector = readXmlNfo(nfoTrimmed, nfoFilename);
+                if (collector != null) {
+                    parseXML(collector, dto, stageFile.getFileDate());
+                    parsedNfo = true;
+                    textContent = remove(nfoContent, nfoTrimmed);
                 }
             }
+        } else if (nfoContent != null) {
+            // no XML found, so the whole content is text
+            textContent = nfoContent;
+        } else if (fragmentReader.getPrefix().length() < MAX_TEXT_LENGTH) {
+            // no XML found and the whole file content has been kept
+            textContent = fragmentReader.getPrefix();
         }
 
-        // If the XML wasn't found or parsed correctly, then fall back to the old method
         if (parsedNfo) {
             LOG.debug("Successfully scanned {} as XML format", nfoFilename);
+            if (isNotBlank(textContent)) {
+                // we have some text left, so scan that with the text scanner
+                readTextNfo(textContent, dto);
+            }
         } else {
             // If the XML wasn't found or parsed correctly, then fall back to the old method
-            parsedNfo = readTextNfo(nfoContent, dto);
+            if (textContent == null) {
+                textContent = nfoContent == null ? readContent(nfoFile, stageFile) : nfoContent;
+            }
+            parsedNfo = readTextNfo(textContent, dto);
             if (parsedNfo) {
                 LOG.debug("Successfully scanned {} as text format", nfoFilename);
             } else {
@@ -169,6 +205,22 @@ public final class InfoReader {
         }
     }
 
+    /**
+     * Read the complete NFO content; just needed if the NFO could not be parsed in one pass.
+     *
+     * @param nfoFile
+     * @param stageFile
+     * @return
+     */
+    private static String readContent(File nfoFile, StageFile stageFile) {
+        try {
+            return FileUtils.readFileToString(nfoFile, UTF8);
+        } catch (Exception e) {
+            LOG.trace("Unable to read NFO file: " + stageFile.getFullPath(), e);
+            return trimToEmpty(stageFile.getContent());
+        }
+    }
+
     /**
      * Find the position of the string or return the maximum
      *
@@ -177,58 +229,105 @@ public final class InfoReader {
      * @return
      */
     private static int findPosition(final String nfoText, final String xmlType) {
-        final int pos = indexOf(nfoText, XML_START + xmlType);
+        final int pos = indexOfIgnoreCase(nfoText, XML_START + xmlType);
         return pos == -1 ? Integer.MAX_VALUE : pos;
     }
 
     /**
-     * Read NFO as XML.
+     * Remove XML declaration, processing instructions and comments from a text.
      *
-     * @param nfoString
-     * @param nfoFilename
-     * @param dto
+     * @param text
      * @return
      */
-    private boolean readXmlNfo(final File nfoFile, final String nfoContent, final String nfoFilename, final Date nfoFileDate, InfoDTO dto) {
-        Document xmlDoc;
+    private static String stripMarkup(String text) {
+        if (isBlank(text)) {
+            return text;
+        }
+        return MARKUP_PATTERN.matcher(text).replaceAll("");
+    }
+
+    private static String join(String prefix, String remainder) {
+        if (isBlank(prefix)) {
+            return remainder;
+        }
+        if (isBlank(remainder)) {
+            return prefix;
+        }
+        return prefix + " " + remainder;
+    }
 
+    /**
+     * Read the trimmed NFO XML content.
+     *
+     * @param nfoTrimmed
+     * @param nfoFilename
+     * @return the collected XML content, or null if the XML could not be parsed
+     */
+    private static NfoXmlCollector readXmlNfo(final String nfoTrimmed, final String nfoFilename) {
+        XmlFragmentReader fragmentReader = new XmlFragmentReader(new StringReader(nfoTrimmed), XML_ROOT, 0, FRAGMENT_TYPES);
         try {
-            if (nfoFile == null) {
-                // Assume we're using the string
-                xmlDoc = DOMHelper.getDocFromString(nfoContent);
-            } else {
-                xmlDoc = DOMHelper.getDocFromFile(nfoFile);
-            }
-        } catch (Exception ex) {
-            if (nfoFile != null) {
-                LOG.error("Failed parsing NFO file: " + nfoFile.getAbsolutePath(), ex);
-            } else {
-                LOG.error("Failed parsing NFO file: " + nfoFilename, ex);
+            if (fragmentReader.findFragment()) {
+                return readXmlNfo(fragmentReader, nfoFilename);
             }
-            return false;
+        } catch (IOException ignore) { //NOSONAR
+            // can not happen for a string
         }
+        return null;
+    }
 
-        parseXML(xmlDoc, dto, nfoFileDate);
-        return true;
+    /**
+     * Read NFO as XML in one pass.
+     *
+     * @param fragmentReader the reader positioned at the first fragment
+     * @param nfoFilename
+     * @return the collected XML content, or null if the XML could not be parsed
+     */
+    private static NfoXmlCollector readXmlNfo(final XmlFragmentReader fragmentReader, final String nfoFilename) {
+        final NfoXmlCollector collector = new NfoXmlCollector(MAX_TEXT_LENGTH);
+        XMLStreamReader xmlReader = null;
+        try {
+            xmlReader = StaxHelper.createStreamReader(fragmentReader);
+            collector.collect(xmlReader);
+        } catch (XMLStreamException ex) {
+            if (collector.hasCompletedFragments()) {
+                // invalid text behind the XML, like an URL with '&'; keep the fragments
+                try {
+                    final String suffix = fragmentReader.readSuffix(collector.getClosedFragments());
+                    if (suffix != null) {
+                        LOG.trace("Invalid XML behind fragments in NFO file {}: {}", nfoFilename, ex.getMessage());
+                        collector.setTrailingText(stripMarkup(suffix));
+                        return collector;
+                    }
+                } catch (IOException ignore) { //NOSONAR
+                    // handled as parsing error
+                }
+            }
+            LOG.debug("Failed parsing NFO file {}: {}", nfoFilename, ex.getMessage());
+            LOG.trace("NFO parsing error", ex);
+            return null;
+        } finally {
+            StaxHelper.closeQuietly(xmlReader);
+        }
+        return collector.hasCompletedFragments() ? collector : null;
     }
 
     /**
-     * Parse the XML document for NFO information
+     * Parse the collected XML content for NFO information
      *
-     * @param xmlDoc
+     * @param collector
      * @param dto
-     * @return
+     * @param nfoFileDate
      */
-    private void parseXML(final Document xmlDoc, InfoDTO dto, final Date nfoFileDate) {
-        NodeList nlMovies;
+    private void parseXML(final NfoXmlCollector collector, InfoDTO dto, final Date nfoFileDate) {
+        final CommonValues common;
 
         // determine if the NFO file is for a TV Show or Movie so the default ID can be set
-        boolean isTV = xmlDoc.getElementsByTagName(DOMHelper.TYPE_TVSHOW).getLength() > 0;
+        boolean isTV = collector.getTvShow() != null;
         if (dto.isTvShow() || isTV) {
-            nlMovies = xmlDoc.getElementsByTagName(DOMHelper.TYPE_TVSHOW);
+            common = collector.getTvShow();
             dto.setTvShow(true);
         } else {
-            nlMovies = xmlDoc.getElementsByTagName(DOMHelper.TYPE_MOVIE);
+            common = collector.getMovie();
             dto.setTvShow(false);
         }
 
@@ -236,29 +335,28 @@ public final class InfoReader {
         boolean watched = false;
         
         // just one movie/TVshow per file
-        if ((nlMovies != null) && (nlMovies.getLength() > 0) && (nlMovies.item(0).getNodeType() == Node.ELEMENT_NODE)) {
-            // get first info element
-            final Element eCommon = (Element) nlMovies.item(0);
-            
+        if (common != null) {
             // parse title
-            parseTitle(eCommon, dto);
+            dto.setTitle(common.getValue("title"));
+            dto.setTitleOriginal(common.getValue("originaltitle", "originalTitle"));
+            dto.setTitleSort(common.getValue("sorttitle", "sortTitle"));
     
             // parse year
-            String value = DOMHelper.getValueFromElement(eCommon, "year");
+            String value = common.getValue("year");
             dto.setYear(value);
     
             // get the movie IDs
-            parseIds(eCommon.getElementsByTagName("id"), dto, isTV);
+            parseIds(common.ids, dto, isTV);
     
             // parsed watched
-            value = DOMHelper.getValueFromElement(eCommon, "watched");
+            value = common.getValue("watched");
             watched = Boolean.parseBoolean(value);
             
             if (dto.isTvShow()) {
                 // TV show specific
     
                 // specific TVDB id
-                value = DOMHelper.getValueFromElement(eCommon, "tvdbid");
+                value = common.getValue("tvdbid");
                 if (isNotBlank(value)) {
                     dto.addId(SOURCE_TVDB, value);
                 }
@@ -272,77 +370,62 @@ public final class InfoReader {
             }
             
             // parse sets
-            parseSets(eCommon.getElementsByTagName("set"), dto);
+            parseSets(common.sets, dto);
     
             // parse rating
-            dto.setRating(parseRating(DOMHelper.getValueFromElement(eCommon, "rating")));
+            dto.setRating(parseRating(common.getValue("rating")));
     
             // parse certification
-            parseCertification(eCommon, dto);
+            parseCertification(common, dto);
     
             // parse plot
-            value = DOMHelper.getValueFromElement(eCommon, "plot");
-            dto.setPlot(value);
+            dto.setPlot(common.getValue("plot"));
     
             // parse outline
-            value = DOMHelper.getValueFromElement(eCommon, "outline");
-            dto.setOutline(value);
+            dto.setOutline(common.getValue("outline"));
     
             // parse tagline
-            value = DOMHelper.getValueFromElement(eCommon, "tagline");
-            dto.setTagline(value);
+            dto.setTagline(common.getValue("tagline"));
     
             // parse quote
-            value = DOMHelper.getValueFromElement(eCommon, "quote");
-            dto.setQuote(value);
+            dto.setQuote(common.getValue("quote"));
     
             // parse company (may be studio)
-            value = DOMHelper.getValueFromElement(eCommon, "studio", "company");
-            dto.setCompany(value);
+            dto.setCompany(common.getValue("studio", "company"));
 
             // parse genres
-            parseGenres(eCommon.getElementsByTagName("genre"), dto);
+            for (String genres : common.genres) {
+                for (String genre : genres.split(SPLITTER)) {
+                    dto.addGenre(genre);
+                }
+            }
 
             // parse countries
-            parseCountries(eCommon.getElementsByTagName("country"), dto);
+            for (String countries : common.countries) {
+                for (String country : countries.split(SPLITTER)) {
+                    dto.addCountryCode(localeService.findCountryCode(country));
+                }
+            }
 
             // premiered / release date
-            movieDate(DOMHelper.getValueFromElement(eCommon, "premiered", "releasedate"), dto);
+            movieDate(common.getValue("premiered", "releasedate"), dto);
     
             // parse Top250
-            value = DOMHelper.getValueFromElement(eCommon, "top250");
+            value = common.getValue("top250");
             dto.setTop250(NumberUtils.toInt(value, -1));
             
             // director and writers
             if (!this.configServiceWrapper.getBooleanProperty("nfo.skip.crew", false)) {
                 if (this.configServiceWrapper.isCastScanEnabled(JobType.DIRECTOR)) {
-                    parseDirectors(eCommon.getElementsByTagName("director"), dto);
+                    for (String director : common.directors) {
+                        dto.addCredit(this.identifierService.createCredit(NfoScannerService.SCANNER_ID, JobType.DIRECTOR, director));
+                    }
                 }
                 
                 if (this.configServiceWrapper.isCastScanEnabled(JobType.WRITER)) {
-                    List<Node> writerNodes = new ArrayList<>();
-                    // get writers list
-                    NodeList nlWriters = eCommon.getElementsByTagName("writer");
-                    if (nlWriters != null && nlWriters.getLength() > 0) {
-                        for (int looper = 0; looper < nlWriters.getLength(); looper++) {
-                            Node node = nlWriters.item(looper);
-                            if (node.getNodeType() == Node.ELEMENT_NODE) {
-                                writerNodes.add(node);
-                            }
-                        }
+                    for (String writer : common.writers) {
+                        dto.addCredit(this.identifierService.createCredit(NfoScannerService.SCANNER_ID, JobType.WRITER, writer));
                     }
-                    // get credits list (old style)
-                    nlWriters = eCommon.getElementsByTagName("credits");
-                    if (nlWriters != null && nlWriters.getLength() > 0) {
-                        for (int looper = 0; looper < nlWriters.getLength(); looper++) {
-                            Node node = nlWriters.item(looper);
-                            if (node.getNodeType() == Node.ELEMENT_NODE) {
-                                writerNodes.add(node);
-                            }
-                        }
-                    }
-                    // parse writers
-                    parseWriters(writerNodes, dto);
                 }
             }
     
@@ -350,66 +433,55 @@ public final class InfoReader {
             if (!this.configServiceWrapper.getBooleanProperty("nfo.skip.cast", false)
                 && this.configServiceWrapper.isCastScanEnabled(JobType.ACTOR)) 
             {
-                parseActors(eCommon.getElementsByTagName("actor"), dto);
+                for (String[] actor : common.actors) {
+                    CreditDTO credit = this.identifierService.createCredit(NfoScannerService.SCANNER_ID, JobType.ACTOR, actor[0], actor[1]);
+                    if (credit != null) {
+                        credit.addPhoto(NfoScannerService.SCANNER_ID, actor[2]);
+                        dto.addCredit(credit);
+                    }
+                }
             }
             
             // parse artwork URLs
             if (!this.configServiceWrapper.getBooleanProperty("nfo.skip.posterURL", true)) {
-                dto.addPosterURL(DOMHelper.getValueFromElement(eCommon, "thumb"));
+                dto.addPosterURL(common.getValue("thumb"));
             }
             if (!this.configServiceWrapper.getBooleanProperty("nfo.skip.fanartURL", true)) {
-                dto.addFanartURL(DOMHelper.getValueFromElement(eCommon, "fanart"));
+                dto.addFanartURL(common.getValue("fanart"));
             }
     
             // parse trailer
             if (!this.configServiceWrapper.getBooleanProperty("nfo.skip.trailerURL", false)) {
-                parseTrailers(eCommon.getElementsByTagName("trailer"), dto);
+                for (String trailer : common.trailers) {
+                    dto.addTrailerURL(trailer);
+                }
             }
         }
         
-        // parse all episodes
+        // add all episodes
         if (dto.isTvShow()) {
-            parseAllEpisodeDetails(dto, xmlDoc.getElementsByTagName(DOMHelper.TYPE_EPISODE), watched, nfoFileDate);
+            for (InfoEpisodeDTO episodeDTO : collector.getEpisodes()) {
+                if (episodeDTO.isValid()) {
+                    // just add valid episodes to series
+                    episodeDTO.setWatched(watched, nfoFileDate);
+                    dto.addEpisode(episodeDTO);
+                }
+            }
         }
     }
 
-    /**
-     * Parse all the title information from the XML NFO file
-     *
-     * @param eCommon
-     * @param dto
-     */
-    private static void parseTitle(Element eCommon, InfoDTO dto) {
-        // determine title elements
-        String titleMain = DOMHelper.getValueFromElement(eCommon, "title");
-        String titleOrig = DOMHelper.getValueFromElement(eCommon, "originaltitle", "originalTitle");
-        String titleSort = DOMHelper.getValueFromElement(eCommon, "sorttitle", "sortTitle");
-
-        dto.setTitle(titleMain);
-        dto.setTitleOriginal(titleOrig);
-        dto.setTitleSort(titleSort);
-    }
-
     /**
      * Parse all the IDs associated with the movie from the XML NFO file
      *
-     * @param nlElements
+     * @param ids the ID values with attributes 'moviedb' and 'TMDB'
      * @param dto
      * @param isTV
      */
-    private static void parseIds(NodeList nlElements, InfoDTO dto, boolean isTV) {
-        Node nElements;
-        for (int looper = 0; looper < nlElements.getLength(); looper++) {
-            nElements = nlElements.item(looper);
-            if (nElements.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-            
-            Element eId = (Element) nElements;
-
-            String movieId = eId.getTextContent();
+    private static void parseIds(List<String[]> ids, InfoDTO dto, boolean isTV) {
+        for (String[] id : ids) {
+            String movieId = id[0];
             if (isNotBlank(movieId)) {
-                String movieDb = eId.getAttribute("moviedb");
+                String movieDb = id[1];
                 if (isBlank(movieDb)) {
                     if ("-1".equals(movieId)) {
                         // skip all scans
@@ -431,7 +503,7 @@ public final class InfoReader {
             }
             
             // process the TMDB id
-            movieId = eId.getAttribute("TMDB");
+            movieId = id[2];
             if (isNotBlank(movieId)) {
                 LOG.debug("Found TheMovieDb ID: {}", movieId);
                 dto.addId(SOURCE_TMDB, movieId);
@@ -442,21 +514,21 @@ public final class InfoReader {
     /**
      * Parse Certification from the XML NFO file
      *
-     * @param eCommon
+     * @param common
      * @param movie
      */
-    private void parseCertification(Element eCommon, InfoDTO dto) {
+    private void parseCertification(CommonValues common, InfoDTO dto) {
         boolean certificationMPAA = this.configServiceWrapper.getBooleanProperty("yamj3.certification.mpaa", false);
         String tempCert;
         
         if (certificationMPAA) {
-            tempCert = DOMHelper.getValueFromElement(eCommon, "mpaa");
+            tempCert = common.getValue("mpaa");
             if (isNotBlank(tempCert)) {
                 dto.addCertificatioInfo("MPAA", trimToNull(processMpaaCertification(tempCert)));
             }
         }
 
-        tempCert = DOMHelper.getValueFromElement(eCommon, "certification");
+        tempCert = common.getValue("certification");
         if (isBlank(tempCert)) {
             return;
         }
@@ -490,60 +562,6 @@ public final class InfoReader {
         }
     }
 
-    /**
-     * Parse Genres from the XML NFO file
-     * Caters for multiple genres on the same line and multiple lines.
-     *
-     * @param nlElements
-     * @param dto
-    */
-    private void parseGenres(NodeList nlElements, InfoDTO dto) {
-        Node nElements;
-        for (int looper = 0; looper < nlElements.getLength(); looper++) {
-            nElements = nlElements.item(looper);
-            if (nElements.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-            
-            Element eGenre = (Element) nElements;
-            NodeList nlNames = eGenre.getElementsByTagName("name");
-            if ((nlNames != null) && (nlNames.getLength() > 0)) {
-                parseGenres(nlNames, dto);
-            } else if (eGenre.getTextContent() != null) {
-                for (String genre : eGenre.getTextContent().split(SPLITTER)) {
-                    dto.addGenre(genre);
-                }
-            }
-        }
-    }
-
-    /**
-     * Parse countries from the XML NFO file
-     * Caters for multiple countries on the same line and multiple lines.
-     *
-     * @param nlElements
-     * @param dto
-    */
-    private void parseCountries(NodeList nlElements, InfoDTO dto) {
-        Node nElements;
-        for (int looper = 0; looper < nlElements.getLength(); looper++) {
-            nElements = nlElements.item(looper);
-            if (nElements.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-            
-            Element eCountry = (Element) nElements;
-            NodeList nlNames = eCountry.getElementsByTagName("name");
-            if ((nlNames != null) && (nlNames.getLength() > 0)) {
-                parseCountries(nlNames, dto);
-            } else if (eCountry.getTextContent() != null) {
-                for (String country : eCountry.getTextContent().split(SPLITTER)) {
-                    dto.addCountryCode(localeService.findCountryCode(country));
-                }
-            }
-        }
-    }
-
     /**
      * Convert the date string to a date and update the movie object
      *
@@ -561,224 +579,20 @@ public final class InfoReader {
     /**
      * Parse Sets from the XML NFO file
      *
-     * @param nlElements
+     * @param sets the set values with attribute 'order'
      * @param dto
      */
-    private static void parseSets(NodeList nlElements, InfoDTO dto) {
-        Node nElements;
-        for (int looper = 0; looper < nlElements.getLength(); looper++) {
-            nElements = nlElements.item(looper);
-            if (nElements.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-            
-            Element eId = (Element) nElements;
-            String setOrder = eId.getAttribute("order");
+    private static void parseSets(List<String[]> sets, InfoDTO dto) {
+        for (String[] set : sets) {
+            String setOrder = set[1];
             if (isNumeric(setOrder)) {
-                dto.addSetInfo(eId.getTextContent(), Integer.valueOf(setOrder));
+                dto.addSetInfo(set[0], Integer.valueOf(setOrder));
             } else {
-                dto.addSetInfo(eId.getTextContent());
-            }
-        }
-    }
-
-    /**
-     * Parse directors from the XML NFO file
-     *
-     * @param nlElements
-     * @param dto
-     */
-    private void parseDirectors(NodeList nlElements, InfoDTO dto) {
-        // check if we have a node
-        if (nlElements == null || nlElements.getLength() == 0) {
-            return;
-        }
-
-        Node nElements;
-        for (int looper = 0; looper < nlElements.getLength(); looper++) {
-            nElements = nlElements.item(looper);
-            if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                final String personName = ((Element) nElements).getTextContent();
-                dto.addCredit(this.identifierService.createCredit(NfoScannerService.SCANNER_ID, JobType.DIRECTOR, personName));
+                dto.addSetInfo(set[0]);
             }
         }
     }
 
-    /**
-     * Parse writers from the XML NFO file
-     *
-     * @param nlElements
-     * @param dto
-     */
-    private void parseWriters(List<Node> nlWriters, InfoDTO dto) {
-        // check if we have nodes
-        if (nlWriters == null || nlWriters.isEmpty()) {
-            return;
-        }
-
-        for (Node nWriter : nlWriters) {
-            NodeList nlChilds = ((Element)nWriter).getChildNodes();
-            for (int looper = 0; looper < nlChilds.getLength(); looper++) {
-                Node nChilds = nlChilds.item(looper);
-                if (nChilds.getNodeType() == Node.TEXT_NODE) {
-                    dto.addCredit(this.identifierService.createCredit(NfoScannerService.SCANNER_ID, JobType.WRITER, nChilds.getNodeValue()));
-                }
-            }
-        }
-    }
-    
-    /**
-     * Parse Actors from the XML NFO file.
-     *
-     * @param nlElements
-     * @param dto
-     */
-    private void parseActors(NodeList nlElements, InfoDTO dto) {
-        // check if we have a node
-        if (nlElements == null || nlElements.getLength() == 0) {
-            return;
-        }
-
-        for (int actorLoop = 0; actorLoop < nlElements.getLength(); actorLoop++) {
-            // Get all the name/role/thumb nodes
-            Node nActors = nlElements.item(actorLoop);
-            NodeList nlCast = nActors.getChildNodes();
-            Node nElement;
-
-            String aName = null;
-            String aRole = null;
-            String aThumb = null;
-            boolean firstActor = true;
-
-            if (nlCast.getLength() > 1) {
-                for (int looper = 0; looper < nlCast.getLength(); looper++) {
-                    nElement = nlCast.item(looper);
-                    if (nElement.getNodeType() != Node.ELEMENT_NODE) {
-                        continue;
-                    }
-
-                    Element eCast = (Element) nElement;
-                    if ("name".equalsIgnoreCase(eCast.getNodeName())) {
-                        
-                        if (firstActor) {
-                            firstActor = false;
-                        } else {
-                            CreditDTO credit = this.identifierService.createCredit(NfoScannerService.SCANNER_ID, JobType.ACTOR, aName, aRole);
-                            if (credit != null) {
-                                credit.addPhoto(NfoScannerService.SCANNER_ID, aThumb);
-                                dto.addCredit(credit);
-                            }
-                        }
-                        
-                        aName = eCast.getTextContent();
-                        aRole = null;
-                        aThumb = null;
-                    } else if ("role".equalsIgnoreCase(eCast.getNodeName()) && isNotBlank(eCast.getTextContent())) {
-                        aRole = eCast.getTextContent();
-                    } else if ("thumb".equalsIgnoreCase(eCast.getNodeName()) && isNotBlank(eCast.getTextContent())) {
-                        // thumb will be skipped if there's nothing in there
-                        aThumb = eCast.getTextContent();
-                    }
-                    // There's a case where there might be a different node here that isn't name, role or thumb, but that will be ignored
-                }
-            } else {
-                // this looks like a Mede8er node in the "<actor>Actor Name</actor>" format, so just get the text element
-                aName = nActors.getTextContent();
-            }
-
-            // after all add the last scraped actor
-            CreditDTO credit = this.identifierService.createCredit(NfoScannerService.SCANNER_ID, JobType.ACTOR, aName, aRole);
-            if (credit != null) {
-                credit.addPhoto(NfoScannerService.SCANNER_ID, aThumb);
-                dto.addCredit(credit);
-            }
-        }
-    }
-
-    /**
-     * Parse Trailers from the XML NFO file
-     *
-     * @param nlElements
-     * @param dto
-     */
-    private static void parseTrailers(NodeList nlElements, InfoDTO dto) {
-        Node nElements;
-        for (int looper = 0; looper < nlElements.getLength(); looper++) {
-            nElements = nlElements.item(looper);
-            if (nElements.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-            
-            Element eTrailer = (Element) nElements;
-            dto.addTrailerURL(eTrailer.getTextContent());
-        }
-    }
-
-    /**
-     * Process all the Episode Details
-     *
-     * @param dto
-     * @param nlEpisodeDetails
-     */
-    private static void parseAllEpisodeDetails(InfoDTO dto, NodeList nlEpisodeDetails, boolean watched, Date nfoFileDate) {
-        Node nEpisodeDetails;
-        for (int looper = 0; looper < nlEpisodeDetails.getLength(); looper++) {
-            nEpisodeDetails = nlEpisodeDetails.item(looper);
-            if (nEpisodeDetails.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-            
-            Element eEpisodeDetail = (Element) nEpisodeDetails;
-            InfoEpisodeDTO episodeDTO = parseSingleEpisodeDetail(eEpisodeDetail);
-            if (episodeDTO.isValid()) {
-                // just add valid episodes to series
-                episodeDTO.setWatched(watched, nfoFileDate);
-                dto.addEpisode(episodeDTO);
-            }
-        }
-    }
-
-    /**
-     * Parse a single episode detail element
-     *
-     * @param eEpisodeDetails
-     * @return
-     */
-    private static InfoEpisodeDTO parseSingleEpisodeDetail(Element eEpisodeDetails) {
-        if (eEpisodeDetails == null) {
-            return null;
-        }
-        InfoEpisodeDTO episodeDTO = new InfoEpisodeDTO();
-        
-        episodeDTO.setTitle(DOMHelper.getValueFromElement(eEpisodeDetails, "title"));
-
-        String tempValue = DOMHelper.getValueFromElement(eEpisodeDetails, "season");
-        if (isNumeric(tempValue)) {
-            episodeDTO.setSeason(Integer.parseInt(tempValue));
-        }
-
-        tempValue = DOMHelper.getValueFromElement(eEpisodeDetails, "episode");
-        if (isNumeric(tempValue)) {
-            episodeDTO.setEpisode(Integer.parseInt(tempValue));
-        }
-
-        episodeDTO.setPlot(DOMHelper.getValueFromElement(eEpisodeDetails, "plot"));
-
-        tempValue = DOMHelper.getValueFromElement(eEpisodeDetails, "rating");
-        episodeDTO.setRating(parseRating(tempValue));
-
-        tempValue = DOMHelper.getValueFromElement(eEpisodeDetails, "aired");
-        if (isNotBlank(tempValue)) {
-            episodeDTO.setFirstAired(parseToDate(tempValue.trim()));
-        }
-
-        episodeDTO.setAirsAfterSeason(DOMHelper.getValueFromElement(eEpisodeDetails, "airsafterseason", "airsAfterSeason"));
-        episodeDTO.setAirsBeforeSeason(DOMHelper.getValueFromElement(eEpisodeDetails, "airsbeforeseason", "airsBeforeSeason"));
-        episodeDTO.setAirsBeforeEpisode(DOMHelper.getValueFromElement(eEpisodeDetails, "airsbeforeepisode", "airsBeforeEpisode"));
-
-        return episodeDTO;
-    }
-
     /**
      * Scan a text file for information
      *
@@ -36,6 +36,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.yamj.common.type.StatusType;
 import org.yamj.core.database.model.*;
+import org.yamj.core.database.model.type.OverrideFlag;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.core.service.various.StagingService;
 import org.yamj.core.tools.OverrideTools;
@@ -113,14 +114,20 @@ public class NfoScannerService {
             // set sort title
             videoData.setTitleSort(infoDTO.getTitleSort());
             
+            videoData.addSourceValue(OverrideFlag.TITLE, SCANNER_ID, infoDTO.getTitle());
+            
             if (OverrideTools.checkOverwriteTitle(videoData, SCANNER_ID)) {
                 videoData.setTitle(infoDTO.getTitle(), SCANNER_ID);
             }
             
+            videoData.addSourceValue(OverrideFlag.ORIGINALTITLE, SCANNER_ID, infoDTO.getTitleOriginal());
+            
             if (OverrideTools.checkOverwriteOriginalTitle(videoData, SCANNER_ID)) {
                 videoData.setTitleOriginal(infoDTO.getTitleOriginal(), SCANNER_ID);
             }
             
+            videoData.addSourceValue(OverrideFlag.YEAR, SCANNER_ID, infoDTO.getYear());
+            
             if (OverrideTools.checkOverwriteYear(videoData, SCANNER_ID)) {
                 videoData.setPublicationYear(infoDTO.getYear(), SCANNER_ID);
             }
@@ -129,18 +136,26 @@ public class NfoScannerService {
                 videoData.setRelease(infoDTO.getReleaseDate(), SCANNER_ID);
             }
             
+            videoData.addSourceValue(OverrideFlag.PLOT, SCANNER_ID, infoDTO.getPlot());
+            
             if (OverrideTools.checkOverwritePlot(videoData, SCANNER_ID)) {
                 videoData.setPlot(infoDTO.getPlot(), SCANNER_ID);
             }
             
+            videoData.addSourceValue(OverrideFlag.OUTLINE, SCANNER_ID, infoDTO.getOutline());
+            
             if (OverrideTools.checkOverwriteOutline(videoData, SCANNER_ID)) {
                 videoData.setOutline(infoDTO.getOutline(), SCANNER_ID);
             }
             
+            videoData.addSourceValue(OverrideFlag.TAGLINE, SCANNER_ID, infoDTO.getTagline());
+            
             if (OverrideTools.checkOverwriteTagline(videoData, SCANNER_ID)) {
                 videoData.setTagline(infoDTO.getTagline(), SCANNER_ID);
             }
             
+            videoData.addSourceValue(OverrideFlag.QUOTE, SCANNER_ID, infoDTO.getQuote());
+            
             if (OverrideTools.checkOverwriteQuote(videoData, SCANNER_ID)) {
                 videoData.setQuote(infoDTO.getQuote(), SCANNER_ID);
             }
@@ -266,21 +281,26 @@ public class NfoScannerService {
             series.setTitleSort(infoDTO.getTitleSort());
             
             // set video values
+            series.addSourceValue(OverrideFlag.TITLE, SCANNER_ID, infoDTO.getTitle());
             if (OverrideTools.checkOverwriteTitle(series, SCANNER_ID)) {
                 series.setTitle(infoDTO.getTitle(), SCANNER_ID);
             }
+            series.addSourceValue(OverrideFlag.ORIGINALTITLE, SCANNER_ID, infoDTO.getTitleOriginal());
             if (OverrideTools.checkOverwriteOriginalTitle(series, SCANNER_ID)) {
                 series.setTitleOriginal(infoDTO.getTitleOriginal(), SCANNER_ID);
             }
+            series.addSourceValue(OverrideFlag.PLOT, SCANNER_ID, infoDTO.getPlot());
             if (OverrideTools.checkOverwritePlot(series, SCANNER_ID)) {
                 series.setPlot(infoDTO.getPlot(), SCANNER_ID);
             }
+            series.addSourceValue(OverrideFlag.OUTLINE, SCANNER_ID, infoDTO.getOutline());
             if (OverrideTools.checkOverwriteOutline(series, SCANNER_ID)) {
                 series.setOutline(infoDTO.getOutline(), SCANNER_ID);
             }
             if (OverrideTools.checkOverwriteGenres(series, SCANNER_ID)) {
                 series.setGenreNames(infoDTO.getGenres(), SCANNER_ID);
             }
+            series.addSourceValue(OverrideFlag.YEAR, SCANNER_ID, infoDTO.getYear());
             if (OverrideTools.checkOverwriteYear(series, SCANNER_ID)) {
                 series.setStartYear(infoDTO.getYear(), SCANNER_ID);
             }
@@ -305,15 +325,20 @@ public class NfoScannerService {
                 // set sort title
                 season.setTitleSort(infoDTO.getTitleSort());
 
+                season.addSourceValue(OverrideFlag.TITLE, SCANNER_ID, infoDTO.getTitle());
+
                 if (OverrideTools.checkOverwriteTitle(season, SCANNER_ID)) {
                     season.setTitle(infoDTO.getTitle(), SCANNER_ID);
                 }
+                season.addSourceValue(OverrideFlag.ORIGINALTITLE, SCANNER_ID, infoDTO.getTitleOriginal());
                 if (OverrideTools.checkOverwriteOriginalTitle(season, SCANNER_ID)) {
                     season.setTitleOriginal(infoDTO.getTitleOriginal(), SCANNER_ID);
                 }
+                season.addSourceValue(OverrideFlag.PLOT, SCANNER_ID, infoDTO.getPlot());
                 if (OverrideTools.checkOverwritePlot(season, SCANNER_ID)) {
                     season.setPlot(infoDTO.getPlot(), SCANNER_ID);
                 }
+                season.addSourceValue(OverrideFlag.OUTLINE, SCANNER_ID, infoDTO.getOutline());
                 if (OverrideTools.checkOverwriteOutline(season, SCANNER_ID)) {
                     season.setOutline(infoDTO.getOutline(), SCANNER_ID);
                 }
@@ -349,12 +374,16 @@ public class NfoScannerService {
                             videoData.setWatchedNfo(episode.isWatched(), episode.getWatchedDate());
                         }
 
+                        videoData.addSourceValue(OverrideFlag.TITLE, SCANNER_ID, episode.getTitle());
+
                         if (OverrideTools.checkOverwriteTitle(videoData, SCANNER_ID)) {
                             videoData.setTitle(episode.getTitle(), SCANNER_ID);
                         }
+                        videoData.addSourceValue(OverrideFlag.PLOT, SCANNER_ID, episode.getPlot());
                         if (OverrideTools.checkOverwritePlot(videoData, SCANNER_ID)) {
                             videoData.setPlot(episode.getPlot(), SCANNER_ID);
                         }
+                        videoData.addSourceValue(OverrideFlag.OUTLINE, SCANNER_ID, episode.getPlot());
                         if (OverrideTools.checkOverwriteOutline(videoData, SCANNER_ID)) {
                             videoData.setOutline(episode.getPlot(), SCANNER_ID);
                         }
@@ -0,0 +1,453 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metadata.nfo;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.isNumeric;
+import static org.yamj.plugin.api.metadata.MetadataTools.parseRating;
+import static org.yamj.plugin.api.metadata.MetadataTools.parseToDate;
+
+import java.util.*;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.yamj.core.tools.xml.DOMHelper;
+
+/**
+ * Collects the NFO informations from a XML stream in a single pass.
+ *
+ * The values of the first movie and the first TV show element are collected separately,
+ * because the decision which one to use can only be made at the end of the stream.
+ * Episodes are directly converted into episode DTOs.
+ *
+ * Semantics are the same as for the former DOM parsing: a value is taken from the first
+ * element with that name anywhere below the movie or TV show element.
+ */
+final class NfoXmlCollector {
+
+    private static final Set<String> COMMON_VALUES = new HashSet<>(Arrays.asList(
+        "title", "originaltitle", "originalTitle", "sorttitle", "sortTitle", "year", "watched", "tvdbid", 
+        "rating", "mpaa", "certification", "plot", "outline", "tagline", "quote", "studio", "company",
+        "premiered", "releasedate", "top250", "thumb", "fanart"));
+    private static final Set<String> EPISODE_VALUES = new HashSet<>(Arrays.asList(
+        "title", "season", "episode", "plot", "rating", "aired", "airsafterseason", "airsAfterSeason",
+        "airsbeforeseason", "airsBeforeSeason", "airsbeforeepisode", "airsBeforeEpisode"));
+    private static final Set<String> TEXT_ELEMENTS = new HashSet<>(Arrays.asList(
+        "id", "set", "genre", "country", "name", "director", "trailer", "actor", "role", "thumb"));
+    private static final String ACTOR = "actor";
+
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private final List<Scope> activeScopes = new ArrayList<>();
+    private final List<InfoEpisodeDTO> episodes = new ArrayList<>();
+    private final StringBuilder remainder = new StringBuilder();
+    private final int maxRemainderLength;
+    private CommonValues movie;
+    private CommonValues tvShow;
+    private int completedFragments = 0;
+    private int remainderMark = 0;
+    private int closedFragments = 0;
+
+    NfoXmlCollector(int maxRemainderLength) {
+        this.maxRemainderLength = maxRemainderLength;
+    }
+
+    /**
+     * Values of a movie or TV show element.
+     */
+    static final class CommonValues extends Scope {
+
+        final List<String[]> ids = new ArrayList<>();
+        final List<String[]> sets = new ArrayList<>();
+        final List<String> genres = new ArrayList<>();
+        final List<String> countries = new ArrayList<>();
+        final List<String> directors = new ArrayList<>();
+        final List<String> writers = new ArrayList<>();
+        final List<String[]> actors = new ArrayList<>();
+        final List<String> trailers = new ArrayList<>();
+
+        CommonValues() {
+            super(COMMON_VALUES);
+        }
+    }
+
+    static class Scope {
+
+        private final Set<String> valueNames;
+        private final Map<String, String> values = new HashMap<>();
+        boolean complete;
+
+        Scope(Set<String> valueNames) {
+            this.valueNames = valueNames;
+        }
+
+        /**
+         * Get the value of the first element with one of the given names; the last found name wins.
+         */
+        String getValue(String... names) {
+            String value = "";
+            for (String name : names) {
+                if (values.containsKey(name)) {
+                    value = values.get(name);
+                }
+            }
+            return value;
+        }
+    }
+
+    private static final class Frame {
+
+        private final String name;
+        private final Scope scope;
+        private final StringBuilder text;
+        private final StringBuilder leading = new StringBuilder();
+        private boolean childSeen = false;
+        private List<Scope> valueScopes = null;
+        private List<String> directTexts = null;
+        private List<String> names = null;
+        private String[] attributes = null;
+        // actor values
+        private String actorName;
+        private String actorRole;
+        private String actorThumb;
+        private boolean firstActor = true;
+
+        Frame(String name, Scope scope, boolean captureText) {
+            this.name = name;
+            this.scope = scope;
+            this.text = captureText ? new StringBuilder() : null;
+        }
+        
+        String getValue() {
+            if (leading.length() > 0) {
+                return leading.toString();
+            }
+            return childSeen ? null : "";
+        }
+    }
+
+    /**
+     * Process all events of the stream.
+     *
+     * @param reader
+     * @throws XMLStreamException
+     */
+    void collect(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    startElement(reader);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    endElement();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    characters(reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    if (!stack.isEmpty() && stack.peek().directTexts != null) {
+                        // comments separate text nodes
+                        stack.peek().directTexts.add("");
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void startElement(XMLStreamReader reader) {
+        final String name = reader.getLocalName();
+
+        final Frame parent = stack.peek();
+        if (parent != null) {
+            parent.childSeen = true;
+            if (parent.directTexts != null) {
+                parent.directTexts.add("");
+            }
+        }
+
+        // check for new scope
+        Scope scope = null;
+        if (DOMHelper.TYPE_MOVIE.equalsIgnoreCase(name) && movie == null) {
+            movie = new CommonValues();
+            scope = movie;
+        } else if (DOMHelper.TYPE_TVSHOW.equalsIgnoreCase(name) && tvShow == null) {
+            tvShow = new CommonValues();
+            scope = tvShow;
+        } else if (DOMHelper.TYPE_EPISODE.equalsIgnoreCase(name)) {
+            scope = new Scope(EPISODE_VALUES);
+        }
+
+        final Frame frame = new Frame(name, scope, TEXT_ELEMENTS.contains(name));
+        for (Scope active : activeScopes) {
+            if (active.valueNames.contains(name) && !active.values.containsKey(name)) {
+                // reserve the value for this element, so that the first element in document order wins
+                active.values.put(name, null);
+                if (frame.valueScopes == null) {
+                    frame.valueScopes = new ArrayList<>(2);
+                }
+                frame.valueScopes.add(active);
+            }
+        }
+        
+        if ("writer".equals(name) || "credits".equals(name)) {
+            frame.directTexts = new ArrayList<>();
+            frame.directTexts.add("");
+        } else if ("genre".equals(name) || "country".equals(name)) {
+            frame.names = new ArrayList<>();
+        } else if ("id".equals(name)) {
+            frame.attributes = new String[]{attribute(reader, "moviedb"), attribute(reader, "TMDB")};
+        } else if ("set".equals(name)) {
+            frame.attributes = new String[]{attribute(reader, "order")};
+        }
+
+        stack.push(frame);
+        if (scope != null) {
+            activeScopes.add(scope);
+        }
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value == null ? "" : value;
+    }
+
+    private void characters(String value) {
+        final Frame current = stack.peek();
+        if (current == null) {
+            return;
+        }
+        
+        if (stack.size() == 1) {
+            // text outside of any fragment
+            if (remainder.length() < maxRemainderLength) {
+                remainder.append(value, 0, Math.min(value.length(), maxRemainderLength - remainder.length()));
+            }
+            return;
+        }
+        
+        if (!current.childSeen) {
+            current.leading.append(value);
+        }
+        if (current.directTexts != null) {
+            int last = current.directTexts.size() - 1;
+            current.directTexts.set(last, current.directTexts.get(last) + value);
+        }
+        for (Frame frame : stack) {
+            if (frame.text != null) {
+                frame.text.append(value);
+            }
+        }
+    }
+
+    private void endElement() {
+        final Frame frame = stack.pop();
+        final Frame parent = stack.peek();
+        if (isFragment(frame.name)) {
+            closedFragments++;
+        }
+
+        if (frame.valueScopes != null) {
+            final String value = frame.getValue();
+            for (Scope scope : frame.valueScopes) {
+                scope.values.put(frame.name, value);
+            }
+        }
+
+        if (frame.scope != null) {
+            activeScopes.remove(frame.scope);
+            frame.scope.complete = true;
+            if (DOMHelper.TYPE_EPISODE.equalsIgnoreCase(frame.name)) {
+                episodes.add(createEpisode(frame.scope));
+            }
+        } else {
+            collectValues(frame, parent);
+        }
+
+        if (stack.size() == 1) {
+            // fragment below the root completed
+            completedFragments++;
+            remainderMark = remainder.length();
+        }
+    }
+
+    private static boolean isFragment(String name) {
+        return DOMHelper.TYPE_MOVIE.equalsIgnoreCase(name) || DOMHelper.TYPE_TVSHOW.equalsIgnoreCase(name) || DOMHelper.TYPE_EPISODE.equalsIgnoreCase(name);
+    }
+
+    private void collectValues(Frame frame, Frame parent) {
+        final String name = frame.name;
+
+        if ("name".equals(name)) {
+            for (Frame ancestor : stack) {
+                if (ancestor.names != null) {
+                    ancestor.names.add(frame.text.toString());
+                }
+            }
+        }
+
+        if (parent != null && ACTOR.equals(parent.name)) {
+            collectActorChild(frame, parent);
+        }
+        
+        for (Scope scope : activeScopes) {
+            if (!(scope instanceof CommonValues)) {
+                continue;
+            }
+            final CommonValues common = (CommonValues) scope;
+
+            if ("id".equals(name)) {
+                common.ids.add(new String[]{frame.text.toString(), frame.attributes[0], frame.attributes[1]});
+            } else if ("set".equals(name)) {
+                common.sets.add(new String[]{frame.text.toString(), frame.attributes[0]});
+            } else if ("genre".equals(name)) {
+                addNamesOrText(frame, common.genres);
+            } else if ("country".equals(name)) {
+                addNamesOrText(frame, common.countries);
+            } else if ("director".equals(name)) {
+                common.directors.add(frame.text.toString());
+            } else if ("writer".equals(name) || "credits".equals(name)) {
+                common.writers.addAll(frame.directTexts);
+            } else if ("trailer".equals(name)) {
+                common.trailers.add(frame.text.toString());
+            } else if (ACTOR.equals(name)) {
+                if (frame.childSeen) {
+                    // after all add the last scraped actor
+                    common.actors.add(new String[]{frame.actorName, frame.actorRole, frame.actorThumb});
+                } else {
+                    // this looks like a Mede8er node in the "<actor>Actor Name</actor>" format
+                    common.actors.add(new String[]{frame.text.toString(), null, null});
+                }
+            }
+        }
+    }
+
+    private void collectActorChild(Frame frame, Frame actor) {
+        final String value = frame.text == null ? "" : frame.text.toString();
+        
+        if ("name".equalsIgnoreCase(frame.name)) {
+            if (actor.firstActor) {
+                actor.firstActor = false;
+            } else {
+                for (Scope scope : activeScopes) {
+                    if (scope instanceof CommonValues) {
+                        ((CommonValues) scope).actors.add(new String[]{actor.actorName, actor.actorRole, actor.actorThumb});
+                    }
+                }
+            }
+            actor.actorName = value;
+            actor.actorRole = null;
+            actor.actorThumb = null;
+        } else if ("role".equalsIgnoreCase(frame.name) && isNotBlank(value)) {
+            actor.actorRole = value;
+        } else if ("thumb".equalsIgnoreCase(frame.name) && isNotBlank(value)) {
+            // thumb will be skipped if there's nothing in there
+            actor.actorThumb = value;
+        }
+    }
+
+    private static void addNamesOrText(Frame frame, List<String> target) {
+        if (frame.names.isEmpty()) {
+            target.add(frame.text.toString());
+        } else {
+            target.addAll(frame.names);
+        }
+    }
+
+    private static InfoEpisodeDTO createEpisode(Scope scope) {
+        InfoEpisodeDTO episodeDTO = new InfoEpisodeDTO();
+        
+        episodeDTO.setTitle(scope.getValue("title"));
+
+        String tempValue = scope.getValue("season");
+        if (isNumeric(tempValue)) {
+            episodeDTO.setSeason(Integer.parseInt(tempValue));
+        }
+
+        tempValue = scope.getValue("episode");
+        if (isNumeric(tempValue)) {
+            episodeDTO.setEpisode(Integer.parseInt(tempValue));
+        }
+
+        episodeDTO.setPlot(scope.getValue("plot"));
+        episodeDTO.setRating(parseRating(scope.getValue("rating")));
+
+        tempValue = scope.getValue("aired");
+        if (isNotBlank(tempValue)) {
+            episodeDTO.setFirstAired(parseToDate(tempValue.trim()));
+        }
+
+        episodeDTO.setAirsAfterSeason(scope.getValue("airsafterseason", "airsAfterSeason"));
+        episodeDTO.setAirsBeforeSeason(scope.getValue("airsbeforeseason", "airsBeforeSeason"));
+        episodeDTO.setAirsBeforeEpisode(scope.getValue("airsbeforeepisode", "airsBeforeEpisode"));
+        return episodeDTO;
+    }
+
+    /**
+     * @return true if at least one fragment has been completely parsed
+     */
+    boolean hasCompletedFragments() {
+        return completedFragments > 0;
+    }
+
+    /**
+     * @return the number of closed movie, TV show and episode elements
+     */
+    int getClosedFragments() {
+        return closedFragments;
+    }
+
+    /**
+     * Replace the text behind the last completed fragment, i.e. if it was no valid XML.
+     *
+     * @param text
+     */
+    void setTrailingText(String text) {
+        remainder.setLength(remainderMark);
+        if (remainder.length() > 0) {
+            remainder.append(' ');
+        }
+        remainder.append(text, 0, Math.min(text.length(), Math.max(0, maxRemainderLength - remainder.length())));
+    }
+
+    CommonValues getMovie() {
+        return movie != null && movie.complete ? movie : null;
+    }
+
+    CommonValues getTvShow() {
+        return tvShow != null && tvShow.complete ? tvShow : null;
+    }
+
+    List<InfoEpisodeDTO> getEpisodes() {
+        return episodes;
+    }
+
+    /**
+     * @return the text outside of the XML fragments
+     */
+    String getRemainder() {
+        return remainder.toString();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metadata.online;
+
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.plugin.api.metadata.BatchResult;
+import org.yamj.plugin.api.metadata.BatchScanner;
+import org.yamj.plugin.api.web.TemporaryUnavailableException;
+
+/**
+ * Splits the IDs of a batch capable scanner into chunks and fetches them.
+ *
+ * Only the first configured scanner is used, unless alternate scanning is
+ * enabled; an alternate scanner just gets the IDs which are not fetched yet.
+ *
+ * Failures are never propagated: IDs which could not be fetched are scanned
+ * on the single item path later on.
+ */
+final class BatchPrefetch {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchPrefetch.class);
+
+    private BatchPrefetch() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * The batch call of a scanner for one chunk of IDs.
+     */
+    interface BatchCall {
+
+        Map<String, BatchResult> fetch(Collection<String> ids);
+    }
+
+    /**
+     * Fetch the given IDs in chunks of the maximum batch size of the scanner.
+     *
+     * The remaining chunks are skipped if the service is temporary not available.
+     *
+     * @param scanner
+     * @param ids the source IDs
+     * @param call
+     * @return the successfully fetched source IDs
+     */
+    static Set<String> execute(BatchScanner scanner, Collection<String> ids, BatchCall call) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final int batchSize = Math.max(1, scanner.getMaxBatchSize());
+        final List<String> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+        final Set<String> fetched = new HashSet<>();
+        int notFound = 0;
+        boolean unavailable = false;
+
+        for (int start = 0; start < idList.size() && !unavailable; start += batchSize) {
+            final List<String> chunk = idList.subList(start, Math.min(start + batchSize, idList.size()));
+
+            Map<String, BatchResult> results;
+            try {
+                results = call.fetch(chunk);
+            } catch (TemporaryUnavailableException ex) {
+                LOG.trace("Batch error", ex);
+                unavailable = true;
+                continue;
+            } catch (Exception ex) {
+                LOG.warn("Failed batch lookup of {} IDs with {} scanner: {}", chunk.size(), scanner.getScannerName(), ex.getMessage());
+                LOG.trace("Batch error", ex);
+                continue;
+            }
+
+            for (String id : chunk) {
+                final BatchResult result = results == null ? null : results.get(id);
+                if (BatchResult.OK.equals(result)) {
+                    fetched.add(id);
+                } else if (BatchResult.NOT_FOUND.equals(result)) {
+                    notFound++;
+                } else if (BatchResult.TEMPORARY_ERROR.equals(result)) {
+                    unavailable = true;
+                } else {
+                    LOG.trace("{} batch result for ID '{}': {}", scanner.getScannerName(), id, result);
+                }
+            }
+        }
+
+        if (unavailable) {
+            LOG.info("{} service temporary not available; skipped further batch lookups", scanner.getScannerName());
+        }
+        LOG.debug("{} batch lookup: {} IDs fetched, {} not found, {} left for single scan",
+                        scanner.getScannerName(), fetched.size(), notFound, idList.size() - fetched.size());
+        return fetched;
+    }
+}
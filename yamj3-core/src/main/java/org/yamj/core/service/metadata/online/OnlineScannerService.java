@@ -23,6 +23,10 @@
 package org.yamj.core.service.metadata.online;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,13 +37,18 @@ import org.yamj.common.type.StatusType;
 import org.yamj.core.config.ConfigServiceWrapper;
 import org.yamj.core.config.LocaleService;
 import org.yamj.core.database.model.*;
+import org.yamj.core.database.service.MetadataStorageService;
 import org.yamj.core.service.metadata.WrapperMovie;
 import org.yamj.core.service.metadata.WrapperPerson;
 import org.yamj.core.service.metadata.WrapperSeries;
 import org.yamj.core.service.metadata.nfo.InfoDTO;
+import org.yamj.core.service.metadata.online.BatchPrefetch.BatchCall;
+import org.yamj.core.service.metadata.online.ScannerFanOut.ScanTask;
+import org.yamj.core.service.plugin.PluginInvoker;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.plugin.api.metadata.*;
 import org.yamj.plugin.api.model.IMovie;
+import org.yamj.plugin.api.model.IPerson;
 import org.yamj.plugin.api.model.ISeries;
 import org.yamj.plugin.api.model.IdMap;
 import org.yamj.plugin.api.service.PluginMetadataService;
@@ -54,12 +63,15 @@ public class OnlineScannerService implements PluginMetadataService {
     public static final Set<String> PERSON_SCANNER = PropertyTools.getPropertyAsOrderedSet("yamj3.sourcedb.scanner.person", "tmdb,imdb");
     public static final Set<String> FILMOGRAPHY_SCANNER = PropertyTools.getPropertyAsOrderedSet("yamj3.sourcedb.scanner.filmography", "tmdb");
     private static final String SCANNING_ERROR = "Scanning error";
+    private static final String UNAVAILABLE_DEFERRED = "{} service not available; deferred scan: '{}'";
     private static final String TEMP_UNAVAILABLE_ERROR = "{} service temporary not available; trigger retry: '{}'";
     
     private final HashMap<String, PluginMovieScanner> registeredMovieScanner = new HashMap<>();
     private final HashMap<String, PluginSeriesScanner> registeredSeriesScanner = new HashMap<>();
     private final HashMap<String, PluginPersonScanner> registeredPersonScanner = new HashMap<>();
     private final HashMap<String, PluginFilmographyScanner> registeredFilmographyScanner = new HashMap<>();
+    private ThreadPoolExecutor scanExecutor;
+    private ScannerFanOut scannerFanOut;
 
     @Autowired
     private ConfigServiceWrapper configServiceWrapper;
@@ -67,6 +79,10 @@ public class OnlineScannerService implements PluginMetadataService {
     private LocaleService localeService;
     @Autowired
     private IdentifierService identifierService;
+    @Autowired
+    private MetadataStorageService metadataStorageService;
+    @Autowired
+    private PluginInvoker pluginInvoker;
 
     /**
      * Register a metadata scanner
@@ -94,6 +110,28 @@ public class OnlineScannerService implements PluginMetadataService {
         }
     }
     
+    @PostConstruct
+    public void init() {
+        final int threads = Math.max(1, configServiceWrapper.getIntProperty("yamj3.sourcedb.scanner.parallel.maxThreads", 8));
+        
+        final AtomicInteger counter = new AtomicInteger();
+        scanExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "OnlineScan-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scanExecutor.allowCoreThreadTimeOut(true);
+        scannerFanOut = new ScannerFanOut(scanExecutor);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scanExecutor.shutdownNow();
+    }
+    
     private boolean throwTempUnavailableError() {
         return configServiceWrapper.getBooleanProperty("yamj3.error.throwTempUnavailableError", true);
     }
@@ -116,50 +154,57 @@ public class OnlineScannerService implements PluginMetadataService {
         final WrapperMovie wrapper = new WrapperMovie(videoData, localeService, identifierService);
         ScanResult scanResult = null;
                         
-        for (String scanner : MOVIE_SCANNER) {
-            // holds the inner scan result
-            ScanResult innerResult = ScanResult.NO_RESULT;
+        if (this.configServiceWrapper.getBooleanProperty("yamj3.sourcedb.scanner.parallel", false)) {
+            scanResult = this.scanMovieParallel(videoData, throwTempError, useAlternate);
+        } else {
+            for (String scanner : MOVIE_SCANNER) {
+                // holds the inner scan result
+                ScanResult innerResult = ScanResult.NO_RESULT;
             
-            PluginMovieScanner movieScanner = registeredMovieScanner.get(scanner);
-            if (movieScanner == null) {
-                LOG.warn("Movie scanner {} not registered", scanner);
-            } else {
-                // scan video data
-                try {
-                    if (videoData.isSkippedScan(movieScanner.getScannerName())) {
-                        LOG.info("Movie scan skipped for '{}' using {}", videoData.getTitle(), movieScanner.getScannerName());
-                        innerResult = ScanResult.SKIPPED;
-                    } else {
-                        LOG.info("Scanning movie data for '{}' using {}", videoData.getTitle(), movieScanner.getScannerName());
-                        innerResult = movieScanner.scanMovie(wrapper, throwTempError);
-                    }
-                } catch (TemporaryUnavailableException ex) {
-                    // check retry
-                    if (scanResult == null && videoData.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.movie", 0)) {
-                        LOG.info(TEMP_UNAVAILABLE_ERROR, movieScanner.getScannerName(), videoData.getIdentifier());
-                        innerResult = ScanResult.RETRY;
-                    } else {
-                        LOG.error("Temporary scanning error for movie '{}' with {} scanner", videoData.getIdentifier(), movieScanner.getScannerName());
+                PluginMovieScanner movieScanner = registeredMovieScanner.get(scanner);
+                if (movieScanner == null) {
+                    LOG.warn("Movie scanner {} not registered", scanner);
+                } else {
+                    // scan video data
+                    try {
+                        if (videoData.isSkippedScan(movieScanner.getScannerName())) {
+                            LOG.info("Movie scan skipped for '{}' using {}", videoData.getTitle(), movieScanner.getScannerName());
+                            innerResult = ScanResult.SKIPPED;
+                        } else {
+                            LOG.info("Scanning movie data for '{}' using {}", videoData.getTitle(), movieScanner.getScannerName());
+                            innerResult = movieScanner.scanMovie(wrapper, throwTempError);
+                        }
+                    } catch (TemporaryUnavailableException ex) {
+                        // check retry
+                        if (PluginInvoker.isUnavailable(ex)) {
+                            LOG.info(UNAVAILABLE_DEFERRED, movieScanner.getScannerName(), videoData.getIdentifier());
+                            innerResult = ScanResult.DEFERRED;
+                        } else if (scanResult == null && videoData.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.movie", 0)) {
+                            LOG.info(TEMP_UNAVAILABLE_ERROR, movieScanner.getScannerName(), videoData.getIdentifier());
+                            innerResult = ScanResult.RETRY;
+                        } else {
+                            LOG.error("Temporary scanning error for movie '{}' with {} scanner", videoData.getIdentifier(), movieScanner.getScannerName());
+                            LOG.warn(SCANNING_ERROR, ex);
+                        }
+                    } catch (Exception ex) {
+                        LOG.error("Failed scanning movie '{}' with {} scanner", videoData.getIdentifier(), movieScanner.getScannerName());
                         LOG.warn(SCANNING_ERROR, ex);
                     }
-                } catch (Exception ex) {
-                    LOG.error("Failed scanning movie '{}' with {} scanner", videoData.getIdentifier(), movieScanner.getScannerName());
-                    LOG.warn(SCANNING_ERROR, ex);
                 }
-            }
 
-            if (ScanResult.OK.equals(innerResult)) {
-                // scanned OK
-                scanResult = ScanResult.OK;
-                // no alternate scanning then break the loop
-                if (!useAlternate) {
-                    break;
+                if (ScanResult.OK.equals(innerResult)) {
+                    // scanned OK
+                    scanResult = ScanResult.OK;
+                    // no alternate scanning then break the loop
+                    if (!useAlternate) {
+                        break;
+                    }
+                } else if (ScanResult.SKIPPED.equals(innerResult)) {
+                    // change nothing if scan skipped and force next scan
+                } else {
+                    // just set scan result to inner result if no scan result before
+                    scanResult = scanResult == null ? innerResult : scanResult;
                 }
-            } else if (ScanResult.SKIPPED.equals(innerResult)) {
-                // change nothing if scan skipped and force next scan
-            } else {
-                // just set scan result to inner result if no scan result before
-                scanResult = scanResult == null ? innerResult : scanResult;
             }
         }       
         
@@ -176,6 +221,9 @@ public class OnlineScannerService implements PluginMetadataService {
             LOG.warn("Movie {}-'{}', not found", videoData.getId(), videoData.getTitle());
             videoData.setRetries(0);
             videoData.setStatus(StatusType.NOTFOUND);
+        } else if (ScanResult.DEFERRED.equals(scanResult)) {
+            LOG.info("Movie {}-'{}', deferred until scanner is available", videoData.getId(), videoData.getTitle());
+            videoData.setStatus(StatusType.UPDATED);
         } else if (ScanResult.RETRY.equals(scanResult)) {
             LOG.debug("Movie {}-'{}', will be retried", videoData.getId(), videoData.getTitle());
             videoData.setRetries(videoData.getRetries()+1);
@@ -203,50 +251,57 @@ public class OnlineScannerService implements PluginMetadataService {
         final WrapperSeries wrapper = new WrapperSeries(series, localeService, identifierService);
         ScanResult scanResult = null;
 
-       for (String scanner : SERIES_SCANNER) {
-            // holds the inner scan result
-            ScanResult innerResult = ScanResult.NO_RESULT;
+        if (this.configServiceWrapper.getBooleanProperty("yamj3.sourcedb.scanner.parallel", false)) {
+            scanResult = this.scanSeriesParallel(series, throwTempError, useAlternate);
+        } else {
+            for (String scanner : SERIES_SCANNER) {
+                // holds the inner scan result
+                ScanResult innerResult = ScanResult.NO_RESULT;
             
-            PluginSeriesScanner seriesScanner = registeredSeriesScanner.get(scanner);
-            if (seriesScanner == null) {
-                LOG.warn("Series scanner {} not registered", scanner);
-            } else {
-                // scan series
-                try {
-                    if (series.isSkippedScan(seriesScanner.getScannerName())) {
-                        LOG.info("Series scan skipped for '{}' using {}", series.getTitle(), seriesScanner.getScannerName());
-                        innerResult = ScanResult.SKIPPED;
-                    } else {
-                        LOG.info("Scanning series data for '{}' using {}", series.getTitle(), seriesScanner.getScannerName());
-                        innerResult = seriesScanner.scanSeries(wrapper, throwTempError);
+                PluginSeriesScanner seriesScanner = registeredSeriesScanner.get(scanner);
+                if (seriesScanner == null) {
+                    LOG.warn("Series scanner {} not registered", scanner);
+                } else {
+                    // scan series
+                    try {
+                        if (series.isSkippedScan(seriesScanner.getScannerName())) {
+                            LOG.info("Series scan skipped for '{}' using {}", series.getTitle(), seriesScanner.getScannerName());
+                            innerResult = ScanResult.SKIPPED;
+                        } else {
+                            LOG.info("Scanning series data for '{}' using {}", series.getTitle(), seriesScanner.getScannerName());
+                            innerResult = seriesScanner.scanSeries(wrapper, throwTempError);
+                        }
+                    } catch (TemporaryUnavailableException ex) {
+                        // check retry
+                        if (PluginInvoker.isUnavailable(ex)) {
+                            LOG.info(UNAVAILABLE_DEFERRED, seriesScanner.getScannerName(), series.getIdentifier());
+                            innerResult = ScanResult.DEFERRED;
+                        } else if (scanResult == null && series.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.tvshow", 0)) {
+                            LOG.info(TEMP_UNAVAILABLE_ERROR, seriesScanner.getScannerName(), series.getIdentifier());
+                            innerResult = ScanResult.RETRY;
+                        } else {
+                            LOG.error("Temporary scanning error for series '{}' with {} scanner", series.getIdentifier(), seriesScanner.getScannerName());
+                            LOG.warn(SCANNING_ERROR, ex);
+                        }
+                    } catch (Exception error) {
+                        LOG.error("Failed scanning series '{}' with {} scanner", series.getIdentifier(), seriesScanner.getScannerName());
+                        LOG.warn(SCANNING_ERROR, error);
                     }
-                } catch (TemporaryUnavailableException ex) {
-                    // check retry
-                    if (scanResult == null && series.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.tvshow", 0)) {
-                        LOG.info(TEMP_UNAVAILABLE_ERROR, seriesScanner.getScannerName(), series.getIdentifier());
-                        innerResult = ScanResult.RETRY;
-                    } else {
-                        LOG.error("Temporary scanning error for series '{}' with {} scanner", series.getIdentifier(), seriesScanner.getScannerName());
-                        LOG.warn(SCANNING_ERROR, ex);
-                    }
-                } catch (Exception error) {
-                    LOG.error("Failed scanning series '{}' with {} scanner", series.getIdentifier(), seriesScanner.getScannerName());
-                    LOG.warn(SCANNING_ERROR, error);
                 }
-            }
             
-            if (ScanResult.OK.equals(innerResult)) {
-                // scanned OK
-                scanResult = ScanResult.OK;
-                // no alternate scanning then break the loop
-                if (!useAlternate) {
-                    break;
+                if (ScanResult.OK.equals(innerResult)) {
+                    // scanned OK
+                    scanResult = ScanResult.OK;
+                    // no alternate scanning then break the loop
+                    if (!useAlternate) {
+                        break;
+                    }
+                } else if (ScanResult.SKIPPED.equals(innerResult)) {
+                    // change nothing if scan skipped and force next scan
+                } else {
+                    // just set scan result to inner result if no scan result before
+                    scanResult = scanResult == null ? innerResult : scanResult;
                 }
-            } else if (ScanResult.SKIPPED.equals(innerResult)) {
-                // change nothing if scan skipped and force next scan
-            } else {
-                // just set scan result to inner result if no scan result before
-                scanResult = scanResult == null ? innerResult : scanResult;
             }
         }
 
@@ -262,6 +317,9 @@ public class OnlineScannerService implements PluginMetadataService {
             LOG.warn("Series {}-'{}', not found", series.getId(), series.getTitle());
             series.setRetries(0);
             series.setStatus(StatusType.NOTFOUND);
+       } else if (ScanResult.DEFERRED.equals(scanResult)) {
+           LOG.info("Series {}-'{}', deferred until scanner is available", series.getId(), series.getTitle());
+           series.setStatus(StatusType.UPDATED);
        } else if (ScanResult.RETRY.equals(scanResult)) {
            LOG.debug("Series {}-'{}', will be retried", series.getId(), series.getTitle());
            series.setRetries(series.getRetries()+1);
@@ -303,50 +361,57 @@ public class OnlineScannerService implements PluginMetadataService {
         final WrapperPerson wrapper = new WrapperPerson(person);
         ScanResult scanResult = null;
         
-        for (String scanner : PERSON_SCANNER) {
-            // holds the inner scan result
-            ScanResult innerResult = ScanResult.NO_RESULT;
+        if (this.configServiceWrapper.getBooleanProperty("yamj3.sourcedb.scanner.parallel", false)) {
+            scanResult = this.scanPersonParallel(person, throwTempError, useAlternate);
+        } else {
+            for (String scanner : PERSON_SCANNER) {
+                // holds the inner scan result
+                ScanResult innerResult = ScanResult.NO_RESULT;
             
-            PluginPersonScanner personScanner = registeredPersonScanner.get(scanner);
-            if (personScanner == null) {
-                LOG.warn("Person scanner {} not registered", scanner);
-            } else {
-                // scan person data
-                try {
-                    if (person.isSkippedScan(personScanner.getScannerName())) {
-                        LOG.info("Person scan skipped for '{}' using {}", person.getName(), personScanner.getScannerName());
-                        innerResult = ScanResult.SKIPPED;
-                    } else {
-                        LOG.info("Scanning person data for '{}' using {}", person.getName(), personScanner.getScannerName());
-                        innerResult = personScanner.scanPerson(wrapper, throwTempError);
+                PluginPersonScanner personScanner = registeredPersonScanner.get(scanner);
+                if (personScanner == null) {
+                    LOG.warn("Person scanner {} not registered", scanner);
+                } else {
+                    // scan person data
+                    try {
+                        if (person.isSkippedScan(personScanner.getScannerName())) {
+                            LOG.info("Person scan skipped for '{}' using {}", person.getName(), personScanner.getScannerName());
+                            innerResult = ScanResult.SKIPPED;
+                        } else {
+                            LOG.info("Scanning person data for '{}' using {}", person.getName(), personScanner.getScannerName());
+                            innerResult = personScanner.scanPerson(wrapper, throwTempError);
+                        }
+                    } catch (TemporaryUnavailableException ex) {
+                        // check retry
+                        if (PluginInvoker.isUnavailable(ex)) {
+                            LOG.info(UNAVAILABLE_DEFERRED, personScanner.getScannerName(), person.getName());
+                            innerResult = ScanResult.DEFERRED;
+                        } else if (scanResult == null && person.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.person", 0)) {
+                            LOG.info(TEMP_UNAVAILABLE_ERROR, personScanner.getScannerName(), person.getName());
+                            innerResult = ScanResult.RETRY;
+                        } else {
+                            LOG.error("Temporary scanning error for person '{}' with {} scanner", person.getName(), personScanner.getScannerName());
+                            LOG.warn(SCANNING_ERROR, ex);
+                        }
+                    } catch (Exception error) {
+                        LOG.error("Failed scanning person '{}' with {} scanner", person.getName(), personScanner.getScannerName());
+                        LOG.warn(SCANNING_ERROR, error);
                     }
-                } catch (TemporaryUnavailableException ex) {
-                    // check retry
-                    if (scanResult == null && person.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.person", 0)) {
-                        LOG.info(TEMP_UNAVAILABLE_ERROR, personScanner.getScannerName(), person.getName());
-                        innerResult = ScanResult.RETRY;
-                    } else {
-                        LOG.error("Temporary scanning error for person '{}' with {} scanner", person.getName(), personScanner.getScannerName());
-                        LOG.warn(SCANNING_ERROR, ex);
-                    }
-                } catch (Exception error) {
-                    LOG.error("Failed scanning person '{}' with {} scanner", person.getName(), personScanner.getScannerName());
-                    LOG.warn(SCANNING_ERROR, error);
                 }
-            }
             
-            if (ScanResult.OK.equals(innerResult)) {
-                // scanned OK
-                scanResult = ScanResult.OK;
-                // no alternate scanning then break the loop
-                if (!useAlternate) {
-                    break;
+                if (ScanResult.OK.equals(innerResult)) {
+                    // scanned OK
+                    scanResult = ScanResult.OK;
+                    // no alternate scanning then break the loop
+                    if (!useAlternate) {
+                        break;
+                    }
+                } else if (ScanResult.SKIPPED.equals(innerResult)) {
+                    // change nothing if scan skipped and force next scan
+                } else {
+                    // just set scan result to inner result if no scan result before
+                    scanResult = scanResult == null ? innerResult : scanResult;
                 }
-            } else if (ScanResult.SKIPPED.equals(innerResult)) {
-                // change nothing if scan skipped and force next scan
-            } else {
-                // just set scan result to inner result if no scan result before
-                scanResult = scanResult == null ? innerResult : scanResult;
             }
         }
         
@@ -365,6 +430,9 @@ public class OnlineScannerService implements PluginMetadataService {
             LOG.warn("Person {}-'{}', not found", person.getId(), person.getName());
             person.setRetries(0);
             person.setStatus(StatusType.NOTFOUND);
+        } else if (ScanResult.DEFERRED.equals(scanResult)) {
+            LOG.info("Person {}-'{}', deferred until scanner is available", person.getId(), person.getName());
+            person.setStatus(StatusType.UPDATED);
         } else if (ScanResult.RETRY.equals(scanResult)) {
             LOG.debug("Person {}-'{}', will be retried", person.getId(), person.getName());
             person.setRetries(person.getRetries()+1);
@@ -375,6 +443,148 @@ public class OnlineScannerService implements PluginMetadataService {
         }
     }
 
+    private ScanResult scanMovieParallel(final VideoData videoData, final boolean throwTempError, boolean useAlternate) {
+        List<ScanTask> tasks = new ArrayList<>();
+        for (String scanner : MOVIE_SCANNER) {
+            final PluginMovieScanner movieScanner = registeredMovieScanner.get(scanner);
+            if (movieScanner == null) {
+                LOG.warn("Movie scanner {} not registered", scanner);
+                tasks.add(ScanTask.preset(scanner, ScanResult.NO_RESULT));
+            } else if (videoData.isSkippedScan(movieScanner.getScannerName())) {
+                LOG.info("Movie scan skipped for '{}' using {}", videoData.getTitle(), movieScanner.getScannerName());
+                tasks.add(ScanTask.preset(scanner, ScanResult.SKIPPED));
+            } else {
+                // each scanner gets an own wrapper
+                final WrapperMovie wrapper = new WrapperMovie(videoData, localeService, identifierService).setScanner(movieScanner.getMovieScanner());
+                tasks.add(new ScanTask(movieScanner.getScannerName()) {
+                    @Override
+                    public ScanResult call() {
+                        LOG.info("Scanning movie data for '{}' using {}", videoData.getTitle(), getScannerName());
+                        return movieScanner.scanMovie(getRecorder().record(wrapper, IMovie.class), throwTempError);
+                    }
+                });
+            }
+        }
+        
+        final boolean retryAllowed = videoData.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.movie", 0);
+        return this.mergeParallelScans(tasks, useAlternate, retryAllowed, "movie", videoData.getIdentifier());
+    }
+
+    private ScanResult scanSeriesParallel(final Series series, final boolean throwTempError, boolean useAlternate) {
+        List<ScanTask> tasks = new ArrayList<>();
+        for (String scanner : SERIES_SCANNER) {
+            final PluginSeriesScanner seriesScanner = registeredSeriesScanner.get(scanner);
+            if (seriesScanner == null) {
+                LOG.warn("Series scanner {} not registered", scanner);
+                tasks.add(ScanTask.preset(scanner, ScanResult.NO_RESULT));
+            } else if (series.isSkippedScan(seriesScanner.getScannerName())) {
+                LOG.info("Series scan skipped for '{}' using {}", series.getTitle(), seriesScanner.getScannerName());
+                tasks.add(ScanTask.preset(scanner, ScanResult.SKIPPED));
+            } else {
+                // each scanner gets an own wrapper
+                final WrapperSeries wrapper = new WrapperSeries(series, localeService, identifierService).setScanner(seriesScanner.getSeriesScanner());
+                tasks.add(new ScanTask(seriesScanner.getScannerName()) {
+                    @Override
+                    public ScanResult call() {
+                        LOG.info("Scanning series data for '{}' using {}", series.getTitle(), getScannerName());
+                        return seriesScanner.scanSeries(getRecorder().record(wrapper, ISeries.class), throwTempError);
+                    }
+                });
+            }
+        }
+        
+        final boolean retryAllowed = series.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.tvshow", 0);
+        return this.mergeParallelScans(tasks, useAlternate, retryAllowed, "series", series.getIdentifier());
+    }
+
+    private ScanResult scanPersonParallel(final Person person, final boolean throwTempError, boolean useAlternate) {
+        List<ScanTask> tasks = new ArrayList<>();
+        for (String scanner : PERSON_SCANNER) {
+            final PluginPersonScanner personScanner = registeredPersonScanner.get(scanner);
+            if (personScanner == null) {
+                LOG.warn("Person scanner {} not registered", scanner);
+                tasks.add(ScanTask.preset(scanner, ScanResult.NO_RESULT));
+            } else if (person.isSkippedScan(personScanner.getScannerName())) {
+                LOG.info("Person scan skipped for '{}' using {}", person.getName(), personScanner.getScannerName());
+                tasks.add(ScanTask.preset(scanner, ScanResult.SKIPPED));
+            } else {
+                // each scanner gets an own wrapper
+                final WrapperPerson wrapper = new WrapperPerson(person);
+                wrapper.setScanner(personScanner.getPersonScanner());
+                tasks.add(new ScanTask(personScanner.getScannerName()) {
+                    @Override
+                    public ScanResult call() {
+                        LOG.info("Scanning person data for '{}' using {}", person.getName(), getScannerName());
+                        return personScanner.scanPerson(getRecorder().record(wrapper, IPerson.class), throwTempError);
+                    }
+                });
+            }
+        }
+        
+        final boolean retryAllowed = person.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.person", 0);
+        return this.mergeParallelScans(tasks, useAlternate, retryAllowed, "person", person.getName());
+    }
+
+    /**
+     * Execute the scan tasks concurrently and merge the results in scanner order.
+     */
+    private ScanResult mergeParallelScans(List<ScanTask> tasks, boolean useAlternate, boolean retryAllowed, String type, String name) {
+        final long timeout = 1000L * configServiceWrapper.getIntProperty("yamj3.sourcedb.scanner.parallel.timeout", 120);
+        final long hedgeDelay = configServiceWrapper.getLongProperty("yamj3.sourcedb.scanner.parallel.hedgeDelay", 0);
+        ScanResult scanResult = null;
+        
+        for (ScanTask task : scannerFanOut.execute(tasks, useAlternate, timeout, hedgeDelay)) {
+            // holds the inner scan result
+            ScanResult innerResult = ScanResult.NO_RESULT;
+            Exception error = task.getError();
+            
+            if (task.isCompleted() && error == null) {
+                // apply the recorded modifications only after a successful return
+                try {
+                    task.getRecorder().replay();
+                } catch (Exception ex) {
+                    error = ex;
+                }
+            } else {
+                task.getRecorder().discard();
+            }
+            
+            if (error == null) {
+                innerResult = task.getResult();
+            } else if (PluginInvoker.isUnavailable(error)) {
+                LOG.info(UNAVAILABLE_DEFERRED, task.getScannerName(), name);
+                innerResult = ScanResult.DEFERRED;
+            } else if (error instanceof TemporaryUnavailableException) {
+                // check retry
+                if (scanResult == null && retryAllowed) {
+                    LOG.info(TEMP_UNAVAILABLE_ERROR, task.getScannerName(), name);
+                    innerResult = ScanResult.RETRY;
+                } else {
+                    LOG.error("Temporary scanning error for {} '{}' with {} scanner", type, name, task.getScannerName());
+                    LOG.warn(SCANNING_ERROR, error);
+                }
+            } else {
+                LOG.error("Failed scanning {} '{}' with {} scanner", type, name, task.getScannerName());
+                LOG.warn(SCANNING_ERROR, error);
+            }
+
+            if (ScanResult.OK.equals(innerResult)) {
+                // scanned OK
+                scanResult = ScanResult.OK;
+                // no alternate scanning then break the loop
+                if (!useAlternate) {
+                    break;
+                }
+            } else if (ScanResult.SKIPPED.equals(innerResult)) {
+                // change nothing if scan skipped and force next scan
+            } else {
+                // just set scan result to inner result if no scan result before
+                scanResult = scanResult == null ? innerResult : scanResult;
+            }
+        }
+        return scanResult;
+    }
+
     /**
      * Scan a person.
      * 
@@ -411,7 +621,10 @@ public class OnlineScannerService implements PluginMetadataService {
                     }
                 } catch (TemporaryUnavailableException ex) {
                     // check retry
-                    if (scanResult == null && person.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.filmography", 0)) {
+                    if (PluginInvoker.isUnavailable(ex)) {
+                        LOG.info(UNAVAILABLE_DEFERRED, filmographyScanner.getScannerName(), person.getName());
+                        innerResult = ScanResult.DEFERRED;
+                    } else if (scanResult == null && person.getRetries() < configServiceWrapper.getIntProperty("yamj3.error.maxRetries.filmography", 0)) {
                         LOG.info(TEMP_UNAVAILABLE_ERROR, filmographyScanner.getScannerName(), person.getName());
                         innerResult = ScanResult.RETRY;
                     } else {
@@ -453,6 +666,9 @@ public class OnlineScannerService implements PluginMetadataService {
             LOG.warn("Person filmography {}-'{}', not found", person.getId(), person.getName());
             person.setRetries(0);
             person.setFilmographyStatus(StatusType.NOTFOUND);
+        } else if (ScanResult.DEFERRED.equals(scanResult)) {
+            LOG.info("Person filmography {}-'{}', deferred until scanner is available", person.getId(), person.getName());
+            person.setFilmographyStatus(StatusType.UPDATED);
         } else if (ScanResult.RETRY.equals(scanResult)) {
             LOG.debug("Person filmography {}-'{}', will be retried", person.getId(), person.getName());
             person.setRetries(person.getRetries()+1);
@@ -463,6 +679,160 @@ public class OnlineScannerService implements PluginMetadataService {
         }
     }
 
+    /**
+     * Check if the scans of a meta data type must be deferred, cause
+     * the circuits of all configured scanners are open.
+     * 
+     * @param type
+     * @return true if scans should be deferred
+     */
+    public boolean isScanDeferred(MetaDataType type) {
+        final Collection<String> scanners;
+        switch (type) {
+            case MOVIE:
+                scanners = MOVIE_SCANNER;
+                break;
+            case SERIES:
+                scanners = SERIES_SCANNER;
+                break;
+            case PERSON:
+                scanners = PERSON_SCANNER;
+                break;
+            case FILMOGRAPHY:
+                scanners = FILMOGRAPHY_SCANNER;
+                break;
+            default:
+                return false;
+        }
+
+        for (String scanner : scanners) {
+            if (!pluginInvoker.isCircuitOpen(scanner)) {
+                return false;
+            }
+        }
+        return !scanners.isEmpty();
+    }
+
+    /**
+     * Fetch the movies with batch capable scanners in advance.
+     * 
+     * @param ids the IDs of the video data
+     */
+    public void prefetchMovies(Collection<Long> ids) {
+        final boolean throwTempError = this.throwTempUnavailableError();
+        final boolean useAlternate = this.configServiceWrapper.getBooleanProperty("yamj3.sourcedb.scanner.movie.alternate.always", false);
+
+        Collection<Long> remaining = ids;
+        for (String scanner : prefetchScanners(MOVIE_SCANNER, useAlternate)) {
+            PluginMovieScanner movieScanner = registeredMovieScanner.get(scanner);
+            if (movieScanner != null && movieScanner.getMovieScanner() instanceof BatchMovieScanner) {
+                final BatchMovieScanner batchScanner = (BatchMovieScanner) movieScanner.getMovieScanner();
+                remaining = prefetch(MetaDataType.MOVIE, scanner, remaining, batchScanner, new BatchCall() {
+                    @Override
+                    public Map<String, BatchResult> fetch(Collection<String> sourceIds) {
+                        return batchScanner.prefetchMovies(sourceIds, throwTempError);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Fetch the series with batch capable scanners in advance.
+     * 
+     * @param ids the IDs of the series
+     */
+    public void prefetchSeries(Collection<Long> ids) {
+        final boolean throwTempError = this.throwTempUnavailableError();
+        final boolean useAlternate = this.configServiceWrapper.getBooleanProperty("yamj3.sourcedb.scanner.series.alternate.always", false);
+
+        Collection<Long> remaining = ids;
+        for (String scanner : prefetchScanners(SERIES_SCANNER, useAlternate)) {
+            PluginSeriesScanner seriesScanner = registeredSeriesScanner.get(scanner);
+            if (seriesScanner != null && seriesScanner.getSeriesScanner() instanceof BatchSeriesScanner) {
+                final BatchSeriesScanner batchScanner = (BatchSeriesScanner) seriesScanner.getSeriesScanner();
+                remaining = prefetch(MetaDataType.SERIES, scanner, remaining, batchScanner, new BatchCall() {
+                    @Override
+                    public Map<String, BatchResult> fetch(Collection<String> sourceIds) {
+                        return batchScanner.prefetchSeries(sourceIds, throwTempError);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Fetch the persons with batch capable scanners in advance.
+     * 
+     * @param ids the IDs of the persons
+     */
+    public void prefetchPersons(Collection<Long> ids) {
+        final boolean throwTempError = this.throwTempUnavailableError();
+        final boolean useAlternate = this.configServiceWrapper.getBooleanProperty("yamj3.sourcedb.scanner.person.alternate.always", false);
+
+        Collection<Long> remaining = ids;
+        for (String scanner : prefetchScanners(PERSON_SCANNER, useAlternate)) {
+            PluginPersonScanner personScanner = registeredPersonScanner.get(scanner);
+            if (personScanner != null && personScanner.getPersonScanner() instanceof BatchPersonScanner) {
+                final BatchPersonScanner batchScanner = (BatchPersonScanner) personScanner.getPersonScanner();
+                remaining = prefetch(MetaDataType.PERSON, scanner, remaining, batchScanner, new BatchCall() {
+                    @Override
+                    public Map<String, BatchResult> fetch(Collection<String> sourceIds) {
+                        return batchScanner.prefetchPersons(sourceIds, throwTempError);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Fetch the filmographies with batch capable scanners in advance.
+     * 
+     * @param ids the IDs of the persons
+     */
+    public void prefetchFilmographies(Collection<Long> ids) {
+        final boolean throwTempError = this.throwTempUnavailableError();
+
+        Collection<Long> remaining = ids;
+        for (String scanner : prefetchScanners(FILMOGRAPHY_SCANNER, false)) {
+            PluginFilmographyScanner filmographyScanner = registeredFilmographyScanner.get(scanner);
+            if (filmographyScanner != null && filmographyScanner.getFilmographyScanner() instanceof BatchFilmographyScanner) {
+                final BatchFilmographyScanner batchScanner = (BatchFilmographyScanner) filmographyScanner.getFilmographyScanner();
+                remaining = prefetch(MetaDataType.PERSON, scanner, remaining, batchScanner, new BatchCall() {
+                    @Override
+                    public Map<String, BatchResult> fetch(Collection<String> sourceIds) {
+                        return batchScanner.prefetchFilmographies(sourceIds, throwTempError);
+                    }
+                });
+            }
+        }
+    }
+
+    private static Collection<String> prefetchScanners(Set<String> scanners, boolean useAlternate) {
+        if (useAlternate || scanners.size() <= 1) {
+            return scanners;
+        }
+        return Collections.singleton(scanners.iterator().next());
+    }
+
+    private Collection<Long> prefetch(MetaDataType type, String scanner, Collection<Long> ids, BatchScanner batchScanner, BatchCall call) {
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        
+        final Map<Long, String> sourceIds = metadataStorageService.getSourceDbIds(type, scanner, ids);
+        final Set<String> fetched = BatchPrefetch.execute(batchScanner, sourceIds.values(), call);
+
+        // alternate scanners just need to fetch the IDs which are still missing
+        List<Long> remaining = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (!fetched.contains(sourceIds.get(id))) {
+                remaining.add(id);
+            }
+        }
+        return remaining;
+    }
+
     public boolean scanNFO(String nfoContent, InfoDTO dto) {
         NfoScanner nfoScanner = null;
         if (dto.isTvShow()) {
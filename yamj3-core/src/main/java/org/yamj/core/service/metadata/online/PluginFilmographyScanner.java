@@ -46,6 +46,10 @@ public class PluginFilmographyScanner implements MetadataScanner {
         this.localeService = localeService;
     }
     
+    public FilmographyScanner getFilmographyScanner() {
+        return filmographyScanner;
+    }
+
     @Override
     public String getScannerName() {
         return filmographyScanner.getScannerName();
@@ -27,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import org.yamj.core.service.metadata.WrapperMovie;
 import org.yamj.plugin.api.metadata.MovieScanner;
 import org.yamj.plugin.api.metadata.NfoScanner;
+import org.yamj.plugin.api.model.IMovie;
 import org.yamj.plugin.api.model.IdMap;
 
 public class PluginMovieScanner implements NfoScanner {
@@ -50,7 +51,13 @@ public class PluginMovieScanner implements NfoScanner {
     public ScanResult scanMovie(WrapperMovie wrapper, boolean throwTempError) {
         // set actual scanner
         wrapper.setScanner(movieScanner);
+        return this.scanMovie((IMovie) wrapper, throwTempError);
+    }
 
+    /**
+     * Scan the movie; the actual scanner must already be set on the wrapper.
+     */
+    ScanResult scanMovie(IMovie wrapper, boolean throwTempError) {
         // get the movie id
         String movieId = movieScanner.getMovieId(wrapper, throwTempError);
         if (!movieScanner.isValidMovieId(movieId)) {
@@ -27,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import org.yamj.core.service.metadata.WrapperPerson;
 import org.yamj.plugin.api.metadata.MetadataScanner;
 import org.yamj.plugin.api.metadata.PersonScanner;
+import org.yamj.plugin.api.model.IPerson;
 
 public class PluginPersonScanner implements MetadataScanner {
 
@@ -49,7 +50,13 @@ public class PluginPersonScanner implements MetadataScanner {
     public ScanResult scanPerson(WrapperPerson wrapper, boolean throwTempError) {
         // set actual scanner
         wrapper.setScanner(personScanner);
+        return this.scanPerson((IPerson) wrapper, throwTempError);
+    }
 
+    /**
+     * Scan the person; the actual scanner must already be set on the wrapper.
+     */
+    ScanResult scanPerson(IPerson wrapper, boolean throwTempError) {
         // get the person id
         String personId = personScanner.getPersonId(wrapper, throwTempError);
         if (!personScanner.isValidPersonId(personId)) {
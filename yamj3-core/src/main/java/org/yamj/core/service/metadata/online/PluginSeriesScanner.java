@@ -27,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import org.yamj.core.service.metadata.WrapperSeries;
 import org.yamj.plugin.api.metadata.NfoScanner;
 import org.yamj.plugin.api.metadata.SeriesScanner;
+import org.yamj.plugin.api.model.ISeries;
 import org.yamj.plugin.api.model.IdMap;
 
 public class PluginSeriesScanner implements NfoScanner {
@@ -50,7 +51,13 @@ public class PluginSeriesScanner implements NfoScanner {
     public ScanResult scanSeries(WrapperSeries wrapper, boolean throwTempError) {
         // set actual scanner
         wrapper.setScanner(seriesScanner);
+        return this.scanSeries((ISeries) wrapper, throwTempError);
+    }
 
+    /**
+     * Scan the series; the actual scanner must already be set on the wrapper.
+     */
+    ScanResult scanSeries(ISeries wrapper, boolean throwTempError) {
         // get the series id
         String seriesId = seriesScanner.getSeriesId(wrapper, throwTempError);
         if (!seriesScanner.isValidSeriesId(seriesId)) {
@@ -28,6 +28,7 @@ public enum ScanResult {
     ERROR,       // scanning error
     SKIPPED,     // skipped scan (by settings or NFO)
     RETRY,       // scan should be retried
+    DEFERRED,    // scanner not available; scan later without retry count
     NO_RESULT,   // scan without results
     OK;          // scan successful
 }
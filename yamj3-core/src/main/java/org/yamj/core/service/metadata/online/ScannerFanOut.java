@@ -0,0 +1,213 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metadata.online;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.core.service.plugin.ScanRecorder;
+
+/**
+ * Executes the scans of several online scanners concurrently.
+ *
+ * Results are collected in the configured scanner order. Without alternate scanning
+ * the next scanner is only started if the previous scanner failed, or as a hedge
+ * if the previous scanner did not finish within the hedge delay.
+ */
+final class ScannerFanOut {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScannerFanOut.class);
+    
+    private final ExecutorService executor;
+
+    ScannerFanOut(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * The scan of one online scanner; it must work on the recorded wrapper only.
+     */
+    abstract static class ScanTask implements Callable<ScanResult> {
+
+        private final String scannerName;
+        private final ScanRecorder recorder = new ScanRecorder();
+        private ScanResult result;
+        private Exception error;
+        private boolean completed;
+        private Future<ScanResult> future;
+        private long started;
+
+        ScanTask(String scannerName) {
+            this.scannerName = scannerName;
+        }
+
+        private ScanTask(String scannerName, ScanResult result) {
+            this(scannerName);
+            this.result = result;
+            this.completed = true;
+        }
+
+        String getScannerName() {
+            return scannerName;
+        }
+
+        ScanRecorder getRecorder() {
+            return recorder;
+        }
+
+        ScanResult getResult() {
+            return result;
+        }
+
+        Exception getError() {
+            return error;
+        }
+
+        /**
+         * @return true if the scan has finished, so the recorded modifications can be applied 
+         */
+        boolean isCompleted() {
+            return completed;
+        }
+        
+        /**
+         * Create a task for a scanner which must not be executed, like a skipped scan.
+         */
+        static ScanTask preset(String scannerName, final ScanResult result) {
+            return new ScanTask(scannerName, result) {
+                @Override
+                public ScanResult call() {
+                    return result;
+                }
+            };
+        }
+
+        private boolean isExecutable() {
+            return result == null && error == null;
+        }
+    }
+
+    /**
+     * Execute the tasks.
+     *
+     * @param tasks the tasks in scanner order
+     * @param all true to execute all tasks (alternate scanning), false to stop at the first valid result
+     * @param timeout timeout in milliseconds for each task
+     * @param hedgeDelay delay in milliseconds after which the next task is started if the actual task is still running
+     * @return the processed tasks in scanner order
+     */
+    List<ScanTask> execute(List<ScanTask> tasks, boolean all, long timeout, long hedgeDelay) {
+        if (all) {
+            for (ScanTask task : tasks) {
+                submit(task);
+            }
+        }
+
+        List<ScanTask> processed = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            final ScanTask task = tasks.get(i);
+            if (task.isExecutable()) {
+                submit(task);
+
+                if (!all && hedgeDelay > 0 && !await(task, hedgeDelay)) {
+                    ScanTask hedge = nextExecutable(tasks, i + 1);
+                    if (hedge != null && hedge.future == null) {
+                        LOG.debug("Scanner {} is slow, start {} as hedge", task.getScannerName(), hedge.getScannerName());
+                        submit(hedge);
+                    }
+                }
+
+                complete(task, timeout);
+            }
+            processed.add(task);
+
+            if (Thread.currentThread().isInterrupted() || (!all && ScanResult.OK.equals(task.getResult()))) {
+                // cancel all remaining tasks
+                for (int j = i + 1; j < tasks.size(); j++) {
+                    cancel(tasks.get(j));
+                }
+                break;
+            }
+        }
+        return processed;
+    }
+
+    private void submit(ScanTask task) {
+        if (task.isExecutable() && task.future == null) {
+            task.started = System.currentTimeMillis();
+            task.future = executor.submit(task);
+        }
+    }
+
+    private static void cancel(ScanTask task) {
+        if (task.future != null) {
+            task.future.cancel(true);
+        }
+        task.recorder.discard();
+    }
+
+    private static ScanTask nextExecutable(List<ScanTask> tasks, int start) {
+        for (int i = start; i < tasks.size(); i++) {
+            if (tasks.get(i).isExecutable()) {
+                return tasks.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean await(ScanTask task, long delay) {
+        try {
+            task.future.get(delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException ex) { //NOSONAR
+            return false;
+        } catch (InterruptedException ex) { //NOSONAR
+            Thread.currentThread().interrupt();
+            return true;
+        } catch (Exception ex) { //NOSONAR
+            // will be handled on completion
+            return true;
+        }
+    }
+
+    private static void complete(ScanTask task, long timeout) {
+        final long remaining = Math.max(0, task.started + timeout - System.currentTimeMillis());
+        try {
+            task.result = task.future.get(remaining, TimeUnit.MILLISECONDS);
+            task.completed = true;
+        } catch (ExecutionException ex) {
+            task.error = ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+            task.completed = true;
+        } catch (TimeoutException ex) {
+            // the scanner may still be running, but can't touch the wrapper anymore
+            cancel(task);
+            task.error = new TimeoutException("Scanner " + task.getScannerName() + " timed out after " + timeout + " ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancel(task);
+            task.error = ex;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metrics;
+
+/**
+ * A gauge which samples an expensive source at most once per time to live.
+ */
+public final class CachedGauge implements Gauge {
+
+    private final Gauge source;
+    private final long timeToLiveMillis;
+    private Number value;
+    private long sampled;
+
+    public CachedGauge(Gauge source, long timeToLiveMillis) {
+        this.source = source;
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    @Override
+    public synchronized Number getValue() {
+        final long now = System.currentTimeMillis();
+        if (value == null || now - sampled >= timeToLiveMillis) {
+            value = source.getValue();
+            sampled = now;
+        }
+        return value;
+    }
+}
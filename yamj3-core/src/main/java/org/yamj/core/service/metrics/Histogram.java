@@ -0,0 +1,146 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram with fixed bucket bounds.
+ *
+ * Only the bucket counts are kept, so percentiles are approximated
+ * by the upper bound of the bucket they fall into.
+ */
+public final class Histogram {
+
+    /** Bucket bounds in milliseconds used for timers */
+    public static final long[] TIMER_BUCKETS = new long[]{5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+    /** Bucket bounds used for sizes */
+    public static final long[] SIZE_BUCKETS = new long[]{1, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final long[] bounds;
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    public Histogram(long[] bounds) {
+        this.bounds = bounds.clone();
+        // last bucket holds all values above the highest bound
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void update(long value) {
+        int index = 0;
+        while (index < bounds.length && value > bounds[index]) {
+            index++;
+        }
+        buckets.incrementAndGet(index);
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value)) { //NOSONAR
+            // retry
+        }
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) { //NOSONAR
+            // retry
+        }
+    }
+
+    /**
+     * Update with the milliseconds elapsed since the given start.
+     *
+     * @param startMillis the start as given by System.currentTimeMillis()
+     */
+    public void updateSince(long startMillis) {
+        update(System.currentTimeMillis() - startMillis);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    public long getMin() {
+        return count.get() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return count.get() == 0 ? 0 : max.get();
+    }
+
+    public double getMean() {
+        final long c = count.get();
+        return c == 0 ? 0 : (double) sum.get() / c;
+    }
+
+    /**
+     * Get the approximated value for the given percentile.
+     *
+     * @param percentile the percentile between 0 and 1
+     * @return the upper bound of the matching bucket; the maximum for the overflow bucket
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bounds[i], getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Get the cumulative bucket counts by upper bound.
+     *
+     * @return the counts; the overflow bucket has the bound "+Inf"
+     */
+    public Map<String, Long> getCumulativeBuckets() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += buckets.get(i);
+            result.put(String.valueOf(bounds[i]), cumulative);
+        }
+        cumulative += buckets.get(bounds.length);
+        result.put("+Inf", cumulative);
+        return result;
+    }
+}
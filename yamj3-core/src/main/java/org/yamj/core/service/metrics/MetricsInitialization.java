@@ -0,0 +1,151 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import org.apache.commons.dbcp.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yamj.core.database.service.MetadataStorageService;
+
+/**
+ * Registers the gauges for connection pool, caches and scanning queues.
+ */
+@Component("metricsInitialization")
+public class MetricsInitialization {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsInitialization.class);
+    private static final String LABEL_CACHE = "cache";
+    private static final String LABEL_QUEUE = "queue";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private CacheManager ehCacheManager;
+    @Autowired
+    private MetadataStorageService metadataStorageService;
+
+    @Value("${yamj3.metrics.cacheStatistics:true}")
+    private boolean cacheStatistics;
+    @Value("${yamj3.metrics.queueSizeCacheSeconds:60}")
+    private int queueSizeCacheSeconds;
+
+    @PostConstruct
+    public void init() {
+        LOG.debug("Initialize metrics gauges");
+        registerDataSource();
+        registerCaches();
+        registerScanQueue("metadata_video", "VideoData", "queueDate");
+        registerScanQueue("metadata_season", "Season", "queueDate");
+        registerScanQueue("metadata_series", "Series", "queueDate");
+        registerScanQueue("metadata_people", "Person", "queueDate");
+        registerScanQueue("metadata_filmography", "Person", "filmographyQueueDate");
+    }
+
+    private void registerDataSource() {
+        if (!(dataSource instanceof BasicDataSource)) {
+            LOG.trace("No pooled data source; skip connection pool gauges");
+            return;
+        }
+
+        final BasicDataSource pool = (BasicDataSource) dataSource;
+        metricsRegistry.gauge("db_pool_active_connections", new Gauge() {
+            @Override
+            public Number getValue() {
+                return pool.getNumActive();
+            }
+        });
+        metricsRegistry.gauge("db_pool_idle_connections", new Gauge() {
+            @Override
+            public Number getValue() {
+                return pool.getNumIdle();
+            }
+        });
+        metricsRegistry.gauge("db_pool_max_connections", new Gauge() {
+            @Override
+            public Number getValue() {
+                return pool.getMaxActive();
+            }
+        });
+    }
+
+    private void registerCaches() {
+        for (String cacheName : ehCacheManager.getCacheNames()) {
+            final Ehcache cache = ehCacheManager.getEhcache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+
+            metricsRegistry.gauge("cache_size", new Gauge() {
+                @Override
+                public Number getValue() {
+                    return cache.getSize();
+                }
+            }, LABEL_CACHE, cacheName);
+
+            if (!cacheStatistics) {
+                continue;
+            }
+
+            // statistics are disabled in the cache configuration by default
+            cache.setStatisticsEnabled(true);
+            metricsRegistry.functionCounter("cache_hits_total", new Gauge() {
+                @Override
+                public Number getValue() {
+                    return cache.getStatistics().getCacheHits();
+                }
+            }, LABEL_CACHE, cacheName);
+            metricsRegistry.functionCounter("cache_misses_total", new Gauge() {
+                @Override
+                public Number getValue() {
+                    return cache.getStatistics().getCacheMisses();
+                }
+            }, LABEL_CACHE, cacheName);
+            metricsRegistry.functionCounter("cache_evictions_total", new Gauge() {
+                @Override
+                public Number getValue() {
+                    return cache.getStatistics().getEvictionCount();
+                }
+            }, LABEL_CACHE, cacheName);
+        }
+    }
+
+    private void registerScanQueue(String queueName, final String entity, final String queueDateProperty) {
+        // the count query is too expensive to run on every scrape
+        metricsRegistry.gauge("queue_database_elements", new CachedGauge(new Gauge() {
+            @Override
+            public Number getValue() {
+                return metadataStorageService.getScanQueueSize(entity, queueDateProperty);
+            }
+        }, TimeUnit.SECONDS.toMillis(queueSizeCacheSeconds)), LABEL_QUEUE, queueName);
+    }
+}
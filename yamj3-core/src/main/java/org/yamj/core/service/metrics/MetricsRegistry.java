@@ -0,0 +1,329 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metrics;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process registry for counters, histograms and gauges.
+ *
+ * Metrics are identified by name and labels; labels are given as alternating
+ * key and value pairs. Requesting a metric twice returns the same instance.
+ */
+@Component("metricsRegistry")
+public class MetricsRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final String PROMETHEUS_PREFIX = "yamj_";
+    private static final String LITERAL_NAME = "name";
+    private static final String LITERAL_TYPE = "type";
+    private static final String TYPE_COUNTER = "counter";
+    private static final String TYPE_GAUGE = "gauge";
+    private static final String TYPE_HISTOGRAM = "histogram";
+
+    private final ConcurrentMap<MetricId, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricId, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricId, Gauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricId, Gauge> functionCounters = new ConcurrentHashMap<>();
+
+    public Counter counter(String name, String... labels) {
+        final MetricId id = new MetricId(name, labels);
+        Counter counter = counters.get(id);
+        if (counter == null) {
+            Counter created = new Counter();
+            counter = counters.putIfAbsent(id, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Get a histogram for durations in milliseconds.
+     *
+     * @param name
+     * @param labels
+     * @return the histogram
+     */
+    public Histogram timer(String name, String... labels) {
+        return histogram(name, Histogram.TIMER_BUCKETS, labels);
+    }
+
+    /**
+     * Get a histogram; the bounds are only used if the histogram is created.
+     *
+     * @param name
+     * @param bounds
+     * @param labels
+     * @return the histogram
+     */
+    public Histogram histogram(String name, long[] bounds, String... labels) {
+        final MetricId id = new MetricId(name, labels);
+        Histogram histogram = histograms.get(id);
+        if (histogram == null) {
+            Histogram created = new Histogram(bounds);
+            histogram = histograms.putIfAbsent(id, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Register a gauge; an already registered gauge with same name and labels will be replaced.
+     *
+     * @param name
+     * @param gauge
+     * @param labels
+     */
+    public void gauge(String name, Gauge gauge, String... labels) {
+        gauges.put(new MetricId(name, labels), gauge);
+    }
+
+    /**
+     * Register a counter whose value is read from an external monotonic source,
+     * i.e. cumulative statistics; an already registered one will be replaced.
+     *
+     * @param name
+     * @param source
+     * @param labels
+     */
+    public void functionCounter(String name, Gauge source, String... labels) {
+        functionCounters.put(new MetricId(name, labels), source);
+    }
+
+    /**
+     * Get a snapshot of all metrics.
+     *
+     * @return list of metrics ordered by name and labels
+     */
+    public List<Map<String, Object>> getSnapshot() {
+        List<Map<String, Object>> result = new ArrayList<>();
+
+        for (Entry<MetricId, Number> entry : sampleCounters().entrySet()) {
+            Map<String, Object> metric = createMetric(entry.getKey(), TYPE_COUNTER);
+            metric.put("value", entry.getValue());
+            result.add(metric);
+        }
+
+        for (Entry<MetricId, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            final Number value = sample(entry.getKey(), entry.getValue());
+            if (value != null) {
+                Map<String, Object> metric = createMetric(entry.getKey(), TYPE_GAUGE);
+                metric.put("value", value);
+                result.add(metric);
+            }
+        }
+
+        for (Entry<MetricId, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            final Histogram histogram = entry.getValue();
+            Map<String, Object> metric = createMetric(entry.getKey(), TYPE_HISTOGRAM);
+            metric.put("count", histogram.getCount());
+            metric.put("sum", histogram.getSum());
+            metric.put("min", histogram.getMin());
+            metric.put("max", histogram.getMax());
+            metric.put("mean", histogram.getMean());
+            metric.put("p50", histogram.getPercentile(0.5d));
+            metric.put("p95", histogram.getPercentile(0.95d));
+            metric.put("p99", histogram.getPercentile(0.99d));
+            result.add(metric);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get all metrics in the Prometheus text exposition format.
+     *
+     * @return the metrics text
+     */
+    public String getPrometheusText() {
+        StringBuilder sb = new StringBuilder();
+
+        String lastName = null;
+        for (Entry<MetricId, Number> entry : sampleCounters().entrySet()) {
+            lastName = appendType(sb, entry.getKey(), lastName, TYPE_COUNTER);
+            appendSample(sb, entry.getKey().getName(), entry.getKey().getLabels(), null, entry.getValue());
+        }
+
+        lastName = null;
+        for (Entry<MetricId, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            final Number value = sample(entry.getKey(), entry.getValue());
+            if (value != null) {
+                lastName = appendType(sb, entry.getKey(), lastName, TYPE_GAUGE);
+                appendSample(sb, entry.getKey().getName(), entry.getKey().getLabels(), null, value);
+            }
+        }
+
+        lastName = null;
+        for (Entry<MetricId, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            final MetricId id = entry.getKey();
+            final Histogram histogram = entry.getValue();
+            lastName = appendType(sb, id, lastName, TYPE_HISTOGRAM);
+            for (Entry<String, Long> bucket : histogram.getCumulativeBuckets().entrySet()) {
+                appendSample(sb, id.getName() + "_bucket", id.getLabels(), "le=\"" + bucket.getKey() + "\"", bucket.getValue());
+            }
+            appendSample(sb, id.getName() + "_sum", id.getLabels(), null, histogram.getSum());
+            appendSample(sb, id.getName() + "_count", id.getLabels(), null, histogram.getCount());
+        }
+
+        return sb.toString();
+    }
+
+    private SortedMap<MetricId, Number> sampleCounters() {
+        SortedMap<MetricId, Number> result = new TreeMap<>();
+        for (Entry<MetricId, Counter> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getCount());
+        }
+        for (Entry<MetricId, Gauge> entry : functionCounters.entrySet()) {
+            final Number value = sample(entry.getKey(), entry.getValue());
+            if (value != null) {
+                result.put(entry.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Object> createMetric(MetricId id, String type) {
+        Map<String, Object> metric = new LinkedHashMap<>();
+        metric.put(LITERAL_NAME, id.getName());
+        metric.put(LITERAL_TYPE, type);
+        if (!id.getLabelMap().isEmpty()) {
+            metric.put("labels", id.getLabelMap());
+        }
+        return metric;
+    }
+
+    private static Number sample(MetricId id, Gauge gauge) {
+        try {
+            return gauge.getValue();
+        } catch (Exception ex) {
+            LOG.debug("Failed to sample metric {}: {}", id, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static String appendType(StringBuilder sb, MetricId id, String lastName, String type) {
+        if (!id.getName().equals(lastName)) {
+            sb.append("# TYPE ").append(PROMETHEUS_PREFIX).append(id.getName()).append(' ').append(type).append('\n');
+        }
+        return id.getName();
+    }
+
+    private static void appendSample(StringBuilder sb, String name, String labels, String extraLabel, Number value) {
+        sb.append(PROMETHEUS_PREFIX).append(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            sb.append('{').append(labels);
+            if (extraLabel != null) {
+                if (!labels.isEmpty()) {
+                    sb.append(',');
+                }
+                sb.append(extraLabel);
+            }
+            sb.append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Identifies a metric by name and labels.
+     */
+    private static final class MetricId implements Comparable<MetricId> {
+
+        private final String name;
+        private final Map<String, String> labelMap;
+        private final String labels;
+
+        MetricId(String name, String... labelPairs) {
+            if (labelPairs.length % 2 != 0) {
+                throw new IllegalArgumentException("Labels must be given as key and value pairs");
+            }
+            this.name = name;
+
+            Map<String, String> map = new LinkedHashMap<>();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < labelPairs.length; i += 2) {
+                final String value = labelPairs[i + 1] == null ? "" : labelPairs[i + 1];
+                map.put(labelPairs[i], value);
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(labelPairs[i]).append("=\"").append(escape(value)).append('"');
+            }
+            this.labelMap = Collections.unmodifiableMap(map);
+            this.labels = sb.toString();
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Map<String, String> getLabelMap() {
+            return labelMap;
+        }
+
+        public String getLabels() {
+            return labels;
+        }
+
+        @Override
+        public int compareTo(MetricId other) {
+            final int result = name.compareTo(other.name);
+            return result == 0 ? labels.compareTo(other.labels) : result;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + labels.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof MetricId) {
+                final MetricId other = (MetricId) obj;
+                return name.equals(other.name) && labels.equals(other.labels);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return labels.isEmpty() ? name : name + "{" + labels + "}";
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.plugin;
+
+/**
+ * Circuit breaker for the calls of one plugin.
+ *
+ * The circuit opens after a number of consecutive failures. After the open
+ * duration one trial call is allowed (half-open); a success closes the
+ * circuit again, a failure opens it for another period.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN;
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean trialRunning = false;
+    private long totalFailures = 0;
+    private long totalRejections = 0;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(0, openMillis);
+    }
+
+    /**
+     * Check if a call is allowed; in half-open state only one trial call is allowed.
+     *
+     * @return true if the call may be executed
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            trialRunning = false;
+        }
+
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialRunning) {
+            trialRunning = true;
+            return true;
+        }
+        
+        totalRejections++;
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialRunning = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Release an allowed call without result, so that another trial call is allowed.
+     */
+    public synchronized void releaseTrial() {
+        trialRunning = false;
+    }
+
+    public synchronized void recordFailure() {
+        totalFailures++;
+        consecutiveFailures++;
+        trialRunning = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Get the state; an open circuit whose open duration elapsed is reported as half-open.
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized boolean isOpen() {
+        return getState() == State.OPEN;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long getTotalFailures() {
+        return totalFailures;
+    }
+
+    public synchronized long getTotalRejections() {
+        return totalRejections;
+    }
+
+    /**
+     * @return the remaining milliseconds until a trial call is allowed, 0 if not open
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openedAt + openMillis - System.currentTimeMillis());
+    }
+}
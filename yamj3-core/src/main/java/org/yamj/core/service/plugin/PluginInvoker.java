@@ -0,0 +1,380 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.plugin;
+
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.service.metrics.Counter;
+import org.yamj.core.service.metrics.Gauge;
+import org.yamj.core.service.metrics.Histogram;
+import org.yamj.core.service.metrics.MetricsRegistry;
+import org.yamj.plugin.api.model.IdMap;
+import org.yamj.plugin.api.web.TemporaryUnavailableException;
+
+/**
+ * Invocation layer around the plugin extensions.
+ *
+ * Each call of a plugin runs on a bounded pool of the plugin with a call timeout,
+ * a limit of concurrent calls (bulkhead) and a circuit breaker; the settings are
+ * read per plugin name with fallback to the common plugin settings.
+ *
+ * Model objects handed over to a guarded extension are recorded per call, so a
+ * call which is abandoned after a timeout can't modify them anymore.
+ */
+@Service("pluginInvoker")
+public class PluginInvoker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PluginInvoker.class);
+    private static final String PROPERTY_PREFIX = "yamj3.plugin.";
+    /** methods which don't call the provider and so are invoked directly */
+    private static final Set<String> UNGUARDED_METHODS = new HashSet<>(Arrays.asList(
+                    "getScannerName", "isEnabled", "getMaxBatchSize", "scanNFO"));
+
+    private static final String MODEL_PACKAGE = IdMap.class.getPackage().getName();
+
+    private final ConcurrentMap<String, PluginState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @PreDestroy
+    public void destroy() {
+        for (PluginState state : states.values()) {
+            state.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wrap an extension, so that all calls are executed by this invoker.
+     *
+     * @param extension the plugin extension
+     * @param pluginName the name of the plugin
+     * @param type the extension point type
+     * @return the guarded extension, implementing all interfaces of the extension
+     */
+    public <T> T guard(final T extension, final String pluginName, Class<T> type) {
+        final List<Class<?>> interfaces = ClassUtils.getAllInterfaces(extension.getClass());
+        final Object proxy = Proxy.newProxyInstance(extension.getClass().getClassLoader(),
+                        interfaces.toArray(new Class<?>[interfaces.size()]), new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (method.getDeclaringClass() == Object.class
+                    || UNGUARDED_METHODS.contains(method.getName())
+                    || method.getName().startsWith("isValid"))
+                {
+                    return invokeMethod(extension, method, args);
+                }
+
+                // the plugin works on its own copy of the model objects
+                final ScanRecorder recorder = new ScanRecorder();
+                final Object[] callArgs = recordArguments(recorder, method, args);
+                try {
+                    final Object result = PluginInvoker.this.invoke(pluginName, new Callable<Object>() {
+                        @Override
+                        public Object call() throws Exception {
+                            return invokeMethod(extension, method, callArgs);
+                        }
+                    });
+                    recorder.replay();
+                    return result;
+                } catch (Exception ex) {
+                    recorder.discard();
+                    throw ex;
+                }
+            }
+        });
+        getState(pluginName);
+        return type.cast(proxy);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object[] recordArguments(ScanRecorder recorder, Method method, Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        
+        final Object[] callArgs = args.clone();
+        final Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < callArgs.length; i++) {
+            if (callArgs[i] != null && types[i].isInterface() && types[i].getName().startsWith(MODEL_PACKAGE)) {
+                callArgs[i] = recorder.record(callArgs[i], (Class) types[i]);
+            }
+        }
+        return callArgs;
+    }
+
+    private static Object invokeMethod(Object target, Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Execute a call of a plugin.
+     *
+     * @param pluginName the name of the plugin
+     * @param call the call
+     * @return the result of the call
+     * @throws PluginUnavailableException if the call was not executed or timed out
+     * @throws Exception the exception thrown by the call
+     */
+    public <T> T invoke(final String pluginName, final Callable<T> call) throws Exception {
+        final PluginState state = getState(pluginName);
+        if (!state.circuitBreaker.allowRequest()) {
+            state.rejectedCircuit.increment();
+            throw new PluginUnavailableException(pluginName, PluginUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+
+        try {
+            if (!state.bulkhead.tryAcquire(state.timeoutMillis, TimeUnit.MILLISECONDS)) {
+                state.rejectedBulkhead.increment();
+                // not a failure of the plugin
+                state.circuitBreaker.releaseTrial();
+                throw new PluginUnavailableException(pluginName, PluginUnavailableException.Reason.BULKHEAD_FULL);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            state.circuitBreaker.releaseTrial();
+            throw new PluginUnavailableException(pluginName, PluginUnavailableException.Reason.BULKHEAD_FULL);
+        }
+
+        final long start = System.currentTimeMillis();
+        Future<T> future;
+        try {
+            future = state.executor.submit(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    try {
+                        return call.call();
+                    } finally {
+                        // hanging calls keep their permit until they return
+                        state.bulkhead.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            state.bulkhead.release();
+            state.circuitBreaker.releaseTrial();
+            throw ex;
+        }
+
+        try {
+            T result = future.get(state.timeoutMillis, TimeUnit.MILLISECONDS);
+            state.circuitBreaker.recordSuccess();
+            return result;
+        } catch (TimeoutException ex) { //NOSONAR
+            future.cancel(true);
+            state.timeouts.increment();
+            recordFailure(pluginName, state);
+            throw new PluginUnavailableException(pluginName, PluginUnavailableException.Reason.TIMEOUT);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            state.circuitBreaker.releaseTrial();
+            throw ex;
+        } catch (ExecutionException ex) {
+            state.errors.increment();
+            if (isAvailabilityFailure(ex.getCause())) {
+                recordFailure(pluginName, state);
+            } else {
+                // the provider answered, so the plugin is available
+                state.circuitBreaker.recordSuccess();
+            }
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        } finally {
+            state.duration.updateSince(start);
+        }
+    }
+
+    /**
+     * Only IO failures, including the temporary unavailability reported by a plugin,
+     * are failures of the provider; other errors don't count for the circuit.
+     */
+    private static boolean isAvailabilityFailure(Throwable error) {
+        return ExceptionUtils.indexOfType(error, IOException.class) >= 0
+            || ExceptionUtils.indexOfType(error, TemporaryUnavailableException.class) >= 0;
+    }
+
+    private static void recordFailure(String pluginName, PluginState state) {
+        final boolean wasOpen = state.circuitBreaker.isOpen();
+        state.circuitBreaker.recordFailure();
+        if (!wasOpen && state.circuitBreaker.isOpen()) {
+            LOG.warn("Circuit of plugin {} opened after {} consecutive failures", pluginName, state.circuitBreaker.getConsecutiveFailures());
+        }
+    }
+
+    /**
+     * Check if the circuit of a plugin is open, so calls will be rejected.
+     *
+     * @param pluginName
+     * @return true if open
+     */
+    public boolean isCircuitOpen(String pluginName) {
+        final PluginState state = states.get(pluginName.toLowerCase());
+        return state != null && state.circuitBreaker.isOpen();
+    }
+
+    /**
+     * Get the time until an open circuit of a plugin permits a trial call.
+     *
+     * @param pluginName
+     * @return the remaining millis, 0 if the circuit is not open
+     */
+    public long getRemainingOpenMillis(String pluginName) {
+        final PluginState state = states.get(pluginName.toLowerCase());
+        return state == null ? 0 : state.circuitBreaker.getRemainingOpenMillis();
+    }
+
+    /**
+     * Check if the error was caused by an unavailable plugin, so that
+     * the work should be deferred instead of retried or failed.
+     *
+     * @param error
+     * @return true if the plugin was not available
+     */
+    public static boolean isUnavailable(Throwable error) {
+        return error instanceof PluginUnavailableException;
+    }
+
+    /**
+     * Get the status of all known plugins.
+     *
+     * @return the status per plugin
+     */
+    public List<Map<String, Object>> getStatus() {
+        final List<Map<String, Object>> result = new ArrayList<>();
+        for (String pluginName : new TreeSet<>(states.keySet())) {
+            final PluginState state = states.get(pluginName);
+            final Map<String, Object> status = new LinkedHashMap<>();
+            status.put("plugin", pluginName);
+            status.put("circuit", state.circuitBreaker.getState().name());
+            status.put("consecutiveFailures", state.circuitBreaker.getConsecutiveFailures());
+            status.put("openRemainingMillis", state.circuitBreaker.getRemainingOpenMillis());
+            status.put("activeCalls", state.maxConcurrent - state.bulkhead.availablePermits());
+            status.put("maxConcurrent", state.maxConcurrent);
+            status.put("timeoutMillis", state.timeoutMillis);
+            status.put("calls", state.duration.getCount());
+            status.put("failures", state.circuitBreaker.getTotalFailures());
+            status.put("timeouts", state.timeouts.getCount());
+            status.put("rejected", state.circuitBreaker.getTotalRejections() + state.rejectedBulkhead.getCount());
+            result.add(status);
+        }
+        return result;
+    }
+
+    private PluginState getState(String pluginName) {
+        final String key = pluginName.toLowerCase();
+        PluginState state = states.get(key);
+        if (state == null) {
+            final int timeout = getIntProperty(key, "timeout", 60);
+            final int maxConcurrent = getIntProperty(key, "maxConcurrent", 5);
+            final int failureThreshold = getIntProperty(key, "circuit.failureThreshold", 5);
+            final int openSeconds = getIntProperty(key, "circuit.openSeconds", 60);
+
+            state = new PluginState(key, Math.max(1, timeout) * 1000L, Math.max(1, maxConcurrent),
+                            new CircuitBreaker(failureThreshold, openSeconds * 1000L));
+            final PluginState existing = states.putIfAbsent(key, state);
+            if (existing != null) {
+                state.executor.shutdown();
+                return existing;
+            }
+
+            final CircuitBreaker circuitBreaker = state.circuitBreaker;
+            metricsRegistry.gauge("plugin_circuit_open", new Gauge() {
+                @Override
+                public Number getValue() {
+                    return circuitBreaker.isOpen() ? 1 : 0;
+                }
+            }, "plugin", key);
+            LOG.debug("Plugin {} guarded: timeout={}s, maxConcurrent={}, failureThreshold={}, openSeconds={}",
+                            key, timeout, maxConcurrent, failureThreshold, openSeconds);
+        }
+        return state;
+    }
+
+    private int getIntProperty(String pluginName, String setting, int defaultValue) {
+        final int common = configService.getIntProperty(PROPERTY_PREFIX + setting, defaultValue);
+        return configService.getIntProperty(PROPERTY_PREFIX + pluginName + "." + setting, common);
+    }
+
+    private final class PluginState {
+
+        private final long timeoutMillis;
+        private final int maxConcurrent;
+        private final Semaphore bulkhead;
+        private final ThreadPoolExecutor executor;
+        private final CircuitBreaker circuitBreaker;
+        private final Histogram duration;
+        private final Counter errors;
+        private final Counter timeouts;
+        private final Counter rejectedCircuit;
+        private final Counter rejectedBulkhead;
+
+        PluginState(final String pluginName, long timeoutMillis, int maxConcurrent, CircuitBreaker circuitBreaker) {
+            this.timeoutMillis = timeoutMillis;
+            this.maxConcurrent = maxConcurrent;
+            this.bulkhead = new Semaphore(maxConcurrent);
+            // calls are limited by the bulkhead, so the queue stays short
+            final AtomicInteger counter = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "PluginCall-" + pluginName + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            this.executor.allowCoreThreadTimeOut(true);
+            this.circuitBreaker = circuitBreaker;
+            this.duration = metricsRegistry.timer("plugin_call_duration_millis", "plugin", pluginName);
+            this.errors = metricsRegistry.counter("plugin_call_failures_total", "plugin", pluginName, "reason", "error");
+            this.timeouts = metricsRegistry.counter("plugin_call_failures_total", "plugin", pluginName, "reason", "timeout");
+            this.rejectedCircuit = metricsRegistry.counter("plugin_call_rejected_total", "plugin", pluginName, "reason", "circuit_open");
+            this.rejectedBulkhead = metricsRegistry.counter("plugin_call_rejected_total", "plugin", pluginName, "reason", "bulkhead_full");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.plugin;
+
+import org.yamj.plugin.api.web.TemporaryUnavailableException;
+
+/**
+ * Thrown if a plugin call was not executed or did not finish in time.
+ */
+public class PluginUnavailableException extends TemporaryUnavailableException {
+
+    private static final long serialVersionUID = -2364709785135601943L;
+
+    public enum Reason {
+        /** the circuit of the plugin is open */
+        CIRCUIT_OPEN,
+        /** all permitted concurrent calls of the plugin are in use */
+        BULKHEAD_FULL,
+        /** the call did not finish within the timeout */
+        TIMEOUT;
+    }
+
+    private final String pluginName;
+    private final Reason reason;
+
+    public PluginUnavailableException(String pluginName, Reason reason) {
+        super("Plugin " + pluginName + " not available: " + reason);
+        this.pluginName = pluginName;
+        this.reason = reason;
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public boolean isCircuitOpen() {
+        return Reason.CIRCUIT_OPEN == reason;
+    }
+}
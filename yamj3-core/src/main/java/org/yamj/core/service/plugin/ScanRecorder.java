@@ -0,0 +1,252 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.plugin;
+
+import java.lang.reflect.*;
+import java.util.*;
+import org.yamj.plugin.api.model.IEpisode;
+import org.yamj.plugin.api.model.ISeason;
+import org.yamj.plugin.api.model.ISeries;
+
+/**
+ * Records all modifications a plugin makes on a wrapper, so that each plugin
+ * call works on its own copy of the data and the results can be applied
+ * afterwards, like merging online scans in the configured scanner order.
+ *
+ * Reads are passed through to the wrapper, except values which have been set
+ * by the scanner before; these reflect the recorded modifications. Nested seasons
+ * and episodes are recorded too. A discarded recorder rejects all further calls,
+ * so that an abandoned scan can not touch the wrapper anymore.
+ */
+public final class ScanRecorder {
+
+    private final List<Invocation> invocations = new ArrayList<>();
+    private final Map<Object, Object> proxies = new IdentityHashMap<>();
+    private final Map<Object, Map<String, Object>> values = new IdentityHashMap<>();
+    private boolean closed;
+
+    /**
+     * Create a recording proxy for the given wrapper.
+     *
+     * @param target the wrapper
+     * @param type the interface handed over to the scanner
+     * @return the recording proxy
+     */
+    public synchronized <T> T record(T target, Class<T> type) {
+        Object proxy = proxies.get(target);
+        if (proxy == null) {
+            proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new RecordingHandler(target));
+            proxies.put(target, proxy);
+        }
+        return type.cast(proxy);
+    }
+
+    /**
+     * Apply all recorded modifications to the wrappers.
+     */
+    public synchronized void replay() throws Exception {
+        closed = true;
+        for (Invocation invocation : invocations) {
+            try {
+                invocation.method.invoke(invocation.target, invocation.args);
+            } catch (InvocationTargetException ex) {
+                if (ex.getCause() instanceof Exception) {
+                    throw (Exception) ex.getCause();
+                }
+                throw ex;
+            }
+        }
+        invocations.clear();
+    }
+
+    /**
+     * Drop all recorded modifications and reject further calls.
+     */
+    public synchronized void discard() {
+        closed = true;
+        invocations.clear();
+        values.clear();
+    }
+
+    private synchronized Object handle(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        final String name = method.getName();
+
+        if (method.getDeclaringClass() == Object.class) {
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            return target.toString();
+        }
+
+        if (closed) {
+            throw new IllegalStateException("Scan has been finished or abandoned");
+        }
+
+        if (name.startsWith("set") || name.startsWith("add")) {
+            recordValue(target, name, args);
+            invocations.add(new Invocation(target, method, args));
+            if (method.getReturnType().isInstance(proxy)) {
+                return proxy;
+            }
+            return defaultValue(method.getReturnType());
+        }
+
+        final String key = readKey(name, args);
+        if (key != null) {
+            final Map<String, Object> recorded = values.get(target);
+            if (recorded != null && recorded.containsKey(key)) {
+                return recorded.get(key);
+            }
+        }
+
+        final Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+        return wrapResult(result, method.getReturnType());
+    }
+
+    /**
+     * Remember the values a scanner has set, so that later reads of the scanner return them.
+     */
+    private void recordValue(Object target, String name, Object[] args) {
+        final String key;
+        final Object value;
+        if ("addId".equals(name) && args.length == 2) {
+            key = "Id#" + args[0];
+            value = args[1];
+        } else if ("setDone".equals(name)) {
+            key = "Done";
+            value = Boolean.TRUE;
+        } else if ("setNames".equals(name) && args.length > 0) {
+            key = "Name";
+            value = args[0];
+        } else if (name.startsWith("set") && args != null && args.length == 1) {
+            key = name.substring(3);
+            value = args[0];
+        } else {
+            return;
+        }
+
+        Map<String, Object> recorded = values.get(target);
+        if (recorded == null) {
+            recorded = new HashMap<>();
+            values.put(target, recorded);
+        }
+        recorded.put(key, value);
+    }
+
+    private static String readKey(String name, Object[] args) {
+        final int argCount = args == null ? 0 : args.length;
+        if ("getId".equals(name) && argCount == 1) {
+            return "Id#" + args[0];
+        }
+        if (argCount == 0 && name.startsWith("get")) {
+            return name.substring(3);
+        }
+        if (argCount == 0 && name.startsWith("is")) {
+            return name.substring(2);
+        }
+        return null;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type.isPrimitive() && type != Void.TYPE) {
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+        return null;
+    }
+
+    private Object wrapResult(Object result, Class<?> returnType) {
+        if (result == null) {
+            return null;
+        }
+        if (returnType == ISeries.class) {
+            return record((ISeries) result, ISeries.class);
+        }
+        if (returnType == ISeason.class) {
+            return record((ISeason) result, ISeason.class);
+        }
+        if (returnType == IEpisode.class) {
+            return record((IEpisode) result, IEpisode.class);
+        }
+        if (result instanceof Collection) {
+            List<Object> wrapped = new ArrayList<>();
+            for (Object element : (Collection<?>) result) {
+                if (element instanceof ISeason) {
+                    wrapped.add(record((ISeason) element, ISeason.class));
+                } else if (element instanceof IEpisode) {
+                    wrapped.add(record((IEpisode) element, IEpisode.class));
+                } else {
+                    wrapped.add(element);
+                }
+            }
+            return wrapped;
+        }
+        return result;
+    }
+
+    private final class RecordingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        RecordingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return handle(target, proxy, method, args);
+        }
+    }
+
+    private static final class Invocation {
+
+        private final Object target;
+        private final Method method;
+        private final Object[] args;
+
+        Invocation(Object target, Method method, Object[] args) {
+            this.target = target;
+            this.method = method;
+            if (args == null) {
+                this.args = null;
+            } else {
+                // copy collections cause the scanner may reuse them
+                this.args = args.clone();
+                for (int i = 0; i < this.args.length; i++) {
+                    if (this.args[i] instanceof Set) {
+                        this.args[i] = new LinkedHashSet<>((Set<?>) this.args[i]);
+                    } else if (this.args[i] instanceof Collection) {
+                        this.args[i] = new ArrayList<>((Collection<?>) this.args[i]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
+import org.yamj.core.api.model.ApiStatus;
 import org.yamj.core.database.model.ExecutionTask;
 import org.yamj.core.database.model.type.IntervalType;
 import org.yamj.core.database.service.ExecutionTaskStorageService;
@@ -54,6 +55,33 @@ public class ExecutionTaskService {
         registeredTasks.put(task.getTaskName().toLowerCase(), task);
     }
 
+    /**
+     * Schedule a registered task for a single execution as soon as possible.
+     *
+     * @param taskName
+     * @return the API status
+     */
+    public ApiStatus scheduleOnce(String taskName) {
+        final String name = taskName.toLowerCase();
+        if (!registeredTasks.containsKey(name)) {
+            return ApiStatus.notFound("Task '" + taskName + "' not registered");
+        }
+
+        final String onceName = name + "-once";
+        if (this.executionTaskStorageService.getExecutionTask(onceName) != null) {
+            return ApiStatus.conflict("Task '" + taskName + "' already scheduled");
+        }
+
+        ExecutionTask task = new ExecutionTask();
+        task.setName(onceName);
+        task.setTaskName(name);
+        task.setIntervalType(IntervalType.ONCE);
+        task.setDelay(-1);
+        task.setNextExecution(new Date());
+        this.executionTaskStorageService.saveEntity(task);
+        return ApiStatus.ok("Task '" + taskName + "' scheduled");
+    }
+
     public List<ExecutionTask> getExecutableTasks() {
         return this.executionTaskStorageService.getExecutableTasks();
     }
@@ -0,0 +1,135 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.tasks;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map.Entry;
+import javax.annotation.PostConstruct;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.yamj.common.tools.PropertyTools;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.service.OverrideSourceStorageService;
+import org.yamj.core.tools.OverrideTools;
+
+/**
+ * Task for reloading the override priorities and re-resolving the overridden
+ * values from the stored source values, so that changed priorities or disabled
+ * sources take effect without rescanning.
+ *
+ * All objects of a type are only processed if its priorities changed since the last
+ * run or the option "full" is given; otherwise just the objects with source values
+ * stored since the last run are processed.
+ */
+@Component
+public class OverrideResolveTask implements ITask {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OverrideResolveTask.class);
+    private static final String PRIORITY_PREFIX = "priority.";
+    private static final MetaDataType[] TYPES = {MetaDataType.MOVIE, MetaDataType.SERIES, MetaDataType.SEASON, MetaDataType.EPISODE, MetaDataType.PERSON};
+    private static final int BATCH_SIZE = 100;
+    private static final String LAST_RUN = "yamj3.override.resolve.lastRun";
+    private static final String PRIORITIES_HASH = "yamj3.override.resolve.priorities.";
+    
+    @Autowired
+    private ExecutionTaskService executionTaskService;
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private OverrideSourceStorageService overrideSourceStorageService;
+    
+    @Override
+    public String getTaskName() {
+        return "overrideresolve";
+    }
+
+    @PostConstruct
+    public void init() {
+        executionTaskService.registerTask(this);
+    }
+
+    @Override
+    public void execute(String options) {
+        LOG.debug("Execute override resolve task");
+        final long startTime = System.currentTimeMillis();
+
+        reloadPriorities();
+
+        final Date runDate = new Date(startTime);
+        final Date lastRun = "full".equalsIgnoreCase(options) ? null : configService.getDateProperty(LAST_RUN);
+        
+        for (MetaDataType type : TYPES) {
+            final String prioritiesHash = DigestUtils.sha1Hex(OverrideTools.describePriorities(type));
+            final String hashKey = PRIORITIES_HASH + type.name().toLowerCase();
+            final boolean full = lastRun == null || !prioritiesHash.equals(configService.getProperty(hashKey));
+            
+            int changed = 0;
+            long lastId = 0;
+            List<Long> ids;
+            do {
+                if (full) {
+                    ids = overrideSourceStorageService.getObjectIds(type, lastId, BATCH_SIZE);
+                } else {
+                    ids = overrideSourceStorageService.getChangedObjectIds(type, lastRun, lastId, BATCH_SIZE);
+                }
+                for (Long id : ids) {
+                    try {
+                        if (overrideSourceStorageService.resolveOverrides(type, id)) {
+                            changed++;
+                        }
+                    } catch (Exception ex) {
+                        LOG.warn("Failed to resolve overrides of {}-{}: {}", type, id, ex.getMessage());
+                    }
+                    lastId = id;
+                }
+            } while (ids.size() == BATCH_SIZE);
+            
+            if (changed > 0) {
+                LOG.info("Re-resolved overrides of {} {} objects", changed, type.name().toLowerCase());
+            }
+            if (full) {
+                configService.setProperty(hashKey, prioritiesHash);
+            }
+        }
+        configService.setProperty(LAST_RUN, runDate);
+
+        LOG.debug("Finished override resolve task after {} ms", System.currentTimeMillis()-startTime);
+    }
+
+    /**
+     * Take over the priorities set in the configuration and reload them.
+     */
+    public void reloadPriorities() {
+        for (Entry<String, String> entry : configService.getCachedProperties().entrySet()) {
+            if (entry.getKey().startsWith(PRIORITY_PREFIX)) {
+                PropertyTools.setProperty(entry.getKey(), entry.getValue());
+            }
+        }
+        OverrideTools.reloadPriorities();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.tasks;
+
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.yamj.core.database.service.MetadataStorageService;
+import org.yamj.core.scheduling.MetadataScanScheduler;
+
+/**
+ * Task for checking the scanning queue dates of videos, series and persons
+ * against their status; inconsistent entries will be repaired. 
+ */
+@Component
+public class QueueSanityTask implements ITask {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueueSanityTask.class);
+    
+    @Autowired
+    private ExecutionTaskService executionTaskService;
+    @Autowired
+    private MetadataStorageService metadataStorageService;
+    @Autowired
+    private MetadataScanScheduler metadataScanScheduler;
+    
+    @Override
+    public String getTaskName() {
+        return "queuesanity";
+    }
+
+    @PostConstruct
+    public void init() {
+        executionTaskService.registerTask(this);
+    }
+
+    @Override
+    public void execute(String options) {
+        LOG.debug("Execute queue sanity task");
+        final long startTime = System.currentTimeMillis();
+
+        int repaired = metadataStorageService.repairScanQueue();
+        if (repaired > 0) {
+            LOG.info("Repaired scanning queue of {} objects", repaired);
+            metadataScanScheduler.triggerScanVideo();
+            metadataScanScheduler.triggerScanPeople();
+            metadataScanScheduler.triggerScanFilmography();
+        }
+
+        LOG.debug("Finished queue sanity task after {} ms", System.currentTimeMillis()-startTime);
+    }
+}
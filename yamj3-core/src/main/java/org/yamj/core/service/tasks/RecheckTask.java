@@ -31,6 +31,7 @@ import org.springframework.stereotype.Component;
 import org.yamj.core.config.ConfigService;
 import org.yamj.core.database.service.MetadataStorageService;
 import org.yamj.core.scheduling.MetadataScanScheduler;
+import org.yamj.core.scheduling.RefreshScheduler;
 
 /**
  * Task for checking if video, series or person is older than x days
@@ -65,7 +66,7 @@ public class RecheckTask implements ITask {
         LOG.debug("Execute recheck task");
         final long startTime = System.currentTimeMillis();
 
-        int limit = this.configService.getIntProperty("yamj3.recheck.movie.maxLimit", 50);
+        int limit = getLimit("movie", 50);
         if (limit > 0) {
             int recheck = this.configService.getIntProperty("yamj3.recheck.movie.maxDays", 60);
             if (metadataStorageService.recheckMovie(new DateTime().minusDays(recheck).toDate(), limit)) {
@@ -73,7 +74,7 @@ public class RecheckTask implements ITask {
             }
         }
 
-        limit = this.configService.getIntProperty("yamj3.recheck.tvshow.maxLimit", 20);
+        limit = getLimit("tvshow", 20);
         if (limit > 0) {
             int recheck = this.configService.getIntProperty("yamj3.recheck.tvshow.maxDays", 60);
             if (metadataStorageService.recheckTvShow(new DateTime().minusDays(recheck).toDate(), limit)) {
@@ -81,7 +82,7 @@ public class RecheckTask implements ITask {
             }
         }
 
-        limit = this.configService.getIntProperty("yamj3.recheck.person.maxLimit", 100);
+        limit = getLimit("person", 100);
         if (limit > 0) {
             int recheck = this.configService.getIntProperty("yamj3.recheck.person.maxDays", 90);
             if (metadataStorageService.recheckPerson(new DateTime().minusDays(recheck).toDate(), limit)) {
@@ -91,4 +92,12 @@ public class RecheckTask implements ITask {
 
         LOG.debug("Finished recheck task after {} ms", System.currentTimeMillis()-startTime);
     }
+
+    private int getLimit(String key, int defaultLimit) {
+        if (RefreshScheduler.getItemsPerHour(configService, key) > 0) {
+            // handled by the continuous refresh
+            return 0;
+        }
+        return this.configService.getIntProperty("yamj3.recheck." + key + ".maxLimit", defaultLimit);
+    }
 }
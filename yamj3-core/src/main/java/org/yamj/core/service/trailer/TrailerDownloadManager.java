@@ -0,0 +1,283 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.trailer;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.yamj.api.common.http.PoolingHttpClient;
+import org.yamj.core.api.model.dto.ApiTrailerDownloadDTO;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.service.file.FileTools;
+import org.yamj.core.tools.BandwidthLimiter;
+import org.yamj.plugin.api.web.TemporaryUnavailableException;
+
+/**
+ * Manager for trailer downloads.
+ * 
+ * Downloads are written into a temporary file which will be renamed to the target
+ * file after the download has been finished. Interrupted downloads are resumed by
+ * HTTP range requests, bandwidth is limited globally and per host and the number of
+ * concurrent downloads is bounded independently of the scheduler threads.
+ */
+@Service("trailerDownloadManager")
+public class TrailerDownloadManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TrailerDownloadManager.class);
+    private static final String TEMP_EXTENSION = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final ConcurrentMap<Long, DownloadProgress> activeDownloads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, BandwidthLimiter> hostLimiters = new ConcurrentHashMap<>();
+    private final BandwidthLimiter globalLimiter = new BandwidthLimiter(0);
+    private Semaphore downloadSlots;
+    
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private PoolingHttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        LOG.trace("Initialize trailer download manager");
+        
+        int maxDownloads = Math.max(1, configService.getIntProperty("yamj3.trailer.download.maxConcurrent", 1));
+        this.downloadSlots = new Semaphore(maxDownloads, true);
+        LOG.info("Trailer downloads are limited to {} concurrent downloads", maxDownloads);
+    }
+
+    /**
+     * Download the given URL into the target file.
+     * 
+     * @param trailerId the id of the trailer
+     * @param url the URL to download
+     * @param target the target file
+     * @return true, if the download succeeded; otherwise false
+     * @throws IOException if an I/O error occurs
+     * @throws TemporaryUnavailableException if no download slot is free or the download has been interrupted
+     */
+    public boolean download(Long trailerId, URL url, File target) throws IOException {
+        final int slotTimeout = configService.getIntProperty("yamj3.trailer.download.slotTimeoutSeconds", 30);
+        try {
+            if (!downloadSlots.tryAcquire(slotTimeout, TimeUnit.SECONDS)) {
+                throw new TemporaryUnavailableException("No free trailer download slot for " + url);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new TemporaryUnavailableException("Interrupted while waiting for download slot: " + url, ex);
+        }
+        
+        final DownloadProgress progress = new DownloadProgress(trailerId, url);
+        activeDownloads.put(trailerId, progress);
+        try {
+            return doDownload(url, target, progress);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new TemporaryUnavailableException("Interrupted trailer download " + url, ex);
+        } finally {
+            activeDownloads.remove(trailerId);
+            downloadSlots.release();
+        }
+    }
+
+    private boolean doDownload(URL url, File target, DownloadProgress progress) throws IOException, InterruptedException {
+        final File tempFile = new File(target.getPath() + TEMP_EXTENSION);
+        final BandwidthLimiter hostLimiter = getHostLimiter(url.getHost());
+        globalLimiter.setBytesPerSecond(configService.getLongProperty("yamj3.trailer.download.maxBytesPerSecond", 0));
+
+        HttpGet httpGet;
+        try {
+            httpGet = new HttpGet(url.toURI());
+        } catch (URISyntaxException ex) {
+            throw new IOException("Invalid trailer URL: " + url, ex);
+        }
+        
+        long offset = tempFile.exists() ? tempFile.length() : 0;
+        if (offset > 0) {
+            LOG.debug("Resume download of '{}' at byte {}", url, offset);
+            httpGet.setHeader("Range", "bytes=" + offset + "-");
+        }
+
+        HttpResponse response = httpClient.execute(httpGet);
+        final HttpEntity entity = response.getEntity();
+        final int statusCode = response.getStatusLine().getStatusCode();
+        
+        if (statusCode == HttpStatus.SC_PARTIAL_CONTENT && offset > 0) {
+            progress.setResumedFrom(offset);
+        } else if (statusCode == HttpStatus.SC_OK) {
+            // server ignored range request, so start from scratch
+            offset = 0;
+        } else {
+            EntityUtils.consumeQuietly(entity);
+            if (statusCode == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // temporary file does not match the remote resource anymore
+                LOG.debug("Range not satisfiable for '{}'; delete temporary file", url);
+                tempFile.delete();
+            } else {
+                LOG.error("Failed to download trailer '{}'; status code {}", url, statusCode);
+            }
+            return false;
+        }
+
+        if (entity == null) {
+            LOG.error("Failed to get content from source url: {}", url);
+            return false;
+        }
+        
+        progress.setTotalBytes(getTotalBytes(response, entity, offset));
+        progress.addBytes(offset);
+        
+        try (InputStream is = entity.getContent();
+             OutputStream os = new FileOutputStream(tempFile, offset > 0))
+        {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                globalLimiter.acquire(read);
+                hostLimiter.acquire(read);
+                os.write(buffer, 0, read);
+                progress.addBytes(read);
+            }
+        } finally {
+            EntityUtils.consumeQuietly(entity);
+        }
+
+        if (progress.getTotalBytes() > 0 && tempFile.length() < progress.getTotalBytes()) {
+            LOG.warn("Incomplete trailer download '{}': {} of {} bytes", url, tempFile.length(), progress.getTotalBytes());
+            return false;
+        }
+        
+        return FileTools.moveFileAtomic(tempFile, target);
+    }
+
+    private static long getTotalBytes(HttpResponse response, HttpEntity entity, long offset) {
+        final Header contentRange = response.getFirstHeader("Content-Range");
+        if (contentRange != null) {
+            // format: bytes <start>-<end>/<total>
+            final String value = contentRange.getValue();
+            final int idx = value.lastIndexOf('/');
+            if (idx > 0) {
+                try {
+                    return Long.parseLong(value.substring(idx + 1).trim());
+                } catch (NumberFormatException ex) { //NOSONAR
+                    // unknown total length
+                }
+            }
+        }
+        
+        final long length = entity.getContentLength();
+        return length < 0 ? -1 : offset + length;
+    }
+    
+    private BandwidthLimiter getHostLimiter(String host) {
+        final long limit = configService.getLongProperty("yamj3.trailer.download.maxBytesPerSecondPerHost", 0);
+        final String key = host == null ? "" : host.toLowerCase();
+        
+        BandwidthLimiter limiter = hostLimiters.get(key);
+        if (limiter == null) {
+            BandwidthLimiter newLimiter = new BandwidthLimiter(limit);
+            limiter = hostLimiters.putIfAbsent(key, newLimiter);
+            if (limiter == null) {
+                limiter = newLimiter;
+            }
+        }
+        limiter.setBytesPerSecond(limit);
+        return limiter;
+    }
+
+    /**
+     * Get the progress of the active downloads.
+     * 
+     * @return list of active downloads
+     */
+    public List<ApiTrailerDownloadDTO> getActiveDownloads() {
+        List<ApiTrailerDownloadDTO> result = new ArrayList<>(activeDownloads.size());
+        for (DownloadProgress progress : activeDownloads.values()) {
+            result.add(progress.toDTO());
+        }
+        return result;
+    }
+
+    private static final class DownloadProgress {
+
+        private final Long trailerId;
+        private final URL url;
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicLong bytesDownloaded = new AtomicLong();
+        private volatile long resumedFrom;
+        private volatile long totalBytes = -1;
+        
+        public DownloadProgress(Long trailerId, URL url) {
+            this.trailerId = trailerId;
+            this.url = url;
+        }
+
+        public void addBytes(long bytes) {
+            bytesDownloaded.addAndGet(bytes);
+        }
+        
+        public void setResumedFrom(long resumedFrom) {
+            this.resumedFrom = resumedFrom;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public void setTotalBytes(long totalBytes) {
+            this.totalBytes = totalBytes;
+        }
+
+        public ApiTrailerDownloadDTO toDTO() {
+            ApiTrailerDownloadDTO dto = new ApiTrailerDownloadDTO(trailerId, url.toString(), url.getHost());
+            final long downloaded = bytesDownloaded.get();
+            dto.setBytesDownloaded(downloaded);
+            dto.setResumedFrom(resumedFrom);
+            dto.setTotalBytes(totalBytes);
+            dto.setStartTime(new Date(startTime));
+            
+            final long seconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - startTime);
+            if (seconds > 0) {
+                dto.setBytesPerSecond((downloaded - resumedFrom) / seconds);
+            }
+            return dto;
+        }
+    }
+}
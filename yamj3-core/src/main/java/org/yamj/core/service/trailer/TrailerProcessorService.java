@@ -41,6 +41,7 @@ import org.yamj.core.service.file.StorageType;
 import org.yamj.plugin.api.model.type.ContainerType;
 import org.yamj.plugin.api.trailer.TrailerDownloadBuilder;
 import org.yamj.plugin.api.trailer.TrailerDownloadDTO;
+import org.yamj.plugin.api.web.TemporaryUnavailableException;
 
 @Service("trailerProcessorService")
 public class TrailerProcessorService implements IQueueProcessService {
@@ -53,6 +54,8 @@ public class TrailerProcessorService implements IQueueProcessService {
     private TrailerStorageService trailerStorageService;
     @Autowired
     private FileStorageService fileStorageService;
+    @Autowired
+    private TrailerDownloadManager trailerDownloadManager;
     
     public void registerTrailerDownloadBuilder(TrailerDownloadBuilder downloadBuilder) {
         LOG.trace("Registered trailer download builder: {}", downloadBuilder.getScannerName().toLowerCase());
@@ -105,10 +108,15 @@ public class TrailerProcessorService implements IQueueProcessService {
 
         boolean stored = false;
         try {
-            stored = fileStorageService.store(StorageType.TRAILER, cacheFilename, dto.getUrl());
+            File cacheFile = fileStorageService.getFile(StorageType.TRAILER, cacheFilename);
+            stored = trailerDownloadManager.download(trailer.getId(), dto.getUrl(), cacheFile);
             if (!stored) {
                 LOG.error("Failed to store trailer in file cache: {}", cacheFilename);
             }
+        } catch (TemporaryUnavailableException e) {
+            // NOTE: status will not be changed, so the download will be resumed later on
+            LOG.info("Trailer download postponed: {}", e.getMessage());
+            return;
         } catch (Exception e) {
             LOG.error("Failed to download trailer: " + dto.getUrl(), e);
         }
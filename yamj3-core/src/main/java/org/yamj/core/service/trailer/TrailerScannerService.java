@@ -43,6 +43,7 @@ import org.yamj.core.database.service.TrailerStorageService;
 import org.yamj.core.scheduling.IQueueProcessService;
 import org.yamj.core.service.metadata.WrapperMovie;
 import org.yamj.core.service.metadata.WrapperSeries;
+import org.yamj.core.service.plugin.PluginInvoker;
 import org.yamj.core.service.various.IdentifierService;
 import org.yamj.plugin.api.trailer.*;
 
@@ -113,6 +114,9 @@ public class TrailerScannerService implements IQueueProcessService {
     public void processErrorOccurred(QueueDTO queueElement, Exception error) {
         if (queueElement.getId() == null) {
             // nothing to do
+        } else if (PluginInvoker.isUnavailable(error)) {
+            // NOTE: status will not be changed, so the trailers will be scanned later
+            LOG.info("Trailer scan deferred for {}: {}", queueElement.getId(), error.getMessage());
         } else if (queueElement.isMetadataType(MOVIE)) {
             LOG.error("Failed trailer scan for movie "+queueElement.getId(), error);
             trailerStorageService.errorTrailerVideoData(queueElement.getId());
@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
+import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +34,8 @@ import org.springframework.stereotype.Service;
 import org.yamj.core.config.ConfigService;
 import org.yamj.core.database.model.dto.DeletionDTO;
 import org.yamj.core.database.service.CommonStorageService;
+import org.yamj.core.database.service.ReferenceRegistry;
+import org.yamj.core.database.service.ReferenceRegistry.ReferenceType;
 import org.yamj.core.scheduling.ArtworkScanScheduler;
 import org.yamj.core.service.file.FileStorageService;
 
@@ -51,6 +54,8 @@ public class DeletionService {
     @Autowired
     private ConfigService configService;
     @Autowired
+    private ReferenceRegistry referenceRegistry;
+    @Autowired
     private ArtworkScanScheduler artworkScanScheduler;
     
     public void executeAllDeletions() {
@@ -128,6 +133,8 @@ public class DeletionService {
                 for (Long id : ids) {
                     try {
                         filesToDelete.addAll(this.commonStorageService.deletePerson(id));
+                        // deleted person must be re-created on demand
+                        this.referenceRegistry.evict(ReferenceType.PERSON, id);
                     } catch (Exception ex) {
                         LOG.error("Failed to delete person ID: "+id, ex);
                     }
@@ -141,6 +148,7 @@ public class DeletionService {
         if (this.configService.getBooleanProperty("yamj3.delete.orphan.genre", true)) {
             try {
                 this.commonStorageService.deleteOrphanGenres();
+                this.referenceRegistry.evict(ReferenceType.GENRE);
             } catch (Exception ex) {
                 LOG.warn("Failed to delete orphan genres", ex);
             }
@@ -150,6 +158,7 @@ public class DeletionService {
         if (this.configService.getBooleanProperty("yamj3.delete.orphan.studio", true)) {
             try {
                 this.commonStorageService.deleteOrphanStudios();
+                this.referenceRegistry.evict(ReferenceType.STUDIO);
             } catch (Exception ex) {
                 LOG.warn("Failed to delete orphan studios", ex);
             }
@@ -159,6 +168,7 @@ public class DeletionService {
         if (this.configService.getBooleanProperty("yamj3.delete.orphan.country", true)) {
             try {
                 this.commonStorageService.deleteOrphanCountries();
+                this.referenceRegistry.evict(ReferenceType.COUNTRY);
             } catch (Exception ex) {
                 LOG.warn("Failed to delete orphan countries", ex);
             }
@@ -168,6 +178,7 @@ public class DeletionService {
         if (this.configService.getBooleanProperty("yamj3.delete.orphan.certification", true)) {
             try {
                 this.commonStorageService.deleteOrphanCertifications();
+                this.referenceRegistry.evict(ReferenceType.CERTIFICATION);
             } catch (Exception ex) {
                 LOG.warn("Failed to delete orphan certifications", ex);
             }
@@ -180,6 +191,8 @@ public class DeletionService {
                 for (Long id : ids) {
                     try {
                         filesToDelete.addAll(this.commonStorageService.deleteBoxedSet(id));
+                        // deleted boxed set must be re-created on demand
+                        this.referenceRegistry.evict(ReferenceType.BOXED_SET, id);
                     } catch (Exception ex) {
                         LOG.error("Failed to delete boxed set ID: "+id, ex);
                     }
@@ -189,6 +202,14 @@ public class DeletionService {
             }
         }
 
+        // delete expired tombstones of the change feed
+        try {
+            final int retentionDays = this.configService.getIntProperty("yamj3.changes.tombstone.retentionDays", 90);
+            this.commonStorageService.deleteExpiredTombstones(DateTime.now().minusDays(retentionDays).toDate());
+        } catch (Exception ex) {
+            LOG.warn("Failed to delete expired tombstones", ex);
+        }
+
         // delete storage files
         FileStorageService.deleteStorageFiles(filesToDelete);
     }
@@ -23,16 +23,19 @@
 package org.yamj.core.service.various;
 
 import static org.apache.commons.lang3.text.WordUtils.capitalize;
+import static org.yamj.core.CachingNames.SERVICE_IDENTIFIER;
 import static org.yamj.core.tools.YamjTools.splitFullName;
 import static org.yamj.plugin.api.metadata.MetadataTools.isVoiceRole;
 
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 import org.yamj.core.database.model.dto.CreditDTO;
@@ -46,21 +49,27 @@ import ro.fortsoft.pf4j.PluginManager;
 public class IdentifierService {
 
     private static final Logger LOG = LoggerFactory.getLogger(IdentifierService.class);
-    private static final Pattern CLEAN_STRING_PATTERN = Pattern.compile("[^a-zA-Z0-9\\-\\(\\)]");
     private static final char[] CLEAN_DELIMITERS = new char[]{'.', ' ', '_', '-'};
 
     @Autowired
     private PluginManager pluginManager;
+    @Autowired
+    private CacheManager cacheManager;
     
     @Value("${yamj3.transliterate:false}")
     private boolean transliterationEnabled;
 
     private Transliterator transliterator;
+    private Cache identifierCache;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
     
     @PostConstruct
     public void init() {
         LOG.trace("Initialize identifier service");
 
+        identifierCache = cacheManager.getCache(SERVICE_IDENTIFIER);
+
         if (transliterationEnabled) {
             for (Transliterator transliter : pluginManager.getExtensions(Transliterator.class)) {
                 if (this.transliterator == null) {
@@ -85,26 +94,105 @@ public class IdentifierService {
         if (StringUtils.isBlank(input)) {
             return null;
         }
+        return getCleanedName(input).getIdentifier();
+    }
+
+    /**
+     * Get the number of names served from the cache.
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Get the number of names which had to be cleaned.
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private CleanedName getCleanedName(final String input) {
+        CleanedName cleanedName = identifierCache.get(input, CleanedName.class);
+        if (cleanedName != null) {
+            cacheHits.incrementAndGet();
+            return cleanedName;
+        }
         
+        cacheMisses.incrementAndGet();
+        cleanedName = new CleanedName(input, cleanName(input));
+        // concurrent puts for the same name store equal values
+        identifierCache.put(input, cleanedName);
+        return cleanedName;
+    }
+
+    private String cleanName(final String input) {
         String result = input;
         if (this.transliterationEnabled) {
             result = transliterator.transliterate(result);
         }
         
         // format ß to ss
-        result = result.replaceAll("ß", "ss");
+        result = StringUtils.replace(result, "ß", "ss");
         // remove all accents from letters
         result = StringUtils.stripAccents(result);
         // capitalize first letter
         result = capitalize(result, CLEAN_DELIMITERS);
-        // remove punctuation and symbols
-        result = result.replaceAll("[\\p{Po}|\\p{S}]", "");
-        // just leave characters and digits
-        result = CLEAN_STRING_PATTERN.matcher(result).replaceAll(" ").trim();
-        // remove double whitespaces
-        result = result.replaceAll("( )+", " ").trim();
+        // remove punctuation and symbols and just leave characters and digits
+        return cleanCharacters(result);
+    }
+    
+    /**
+     * Removes punctuation and symbols and replaces all other characters except
+     * ASCII letters, digits, '-', '(' and ')' with a whitespace; leading, trailing
+     * and double whitespaces are removed.
+     *
+     * @param input
+     * @return the cleaned string
+     */
+    static String cleanCharacters(final String input) {
+        final int length = input.length();
+        final StringBuilder sb = new StringBuilder(length);
+        boolean pendingSpace = false;
         
-        return result;
+        int idx = 0;
+        while (idx < length) {
+            final int codePoint = input.codePointAt(idx);
+            idx += Character.charCount(codePoint);
+            
+            if (isPunctuationOrSymbol(codePoint)) {
+                continue;
+            }
+            if (isCleanCharacter(codePoint)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append((char) codePoint);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isPunctuationOrSymbol(final int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.OTHER_PUNCTUATION:
+            case Character.MATH_SYMBOL:
+            case Character.CURRENCY_SYMBOL:
+            case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isCleanCharacter(final int codePoint) {
+        return (codePoint >= 'a' && codePoint <= 'z')
+            || (codePoint >= 'A' && codePoint <= 'Z')
+            || (codePoint >= '0' && codePoint <= '9')
+            || codePoint == '-' || codePoint == '(' || codePoint == ')';
     }
     
     public CreditDTO createCredit(final String source, final JobType jobType, final String name) {
@@ -117,14 +205,15 @@ public class IdentifierService {
             return null;
         }
         
-        final String identifier = cleanIdentifier(trimmedName);
+        final CleanedName cleanedName = getCleanedName(trimmedName);
+        final String identifier = cleanedName.getIdentifier();
         if (StringUtils.isBlank(identifier)) {
             LOG.warn("Empty identifier for {} {} '{}'", source, jobType.name().toLowerCase(), trimmedName);
             return null;
         }
 
         CreditDTO credit = new CreditDTO(source, sourceId, jobType, identifier, trimmedName);
-        final PersonName personName = splitFullName(trimmedName);
+        final PersonName personName = cleanedName.getPersonName();
         credit.setFirstName(personName.getFirstName());
         credit.setLastName(personName.getLastName());
         return credit;
@@ -142,4 +231,32 @@ public class IdentifierService {
         }
         return credit;
     }
+
+    /**
+     * Cached cleaning result of a raw name; the split person name is only created on demand.
+     */
+    private static final class CleanedName {
+
+        private final String name;
+        private final String identifier;
+        private volatile PersonName personName;
+
+        public CleanedName(String name, String identifier) {
+            this.name = name;
+            this.identifier = identifier;
+        }
+
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public PersonName getPersonName() {
+            PersonName result = personName;
+            if (result == null) {
+                result = splitFullName(name);
+                personName = result;
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,336 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.various;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.yamj.common.dto.ImportDTO;
+import org.yamj.common.tools.PropertyTools;
+import org.yamj.common.type.StatusType;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.model.Library;
+import org.yamj.core.scheduling.ImportScheduler;
+import org.yamj.core.service.file.FileTools;
+import org.yamj.core.service.metrics.Gauge;
+import org.yamj.core.service.metrics.MetricsRegistry;
+
+/**
+ * Inbox for scanned directories delivered by the file scanner.
+ *
+ * A delivered directory is spooled to disk and acknowledged at once; bounded workers
+ * store the spooled directories into the staging tables. The SHA-1 of the serialized
+ * directory is used as idempotency key, so resending a directory while it is pending
+ * does not import it twice. Spooled directories survive a restart and will be imported then.
+ *
+ * Versions of the same directory are imported one after another in delivery order,
+ * so an older version never overwrites a newer one.
+ */
+@Service("importInboxService")
+public class ImportInboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportInboxService.class);
+    private static final String SUFFIX_PENDING = ".import";
+    private static final String SUFFIX_FAILED = ".failed";
+    private static final int MAX_FINISHED_STATES = 10000;
+
+    private final ConcurrentMap<String, StatusType> states = new ConcurrentHashMap<>();
+    private final Set<String> finishedKeys = new LinkedHashSet<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<String, Queue<String>> pathQueues = new HashMap<>();
+    private File inboxDirectory;
+    private ThreadPoolExecutor executor;
+
+    @Autowired
+    private StagingService stagingService;
+    @Autowired
+    private ImportScheduler importScheduler;
+    @Autowired
+    private ConfigService configService;
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @PostConstruct
+    public void init() {
+        // the inbox must not be below the publicly served resources
+        String inbox = PropertyTools.getProperty("yamj3.import.inbox.directory", "inbox/");
+        if (StringUtils.isBlank(FilenameUtils.getPrefix(inbox))) {
+            init(new File(FilenameUtils.concat(System.getProperty("yamj3.home", "."), inbox)));
+        } else {
+            init(new File(inbox));
+        }
+    }
+
+    protected void init(File directory) {
+        this.inboxDirectory = directory;
+        if (!inboxDirectory.exists() && !inboxDirectory.mkdirs()) {
+            LOG.error("Failed to create import inbox '{}'", inboxDirectory.getAbsolutePath());
+        }
+        LOG.info("Import inbox set to '{}'", inboxDirectory.getAbsolutePath());
+
+        final int threads = Math.max(1, configService.getIntProperty("yamj3.import.inbox.maxThreads", 1));
+        final AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ImportInbox-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        metricsRegistry.gauge("import_inbox_elements", new Gauge() {
+            @Override
+            public Number getValue() {
+                return pending.get();
+            }
+        });
+
+        recover();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            // spooled directories not yet imported will be recovered on next start
+            executor.shutdownNow();
+        }
+    }
+
+    private void recover() {
+        File[] files = inboxDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        // import in delivery order
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File f1, File f2) {
+                return Long.compare(f1.lastModified(), f2.lastModified());
+            }
+        });
+
+        for (File file : files) {
+            final String name = file.getName();
+            if (name.endsWith(SUFFIX_PENDING)) {
+                final String key = name.substring(0, name.length() - SUFFIX_PENDING.length());
+                submit(key, readPath(file, key));
+            } else if (name.endsWith(SUFFIX_FAILED)) {
+                finished(name.substring(0, name.length() - SUFFIX_FAILED.length()), StatusType.ERROR);
+            } else if (!file.delete()) {
+                LOG.debug("Failed to delete stale inbox file '{}'", name);
+            }
+        }
+
+        if (pending.get() > 0) {
+            LOG.info("Recovered {} directories from import inbox", pending.get());
+        }
+    }
+
+    /**
+     * Spool a scanned directory for import.
+     *
+     * @param importDTO the scanned directory
+     * @return the idempotency key to poll the import status with
+     * @throws IOException if the directory could not be spooled
+     * @throws IllegalStateException if the inbox is full
+     */
+    public String enqueue(ImportDTO importDTO) throws IOException {
+        final byte[] data = SerializationUtils.serialize(importDTO);
+        final String key = DigestUtils.sha1Hex(data);
+
+        // only pending directories are skipped; a finished one may have changed in between
+        if (states.get(key) == StatusType.NEW) {
+            LOG.debug("Directory already in import inbox: {} ({})", importDTO.getStageDirectory().getPath(), key);
+            return key;
+        }
+
+        final int maxSize = configService.getIntProperty("yamj3.import.inbox.maxSize", 2000);
+        if (maxSize > 0 && pending.get() >= maxSize) {
+            throw new IllegalStateException("Import inbox is full");
+        }
+
+        final File target = new File(inboxDirectory, key + SUFFIX_PENDING);
+        final File temp = new File(inboxDirectory, key + "." + Thread.currentThread().getId() + ".tmp");
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.write(data);
+        } catch (IOException ex) {
+            deleteFile(temp);
+            throw ex;
+        }
+        if (!FileTools.moveFileAtomic(temp, target)) {
+            deleteFile(temp);
+            throw new IOException("Failed to spool directory into import inbox: " + importDTO.getStageDirectory().getPath());
+        }
+        deleteFile(new File(inboxDirectory, key + SUFFIX_FAILED));
+
+        submit(key, importDTO.getStageDirectory().getPath());
+        LOG.debug("Spooled directory into import inbox: {} ({})", importDTO.getStageDirectory().getPath(), key);
+        return key;
+    }
+
+    private void submit(final String key, final String path) {
+        if (states.put(key, StatusType.NEW) == StatusType.NEW) {
+            // already pending
+            return;
+        }
+        pending.incrementAndGet();
+
+        synchronized (pathQueues) {
+            Queue<String> queue = pathQueues.get(path);
+            if (queue != null) {
+                // the worker of the directory imports it after the previous versions
+                queue.add(key);
+                return;
+            }
+            queue = new LinkedList<>();
+            queue.add(key);
+            pathQueues.put(path, queue);
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                processPath(path);
+            }
+        });
+    }
+
+    private void processPath(String path) {
+        while (true) {
+            final String key;
+            synchronized (pathQueues) {
+                key = pathQueues.get(path).poll();
+                if (key == null) {
+                    pathQueues.remove(path);
+                    return;
+                }
+            }
+
+            StatusType result = StatusType.ERROR;
+            try {
+                result = process(key);
+            } finally {
+                pending.decrementAndGet();
+                finished(key, result);
+            }
+        }
+    }
+
+    private static ImportDTO readImport(File file) throws IOException {
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return (ImportDTO) SerializationUtils.deserialize(in);
+        }
+    }
+
+    private static String readPath(File file, String key) {
+        try {
+            return readImport(file).getStageDirectory().getPath();
+        } catch (Exception ex) { //NOSONAR
+            // import will fail and mark the spool file as failed
+            return key;
+        }
+    }
+
+    private StatusType process(String key) {
+        final File file = new File(inboxDirectory, key + SUFFIX_PENDING);
+
+        String path = key;
+        try {
+            ImportDTO importDTO = readImport(file);
+            path = importDTO.getStageDirectory().getPath();
+
+            Library library = stagingService.storeLibrary(importDTO);
+            stagingService.storeStageDirectory(importDTO.getStageDirectory(), library);
+            LOG.debug("Imported scanned directory: {}", path);
+
+            deleteFile(file);
+            importScheduler.trigger();
+            return StatusType.DONE;
+        } catch (Exception error) {
+            LOG.error("Failed to import scanned directory: {}", path, error);
+            if (file.exists() && !FileTools.moveFileAtomic(file, new File(inboxDirectory, key + SUFFIX_FAILED))) {
+                deleteFile(file);
+            }
+            return StatusType.ERROR;
+        }
+    }
+
+    private void finished(String key, StatusType state) {
+        synchronized (finishedKeys) {
+            states.put(key, state);
+            finishedKeys.remove(key);
+            finishedKeys.add(key);
+
+            // just remember the most recent results
+            final Iterator<String> iter = finishedKeys.iterator();
+            while (finishedKeys.size() > MAX_FINISHED_STATES) {
+                final String oldest = iter.next();
+                iter.remove();
+                // keep the state of a directory which has been enqueued again
+                states.remove(oldest, StatusType.DONE);
+                states.remove(oldest, StatusType.ERROR);
+            }
+        }
+    }
+
+    /**
+     * Get the import status of a spooled directory.
+     *
+     * @param key the idempotency key returned by enqueue
+     * @return NEW if pending, DONE or ERROR if imported; NOTFOUND if unknown
+     */
+    public StatusType getStatus(String key) {
+        final StatusType state = states.get(key);
+        return state == null ? StatusType.NOTFOUND : state;
+    }
+
+    /**
+     * Get the number of directories waiting for import.
+     *
+     * @return the inbox depth
+     */
+    public int getInboxSize() {
+        return pending.get();
+    }
+
+    private static void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            LOG.debug("Failed to delete inbox file '{}'", file.getName());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.tools;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simple bandwidth limiter which reserves transfer time for each chunk.
+ * 
+ * Threads sharing one limiter will be throttled together, so the overall
+ * throughput will not exceed the configured bytes per second.
+ */
+public final class BandwidthLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    private volatile long bytesPerSecond;
+    private long nextFreeTime = System.nanoTime();
+
+    public BandwidthLimiter(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public void setBytesPerSecond(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Acquire bandwidth for the given amount of bytes; blocks until the bytes
+     * may be transferred without exceeding the limit.
+     * 
+     * @param bytes the number of bytes to transfer
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire(int bytes) throws InterruptedException {
+        final long waitNanos = reserve(bytes);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private synchronized long reserve(int bytes) {
+        final long limit = bytesPerSecond;
+        if (limit <= 0 || bytes <= 0) {
+            // no limit
+            return 0;
+        }
+        
+        final long now = System.nanoTime();
+        if (nextFreeTime < now) {
+            // no burst after idle periods
+            nextFreeTime = now;
+        }
+        final long waitNanos = nextFreeTime - now;
+        nextFreeTime += (bytes * NANOS_PER_SECOND) / limit;
+        return waitNanos;
+    }
+}
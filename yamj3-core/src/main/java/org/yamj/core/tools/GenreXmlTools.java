@@ -25,6 +25,7 @@ package org.yamj.core.tools;
 import java.io.File;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import javax.annotation.PostConstruct;
 import org.apache.commons.configuration.HierarchicalConfiguration;
@@ -90,7 +91,7 @@ public class GenreXmlTools {
                 List<Object> subGenres = genre.getList("subgenre");
                 for (Object subGenre : subGenres) {
                     LOG.debug("New genre added to map: {} -> {}", subGenre, masterGenre);
-                    GENRES_MAP.put(((String)subGenre).toLowerCase(), masterGenre);
+                    GENRES_MAP.put(((String)subGenre).toLowerCase(Locale.ENGLISH), masterGenre);
                 }
             }
 
@@ -108,6 +109,6 @@ public class GenreXmlTools {
         if (genre == null) {
             return null;
         }
-        return GENRES_MAP.get(genre.toLowerCase());
+        return GENRES_MAP.get(genre.toLowerCase(Locale.ENGLISH));
     }
 }
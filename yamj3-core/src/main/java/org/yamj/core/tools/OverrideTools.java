@@ -29,6 +29,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yamj.common.tools.PropertyTools;
+import org.yamj.common.type.MetaDataType;
 import org.yamj.core.database.model.*;
 import org.yamj.core.database.model.type.OverrideFlag;
 import org.yamj.core.service.metadata.online.OnlineScannerService;
@@ -40,157 +41,186 @@ public final class OverrideTools {
 
     private static final Logger LOG = LoggerFactory.getLogger(OverrideTools.class);
     // check skip if not in priority list
-    private static final boolean SKIP_NOT_IN_LIST = PropertyTools.getBooleanProperty("priority.checks.skipNotInList", false);
+    private static volatile boolean skipNotInList;
     // handling for set default scanners
     private static final String TYPE_MOVIE_SCANNER = "movie_scanner";
     private static final String TYPE_SERIES_SCANNER = "series_scanner";
     private static final String TYPE_PERSON_SCANNER = "person_scanner";
-    private static final Map<OverrideFlag, List<String>> VIDEODATA_PRIORITIES = new EnumMap<>(OverrideFlag.class);
-    private static final Map<OverrideFlag, List<String>> SEASON_PRIORITIES = new EnumMap<>(OverrideFlag.class);
-    private static final Map<OverrideFlag, List<String>> SERIES_PRIORITIES = new EnumMap<>(OverrideFlag.class);
-    private static final Map<OverrideFlag, List<String>> PERSON_PRIORITIES = new EnumMap<>(OverrideFlag.class);
+    private static volatile Map<OverrideFlag, List<String>> videodataPriorities;
+    private static volatile Map<OverrideFlag, List<String>> seasonPriorities;
+    private static volatile Map<OverrideFlag, List<String>> seriesPriorities;
+    private static volatile Map<OverrideFlag, List<String>> personPriorities;
     private static final String DEFAULT_PLUGIN_SERIES_MOVIE = "api,nfo,"+TYPE_SERIES_SCANNER+","+TYPE_MOVIE_SCANNER; // NOSONAR
     private static final String DEFAULT_PLUGIN_SERIES = "api,nfo,"+TYPE_SERIES_SCANNER; // NOSONAR
     private static final String DEFAULT_PLUGIN_PERSON = "api,nfo,"+TYPE_PERSON_SCANNER; // NOSONAR
     private static final String APPEND_FILENAME = ",filename";
     
     static {
+        reloadPriorities();
+    }
+
+    private OverrideTools() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Reload the priorities from the properties.
+     *
+     * Sources listed in property 'priority.sources.disabled' are removed from all
+     * priority lists, so that values of those sources will be overridden.
+     */
+    public static synchronized void reloadPriorities() {
+        final Set<String> disabled = new HashSet<>(resolvePriorities(PropertyTools.getProperty("priority.sources.disabled"), Collections.<String>emptySet()));
+        final Map<OverrideFlag, List<String>> videodata = new EnumMap<>(OverrideFlag.class);
+        final Map<OverrideFlag, List<String>> season = new EnumMap<>(OverrideFlag.class);
+        final Map<OverrideFlag, List<String>> series = new EnumMap<>(OverrideFlag.class);
+        final Map<OverrideFlag, List<String>> person = new EnumMap<>(OverrideFlag.class);
         String sources;
 
         // countries
         sources = PropertyTools.getProperty("priority.videodata.countries", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.COUNTRIES, sources);
+        putVideodataPriorities(videodata, OverrideFlag.COUNTRIES, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.countries", DEFAULT_PLUGIN_SERIES);
-        putSeriesPriorities(OverrideFlag.COUNTRIES, sources);
+        putSeriesPriorities(series, OverrideFlag.COUNTRIES, sources, disabled);
         // genres
         sources = PropertyTools.getProperty("priority.videodata.genres", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.GENRES, sources);
+        putVideodataPriorities(videodata, OverrideFlag.GENRES, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.genres", DEFAULT_PLUGIN_SERIES);
-        putSeriesPriorities(OverrideFlag.GENRES, sources);
+        putSeriesPriorities(series, OverrideFlag.GENRES, sources, disabled);
         // studios
         sources = PropertyTools.getProperty("priority.videodata.studios", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.STUDIOS, sources);
+        putVideodataPriorities(videodata, OverrideFlag.STUDIOS, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.studios", DEFAULT_PLUGIN_SERIES);
-        putSeriesPriorities(OverrideFlag.STUDIOS, sources);
+        putSeriesPriorities(series, OverrideFlag.STUDIOS, sources, disabled);
         // original title
         sources = PropertyTools.getProperty("priority.videodata.originaltitle", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.ORIGINALTITLE, sources);
+        putVideodataPriorities(videodata, OverrideFlag.ORIGINALTITLE, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.originaltitle", DEFAULT_PLUGIN_SERIES);
-        putSeriesPriorities(OverrideFlag.ORIGINALTITLE, sources);
+        putSeriesPriorities(series, OverrideFlag.ORIGINALTITLE, sources, disabled);
         sources = PropertyTools.getProperty("priority.season.originaltitle", DEFAULT_PLUGIN_SERIES);
-        putSeasonPriorities(OverrideFlag.ORIGINALTITLE, sources);
+        putSeasonPriorities(season, OverrideFlag.ORIGINALTITLE, sources, disabled);
         // outline
         sources = PropertyTools.getProperty("priority.videodata.outline", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.OUTLINE, sources);
+        putVideodataPriorities(videodata, OverrideFlag.OUTLINE, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.outline", DEFAULT_PLUGIN_SERIES);
-        putSeriesPriorities(OverrideFlag.OUTLINE, sources);
+        putSeriesPriorities(series, OverrideFlag.OUTLINE, sources, disabled);
         sources = PropertyTools.getProperty("priority.season.outline", DEFAULT_PLUGIN_SERIES);
-        putSeasonPriorities(OverrideFlag.OUTLINE, sources);
+        putSeasonPriorities(season, OverrideFlag.OUTLINE, sources, disabled);
         // plot
         sources = PropertyTools.getProperty("priority.videodata.plot", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.PLOT, sources);
+        putVideodataPriorities(videodata, OverrideFlag.PLOT, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.plot", DEFAULT_PLUGIN_SERIES);
-        putSeriesPriorities(OverrideFlag.PLOT, sources);
+        putSeriesPriorities(series, OverrideFlag.PLOT, sources, disabled);
         sources = PropertyTools.getProperty("priority.season.plot", DEFAULT_PLUGIN_SERIES);
-        putSeasonPriorities(OverrideFlag.PLOT, sources);
+        putSeasonPriorities(season, OverrideFlag.PLOT, sources, disabled);
         // quote
         sources = PropertyTools.getProperty("priority.videodata.quote", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.QUOTE, sources);
+        putVideodataPriorities(videodata, OverrideFlag.QUOTE, sources, disabled);
         // releasedate
         sources = PropertyTools.getProperty("priority.videodata.releasedate", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.RELEASEDATE, sources);
+        putVideodataPriorities(videodata, OverrideFlag.RELEASEDATE, sources, disabled);
         // tagline
         sources = PropertyTools.getProperty("priority.videodata.tagline", DEFAULT_PLUGIN_SERIES_MOVIE);
-        putVideodataPriorities(OverrideFlag.TAGLINE, sources);
+        putVideodataPriorities(videodata, OverrideFlag.TAGLINE, sources, disabled);
         // title
         sources = PropertyTools.getProperty("priority.videodata.title", DEFAULT_PLUGIN_SERIES_MOVIE + APPEND_FILENAME);
-        putVideodataPriorities(OverrideFlag.TITLE, sources);
+        putVideodataPriorities(videodata, OverrideFlag.TITLE, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.title", DEFAULT_PLUGIN_SERIES + APPEND_FILENAME);
-        putSeriesPriorities(OverrideFlag.TITLE, sources);
+        putSeriesPriorities(series, OverrideFlag.TITLE, sources, disabled);
         sources = PropertyTools.getProperty("priority.season.title", DEFAULT_PLUGIN_SERIES + APPEND_FILENAME);
-        putSeasonPriorities(OverrideFlag.TITLE, sources);
+        putSeasonPriorities(season, OverrideFlag.TITLE, sources, disabled);
         // year
         sources = PropertyTools.getProperty("priority.videodata.year", DEFAULT_PLUGIN_SERIES_MOVIE + APPEND_FILENAME);
-        putVideodataPriorities(OverrideFlag.YEAR, sources);
+        putVideodataPriorities(videodata, OverrideFlag.YEAR, sources, disabled);
         sources = PropertyTools.getProperty("priority.series.year", DEFAULT_PLUGIN_SERIES + APPEND_FILENAME);
-        putSeriesPriorities(OverrideFlag.YEAR, sources);
+        putSeriesPriorities(series, OverrideFlag.YEAR, sources, disabled);
         sources = PropertyTools.getProperty("priority.season.year", DEFAULT_PLUGIN_SERIES + APPEND_FILENAME);
-        putSeasonPriorities(OverrideFlag.YEAR, sources);
+        putSeasonPriorities(season, OverrideFlag.YEAR, sources, disabled);
 
         // person priorities
         sources = PropertyTools.getProperty("priority.person.name", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.NAME, sources);
+        putPersonPriorities(person, OverrideFlag.NAME, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.firstname", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.FIRSTNAME, sources);
+        putPersonPriorities(person, OverrideFlag.FIRSTNAME, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.lastname", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.LASTNAME, sources);
+        putPersonPriorities(person, OverrideFlag.LASTNAME, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.birtday", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.BIRTHDAY, sources);
+        putPersonPriorities(person, OverrideFlag.BIRTHDAY, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.birtplace", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.BIRTHPLACE, sources);
+        putPersonPriorities(person, OverrideFlag.BIRTHPLACE, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.birthname", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.BIRTHNAME, sources);
+        putPersonPriorities(person, OverrideFlag.BIRTHNAME, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.deathday", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.DEATHDAY, sources);
+        putPersonPriorities(person, OverrideFlag.DEATHDAY, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.deathplace", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.DEATHDAY, sources);
+        putPersonPriorities(person, OverrideFlag.DEATHPLACE, sources, disabled);
         sources = PropertyTools.getProperty("priority.person.biography", DEFAULT_PLUGIN_PERSON);
-        putPersonPriorities(OverrideFlag.BIOGRAPHY, sources);
-    }
+        putPersonPriorities(person, OverrideFlag.BIOGRAPHY, sources, disabled);
 
-    private OverrideTools() {
-        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+        videodataPriorities = videodata;
+        seasonPriorities = season;
+        seriesPriorities = series;
+        personPriorities = person;
+        skipNotInList = PropertyTools.getBooleanProperty("priority.checks.skipNotInList", false);
     }
 
     /**
      * Put video data priorities into map.
      *
+     * @param map
      * @param overrideFlag
      * @param sources
+     * @param disabled
      */
-    private static void putVideodataPriorities(OverrideFlag overrideFlag, String sources) {
-        List<String> priorities = resolvePriorities(sources);
+    private static void putVideodataPriorities(Map<OverrideFlag, List<String>> map, OverrideFlag overrideFlag, String sources, Set<String> disabled) {
+        List<String> priorities = resolvePriorities(sources, disabled);
         LOG.trace(overrideFlag.name() + " (VideoData) priorities " + priorities.toString());
-        VIDEODATA_PRIORITIES.put(overrideFlag, priorities);
+        map.put(overrideFlag, priorities);
     }
 
     /**
      * Put season priorities into map.
      *
+     * @param map
      * @param overrideFlag
      * @param sources
+     * @param disabled
      */
-    private static void putSeasonPriorities(OverrideFlag overrideFlag, String sources) {
-        List<String> priorities = resolvePriorities(sources);
+    private static void putSeasonPriorities(Map<OverrideFlag, List<String>> map, OverrideFlag overrideFlag, String sources, Set<String> disabled) {
+        List<String> priorities = resolvePriorities(sources, disabled);
         LOG.trace(overrideFlag.name() + " (Season) priorities " + priorities.toString());
-        SEASON_PRIORITIES.put(overrideFlag, priorities);
+        map.put(overrideFlag, priorities);
     }
 
     /**
      * Put series priorities into map.
      *
+     * @param map
      * @param overrideFlag
      * @param sources
+     * @param disabled
      */
-    private static void putSeriesPriorities(OverrideFlag overrideFlag, String sources) {
-        List<String> priorities = resolvePriorities(sources);
+    private static void putSeriesPriorities(Map<OverrideFlag, List<String>> map, OverrideFlag overrideFlag, String sources, Set<String> disabled) {
+        List<String> priorities = resolvePriorities(sources, disabled);
         LOG.trace(overrideFlag.name() + " (Series) priorities " + priorities.toString());
-        SERIES_PRIORITIES.put(overrideFlag, priorities);
+        map.put(overrideFlag, priorities);
     }
 
     /**
      * Put person priorities into map.
      *
+     * @param map
      * @param overrideFlag
      * @param sources
+     * @param disabled
      */
-    private static void putPersonPriorities(OverrideFlag overrideFlag, String sources) {
-        List<String> priorities = resolvePriorities(sources);
+    private static void putPersonPriorities(Map<OverrideFlag, List<String>> map, OverrideFlag overrideFlag, String sources, Set<String> disabled) {
+        List<String> priorities = resolvePriorities(sources, disabled);
         LOG.trace(overrideFlag.name() + " (Person) priorities " + priorities.toString());
-        PERSON_PRIORITIES.put(overrideFlag, priorities);
+        map.put(overrideFlag, priorities);
     }
 
-    private static List<String> resolvePriorities(String sources) {
+    private static List<String> resolvePriorities(String sources, Set<String> disabled) {
         final List<String> priorities;
         if (StringUtils.isBlank(sources)) {
             priorities = Collections.emptyList();
@@ -210,24 +240,25 @@ public final class OverrideTools {
                     }
                 }
             }
+            prios.removeAll(disabled);
             priorities = new ArrayList<>(prios);
         }
         return priorities;
     }
 
     private static boolean skipCheck(IScannable scannable, OverrideFlag overrideFlag, String source) {
-        if (SKIP_NOT_IN_LIST) {
+        if (skipNotInList) {
 
             int index = -1;
             try {
                 if (scannable instanceof VideoData) {
-                    index = VIDEODATA_PRIORITIES.get(overrideFlag).indexOf(source.toLowerCase());
+                    index = videodataPriorities.get(overrideFlag).indexOf(source.toLowerCase());
                 } else if (scannable instanceof Season) {
-                    index = SEASON_PRIORITIES.get(overrideFlag).indexOf(source.toLowerCase());
+                    index = seasonPriorities.get(overrideFlag).indexOf(source.toLowerCase());
                 } else if (scannable instanceof Series) {
-                    index = SERIES_PRIORITIES.get(overrideFlag).indexOf(source.toLowerCase());
+                    index = seriesPriorities.get(overrideFlag).indexOf(source.toLowerCase());
                 } else if (scannable instanceof Person) {
-                    index = PERSON_PRIORITIES.get(overrideFlag).indexOf(source.toLowerCase());
+                    index = personPriorities.get(overrideFlag).indexOf(source.toLowerCase());
                 }
             } catch (Exception ignore) { //NOSONAR
                 // ignore this error
@@ -267,18 +298,7 @@ public final class OverrideTools {
         }
 
         // both sources are valid so get priorities
-        List<String> priorities;
-        if (scannable instanceof VideoData) {
-            priorities = VIDEODATA_PRIORITIES.get(overrideFlag);
-        } else if (scannable instanceof Season) {
-            priorities = SEASON_PRIORITIES.get(overrideFlag);
-        } else if (scannable instanceof Series) {
-            priorities = SERIES_PRIORITIES.get(overrideFlag);
-        } else if (scannable instanceof Person) {
-            priorities = PERSON_PRIORITIES.get(overrideFlag);
-        } else {
-            priorities = Collections.emptyList();
-        }
+        List<String> priorities = getPriorities(scannable, overrideFlag);
 
         // get and check new priority
         int newPrio = priorities.indexOf(newSource.toLowerCase());
@@ -299,7 +319,73 @@ public final class OverrideTools {
         return false;
     }
 
-    private static boolean checkOverwrite(IScannable scannable, OverrideFlag overrideFlag, String source) {
+    /**
+     * Describe the actual priorities of a meta data type, so that changes can be detected.
+     *
+     * @param type
+     * @return the description
+     */
+    public static String describePriorities(MetaDataType type) {
+        final Map<OverrideFlag, List<String>> priorities;
+        switch (type) {
+            case SERIES:
+                priorities = seriesPriorities;
+                break;
+            case SEASON:
+                priorities = seasonPriorities;
+                break;
+            case PERSON:
+                priorities = personPriorities;
+                break;
+            default:
+                priorities = videodataPriorities;
+                break;
+        }
+        return skipNotInList + ":" + priorities;
+    }
+
+    /**
+     * Get the actual priorities of an override flag.
+     *
+     * @param scannable
+     * @param overrideFlag
+     * @return the sources ordered by priority
+     */
+    public static List<String> getPriorities(IScannable scannable, OverrideFlag overrideFlag) {
+        List<String> priorities = null;
+        if (scannable instanceof VideoData) {
+            priorities = videodataPriorities.get(overrideFlag);
+        } else if (scannable instanceof Season) {
+            priorities = seasonPriorities.get(overrideFlag);
+        } else if (scannable instanceof Series) {
+            priorities = seriesPriorities.get(overrideFlag);
+        } else if (scannable instanceof Person) {
+            priorities = personPriorities.get(overrideFlag);
+        }
+        return priorities == null ? Collections.<String>emptyList() : priorities;
+    }
+
+    /**
+     * Determine the source which should deliver the value of an override flag.
+     *
+     * @param scannable
+     * @param overrideFlag
+     * @param sources the sources with a known value
+     * @return the source of highest priority if it should override the actual value, else null
+     */
+    public static String resolveSource(IScannable scannable, OverrideFlag overrideFlag, Set<String> sources) {
+        for (String source : getPriorities(scannable, overrideFlag)) {
+            if (sources.contains(source)) {
+                if (source.equalsIgnoreCase(scannable.getOverrideSource(overrideFlag))) {
+                    return null;
+                }
+                return checkOverwrite(scannable, overrideFlag, source) ? source : null;
+            }
+        }
+        return null;
+    }
+
+    public static boolean checkOverwrite(IScannable scannable, OverrideFlag overrideFlag, String source) {
         String actualSource = scannable.getOverrideSource(overrideFlag);
         return OverrideTools.hasHigherPriority(overrideFlag, actualSource, source, scannable);
     }
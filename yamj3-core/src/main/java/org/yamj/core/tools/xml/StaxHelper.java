@@ -0,0 +1,139 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.tools.xml;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.io.ByteOrderMark;
+import org.apache.commons.io.input.BOMInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.plugin.api.Constants;
+
+/**
+ * Helper for streaming XML processing with StAX.
+ */
+public final class StaxHelper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaxHelper.class);
+    private static final int BUFFER_SIZE = 8192;
+    private static final int PROLOG_SIZE = 256;
+    private static final Pattern ENCODING_PATTERN = Pattern.compile("<\\?xml[^>]*encoding\\s*=\\s*[\"']([A-Za-z0-9._\\-]+)[\"']");
+
+    // factories are expensive to create and not guaranteed to be thread safe, so one per thread
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+            return factory;
+        }
+    };
+
+    private StaxHelper() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Create a stream reader using the pooled factory of the actual thread.
+     *
+     * @param reader
+     * @return
+     * @throws XMLStreamException
+     */
+    public static XMLStreamReader createStreamReader(Reader reader) throws XMLStreamException {
+        return INPUT_FACTORY.get().createXMLStreamReader(reader);
+    }
+
+    /**
+     * Close the stream reader and ignore any error.
+     *
+     * @param reader
+     */
+    public static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ex) {
+                LOG.trace("Failed to close stream reader", ex);
+            }
+        }
+    }
+
+    /**
+     * Open a buffered reader for a XML like file.
+     *
+     * The encoding is determined by the byte order mark or the XML declaration;
+     * UTF-8 is used as default.
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    @SuppressWarnings("resource")
+    public static Reader openReader(File file) throws IOException {
+        final BOMInputStream in = new BOMInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE), 
+                        ByteOrderMark.UTF_8, ByteOrderMark.UTF_16LE, ByteOrderMark.UTF_16BE);
+        try {
+            Charset charset;
+            if (in.hasBOM()) {
+                charset = Charset.forName(in.getBOMCharsetName());
+            } else {
+                charset = getDeclaredCharset(in);
+            }
+            return new BufferedReader(new InputStreamReader(in, charset), BUFFER_SIZE);
+        } catch (IOException | RuntimeException ex) {
+            in.close();
+            throw ex;
+        }
+    }
+
+    private static Charset getDeclaredCharset(InputStream in) throws IOException {
+        byte[] prolog = new byte[PROLOG_SIZE];
+        in.mark(PROLOG_SIZE);
+        int length = 0;
+        int read;
+        while (length < PROLOG_SIZE && (read = in.read(prolog, length, PROLOG_SIZE - length)) > 0) {
+            length += read;
+        }
+        in.reset();
+
+        Matcher matcher = ENCODING_PATTERN.matcher(new String(prolog, 0, length, "ISO-8859-1"));
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            } catch (Exception ex) { //NOSONAR
+                LOG.debug("Unsupported encoding '{}' declared, using UTF-8", matcher.group(1));
+            }
+        }
+        return Constants.UTF8;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.tools.xml;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader which extracts XML fragments embedded in arbitrary text, like NFO files.
+ *
+ * Everything before the first start tag of one of the given fragment elements
+ * is skipped (and kept as prefix up to a maximum length); the rest of the content
+ * is wrapped into a new root element, so that multiple fragments can be parsed
+ * as one document. Fragment names are matched case insensitive.
+ *
+ * The text behind the last closed fragment is kept as suffix up to the maximum
+ * length, so that it is still available if it's no valid XML.
+ */
+public class XmlFragmentReader extends Reader {
+
+    private final Reader in;
+    private final String rootName;
+    private final String[] fragmentNames;
+    private final int maxPrefixLength;
+    private final StringBuilder prefix = new StringBuilder();
+    private final StringBuilder suffix = new StringBuilder();
+    private final StringBuilder tag = new StringBuilder();
+    private boolean closingTag = false;
+    private int openedFragments = 0;
+    private int closedFragments = 0;
+    private final char[] buffer = new char[4096];
+    private int bufferPos = 0;
+    private int bufferLength = 0;
+    private boolean searched = false;
+    private boolean found = false;
+    private String pending = null;
+    private int pendingPos = 0;
+    private boolean eof = false;
+    private boolean closingEmitted = false;
+
+    public XmlFragmentReader(Reader in, String rootName, int maxPrefixLength, String... fragmentNames) {
+        this.in = in;
+        this.rootName = rootName;
+        this.maxPrefixLength = maxPrefixLength;
+        this.fragmentNames = fragmentNames;
+    }
+
+    /**
+     * Search the start of the first fragment.
+     *
+     * @return true if a fragment has been found
+     * @throws IOException
+     */
+    public boolean findFragment() throws IOException {
+        if (searched) {
+            return found;
+        }
+        searched = true;
+
+        // holds the last characters which may be the start of a fragment tag
+        StringBuilder candidate = new StringBuilder();
+        int c;
+        while ((c = nextChar()) >= 0) {
+            if (candidate.length() > 0 || c == '<') {
+                candidate.append((char) c);
+                int state = matchFragment(candidate, "<");
+                if (state > 0) {
+                    found = true;
+                    openedFragments++;
+                    pending = "<" + rootName + ">" + candidate;
+                    return true;
+                }
+                if (state < 0) {
+                    appendPrefix(candidate.charAt(0));
+                    String rest = candidate.substring(1);
+                    candidate.setLength(0);
+                    // the rest may contain the start of a new tag
+                    for (int i = 0; i < rest.length(); i++) {
+                        char r = rest.charAt(i);
+                        if (candidate.length() > 0 || r == '<') {
+                            candidate.append(r);
+                        } else {
+                            appendPrefix(r);
+                        }
+                    }
+                }
+            } else {
+                appendPrefix((char) c);
+            }
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            appendPrefix(candidate.charAt(i));
+        }
+        return false;
+    }
+
+    /**
+     * Get the text before the first fragment; if no fragment was found,
+     * this is the whole content (up to the maximum prefix length).
+     *
+     * @return the prefix
+     */
+    public String getPrefix() {
+        return prefix.toString();
+    }
+
+    /**
+     * Read the rest of the content, i.e. after a parsing error.
+     *
+     * @param parsedFragments the number of fragments the parser has closed
+     * @return the text behind the last fragment, or null if the content has other fragments
+     * @throws IOException
+     */
+    public String readSuffix(int parsedFragments) throws IOException {
+        final char[] skip = new char[4096];
+        while (read(skip, 0, skip.length) >= 0) {
+            // just track the suffix
+        }
+        if (openedFragments != parsedFragments || closedFragments != parsedFragments) {
+            return null;
+        }
+        return suffix.toString();
+    }
+
+    /**
+     * Check if the candidate is the start or end tag of a fragment.
+     *
+     * @param candidate the candidate
+     * @param opener the opener of the tag: "&lt;" or "&lt;/"
+     * @return 1 if the candidate is a fragment tag, 0 if it may become one, -1 if not
+     */
+    private int matchFragment(CharSequence candidate, String opener) {
+        final String value = candidate.toString();
+        boolean possible = false;
+        for (String fragmentName : fragmentNames) {
+            final String tagStart = opener + fragmentName;
+            final int tagLength = tagStart.length();
+            if (value.length() <= tagLength) {
+                if (tagStart.regionMatches(true, 0, value, 0, value.length())) {
+                    possible = true;
+                }
+            } else if (value.regionMatches(true, 0, tagStart, 0, tagLength)) {
+                char delimiter = candidate.charAt(tagLength);
+                if (delimiter == '>' || delimiter == '/' || Character.isWhitespace(delimiter)) {
+                    return 1;
+                }
+            }
+        }
+        return possible ? 0 : -1;
+    }
+
+    /**
+     * Track the suffix behind the last end tag of a fragment.
+     */
+    private void track(char[] cbuf, int off, int count) {
+        for (int i = off; i < off + count; i++) {
+            final char c = cbuf[i];
+            if (suffix.length() < maxPrefixLength) {
+                suffix.append(c);
+            }
+
+            if (closingTag) {
+                if (c == '>') {
+                    closeFragment();
+                }
+            } else if (tag.length() > 0 || c == '<') {
+                tag.append(c);
+                final int closing = matchFragment(tag, "</");
+                final int opening = matchFragment(tag, "<");
+                if (closing > 0) {
+                    tag.setLength(0);
+                    if (c == '>') {
+                        closeFragment();
+                    } else {
+                        closingTag = true;
+                    }
+                } else if (opening > 0) {
+                    tag.setLength(0);
+                    openedFragments++;
+                } else if (closing < 0 && opening < 0) {
+                    tag.setLength(0);
+                    if (c == '<') {
+                        tag.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void closeFragment() {
+        closingTag = false;
+        closedFragments++;
+        suffix.setLength(0);
+    }
+
+    private void appendPrefix(char c) {
+        if (prefix.length() < maxPrefixLength) {
+            prefix.append(c);
+        }
+    }
+
+    private int nextChar() throws IOException {
+        if (bufferPos >= bufferLength) {
+            bufferLength = in.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+            if (bufferLength <= 0) {
+                bufferLength = 0;
+                return -1;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (!findFragment()) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        // pending characters from fragment search
+        if (pending != null) {
+            int count = Math.min(len, pending.length() - pendingPos);
+            pending.getChars(pendingPos, pendingPos + count, cbuf, off);
+            pendingPos += count;
+            if (pendingPos >= pending.length()) {
+                pending = null;
+            }
+            return count;
+        }
+
+        // buffered characters
+        if (bufferPos < bufferLength) {
+            int count = Math.min(len, bufferLength - bufferPos);
+            System.arraycopy(buffer, bufferPos, cbuf, off, count);
+            bufferPos += count;
+            track(cbuf, off, count);
+            return count;
+        }
+
+        if (!eof) {
+            int count = in.read(cbuf, off, len);
+            if (count >= 0) {
+                track(cbuf, off, count);
+                return count;
+            }
+            eof = true;
+        }
+
+        // close the root element
+        if (!closingEmitted) {
+            closingEmitted = true;
+            pending = "</" + rootName + ">";
+            pendingPos = 0;
+            return read(cbuf, off, len);
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
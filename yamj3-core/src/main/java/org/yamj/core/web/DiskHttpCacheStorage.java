@@ -0,0 +1,301 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.web;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.cache.*;
+import org.apache.http.impl.client.cache.DefaultHttpCacheEntrySerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.core.service.file.FileTools;
+
+/**
+ * Size-bounded HTTP cache storage which keeps the cache entries on disk,
+ * so that cached provider responses survive a restart of the core.
+ *
+ * Each entry is stored in its own file named by the SHA-1 of the cache key.
+ * The key itself is never written, cause it may contain API keys; the file starts
+ * with the hash, which is compared on read, and the host for purging.
+ * If the maximum size is exceeded, the least recently used entries are evicted.
+ */
+public class DiskHttpCacheStorage implements HttpCacheStorage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiskHttpCacheStorage.class);
+    private static final String EXTENSION = "cache";
+    private static final int LOCK_STRIPES = 64;
+
+    private final File directory;
+    private final long maxSize;
+    private final HttpCacheEntrySerializer serializer = new DefaultHttpCacheEntrySerializer();
+    private final Map<String, Long> sizes = new ConcurrentHashMap<>();
+    private final AtomicLong totalSize = new AtomicLong();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Object evictionLock = new Object();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DiskHttpCacheStorage(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            LOG.error("Failed to create HTTP cache directory '{}'", directory.getAbsolutePath());
+        } else {
+            for (File file : FileUtils.listFiles(directory, new String[]{EXTENSION}, true)) {
+                sizes.put(file.getName(), file.length());
+                totalSize.addAndGet(file.length());
+            }
+            LOG.info("HTTP cache directory set to '{}' with {} entries", directory.getAbsolutePath(), sizes.size());
+        }
+    }
+
+    @Override
+    public void putEntry(String key, HttpCacheEntry entry) throws IOException {
+        final File file = getFile(key);
+        synchronized (lockFor(file)) {
+            write(key, file, entry);
+        }
+        stores.incrementAndGet();
+        evictIfNeeded();
+    }
+
+    @Override
+    public HttpCacheEntry getEntry(String key) throws IOException {
+        lookups.incrementAndGet();
+        final File file = getFile(key);
+        final HttpCacheEntry entry;
+        synchronized (lockFor(file)) {
+            entry = read(key, file);
+        }
+        if (entry != null) {
+            hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    @Override
+    public void removeEntry(String key) throws IOException {
+        final File file = getFile(key);
+        synchronized (lockFor(file)) {
+            delete(file);
+        }
+    }
+
+    @Override
+    public void updateEntry(String key, HttpCacheUpdateCallback callback) throws IOException, HttpCacheUpdateException {
+        final File file = getFile(key);
+        synchronized (lockFor(file)) {
+            final HttpCacheEntry updated = callback.update(read(key, file));
+            if (updated == null) {
+                delete(file);
+            } else {
+                write(key, file, updated);
+            }
+        }
+        updates.incrementAndGet();
+        evictIfNeeded();
+    }
+
+    /**
+     * Remove all cached entries.
+     *
+     * @param host only remove the entries of this host; all entries if blank
+     * @return the number of removed entries
+     */
+    public int purge(String host) {
+        int purged = 0;
+        for (File file : FileUtils.listFiles(directory, new String[]{EXTENSION}, true)) {
+            synchronized (lockFor(file)) {
+                if (StringUtils.isNotBlank(host) && !StringUtils.equalsIgnoreCase(host, readHost(file))) {
+                    continue;
+                }
+                if (delete(file)) {
+                    purged++;
+                }
+            }
+        }
+        LOG.info("Purged {} entries from HTTP cache", purged);
+        return purged;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("directory", directory.getAbsolutePath());
+        stats.put("entries", sizes.size());
+        stats.put("size", totalSize.get());
+        stats.put("maxSize", maxSize);
+        stats.put("lookups", lookups.get());
+        stats.put("hits", hits.get());
+        stats.put("stores", stores.get());
+        stats.put("updates", updates.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    public int getEntryCount() {
+        return sizes.size();
+    }
+
+    public long getSize() {
+        return totalSize.get();
+    }
+
+    /**
+     * The lock is determined by the file name, so that the eviction can lock entries without knowing the key.
+     */
+    private Object lockFor(File file) {
+        return locks[(file.getName().hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+    }
+
+    private File getFile(String key) {
+        return new File(directory, FileTools.createDirHash(DigestUtils.sha1Hex(key) + "." + EXTENSION));
+    }
+
+    private void write(String key, File file, HttpCacheEntry entry) throws IOException {
+        FileTools.makeDirectories(file);
+
+        final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeUTF(DigestUtils.sha1Hex(key));
+            out.writeUTF(StringUtils.trimToEmpty(getHost(key)));
+            serializer.writeTo(entry, out);
+        }
+
+        if (!FileTools.moveFileAtomic(temp, file)) {
+            FileUtils.deleteQuietly(temp);
+            throw new IOException("Failed to store HTTP cache entry " + file.getName());
+        }
+        final long size = file.length();
+        final Long oldSize = sizes.put(file.getName(), size);
+        totalSize.addAndGet(size - (oldSize == null ? 0L : oldSize.longValue()));
+    }
+
+    private HttpCacheEntry read(String key, File file) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (!DigestUtils.sha1Hex(key).equals(in.readUTF())) {
+                // foreign or outdated file format
+                in.close();
+                delete(file);
+                return null;
+            }
+            // skip the host
+            in.readUTF();
+            final HttpCacheEntry entry = serializer.readFrom(in);
+            // mark as recently used for eviction
+            file.setLastModified(System.currentTimeMillis());
+            return entry;
+        } catch (IOException ex) {
+            LOG.debug("Discarding unreadable HTTP cache entry {}: {}", file.getName(), ex.getMessage());
+            delete(file);
+            return null;
+        }
+    }
+
+    private static String readHost(File file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            in.readUTF();
+            return in.readUTF();
+        } catch (IOException ex) { //NOSONAR
+            return null;
+        }
+    }
+
+    private static String getHost(String key) {
+        // keys of variant entries are prefixed with the variant in curly braces
+        final int start = key.startsWith("{") ? key.indexOf('}') + 1 : 0;
+        final String uri = key.substring(start);
+        final int hostStart = uri.indexOf("://");
+        if (hostStart < 0) {
+            return null;
+        }
+        String host = StringUtils.substringBefore(uri.substring(hostStart + 3), "/");
+        return StringUtils.substringBefore(host, ":");
+    }
+
+    private boolean delete(File file) {
+        final long size = file.length();
+        if (file.exists() && file.delete()) {
+            Long stored = sizes.remove(file.getName());
+            totalSize.addAndGet(-(stored == null ? size : stored.longValue()));
+            return true;
+        }
+        return false;
+    }
+
+    private void evictIfNeeded() {
+        if (totalSize.get() <= maxSize) {
+            return;
+        }
+
+        synchronized (evictionLock) {
+            if (totalSize.get() <= maxSize) {
+                return;
+            }
+
+            // snapshot the last usage, cause it may change while sorting
+            final Map<File, Long> lastUsed = new HashMap<>();
+            for (File file : FileUtils.listFiles(directory, new String[]{EXTENSION}, true)) {
+                lastUsed.put(file, file.lastModified());
+            }
+            List<File> files = new ArrayList<>(lastUsed.keySet());
+            Collections.sort(files, new Comparator<File>() {
+                @Override
+                public int compare(File f1, File f2) {
+                    return Long.compare(lastUsed.get(f1), lastUsed.get(f2));
+                }
+            });
+
+            // evict down to 90% of the maximum size to avoid evicting on each store
+            final long target = (maxSize / 10L) * 9L;
+            for (File file : files) {
+                if (totalSize.get() <= target) {
+                    break;
+                }
+                synchronized (lockFor(file)) {
+                    // skip entries which have been used or rewritten in the meantime
+                    if (file.lastModified() == lastUsed.get(file).longValue() && delete(file)) {
+                        evictions.incrementAndGet();
+                    }
+                }
+            }
+            LOG.debug("Evicted HTTP cache entries, size is now {} bytes", totalSize.get());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.web;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Overrides the caching headers of responses for configured hosts before
+ * they reach the HTTP cache, so that providers which do not send useful
+ * Cache-Control headers can still be cached for a given time to live.
+ *
+ * The validators (ETag, Last-Modified) are kept, so expired entries are
+ * still revalidated conditionally.
+ */
+public class HttpCacheTtlExec implements ClientExecChain {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpCacheTtlExec.class);
+    private final ClientExecChain backend;
+    private final Map<Pattern, Integer> ttls;
+
+    public HttpCacheTtlExec(ClientExecChain backend, Map<Pattern, Integer> ttls) {
+        this.backend = backend;
+        this.ttls = ttls;
+    }
+
+    /**
+     * Parse the TTL overrides in the form "hostRegex=seconds,hostRegex=seconds".
+     *
+     * @param value
+     * @return the TTLs by host pattern
+     */
+    public static Map<Pattern, Integer> parseTtls(String value) {
+        Map<Pattern, Integer> ttls = new LinkedHashMap<>();
+        if (StringUtils.isBlank(value)) {
+            return ttls;
+        }
+
+        Matcher matcher = Pattern.compile(",?\\s*([^=]+)=(\\d+)").matcher(value);
+        while (matcher.find()) {
+            final String host = matcher.group(1).trim();
+            try {
+                ttls.put(Pattern.compile(host, Pattern.CASE_INSENSITIVE), Integer.valueOf(matcher.group(2)));
+                LOG.trace("Added HTTP cache TTL for '{}' with {} seconds", host, matcher.group(2));
+            } catch (PatternSyntaxException | NumberFormatException error) { //NOSONAR
+                LOG.debug("Cache TTL rule '{}' is invalid, ignored", host);
+            }
+        }
+        return ttls;
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route, HttpRequestWrapper request, HttpClientContext context, HttpExecutionAware execAware) throws IOException, HttpException {
+        final CloseableHttpResponse response = backend.execute(route, request, context, execAware);
+
+        final int status = response.getStatusLine().getStatusCode();
+        if ("GET".equals(request.getRequestLine().getMethod()) && (status == HttpStatus.SC_OK || status == HttpStatus.SC_NOT_MODIFIED)) {
+            final Integer ttl = getTtl(route.getTargetHost().getHostName());
+            if (ttl != null) {
+                response.removeHeaders(HttpHeaders.EXPIRES);
+                response.removeHeaders("Pragma");
+                response.setHeader(HttpHeaders.CACHE_CONTROL, ttl.intValue() > 0 ? "max-age=" + ttl : "no-store");
+            }
+        }
+        return response;
+    }
+
+    private Integer getTtl(String host) {
+        for (Entry<Pattern, Integer> entry : ttls.entrySet()) {
+            if (entry.getKey().matcher(host).matches()) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.web;
+
+import java.io.IOException;
+import org.apache.http.*;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.yamj.core.service.metrics.MetricsRegistry;
+
+/**
+ * Measures the latency of outgoing HTTP requests per target host.
+ *
+ * The protocol interceptors wrap the HTTP cache, so responses served from the
+ * cache are measured as well and counted by their cache response status.
+ */
+public class HttpMetricsInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+    private static final String ATTRIBUTE_START = "yamj.metrics.start";
+    private final MetricsRegistry metricsRegistry;
+
+    public HttpMetricsInterceptor(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) throws HttpException, IOException {
+        context.setAttribute(ATTRIBUTE_START, Long.valueOf(System.currentTimeMillis()));
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+        final Object start = context.getAttribute(ATTRIBUTE_START);
+        if (start instanceof Long) {
+            final HttpHost target = HttpClientContext.adapt(context).getTargetHost();
+            final String host = target == null ? "unknown" : target.getHostName();
+            metricsRegistry.timer("http_client_request_duration_millis", "host", host).updateSince((Long) start);
+            metricsRegistry.counter("http_client_responses_total", "host", host, "status", String.valueOf(response.getStatusLine().getStatusCode() / 100) + "xx").increment();
+
+            final CacheResponseStatus cacheStatus = HttpCacheContext.adapt(context).getCacheResponseStatus();
+            if (cacheStatus != null) {
+                metricsRegistry.counter("http_client_cache_total", "host", host, "status", cacheStatus.name().toLowerCase()).increment();
+            }
+        }
+    }
+}
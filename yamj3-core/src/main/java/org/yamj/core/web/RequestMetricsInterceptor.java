@@ -0,0 +1,67 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.web;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import org.yamj.core.service.metrics.MetricsRegistry;
+
+/**
+ * Measures the latency of requests served by controllers.
+ *
+ * The requests are labeled with the mapping pattern instead of the path,
+ * so that path variables do not create a metric per requested object.
+ */
+public class RequestMetricsInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String ATTRIBUTE_START = RequestMetricsInterceptor.class.getName() + ".start";
+    private final MetricsRegistry metricsRegistry;
+
+    public RequestMetricsInterceptor(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(ATTRIBUTE_START, Long.valueOf(System.currentTimeMillis()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        final Object start = request.getAttribute(ATTRIBUTE_START);
+        if (start instanceof Long) {
+            final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            metricsRegistry.timer("api_request_duration_millis",
+                            "path", pattern == null ? "unknown" : pattern.toString(),
+                            "method", request.getMethod(),
+                            "status", String.valueOf(response.getStatus()))
+                            .updateSince((Long) start);
+        }
+    }
+}
@@ -22,10 +22,15 @@
  */
 package org.yamj.core.web;
 
+import java.io.File;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
@@ -38,14 +43,17 @@ import org.apache.http.impl.client.SystemDefaultCredentialsProvider;
 import org.apache.http.impl.client.cache.CacheConfig;
 import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.execchain.ClientExecChain;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 import org.yamj.api.common.http.PoolingHttpClient;
 import org.yamj.api.common.http.WebBrowserUserAgentSelector;
+import org.yamj.core.service.metrics.MetricsRegistry;
 import org.yamj.api.trakttv.TraktTvApi;
 
 @Configuration
@@ -53,6 +61,9 @@ public class WebConfiguration  {
 
     private static final Logger LOG = LoggerFactory.getLogger(WebConfiguration.class);
 
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
     @Value("${yamj3.http.systemProperties:false}")
     private boolean systemProperties;
 
@@ -86,6 +97,21 @@ public class WebConfiguration  {
     @Value("${yamj3.http.maxDownloadSlots:null}")
     private String maxDownloadSlots;
 
+    @Value("${yamj3.http.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${yamj3.http.cache.directory:cache/http/}")
+    private String cacheDirectory;
+
+    @Value("${yamj3.http.cache.maxSize:256}")
+    private long cacheMaxSize;
+
+    @Value("${yamj3.http.cache.maxObjectSize:1048576}")
+    private long cacheMaxObjectSize;
+
+    @Value("${yamj3.http.cache.ttl:}")
+    private String cacheTtl;
+
     @Value("${trakttv.client.id:'unknown'}")
     private String traktTvClientId;
     
@@ -122,14 +148,29 @@ public class WebConfiguration  {
         connManager.setMaxTotal(connectionsMaxTotal);
         connManager.setDefaultMaxPerRoute(connectionsMaxPerRoute);
         
-        CacheConfig cacheConfig = CacheConfig.custom()
-                        .setMaxCacheEntries(1000)
-                        .setMaxObjectSize(8192)
-                        .build();
-        
-        HttpClientBuilder builder = CachingHttpClientBuilder.create()
-                .setCacheConfig(cacheConfig)
-                .setConnectionManager(connManager)
+        HttpClientBuilder builder;
+        if (cacheEnabled) {
+            CacheConfig cacheConfig = CacheConfig.custom()
+                            .setMaxObjectSize(cacheMaxObjectSize)
+                            .setSharedCache(false)
+                            .build();
+
+            final Map<Pattern, Integer> ttls = HttpCacheTtlExec.parseTtls(cacheTtl);
+            builder = new CachingHttpClientBuilder() {
+                @Override
+                protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+                    return super.decorateMainExec(new HttpCacheTtlExec(mainExec, ttls));
+                }
+            }.setCacheConfig(cacheConfig).setHttpCacheStorage(httpCacheStorage());
+        } else {
+            CacheConfig cacheConfig = CacheConfig.custom()
+                            .setMaxCacheEntries(1000)
+                            .setMaxObjectSize(8192)
+                            .build();
+            builder = CachingHttpClientBuilder.create().setCacheConfig(cacheConfig);
+        }
+
+        builder.setConnectionManager(connManager)
                 .setProxy(proxy)
                 .setDefaultCredentialsProvider(credentialsProvider)
                 .setDefaultRequestConfig(RequestConfig.custom()
@@ -140,6 +181,10 @@ public class WebConfiguration  {
                         .setProxy(proxy)
                         .build());
                 
+        // measure latency of remote requests
+        HttpMetricsInterceptor metricsInterceptor = new HttpMetricsInterceptor(metricsRegistry);
+        builder.addInterceptorFirst((HttpRequestInterceptor) metricsInterceptor);
+        builder.addInterceptorLast((HttpResponseInterceptor) metricsInterceptor);
 
         // use system properties
         if (systemProperties) {
@@ -171,6 +216,19 @@ public class WebConfiguration  {
         return wrapper;
     }
 
+    @Bean
+    public DiskHttpCacheStorage httpCacheStorage() {
+        LOG.trace("Create new disk HTTP cache storage");
+        // a relative directory is resolved against the YAMJ home, outside of the publicly served resources
+        File directory;
+        if (StringUtils.isBlank(FilenameUtils.getPrefix(cacheDirectory))) {
+            directory = new File(FilenameUtils.concat(System.getProperty("yamj3.home", "."), cacheDirectory));
+        } else {
+            directory = new File(cacheDirectory);
+        }
+        return new DiskHttpCacheStorage(directory, cacheMaxSize * 1024L * 1024L);
+    }
+
     @Bean
     public TraktTvApi traktTvApi() {
         LOG.trace("Initialize TraktTvApi");
@@ -0,0 +1,81 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.api.model.builder;
+
+import static org.junit.Assert.*;
+
+import java.util.Date;
+import org.junit.Test;
+
+public class IndexCursorTest {
+
+    @Test
+    public void testEncodeAndParse() {
+        IndexCursor first = IndexCursor.parse(null, "sorttitle", "desc", IndexCursor.VIDEO_SORT_FIELDS);
+        assertTrue(first.isStart());
+        assertEquals("sortTitle", first.getSortField());
+        
+        String encoded = first.next("MOVIE", 42L, "Alien|Covenant").encode();
+        IndexCursor cursor = IndexCursor.parse(encoded, "sortTitle", "DESC", IndexCursor.VIDEO_SORT_FIELDS);
+        assertFalse(cursor.isStart());
+        assertEquals(42L, cursor.getId());
+        assertEquals("Alien|Covenant", cursor.getValue());
+
+        Date date = new Date(1234567890L);
+        encoded = IndexCursor.parse("first", "createTimestamp", null, IndexCursor.VIDEO_SORT_FIELDS).next("SERIES", 7L, date).encode();
+        assertEquals(date, IndexCursor.parse(encoded, "createTimestamp", "asc", IndexCursor.VIDEO_SORT_FIELDS).getValue());
+
+        encoded = IndexCursor.parse("", "videoYear", null, IndexCursor.VIDEO_SORT_FIELDS).next("SERIES", 7L, 1999).encode();
+        assertEquals(Integer.valueOf(1999), IndexCursor.parse(encoded, "videoYear", null, IndexCursor.VIDEO_SORT_FIELDS).getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortingMismatch() {
+        String encoded = IndexCursor.parse(null, "title", "asc", IndexCursor.VIDEO_SORT_FIELDS).next("MOVIE", 1L, "A").encode();
+        IndexCursor.parse(encoded, "title", "desc", IndexCursor.VIDEO_SORT_FIELDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedSortField() {
+        IndexCursor.parse(null, "releaseDate", null, IndexCursor.VIDEO_SORT_FIELDS);
+    }
+
+    @Test
+    public void testSeek() {
+        IndexCursor cursor = IndexCursor.parse(null, "title", "asc", IndexCursor.VIDEO_SORT_FIELDS).next("MOVIE", 5L, "B");
+        
+        StringBuilder sb = new StringBuilder();
+        cursor.appendSeek(sb, "vd.title", "MOVIE", "vd.id");
+        assertEquals(" AND (vd.title>:cursorValue OR (vd.title=:cursorValue AND vd.id>:cursorId)) ", sb.toString());
+
+        sb = new StringBuilder();
+        cursor.appendSeek(sb, "ser.title", "SERIES", "ser.id");
+        assertEquals(" AND ser.title>=:cursorValue ", sb.toString());
+
+        sb = new StringBuilder();
+        cursor.appendSeek(sb, "vd.title", "EPISODE", "vd.id");
+        assertEquals(" AND vd.title>:cursorValue ", sb.toString());
+        
+        assertEquals(" ORDER BY title ASC, videoType ASC, id ASC", cursor.getOrderBy("title", "videoType", "id"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.dao;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.yamj.common.type.StatusType;
+import org.yamj.core.database.model.Artwork;
+import org.yamj.core.database.model.ArtworkLocated;
+
+public class ArtworkDaoTest {
+
+    private final List<Object> saved = new ArrayList<>();
+    private final List<Object> updated = new ArrayList<>();
+
+    private final ArtworkDao artworkDao = new ArtworkDao() {
+        @Override
+        public void saveEntity(Object entity) {
+            saved.add(entity);
+        }
+
+        @Override
+        public void updateEntity(Object entity) {
+            updated.add(entity);
+        }
+    };
+
+    private static ArtworkLocated createLocated(Artwork artwork, String source, String hashCode, StatusType status) {
+        ArtworkLocated located = new ArtworkLocated();
+        located.setArtwork(artwork);
+        located.setSource(source);
+        located.setHashCode(hashCode);
+        located.setStatus(status);
+        return located;
+    }
+
+    @Test
+    public void testSaveArtworkLocated() {
+        Artwork artwork = new Artwork();
+        ArtworkLocated stored = createLocated(artwork, "tmdb", "a", StatusType.DONE);
+        stored.setStatus(StatusType.DELETED);
+        ArtworkLocated kept = createLocated(artwork, "tmdb", "b", StatusType.DONE);
+        artwork.getArtworkLocated().add(stored);
+        artwork.getArtworkLocated().add(kept);
+
+        artworkDao.saveArtworkLocated(artwork, Arrays.asList(
+                createLocated(artwork, "tmdb", "a", StatusType.NEW),
+                createLocated(artwork, "tmdb", "b", StatusType.NEW),
+                createLocated(artwork, "fanarttv", "a", StatusType.NEW),
+                createLocated(artwork, "fanarttv", "a", StatusType.NEW)));
+
+        // deleted located artwork is restored, duplicates are stored only once
+        assertEquals(StatusType.DONE, stored.getStatus());
+        assertEquals(Arrays.<Object>asList(stored), updated);
+        assertEquals(1, saved.size());
+        assertEquals("fanarttv", ((ArtworkLocated) saved.get(0)).getSource());
+        assertEquals(3, artwork.getArtworkLocated().size());
+    }
+}
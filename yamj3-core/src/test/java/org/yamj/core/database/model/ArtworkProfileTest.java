@@ -0,0 +1,58 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.yamj.core.database.model.type.ScalingType;
+
+public class ArtworkProfileTest {
+
+    private static ArtworkProfile createProfile(String name) {
+        ArtworkProfile profile = new ArtworkProfile();
+        profile.setProfileName(name);
+        profile.setWidth(224);
+        profile.setHeight(332);
+        profile.setScalingType(ScalingType.NORMALIZE);
+        profile.setQuality(75);
+        return profile;
+    }
+
+    @Test
+    public void testProfileHash() {
+        ArtworkProfile profile = createProfile("default");
+        final String hash = profile.buildProfileHash();
+        assertEquals(32, hash.length());
+
+        // the name has no effect on the generated image
+        assertEquals(hash, createProfile("other").buildProfileHash());
+
+        profile.setQuality(90);
+        assertNotEquals(hash, profile.buildProfileHash());
+
+        profile.setQuality(75);
+        profile.setScalingType(ScalingType.STRETCH);
+        assertNotEquals(hash, profile.buildProfileHash());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.yamj.common.type.StatusType;
+
+public class QueueDateTest {
+
+    @Test
+    public void testStatusTransitions() {
+        VideoData videoData = new VideoData("movie");
+        videoData.setStatus(StatusType.NEW);
+        assertNotNull(videoData.getQueueDate());
+        videoData.setStatus(StatusType.DONE);
+        assertNull(videoData.getQueueDate());
+    }
+
+    @Test
+    public void testEpisodeEnqueuesSeries() {
+        Series series = new Series("series");
+        series.setStatus(StatusType.DONE);
+        Season season = new Season("season");
+        season.setStatus(StatusType.DONE);
+        season.setSeries(series);
+        assertNull(series.getQueueDate());
+
+        VideoData episode = new VideoData("episode");
+        episode.setStatus(StatusType.NEW);
+        episode.setSeason(season);
+        assertNotNull(series.getQueueDate());
+        assertEquals(StatusType.DONE, series.getStatus());
+    }
+
+    @Test
+    public void testFilmographyQueue() {
+        Person person = new Person("person");
+        person.setFilmographyStatus(StatusType.NEW);
+        assertNotNull(person.getFilmographyQueueDate());
+        person.setFilmographyStatus(StatusType.ERROR);
+        assertNull(person.getFilmographyQueueDate());
+    }
+}
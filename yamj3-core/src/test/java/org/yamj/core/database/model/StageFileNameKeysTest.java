@@ -0,0 +1,67 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class StageFileNameKeysTest {
+
+    @Test
+    public void testNameKeys() {
+        StageFile stageFile = new StageFile();
+        stageFile.setBaseName("Avatar.FanArt");
+        stageFile.setExtension("JPG");
+        assertEquals("avatar.fanart", stageFile.getBaseNameLower());
+        assertEquals("jpg", stageFile.getExtensionLower());
+        assertEquals("fanart", stageFile.getNameToken());
+        assertNull(stageFile.getSetName());
+
+        stageFile.setBaseName("Avatar");
+        assertNull(stageFile.getNameToken());
+    }
+
+    @Test
+    public void testBoxedSetKeys() {
+        StageFile stageFile = new StageFile();
+        stageFile.setBaseName("Set_Star Wars_1-banner");
+        assertEquals("star wars", stageFile.getSetName());
+        assertEquals("banner", stageFile.getNameToken());
+
+        stageFile.setBaseName("Set_Star Wars_1");
+        assertEquals("star wars", stageFile.getSetName());
+        assertEquals("1", stageFile.getNameToken());
+
+        stageFile.setBaseName("Set_Star Wars_FanArt");
+        assertEquals("star wars", stageFile.getSetName());
+        assertEquals("fanart", stageFile.getNameToken());
+
+        stageFile.setBaseName("set_Star_Wars_2_banner");
+        assertEquals("star_wars", stageFile.getSetName());
+        assertEquals("banner", stageFile.getNameToken());
+
+        stageFile.setBaseName("Set_Alien");
+        assertNull(stageFile.getSetName());
+    }
+}
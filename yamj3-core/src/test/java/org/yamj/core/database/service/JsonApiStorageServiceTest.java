@@ -0,0 +1,111 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.api.model.dto.ApiChangesDTO;
+import org.yamj.core.database.dao.ChangeDao;
+
+public class JsonApiStorageServiceTest {
+
+    private static final Date SINCE = new Date(1000L);
+    private static final Date UNTIL = new Date(5000L);
+
+    private static JsonApiStorageService createService(final List<Object[]> changed, final List<Long> deleted) {
+        ChangeDao changeDao = new ChangeDao() {
+            @Override
+            public List<Object[]> getChangedObjects(MetaDataType type, Date since, Date until, long lastId, int maxResults) {
+                List<Object[]> result = new ArrayList<>();
+                for (Object[] row : changed) {
+                    if ((Long) row[0] > lastId && result.size() < maxResults) {
+                        result.add(row);
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            public List<Long> getDeletedObjects(MetaDataType type, Date since, Date until, long lastId, int maxResults) {
+                List<Long> result = new ArrayList<>();
+                for (Long id : deleted) {
+                    if (id > lastId && result.size() < maxResults) {
+                        result.add(id);
+                    }
+                }
+                return result;
+            }
+        };
+        
+        JsonApiStorageService service = new JsonApiStorageService();
+        ReflectionTestUtils.setField(service, "changeDao", changeDao);
+        return service;
+    }
+    
+    private static Object[] row(long id, long created) {
+        return new Object[]{Long.valueOf(id), new Date(created)};
+    }
+    
+    @Test
+    public void testChanges() {
+        List<Object[]> changed = Arrays.asList(row(1, 500), row(4, 2000), row(6, 800));
+        JsonApiStorageService service = createService(changed, Arrays.asList(2L, 5L));
+        
+        ApiChangesDTO changes = service.getChanges(MetaDataType.MOVIE, SINCE, UNTIL, 0, 10);
+        assertTrue(changes.isComplete());
+        assertEquals(6, changes.getLastId());
+        assertEquals(Arrays.asList(4L), changes.getAdded());
+        assertEquals(Arrays.asList(1L, 6L), changes.getChanged());
+        assertEquals(Arrays.asList(2L, 5L), changes.getDeleted());
+    }
+
+    @Test
+    public void testChangesPaged() {
+        List<Object[]> changed = Arrays.asList(row(1, 500), row(4, 2000), row(6, 800));
+        JsonApiStorageService service = createService(changed, Arrays.asList(2L, 5L));
+        
+        ApiChangesDTO changes = service.getChanges(MetaDataType.MOVIE, SINCE, UNTIL, 0, 2);
+        assertFalse(changes.isComplete());
+        assertEquals(2, changes.getLastId());
+        assertEquals(Arrays.asList(1L), changes.getChanged());
+        assertEquals(Arrays.asList(2L), changes.getDeleted());
+
+        changes = service.getChanges(MetaDataType.MOVIE, SINCE, UNTIL, changes.getLastId(), 2);
+        assertFalse(changes.isComplete());
+        assertEquals(5, changes.getLastId());
+        assertEquals(Arrays.asList(4L), changes.getAdded());
+        assertEquals(Arrays.asList(5L), changes.getDeleted());
+
+        changes = service.getChanges(MetaDataType.MOVIE, SINCE, UNTIL, changes.getLastId(), 2);
+        assertTrue(changes.isComplete());
+        assertEquals(6, changes.getLastId());
+        assertEquals(Arrays.asList(6L), changes.getChanged());
+    }
+}
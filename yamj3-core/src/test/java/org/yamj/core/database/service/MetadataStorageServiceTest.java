@@ -0,0 +1,176 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.core.database.dao.CommonDao;
+import org.yamj.core.database.dao.MetadataDao;
+import org.yamj.core.database.model.VideoData;
+import org.yamj.core.database.model.dto.BoxedSetDTO;
+import org.yamj.core.database.model.dto.CreditDTO;
+import org.yamj.plugin.api.model.type.JobType;
+
+public class MetadataStorageServiceTest {
+
+    private MetadataStorageService metadataStorageService;
+    private List<String> storedCredits;
+    private List<Long> updatedCredits;
+    private Set<Long> deletedIds;
+    private List<String> storedBoxedSets;
+    private List<Long> updatedBoxedSets;
+
+    @Before
+    public void setUp() {
+        storedCredits = new ArrayList<>();
+        updatedCredits = new ArrayList<>();
+        deletedIds = new HashSet<>();
+        storedBoxedSets = new ArrayList<>();
+        updatedBoxedSets = new ArrayList<>();
+
+        metadataStorageService = new MetadataStorageService();
+        ReflectionTestUtils.setField(metadataStorageService, "referenceRegistry", new ReferenceRegistry());
+        ReflectionTestUtils.setField(metadataStorageService, "metadataDao", new MetadataDao() {
+            @Override
+            public void storeMovieCredit(CreditDTO dto) {
+                storedCredits.add(dto.getIdentifier());
+                dto.setPersonId(Long.valueOf(storedCredits.size()));
+            }
+
+            @Override
+            public boolean updateMovieCredit(Long personId, CreditDTO dto) {
+                if (deletedIds.contains(personId)) {
+                    return false;
+                }
+                updatedCredits.add(personId);
+                dto.setPersonId(personId);
+                return true;
+            }
+        });
+        ReflectionTestUtils.setField(metadataStorageService, "commonDao", new CommonDao() {
+            @Override
+            public void storeNewBoxedSet(BoxedSetDTO dto) {
+                storedBoxedSets.add(dto.getIdentifier());
+                dto.setBoxedSetId(Long.valueOf(storedBoxedSets.size()));
+            }
+
+            @Override
+            public boolean updateBoxedSetSourceId(BoxedSetDTO dto) {
+                if (deletedIds.contains(dto.getBoxedSetId())) {
+                    return false;
+                }
+                updatedBoxedSets.add(dto.getBoxedSetId());
+                return true;
+            }
+        });
+    }
+
+    private static VideoData createVideoData(String... persons) {
+        VideoData videoData = new VideoData("test");
+        for (String person : persons) {
+            videoData.addCreditDTO(new CreditDTO("tmdb", null, JobType.ACTOR, person, person));
+        }
+        return videoData;
+    }
+
+    @Test
+    public void testKnownPersonsAreNotStored() {
+        metadataStorageService.storeAssociatedEntities(createVideoData("john_doe", "jane_doe"));
+        assertEquals(2, storedCredits.size());
+
+        VideoData videoData = createVideoData("jane_doe", "john_doe", "max_mustermann");
+        metadataStorageService.storeAssociatedEntities(videoData);
+        assertEquals(3, storedCredits.size());
+        assertEquals("max_mustermann", storedCredits.get(2));
+
+        for (CreditDTO creditDTO : videoData.getCreditDTOS()) {
+            assertNotNull(creditDTO.getPersonId());
+            assertEquals(storedCredits.indexOf(creditDTO.getIdentifier()) + 1, creditDTO.getPersonId().intValue());
+        }
+        assertTrue(updatedCredits.isEmpty());
+    }
+
+    @Test
+    public void testKnownPersonsAreUpdated() {
+        metadataStorageService.storeAssociatedEntities(createVideoData("john_doe", "jane_doe"));
+
+        VideoData videoData = new VideoData("test");
+        videoData.addCreditDTO(new CreditDTO("tmdb", "123", JobType.ACTOR, "john_doe", "John Doe"));
+        CreditDTO credit = new CreditDTO("tmdb", null, JobType.ACTOR, "jane_doe", "Jane Doe");
+        credit.setRealName("Jane Roe");
+        videoData.addCreditDTO(credit);
+        metadataStorageService.storeAssociatedEntities(videoData);
+
+        assertEquals(2, storedCredits.size());
+        assertEquals(Arrays.asList(Long.valueOf(1), Long.valueOf(2)), updatedCredits);
+    }
+
+    @Test
+    public void testDeletedPersonIsStoredAgain() {
+        metadataStorageService.storeAssociatedEntities(createVideoData("john_doe"));
+        deletedIds.add(Long.valueOf(1));
+
+        VideoData videoData = new VideoData("test");
+        videoData.addCreditDTO(new CreditDTO("tmdb", "123", JobType.ACTOR, "john_doe", "John Doe"));
+        metadataStorageService.storeAssociatedEntities(videoData);
+
+        assertEquals(2, storedCredits.size());
+        assertTrue(updatedCredits.isEmpty());
+        assertEquals(Long.valueOf(2), videoData.getCreditDTOS().iterator().next().getPersonId());
+    }
+
+    @Test
+    public void testKnownBoxedSetsAreNotStored() {
+        VideoData videoData = new VideoData("first");
+        videoData.addBoxedSetDTO("tmdb", "Collection", "Collection", 1, null);
+        metadataStorageService.storeAssociatedEntities(videoData);
+        assertEquals(1, storedBoxedSets.size());
+        assertTrue(updatedBoxedSets.isEmpty());
+
+        videoData = new VideoData("second");
+        videoData.addBoxedSetDTO("tmdb", "collection", "Collection", 2, "42");
+        metadataStorageService.storeAssociatedEntities(videoData);
+        assertEquals(1, storedBoxedSets.size());
+        assertEquals(1, updatedBoxedSets.size());
+        assertEquals(Long.valueOf(1), videoData.getBoxedSetDTOS().iterator().next().getBoxedSetId());
+    }
+
+    @Test
+    public void testDeletedBoxedSetIsStoredAgain() {
+        VideoData videoData = new VideoData("first");
+        videoData.addBoxedSetDTO("tmdb", "Collection", "Collection", 1, null);
+        metadataStorageService.storeAssociatedEntities(videoData);
+        deletedIds.add(Long.valueOf(1));
+
+        videoData = new VideoData("second");
+        videoData.addBoxedSetDTO("tmdb", "Collection", "Collection", 2, "42");
+        metadataStorageService.storeAssociatedEntities(videoData);
+        assertEquals(2, storedBoxedSets.size());
+        assertTrue(updatedBoxedSets.isEmpty());
+        assertEquals(Long.valueOf(2), videoData.getBoxedSetDTOS().iterator().next().getBoxedSetId());
+    }
+}
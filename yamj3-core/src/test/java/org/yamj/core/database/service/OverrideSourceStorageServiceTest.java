@@ -0,0 +1,89 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.After;
+import org.junit.Test;
+import org.yamj.common.tools.PropertyTools;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.model.Person;
+import org.yamj.core.database.model.VideoData;
+import org.yamj.core.database.model.type.OverrideFlag;
+import org.yamj.core.tools.OverrideTools;
+
+public class OverrideSourceStorageServiceTest {
+
+    @After
+    public void tearDown() {
+        PropertyTools.setProperty("priority.sources.disabled", "");
+        OverrideTools.reloadPriorities();
+    }
+
+    @Test
+    public void testSourceValues() {
+        VideoData videoData = new VideoData("test");
+        videoData.addSourceValue(OverrideFlag.TITLE, "NFO", " Title ");
+        videoData.addSourceValue(OverrideFlag.YEAR, "nfo", 0);
+        videoData.addSourceValue(OverrideFlag.PLOT, "nfo", " ");
+
+        Map<OverrideFlag, Map<String, String>> values = videoData.getSourceValues();
+        assertEquals(1, values.size());
+        assertEquals("Title", values.get(OverrideFlag.TITLE).get("nfo"));
+        assertEquals(MetaDataType.MOVIE, OverrideSourceStorageService.getMetaDataType(videoData));
+    }
+
+    @Test
+    public void testResolveWithDisabledSource() {
+        VideoData videoData = new VideoData("test");
+        videoData.setTitle("From NFO", "nfo");
+        Set<String> sources = new HashSet<>(Arrays.asList("nfo", "filename"));
+
+        // actual source has highest priority
+        assertNull(OverrideTools.resolveSource(videoData, OverrideFlag.TITLE, sources));
+
+        PropertyTools.setProperty("priority.sources.disabled", "nfo");
+        OverrideTools.reloadPriorities();
+
+        String source = OverrideTools.resolveSource(videoData, OverrideFlag.TITLE, sources);
+        assertEquals("filename", source);
+        assertTrue(OverrideSourceStorageService.applySourceValue(videoData, OverrideFlag.TITLE, "From Filename", source));
+        assertEquals("From Filename", videoData.getTitle());
+        assertEquals("filename", videoData.getOverrideSource(OverrideFlag.TITLE));
+    }
+
+    @Test
+    public void testApplyPersonValues() {
+        Person person = new Person("test");
+        Date birthDay = new Date(86400000L);
+        person.addSourceValue(OverrideFlag.BIRTHDAY, "imdb", birthDay);
+        String value = person.getSourceValues().get(OverrideFlag.BIRTHDAY).get("imdb");
+
+        assertTrue(OverrideSourceStorageService.applySourceValue(person, OverrideFlag.BIRTHDAY, value, "imdb"));
+        assertEquals(birthDay, person.getBirthDay());
+        assertFalse(OverrideSourceStorageService.applySourceValue(person, OverrideFlag.DEATHDAY, "invalid", "imdb"));
+        assertFalse(OverrideSourceStorageService.applySourceValue(person, OverrideFlag.TAGLINE, "tagline", "imdb"));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.yamj.core.database.service.ReferenceRegistry.ReferenceType;
+
+public class ReferenceRegistryTest {
+
+    @Test
+    public void testSingleFlightCreation() throws Exception {
+        final ReferenceRegistry registry = new ReferenceRegistry();
+        final AtomicInteger creations = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Callable<Long> creator = new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                creations.incrementAndGet();
+                Thread.sleep(50);
+                return Long.valueOf(42);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        start.await();
+                        return registry.resolve(ReferenceType.GENRE, "action", creator);
+                    }
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                assertEquals(Long.valueOf(42), future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, creations.get());
+        assertEquals(Long.valueOf(42), registry.getId(ReferenceType.GENRE, "action"));
+        assertNull(registry.getId(ReferenceType.STUDIO, "action"));
+    }
+
+    @Test
+    public void testFailedCreationIsRetried() throws Exception {
+        ReferenceRegistry registry = new ReferenceRegistry();
+        try {
+            registry.resolve(ReferenceType.COUNTRY, "DE", new Callable<Long>() {
+                @Override
+                public Long call() {
+                    throw new IllegalStateException("database down");
+                }
+            });
+            fail("Exception expected");
+        } catch (IllegalStateException ex) {
+            assertEquals("database down", ex.getMessage());
+        }
+        assertNull(registry.getId(ReferenceType.COUNTRY, "DE"));
+
+        Long id = registry.resolve(ReferenceType.COUNTRY, "DE", new Callable<Long>() {
+            @Override
+            public Long call() {
+                return Long.valueOf(7);
+            }
+        });
+        assertEquals(Long.valueOf(7), id);
+
+        registry.evict(ReferenceType.COUNTRY);
+        assertNull(registry.getId(ReferenceType.COUNTRY, "DE"));
+    }
+
+    private static Long resolve(ReferenceRegistry registry, String key, final long id) throws Exception {
+        return registry.resolve(ReferenceType.PERSON, key, new Callable<Long>() {
+            @Override
+            public Long call() {
+                return Long.valueOf(id);
+            }
+        });
+    }
+
+    private static void completeTransaction(int status) {
+        try {
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testCreationIsRegisteredAfterCommit() throws Exception {
+        ReferenceRegistry registry = new ReferenceRegistry();
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(Long.valueOf(1), resolve(registry, "john_doe", 1));
+        assertNull(registry.getId(ReferenceType.PERSON, "john_doe"));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(Long.valueOf(1), registry.getId(ReferenceType.PERSON, "john_doe"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(Long.valueOf(2), resolve(registry, "jane_doe", 2));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertNull(registry.getId(ReferenceType.PERSON, "jane_doe"));
+    }
+
+    @Test
+    public void testRollbackDropsUsedEntry() throws Exception {
+        ReferenceRegistry registry = new ReferenceRegistry();
+        resolve(registry, "john_doe", 1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(Long.valueOf(1), resolve(registry, "john_doe", 3));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertNull(registry.getId(ReferenceType.PERSON, "john_doe"));
+
+        assertEquals(Long.valueOf(3), resolve(registry, "john_doe", 3));
+    }
+
+    @Test
+    public void testEvictById() throws Exception {
+        ReferenceRegistry registry = new ReferenceRegistry();
+        resolve(registry, "john_doe", 1);
+        resolve(registry, "jane_doe", 2);
+
+        registry.evict(ReferenceType.PERSON, Long.valueOf(1));
+        assertNull(registry.getId(ReferenceType.PERSON, "john_doe"));
+        assertEquals(Long.valueOf(2), registry.getId(ReferenceType.PERSON, "jane_doe"));
+    }
+}
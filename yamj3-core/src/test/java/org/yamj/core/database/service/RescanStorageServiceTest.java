@@ -0,0 +1,212 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.database.service;
+
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.database.dao.RescanDao;
+import org.yamj.core.database.model.RescanWave;
+import org.yamj.core.database.model.dto.RefreshCandidateDTO;
+import org.yamj.core.database.model.type.RescanWaveOrder;
+import org.yamj.core.database.model.type.RescanWaveState;
+
+public class RescanStorageServiceTest {
+
+    private static final long MINUTE = 60000L;
+    private static final long DAY = 1440 * MINUTE;
+
+    private RescanStorageService rescanStorageService;
+    private RescanWave wave;
+    private long pending;
+    private int candidates;
+    private int requested;
+    private int marked;
+    private List<Long> markedIds;
+    private List<RefreshCandidateDTO> refreshCandidates;
+    private List<RefreshCandidateDTO> boostedCandidates;
+
+    @Before
+    public void setUp() {
+        wave = new RescanWave();
+        wave.setName("test");
+        wave.setMetaDataType(MetaDataType.MOVIE);
+        wave.setWaveOrder(RescanWaveOrder.LEAST_RECENTLY_SCANNED);
+        wave.setState(RescanWaveState.ACTIVE);
+        wave.setItemsPerHour(600);
+        wave.setCompareDate(new Date());
+        wave.setTotalCount(1000);
+        
+        pending = 0;
+        candidates = 1000;
+        requested = -1;
+        marked = 0;
+        markedIds = new ArrayList<>();
+        refreshCandidates = new ArrayList<>();
+        boostedCandidates = new ArrayList<>();
+
+        rescanStorageService = new RescanStorageService();
+        ReflectionTestUtils.setField(rescanStorageService, "rescanDao", new RescanDao() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T getById(Class<T> entityClass, Serializable id) {
+                return (T) wave;
+            }
+
+            @Override
+            public RescanWave getWave(String name) {
+                return wave.getName().equals(name) ? wave : null;
+            }
+
+            @Override
+            public long countPending(MetaDataType type) {
+                return pending;
+            }
+
+            @Override
+            public List<Long> getCandidateIds(RescanWave rescanWave, int maxResults) {
+                requested = maxResults;
+                List<Long> ids = new ArrayList<>();
+                for (long id = 1; id <= Math.min(maxResults, candidates); id++) {
+                    ids.add(id);
+                }
+                return ids;
+            }
+
+            @Override
+            public List<RefreshCandidateDTO> getRefreshCandidates(MetaDataType type, Date compareDate, int maxResults) {
+                return refreshCandidates;
+            }
+
+            @Override
+            public List<RefreshCandidateDTO> getBoostedRefreshCandidates(MetaDataType type, Date compareDate, Date recentDate, Date changeDate, int maxResults) {
+                return boostedCandidates;
+            }
+
+            @Override
+            public int markForRescan(MetaDataType type, List<Long> idList) {
+                markedIds.addAll(idList);
+                marked += idList.size();
+                return idList.size();
+            }
+        });
+    }
+
+    @Test
+    public void testRateLimit() {
+        wave.setLastEnqueued(new Date(System.currentTimeMillis() - MINUTE));
+        assertEquals(10, rescanStorageService.enqueueNext(1L, 25));
+        assertEquals(10, marked);
+        assertEquals(10, wave.getEnqueuedCount());
+        
+        // nothing allowed directly afterwards
+        requested = -1;
+        assertEquals(0, rescanStorageService.enqueueNext(1L, 25));
+        assertEquals(-1, requested);
+    }
+
+    @Test
+    public void testPendingLimit() {
+        wave.setLastEnqueued(new Date(System.currentTimeMillis() - 30 * MINUTE));
+        pending = 20;
+        assertEquals(5, rescanStorageService.enqueueNext(1L, 25));
+        
+        // filled queue delays the wave
+        pending = 25;
+        wave.setLastEnqueued(new Date(System.currentTimeMillis() - 30 * MINUTE));
+        requested = -1;
+        assertEquals(0, rescanStorageService.enqueueNext(1L, 25));
+        assertEquals(-1, requested);
+    }
+
+    @Test
+    public void testWaveFinished() {
+        wave.setLastEnqueued(new Date(System.currentTimeMillis() - 30 * MINUTE));
+        candidates = 0;
+        assertEquals(0, rescanStorageService.enqueueNext(1L, 25));
+        assertEquals(RescanWaveState.DONE, wave.getState());
+    }
+
+    @Test
+    public void testStateChanges() {
+        assertTrue(rescanStorageService.changeWaveState("test", RescanWaveState.PAUSED).isSuccessful());
+        wave.setLastEnqueued(new Date(System.currentTimeMillis() - 30 * MINUTE));
+        assertEquals(0, rescanStorageService.enqueueNext(1L, 25));
+
+        assertFalse(rescanStorageService.changeWaveState("test", RescanWaveState.PAUSED).isSuccessful());
+        assertTrue(rescanStorageService.changeWaveState("test", RescanWaveState.ACTIVE).isSuccessful());
+        assertTrue(rescanStorageService.changeWaveState("test", RescanWaveState.CANCELLED).isSuccessful());
+        assertFalse(rescanStorageService.changeWaveState("test", RescanWaveState.ACTIVE).isSuccessful());
+        assertFalse(rescanStorageService.changeWaveState("unknown", RescanWaveState.PAUSED).isSuccessful());
+    }
+
+    @Test
+    public void testRefreshScore() {
+        final long now = System.currentTimeMillis();
+        RefreshCandidateDTO stale = new RefreshCandidateDTO(1L, new Date(now - 70 * DAY), new Date(now - 400 * DAY));
+        RefreshCandidateDTO airing = new RefreshCandidateDTO(2L, new Date(now - 40 * DAY), new Date(now - 400 * DAY));
+        airing.setAiring(true);
+        RefreshCandidateDTO fresh = new RefreshCandidateDTO(3L, new Date(now - 40 * DAY), new Date(now - 400 * DAY));
+        refreshCandidates.add(stale);
+        refreshCandidates.add(airing);
+        refreshCandidates.add(fresh);
+
+        assertTrue(RescanStorageService.refreshScore(fresh, now, 60) < 1d);
+        assertTrue(RescanStorageService.refreshScore(airing, now, 60) > RescanStorageService.refreshScore(stale, now, 60));
+
+        // highest score first, limited by the budget
+        assertEquals(1, rescanStorageService.enqueueRefresh(MetaDataType.SERIES, 1, 25, 60));
+        assertEquals(Long.valueOf(2L), markedIds.get(0));
+        
+        markedIds.clear();
+        assertEquals(2, rescanStorageService.enqueueRefresh(MetaDataType.SERIES, 10, 25, 60));
+        assertFalse(markedIds.contains(3L));
+        
+        // filled queue
+        pending = 25;
+        assertEquals(0, rescanStorageService.enqueueRefresh(MetaDataType.SERIES, 10, 25, 60));
+    }
+
+    @Test
+    public void testBoostedOutsideOldestWindow() {
+        final long now = System.currentTimeMillis();
+        RefreshCandidateDTO stale = new RefreshCandidateDTO(1L, new Date(now - 65 * DAY), new Date(now - 400 * DAY));
+        refreshCandidates.add(stale);
+        RefreshCandidateDTO watched = new RefreshCandidateDTO(2L, new Date(now - 50 * DAY), new Date(now - 400 * DAY));
+        watched.setWatchedDate(new Date(now - DAY));
+        watched.setLastChange(new Date(now - DAY));
+        boostedCandidates.add(watched);
+
+        // the boosted candidate is not within the oldest candidates, but has the highest score
+        assertEquals(1, rescanStorageService.enqueueRefresh(MetaDataType.MOVIE, 1, 25, 60));
+        assertEquals(Long.valueOf(2L), markedIds.get(0));
+        assertEquals(1, refreshCandidates.size());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.artwork;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.core.config.ConfigService;
+
+public class ArtworkGenerationCoordinatorTest {
+
+    private final AtomicInteger generations = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ArtworkGenerationCoordinator coordinator;
+
+    private void createCoordinator(long maxWait) {
+        Properties props = new Properties();
+        props.setProperty("yamj3.artwork.generation.maxThreads", "2");
+        props.setProperty("yamj3.artwork.generation.maxWaitMillis", String.valueOf(maxWait));
+        ConfigService configService = new ConfigService();
+        configService.setDynamicProperties(props);
+        
+        ArtworkProcessorService processorService = new ArtworkProcessorService() {
+            @Override
+            public ImageDTO getGeneratedImage(Long id, String profileName) {
+                return null;
+            }
+            
+            @Override
+            public ImageDTO getImage(Long id, String profileName) {
+                generations.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) { //NOSONAR
+                    Thread.currentThread().interrupt();
+                }
+                ImageDTO image = new ImageDTO();
+                image.setResource(id + "_" + profileName + ".jpg");
+                return image;
+            }
+        };
+        
+        coordinator = new ArtworkGenerationCoordinator();
+        ReflectionTestUtils.setField(coordinator, "configService", configService);
+        ReflectionTestUtils.setField(coordinator, "artworkProcessorService", processorService);
+        coordinator.init();
+    }
+    
+    @After
+    public void destroy() {
+        coordinator.destroy();
+    }
+    
+    @Test
+    public void testCoalescing() throws Exception {
+        createCoordinator(5000);
+        
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        List<Future<ImageDTO>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(callers.submit(new Callable<ImageDTO>() {
+                @Override
+                public ImageDTO call() throws Exception {
+                    return coordinator.getImage(1L, "poster");
+                }
+            }));
+        }
+        
+        Thread.sleep(200);
+        release.countDown();
+        for (Future<ImageDTO> result : results) {
+            ImageDTO image = result.get();
+            assertFalse(image.isPending());
+            assertEquals("1_poster.jpg", image.getResource());
+        }
+        callers.shutdown();
+        
+        assertEquals(1, generations.get());
+        assertEquals(0, coordinator.getInFlightCount());
+    }
+
+    @Test
+    public void testPending() throws Exception {
+        createCoordinator(50);
+        
+        ImageDTO image = coordinator.getImage(2L, "poster");
+        assertTrue(image.isPending());
+        assertEquals(1, coordinator.getInFlightCount());
+        
+        release.countDown();
+        Thread.sleep(200);
+        assertEquals(0, coordinator.getInFlightCount());
+        assertEquals(1, generations.get());
+    }
+}
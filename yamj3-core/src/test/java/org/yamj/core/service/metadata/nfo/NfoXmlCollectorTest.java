@@ -0,0 +1,159 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metadata.nfo;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.Test;
+import org.yamj.core.service.metadata.nfo.NfoXmlCollector.CommonValues;
+import org.yamj.core.tools.xml.StaxHelper;
+import org.yamj.core.tools.xml.XmlFragmentReader;
+
+public class NfoXmlCollectorTest {
+
+    private static XmlFragmentReader fragmentReader(String content) {
+        return new XmlFragmentReader(new StringReader(content), "nfo", 1024, "movie", "tvshow", "episodedetails");
+    }
+
+    private static NfoXmlCollector collect(XmlFragmentReader fragmentReader) throws Exception {
+        assertTrue(fragmentReader.findFragment());
+        NfoXmlCollector collector = new NfoXmlCollector(1024);
+        XMLStreamReader reader = StaxHelper.createStreamReader(fragmentReader);
+        try {
+            collector.collect(reader);
+        } finally {
+            StaxHelper.closeQuietly(reader);
+        }
+        return collector;
+    }
+
+    @Test
+    public void testMovie() throws Exception {
+        NfoXmlCollector collector = collect(fragmentReader(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<movie><title>Avatar</title><sorttitle>Avatar 1</sorttitle><title>ignored</title>"
+            + "<id moviedb=\"imdb\">tt0499549</id><id TMDB=\"19995\"/>"
+            + "<set order=\"1\">Avatar Collection</set>"
+            + "<genre><name>Action</name><name>Sci-Fi</name></genre>"
+            + "<actor><name>Sam Worthington</name><role>Jake Sully</role><thumb>http://x/sam.jpg</thumb></actor>"
+            + "<director>James Cameron</director></movie>"));
+
+        assertTrue(collector.hasCompletedFragments());
+        assertNull(collector.getTvShow());
+        CommonValues movie = collector.getMovie();
+        assertNotNull(movie);
+        assertEquals("Avatar", movie.getValue("title"));
+        assertEquals("Avatar 1", movie.getValue("sorttitle", "sortTitle"));
+        assertEquals("", movie.getValue("plot"));
+        assertEquals(2, movie.ids.size());
+        assertArrayEquals(new String[]{"tt0499549", "imdb", ""}, movie.ids.get(0));
+        assertEquals("19995", movie.ids.get(1)[2]);
+        assertArrayEquals(new String[]{"Avatar Collection", "1"}, movie.sets.get(0));
+        assertEquals(2, movie.genres.size());
+        assertEquals("James Cameron", movie.directors.get(0));
+        assertArrayEquals(new String[]{"Sam Worthington", "Jake Sully", "http://x/sam.jpg"}, movie.actors.get(0));
+    }
+
+    @Test
+    public void testTvShowWithEpisodes() throws Exception {
+        NfoXmlCollector collector = collect(fragmentReader(
+            "<tvshow><title>Show</title><id>12345</id></tvshow>\n"
+            + "<episodedetails><title>Pilot</title><season>1</season><episode>1</episode></episodedetails>\n"
+            + "<episodedetails><title>Second</title><season>1</season><episode>2</episode></episodedetails>"));
+
+        assertNotNull(collector.getTvShow());
+        assertEquals("Show", collector.getTvShow().getValue("title"));
+        assertEquals(2, collector.getEpisodes().size());
+        InfoEpisodeDTO episode = collector.getEpisodes().get(1);
+        assertEquals("Second", episode.getTitle());
+        assertEquals(1, episode.getSeason());
+        assertEquals(2, episode.getEpisode());
+    }
+
+    @Test
+    public void testXmlFollowedByUrl() throws Exception {
+        XmlFragmentReader fragmentReader = fragmentReader(
+            "some text <movie><title>Avatar</title></movie>\nhttp://www.imdb.com/title/tt0499549/");
+        NfoXmlCollector collector = collect(fragmentReader);
+
+        assertEquals("some text ", fragmentReader.getPrefix());
+        assertEquals("Avatar", collector.getMovie().getValue("title"));
+        assertTrue(collector.getRemainder().contains("http://www.imdb.com/title/tt0499549/"));
+    }
+
+    @Test
+    public void testFragmentIgnoringCase() throws Exception {
+        NfoXmlCollector collector = collect(fragmentReader("<Movie><title>Avatar</title></Movie>"));
+
+        assertEquals("Avatar", collector.getMovie().getValue("title"));
+    }
+
+    @Test
+    public void testXmlFollowedByInvalidText() throws Exception {
+        XmlFragmentReader fragmentReader = fragmentReader(
+            "<movie><title>Avatar</title></movie>\nhttp://www.imdb.com/find?q=a&s=tt <b");
+        assertTrue(fragmentReader.findFragment());
+        NfoXmlCollector collector = new NfoXmlCollector(1024);
+        XMLStreamReader reader = StaxHelper.createStreamReader(fragmentReader);
+        try {
+            collector.collect(reader);
+            fail("Invalid XML expected");
+        } catch (XMLStreamException expected) {
+            assertTrue(collector.hasCompletedFragments());
+            collector.setTrailingText(fragmentReader.readSuffix(collector.getClosedFragments()));
+        } finally {
+            StaxHelper.closeQuietly(reader);
+        }
+
+        assertEquals("Avatar", collector.getMovie().getValue("title"));
+        assertEquals("\nhttp://www.imdb.com/find?q=a&s=tt <b", collector.getRemainder());
+    }
+
+    @Test
+    public void testInvalidTextBeforeFragment() throws Exception {
+        XmlFragmentReader fragmentReader = fragmentReader(
+            "<movie><title>Avatar</title></movie> a & b <episodedetails><title>Pilot</title></episodedetails>");
+        assertTrue(fragmentReader.findFragment());
+        NfoXmlCollector collector = new NfoXmlCollector(1024);
+        XMLStreamReader reader = StaxHelper.createStreamReader(fragmentReader);
+        try {
+            collector.collect(reader);
+            fail("Invalid XML expected");
+        } catch (XMLStreamException expected) {
+            // the episode behind the invalid text would be lost
+            assertNull(fragmentReader.readSuffix(collector.getClosedFragments()));
+        } finally {
+            StaxHelper.closeQuietly(reader);
+        }
+    }
+
+    @Test
+    public void testNoFragment() throws Exception {
+        XmlFragmentReader fragmentReader = fragmentReader("http://www.imdb.com/title/tt0499549/ <movies>");
+        assertFalse(fragmentReader.findFragment());
+        assertEquals("http://www.imdb.com/title/tt0499549/ <movies>", fragmentReader.getPrefix());
+    }
+}
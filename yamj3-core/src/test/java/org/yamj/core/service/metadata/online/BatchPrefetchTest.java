@@ -0,0 +1,171 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metadata.online;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.config.ConfigServiceWrapper;
+import org.yamj.core.database.service.MetadataStorageService;
+import org.yamj.plugin.api.metadata.BatchResult;
+import org.yamj.plugin.api.metadata.mock.BatchMovieScannerMock;
+import org.yamj.plugin.api.model.mock.MovieMock;
+
+public class BatchPrefetchTest {
+
+    private static OnlineScannerService createService(final Map<Long, String> sourceIds) {
+        return createService(sourceIds, new Properties());
+    }
+
+    private static OnlineScannerService createService(final Map<Long, String> sourceIds, Properties properties) {
+        ConfigService configService = new ConfigService();
+        configService.setDynamicProperties(properties);
+        ConfigServiceWrapper configServiceWrapper = new ConfigServiceWrapper();
+        ReflectionTestUtils.setField(configServiceWrapper, "configService", configService);
+
+        MetadataStorageService metadataStorageService = new MetadataStorageService() {
+            @Override
+            public Map<Long, String> getSourceDbIds(MetaDataType type, String sourceDb, Collection<Long> ids) {
+                Map<Long, String> result = new HashMap<>();
+                for (Long id : ids) {
+                    if (sourceIds.containsKey(id)) {
+                        result.put(id, sourceIds.get(id));
+                    }
+                }
+                return result;
+            }
+        };
+
+        OnlineScannerService service = new OnlineScannerService();
+        ReflectionTestUtils.setField(service, "configServiceWrapper", configServiceWrapper);
+        ReflectionTestUtils.setField(service, "metadataStorageService", metadataStorageService);
+        return service;
+    }
+
+    private static MovieMock movie(String source, String id) {
+        MovieMock movie = new MovieMock();
+        movie.addId(source, id);
+        return movie;
+    }
+
+    @Test
+    public void testPrefetchInChunksWithFallback() {
+        BatchMovieScannerMock scanner = new BatchMovieScannerMock("tmdb", 2);
+        scanner.addMovie("a", "Movie A");
+        scanner.addMovie("b", "Movie B");
+        scanner.addMovie("c", "Movie C");
+        scanner.setFailure("c", BatchResult.TEMPORARY_ERROR);
+
+        Map<Long, String> sourceIds = new HashMap<>();
+        sourceIds.put(1L, "a");
+        sourceIds.put(2L, "b");
+        sourceIds.put(3L, "c");
+
+        OnlineScannerService service = createService(sourceIds);
+        service.registerMetadataScanner(scanner);
+        service.prefetchMovies(Arrays.asList(1L, 2L, 3L, 4L));
+
+        assertEquals(2, scanner.getBatchCalls().size());
+        assertEquals(2, scanner.getBatchCalls().get(0).size());
+        assertEquals(1, scanner.getBatchCalls().get(1).size());
+
+        // prefetched movie is served from the batch
+        MovieMock movieA = movie("tmdb", "a");
+        assertTrue(scanner.scanMovie(movieA, false));
+        assertEquals("Movie A", movieA.getTitle());
+        assertEquals(0, scanner.getSingleLookups());
+
+        // failed movie falls back to the single lookup
+        MovieMock movieC = movie("tmdb", "c");
+        assertTrue(scanner.scanMovie(movieC, false));
+        assertEquals("Movie C", movieC.getTitle());
+        assertEquals(1, scanner.getSingleLookups());
+    }
+
+    @Test
+    public void testFailingBatchIsContained() {
+        BatchMovieScannerMock scanner = new BatchMovieScannerMock("tmdb", 10) {
+            @Override
+            public Map<String, BatchResult> prefetchMovies(Collection<String> movieIds, boolean throwTempError) {
+                throw new IllegalStateException("batch failed");
+            }
+        };
+
+        Set<String> fetched = BatchPrefetch.execute(scanner, Arrays.asList("a", "b"), new BatchPrefetch.BatchCall() {
+            @Override
+            public Map<String, BatchResult> fetch(Collection<String> ids) {
+                return null;
+            }
+        });
+        assertTrue(fetched.isEmpty());
+
+        OnlineScannerService service = createService(Collections.singletonMap(1L, "a"));
+        service.registerMetadataScanner(scanner);
+        service.prefetchMovies(Collections.singletonList(1L));
+        assertEquals(0, scanner.getSingleLookups());
+    }
+
+    @Test
+    public void testSkipAfterTemporaryError() {
+        final BatchMovieScannerMock scanner = new BatchMovieScannerMock("tmdb", 1);
+        scanner.addMovie("a", "Movie A");
+        scanner.addMovie("c", "Movie C");
+        scanner.setFailure("b", BatchResult.TEMPORARY_ERROR);
+
+        Set<String> fetched = BatchPrefetch.execute(scanner, Arrays.asList("a", "b", "c"), new BatchPrefetch.BatchCall() {
+            @Override
+            public Map<String, BatchResult> fetch(Collection<String> ids) {
+                return scanner.prefetchMovies(ids, false);
+            }
+        });
+        assertEquals(Collections.singleton("a"), fetched);
+        assertEquals(2, scanner.getBatchCalls().size());
+    }
+
+    @Test
+    public void testAlternateOnlyFetchesMissing() {
+        BatchMovieScannerMock tmdb = new BatchMovieScannerMock("tmdb", 10);
+        tmdb.addMovie("a", "Movie A");
+        BatchMovieScannerMock imdb = new BatchMovieScannerMock("imdb", 10);
+        imdb.addMovie("a", "Movie A");
+        imdb.addMovie("b", "Movie B");
+
+        Map<Long, String> sourceIds = new HashMap<>();
+        sourceIds.put(1L, "a");
+        sourceIds.put(2L, "b");
+
+        Properties properties = new Properties();
+        properties.setProperty("yamj3.sourcedb.scanner.movie.alternate.always", "true");
+        OnlineScannerService service = createService(sourceIds, properties);
+        service.registerMetadataScanner(tmdb);
+        service.registerMetadataScanner(imdb);
+        service.prefetchMovies(Arrays.asList(1L, 2L));
+
+        assertEquals(1, imdb.getBatchCalls().size());
+        assertEquals(Collections.singletonList("b"), imdb.getBatchCalls().get(0));
+    }
+}
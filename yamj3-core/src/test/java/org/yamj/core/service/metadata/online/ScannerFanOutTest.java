@@ -0,0 +1,107 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metadata.online;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Test;
+import org.yamj.core.service.metadata.online.ScannerFanOut.ScanTask;
+
+public class ScannerFanOutTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScannerFanOut fanOut = new ScannerFanOut(executor);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ScanTask task(String name, final long sleep, final ScanResult result) {
+        return new ScanTask(name) {
+            @Override
+            public ScanResult call() throws Exception {
+                Thread.sleep(sleep);
+                return result;
+            }
+        };
+    }
+
+    @Test
+    public void testAlternateScansRunConcurrently() {
+        List<ScanTask> tasks = Arrays.asList(
+            task("first", 300, ScanResult.OK),
+            ScanTask.preset("skipped", ScanResult.SKIPPED),
+            task("second", 300, ScanResult.NO_RESULT),
+            task("third", 300, ScanResult.OK));
+
+        long start = System.currentTimeMillis();
+        List<ScanTask> processed = fanOut.execute(tasks, true, 5000, 0);
+        long duration = System.currentTimeMillis() - start;
+
+        assertEquals(4, processed.size());
+        assertEquals(ScanResult.OK, processed.get(0).getResult());
+        assertEquals(ScanResult.SKIPPED, processed.get(1).getResult());
+        assertEquals(ScanResult.NO_RESULT, processed.get(2).getResult());
+        assertEquals(ScanResult.OK, processed.get(3).getResult());
+        assertTrue("Scans not executed concurrently: " + duration + " ms", duration < 800);
+    }
+
+    @Test
+    public void testStopAtFirstValidResult() {
+        List<ScanTask> tasks = Arrays.asList(
+            task("first", 10, ScanResult.MISSING_ID),
+            task("second", 10, ScanResult.OK),
+            task("third", 10, ScanResult.OK));
+
+        List<ScanTask> processed = fanOut.execute(tasks, false, 5000, 0);
+
+        assertEquals(2, processed.size());
+        assertEquals("second", processed.get(1).getScannerName());
+        assertEquals(ScanResult.OK, processed.get(1).getResult());
+        assertNull(tasks.get(2).getResult());
+    }
+
+    @Test
+    public void testHedgeSlowScanner() {
+        List<ScanTask> tasks = Arrays.asList(
+            task("slow", 5000, ScanResult.OK),
+            task("fast", 100, ScanResult.OK));
+
+        long start = System.currentTimeMillis();
+        List<ScanTask> processed = fanOut.execute(tasks, false, 400, 50);
+        long duration = System.currentTimeMillis() - start;
+
+        assertEquals(2, processed.size());
+        assertFalse(processed.get(0).isCompleted());
+        assertTrue(processed.get(0).getError() instanceof TimeoutException);
+        assertEquals(ScanResult.OK, processed.get(1).getResult());
+        assertTrue("Hedge not started: " + duration + " ms", duration < 1000);
+    }
+}
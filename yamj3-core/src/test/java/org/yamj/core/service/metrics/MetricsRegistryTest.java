@@ -0,0 +1,126 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.metrics;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram(new long[]{10, 100});
+        histogram.update(5);
+        histogram.update(50);
+        histogram.update(60);
+        histogram.update(500);
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(615, histogram.getSum());
+        assertEquals(5, histogram.getMin());
+        assertEquals(500, histogram.getMax());
+        assertEquals(100, histogram.getPercentile(0.5d));
+        assertEquals(500, histogram.getPercentile(0.99d));
+        assertEquals(Long.valueOf(3), histogram.getCumulativeBuckets().get("100"));
+        assertEquals(Long.valueOf(4), histogram.getCumulativeBuckets().get("+Inf"));
+    }
+
+    @Test
+    public void testSnapshot() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests_total", "host", "a").increment();
+        registry.counter("requests_total", "host", "a").increment(2);
+        registry.gauge("pool_size", new Gauge() {
+            @Override
+            public Number getValue() {
+                return 7;
+            }
+        });
+        registry.gauge("broken", new Gauge() {
+            @Override
+            public Number getValue() {
+                throw new IllegalStateException("down");
+            }
+        });
+
+        List<Map<String, Object>> snapshot = registry.getSnapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals("requests_total", snapshot.get(0).get("name"));
+        assertEquals(3L, snapshot.get(0).get("value"));
+        assertEquals(7, snapshot.get(1).get("value"));
+    }
+
+    @Test
+    public void testFunctionCounter() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("b_total").increment();
+        registry.functionCounter("a_total", new Gauge() {
+            @Override
+            public Number getValue() {
+                return 42L;
+            }
+        }, "cache", "genre");
+
+        List<Map<String, Object>> snapshot = registry.getSnapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals("a_total", snapshot.get(0).get("name"));
+        assertEquals("counter", snapshot.get(0).get("type"));
+        assertEquals(42L, snapshot.get(0).get("value"));
+
+        String text = registry.getPrometheusText();
+        assertTrue(text.contains("# TYPE yamj_a_total counter\nyamj_a_total{cache=\"genre\"} 42\n"));
+    }
+
+    @Test
+    public void testCachedGauge() {
+        final int[] calls = new int[1];
+        CachedGauge gauge = new CachedGauge(new Gauge() {
+            @Override
+            public Number getValue() {
+                return ++calls[0];
+            }
+        }, 60000L);
+
+        assertEquals(1, gauge.getValue());
+        assertEquals(1, gauge.getValue());
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void testPrometheusText() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests_total", "host", "a\"b").increment();
+        registry.histogram("batch_size", new long[]{10}, "queue", "video").update(3);
+
+        String text = registry.getPrometheusText();
+        assertTrue(text.contains("# TYPE yamj_requests_total counter\n"));
+        assertTrue(text.contains("yamj_requests_total{host=\"a\\\"b\"} 1\n"));
+        assertTrue(text.contains("# TYPE yamj_batch_size histogram\n"));
+        assertTrue(text.contains("yamj_batch_size_bucket{queue=\"video\",le=\"10\"} 1\n"));
+        assertTrue(text.contains("yamj_batch_size_bucket{queue=\"video\",le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("yamj_batch_size_count{queue=\"video\"} 1\n"));
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.plugin;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.service.metrics.MetricsRegistry;
+import org.yamj.plugin.api.metadata.BatchMovieScanner;
+import org.yamj.plugin.api.metadata.MetadataScanner;
+import org.yamj.plugin.api.metadata.MovieScanner;
+import org.yamj.plugin.api.metadata.mock.BatchMovieScannerMock;
+import org.yamj.plugin.api.model.IMovie;
+import org.yamj.plugin.api.model.mock.MovieMock;
+
+public class PluginInvokerTest {
+
+    private PluginInvoker pluginInvoker;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        Properties props = new Properties();
+        props.setProperty("yamj3.plugin.timeout", "1");
+        props.setProperty("yamj3.plugin.circuit.failureThreshold", "2");
+        props.setProperty("yamj3.plugin.circuit.openSeconds", "60");
+        props.setProperty("yamj3.plugin.single.maxConcurrent", "1");
+        ConfigService configService = new ConfigService();
+        configService.setDynamicProperties(props);
+
+        pluginInvoker = new PluginInvoker();
+        ReflectionTestUtils.setField(pluginInvoker, "configService", configService);
+        ReflectionTestUtils.setField(pluginInvoker, "metricsRegistry", new MetricsRegistry());
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        pluginInvoker.destroy();
+    }
+
+    private Callable<String> hanging() {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                // ignores the interruption like a blocking socket read
+                long end = System.currentTimeMillis() + 10000;
+                while (release.getCount() > 0 && System.currentTimeMillis() < end) {
+                    try {
+                        release.await(end - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException ignore) { //NOSONAR
+                        // keep hanging
+                    }
+                }
+                return "late";
+            }
+        };
+    }
+
+    private static Callable<String> failing() {
+        return new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                throw new IOException("provider failure");
+            }
+        };
+    }
+
+    private static Callable<String> invalid() {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                throw new IllegalStateException("invalid response");
+            }
+        };
+    }
+
+    @Test
+    public void testGuardedExtension() {
+        BatchMovieScannerMock scanner = new BatchMovieScannerMock("mock", 10);
+        scanner.addMovie("1", "Guarded");
+
+        MetadataScanner guarded = pluginInvoker.guard((MetadataScanner) scanner, "mock", MetadataScanner.class);
+        assertTrue(guarded instanceof MovieScanner);
+        assertTrue(guarded instanceof BatchMovieScanner);
+        assertEquals("mock", guarded.getScannerName());
+
+        MovieMock movie = new MovieMock();
+        movie.addId("mock", "1");
+        assertTrue(((MovieScanner) guarded).scanMovie(movie, false));
+        assertEquals("Guarded", movie.getTitle());
+        assertEquals("CLOSED", pluginInvoker.getStatus().get(0).get("circuit"));
+    }
+
+    @Test
+    public void testTimeoutOpensCircuit() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            try {
+                pluginInvoker.invoke("failing", i == 0 ? hanging() : failing());
+                fail("Exception expected");
+            } catch (PluginUnavailableException ex) {
+                assertEquals(PluginUnavailableException.Reason.TIMEOUT, ex.getReason());
+            } catch (IOException ex) { //NOSONAR
+                // provider failure
+            }
+        }
+
+        assertTrue(pluginInvoker.isCircuitOpen("failing"));
+        try {
+            pluginInvoker.invoke("failing", failing());
+            fail("Circuit should be open");
+        } catch (PluginUnavailableException ex) {
+            assertTrue(ex.isCircuitOpen());
+            assertTrue(PluginInvoker.isUnavailable(ex));
+        }
+    }
+
+    @Test
+    public void testInvalidResponsesKeepCircuitClosed() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try {
+                pluginInvoker.invoke("invalid", invalid());
+                fail("Exception expected");
+            } catch (IllegalStateException ex) { //NOSONAR
+                // invalid response
+            }
+        }
+        assertFalse(pluginInvoker.isCircuitOpen("invalid"));
+    }
+
+    @Test
+    public void testAbandonedCallCanNotModifyModel() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        MovieScanner scanner = new BatchMovieScannerMock("slow", 10) {
+            @Override
+            public boolean scanMovie(IMovie movie, boolean throwTempError) {
+                movie.setTitle("Early");
+                started.countDown();
+                try {
+                    hanging().call();
+                    movie.setTitle("Late");
+                } catch (Exception ignore) { //NOSONAR
+                    // rejected by the discarded recorder
+                } finally {
+                    finished.countDown();
+                }
+                return true;
+            }
+        };
+
+        MovieScanner guarded = pluginInvoker.guard(scanner, "slow", MovieScanner.class);
+        MovieMock movie = new MovieMock();
+        try {
+            guarded.scanMovie(movie, false);
+            fail("Timeout expected");
+        } catch (PluginUnavailableException ex) {
+            assertEquals(PluginUnavailableException.Reason.TIMEOUT, ex.getReason());
+        }
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertNull(movie.getTitle());
+    }
+
+    @Test
+    public void testBulkheadLimitsConcurrentCalls() throws Exception {
+        Thread blocker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    pluginInvoker.invoke("single", hanging());
+                } catch (Exception ignore) { //NOSONAR
+                    // timeout expected
+                }
+            }
+        });
+        blocker.start();
+        Thread.sleep(100);
+
+        try {
+            pluginInvoker.invoke("single", hanging());
+            fail("Bulkhead should be full");
+        } catch (PluginUnavailableException ex) {
+            assertEquals(PluginUnavailableException.Reason.BULKHEAD_FULL, ex.getReason());
+        }
+        blocker.join();
+    }
+
+    @Test
+    public void testHalfOpenCircuit() throws Exception {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 50);
+        circuitBreaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+
+        Thread.sleep(80);
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest());
+        circuitBreaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
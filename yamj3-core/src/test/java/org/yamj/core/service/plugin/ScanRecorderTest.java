@@ -0,0 +1,99 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.plugin;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.yamj.plugin.api.model.IMovie;
+import org.yamj.plugin.api.model.IdMap;
+import org.yamj.plugin.api.model.mock.MovieMock;
+
+public class ScanRecorderTest {
+
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        final Map<String, String> ids = new HashMap<>();
+        IdMap target = new IdMap() {
+            @Override
+            public String getId(String source) {
+                return ids.get(source);
+            }
+
+            @Override
+            public void addId(String source, String id) {
+                ids.put(source, id);
+            }
+        };
+        ids.put("imdb", "tt0133093");
+
+        ScanRecorder recorder = new ScanRecorder();
+        IdMap proxy = recorder.record(target, IdMap.class);
+        proxy.addId("tmdb", "603");
+
+        assertEquals("603", proxy.getId("tmdb"));
+        assertEquals("tt0133093", proxy.getId("imdb"));
+        assertNull(target.getId("tmdb"));
+
+        recorder.replay();
+        assertEquals("603", target.getId("tmdb"));
+    }
+
+    @Test
+    public void testReadRecordedValues() throws Exception {
+        MovieMock movie = new MovieMock();
+        movie.setTitle("Original");
+
+        ScanRecorder recorder = new ScanRecorder();
+        IMovie proxy = recorder.record(movie, IMovie.class);
+        proxy.setTitle("Scanned");
+        proxy.setYear(1999);
+
+        assertEquals("Scanned", proxy.getTitle());
+        assertEquals(1999, proxy.getYear());
+        assertEquals("Original", movie.getTitle());
+
+        recorder.replay();
+        assertEquals("Scanned", movie.getTitle());
+        assertEquals(1999, movie.getYear());
+    }
+
+    @Test
+    public void testDiscardRejectsCalls() {
+        MovieMock movie = new MovieMock();
+        ScanRecorder recorder = new ScanRecorder();
+        IMovie proxy = recorder.record(movie, IMovie.class);
+        proxy.setTitle("Abandoned");
+        recorder.discard();
+
+        try {
+            proxy.setTitle("Late");
+            fail("Discarded recorder must reject calls");
+        } catch (IllegalStateException ex) { //NOSONAR
+            // expected
+        }
+        assertNull(movie.getTitle());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.tasks;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.common.tools.PropertyTools;
+import org.yamj.common.type.MetaDataType;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.dao.ConfigDao;
+import org.yamj.core.database.service.OverrideSourceStorageService;
+import org.yamj.core.tools.OverrideTools;
+
+public class OverrideResolveTaskTest {
+
+    private final List<Long> resolved = new ArrayList<>();
+    private final List<Date> changedSince = new ArrayList<>();
+    private ConfigService configService;
+    private OverrideResolveTask task;
+
+    @Before
+    public void setUp() {
+        configService = new ConfigService();
+        configService.setDynamicProperties(new Properties());
+        ReflectionTestUtils.setField(configService, "configDao", new ConfigDao() {
+            @Override
+            public void storeConfig(String key, String value, boolean updateAllowed) {
+                // nothing to store
+            }
+        });
+
+        OverrideSourceStorageService storageService = new OverrideSourceStorageService() {
+            @Override
+            public List<Long> getObjectIds(MetaDataType type, long lastId, int maxResults) {
+                return MetaDataType.MOVIE == type && lastId < 1 ? Arrays.asList(1L, 2L) : Collections.<Long>emptyList();
+            }
+
+            @Override
+            public List<Long> getChangedObjectIds(MetaDataType type, Date since, long lastId, int maxResults) {
+                changedSince.add(since);
+                return MetaDataType.MOVIE == type && lastId < 2 ? Arrays.asList(2L) : Collections.<Long>emptyList();
+            }
+
+            @Override
+            public boolean resolveOverrides(MetaDataType type, long objectId) {
+                resolved.add(objectId);
+                return true;
+            }
+        };
+
+        task = new OverrideResolveTask();
+        ReflectionTestUtils.setField(task, "configService", configService);
+        ReflectionTestUtils.setField(task, "overrideSourceStorageService", storageService);
+    }
+
+    @After
+    public void tearDown() {
+        PropertyTools.setProperty("priority.sources.disabled", "");
+        OverrideTools.reloadPriorities();
+    }
+
+    @Test
+    public void testOnlyChangedObjects() {
+        // first run processes all objects
+        task.execute(null);
+        assertEquals(Arrays.asList(1L, 2L), resolved);
+        assertTrue(changedSince.isEmpty());
+
+        // unchanged priorities; just objects with changed source values
+        resolved.clear();
+        task.execute(null);
+        assertEquals(Arrays.asList(2L), resolved);
+        assertFalse(changedSince.isEmpty());
+
+        // changed priorities process all objects again
+        resolved.clear();
+        configService.getCachedProperties().put("priority.sources.disabled", "imdb");
+        task.execute(null);
+        assertEquals(Arrays.asList(1L, 2L), resolved);
+        
+        // forced full run
+        resolved.clear();
+        task.execute("full");
+        assertEquals(Arrays.asList(1L, 2L), resolved);
+    }
+}
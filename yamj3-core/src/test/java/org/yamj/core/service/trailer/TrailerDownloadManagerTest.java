@@ -0,0 +1,161 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.trailer;
+
+import static org.junit.Assert.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import org.apache.commons.io.FileUtils;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.api.common.http.PoolingHttpClient;
+import org.yamj.core.config.ConfigService;
+import org.yamj.plugin.api.web.TemporaryUnavailableException;
+
+public class TrailerDownloadManagerTest {
+
+    private static final byte[] CONTENT = new byte[256 * 1024];
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private HttpServer server;
+    private String lastRange;
+    private TrailerDownloadManager downloadManager;
+    
+    @BeforeClass
+    public static void createContent() {
+        new Random(42).nextBytes(CONTENT);
+    }
+    
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/trailer.mp4", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                lastRange = exchange.getRequestHeaders().getFirst("Range");
+                int offset = 0;
+                if (lastRange != null) {
+                    offset = Integer.parseInt(lastRange.substring(6, lastRange.length() - 1));
+                    exchange.getResponseHeaders().add("Content-Range", "bytes " + offset + "-" + (CONTENT.length - 1) + "/" + CONTENT.length);
+                    exchange.sendResponseHeaders(206, CONTENT.length - offset);
+                } else {
+                    exchange.sendResponseHeaders(200, CONTENT.length);
+                }
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(CONTENT, offset, CONTENT.length - offset);
+                }
+            }
+        });
+        server.start();
+
+        Properties props = new Properties();
+        props.setProperty("yamj3.trailer.download.maxConcurrent", "1");
+        props.setProperty("yamj3.trailer.download.slotTimeoutSeconds", "0");
+        ConfigService configService = new ConfigService();
+        configService.setDynamicProperties(props);
+        
+        PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
+        PoolingHttpClient httpClient = new PoolingHttpClient(HttpClients.custom().setConnectionManager(connManager).build(), connManager);
+        httpClient.addGroupLimit(".*", 1);
+
+        downloadManager = new TrailerDownloadManager();
+        ReflectionTestUtils.setField(downloadManager, "configService", configService);
+        ReflectionTestUtils.setField(downloadManager, "httpClient", httpClient);
+        downloadManager.init();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+    
+    private URL getUrl() throws IOException {
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/trailer.mp4");
+    }
+
+    @Test
+    public void testFullDownload() throws IOException {
+        File target = new File(folder.getRoot(), "full.mp4");
+        
+        assertTrue(downloadManager.download(1L, getUrl(), target));
+        assertNull(lastRange);
+        assertArrayEquals(CONTENT, FileUtils.readFileToByteArray(target));
+        assertFalse(new File(target.getPath() + ".part").exists());
+        assertTrue(downloadManager.getActiveDownloads().isEmpty());
+    }
+
+    @Test
+    public void testResumeDownload() throws IOException {
+        File target = new File(folder.getRoot(), "resume.mp4");
+        byte[] partial = new byte[100000];
+        System.arraycopy(CONTENT, 0, partial, 0, partial.length);
+        FileUtils.writeByteArrayToFile(new File(target.getPath() + ".part"), partial);
+        
+        assertTrue(downloadManager.download(2L, getUrl(), target));
+        assertEquals("bytes=100000-", lastRange);
+        assertArrayEquals(CONTENT, FileUtils.readFileToByteArray(target));
+        assertFalse(new File(target.getPath() + ".part").exists());
+    }
+
+    @Test
+    public void testNoFreeSlot() throws IOException {
+        Semaphore downloadSlots = (Semaphore) ReflectionTestUtils.getField(downloadManager, "downloadSlots");
+        downloadSlots.acquireUninterruptibly();
+        try {
+            downloadManager.download(3L, getUrl(), new File(folder.getRoot(), "busy.mp4"));
+            fail("Download without free slot");
+        } catch (TemporaryUnavailableException expected) { //NOSONAR
+            // expected
+        } finally {
+            downloadSlots.release();
+        }
+        assertNull(lastRange);
+    }
+
+    @Test
+    public void testInterruptedDownload() throws IOException {
+        Thread.currentThread().interrupt();
+        try {
+            downloadManager.download(4L, getUrl(), new File(folder.getRoot(), "interrupted.mp4"));
+            fail("Download while interrupted");
+        } catch (TemporaryUnavailableException expected) { //NOSONAR
+            // interrupt flag must be kept
+            assertTrue(Thread.interrupted());
+        }
+    }
+}
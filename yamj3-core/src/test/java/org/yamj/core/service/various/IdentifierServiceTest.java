@@ -0,0 +1,91 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.various;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.text.WordUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.core.database.model.dto.CreditDTO;
+import org.yamj.plugin.api.model.type.JobType;
+
+public class IdentifierServiceTest {
+
+    private static final String[] NAMES = new String[]{
+        "David O'Meara", "Willbur Van de Pömpel", "Rebecca Romijn-Stamos", "Zoë Saldaña", "Jürgen Prochnow",
+        "Die Fälscher", "Amélie", "Crouching Tiger, Hidden Dragon", "Star Wars: Episode IV - A New Hope",
+        "WALL·E", "Æon Flux", "Ocean's Eleven", "Se7en", "Léon (The Professional)", "Mr. & Mrs. Smith",
+        "100$ | 50€", "  __The.Dark.Knight__  ", "Kōkaku Kidōtai", "Straße", "Tom & Jerry 😀 Show", "!!!", ""
+    };
+
+    private IdentifierService identifierService;
+
+    @Before
+    public void setUp() {
+        identifierService = new IdentifierService();
+        ReflectionTestUtils.setField(identifierService, "cacheManager", new ConcurrentMapCacheManager());
+        identifierService.init();
+    }
+
+    @Test
+    public void testCleanIdentifier() {
+        for (String name : NAMES) {
+            if (StringUtils.isBlank(name)) {
+                assertNull(identifierService.cleanIdentifier(name));
+            } else {
+                assertEquals(name, legacyCleanIdentifier(name), identifierService.cleanIdentifier(name));
+            }
+        }
+    }
+
+    @Test
+    public void testCacheMetrics() {
+        identifierService.cleanIdentifier("Christian Bale");
+        identifierService.cleanIdentifier("Christian Bale");
+        CreditDTO credit = identifierService.createCredit("test", JobType.ACTOR, "Christian Bale");
+        
+        assertEquals("Christian Bale", credit.getIdentifier());
+        assertEquals("Christian", credit.getFirstName());
+        assertEquals("Bale", credit.getLastName());
+        assertEquals(1, identifierService.getCacheMisses());
+        assertEquals(2, identifierService.getCacheHits());
+    }
+
+    /**
+     * The regular expression based cleaning used before the cache was introduced.
+     */
+    private static String legacyCleanIdentifier(String input) {
+        String result = input.replaceAll("ß", "ss");
+        result = StringUtils.stripAccents(result);
+        result = WordUtils.capitalize(result, new char[]{'.', ' ', '_', '-'});
+        result = result.replaceAll("[\\p{Po}|\\p{S}]", "");
+        result = Pattern.compile("[^a-zA-Z0-9\\-\\(\\)]").matcher(result).replaceAll(" ").trim();
+        return result.replaceAll("( )+", " ").trim();
+    }
+}
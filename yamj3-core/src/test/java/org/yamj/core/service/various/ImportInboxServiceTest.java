@@ -0,0 +1,198 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.service.various;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.yamj.common.dto.ImportDTO;
+import org.yamj.common.dto.StageDirectoryDTO;
+import org.yamj.common.type.StatusType;
+import org.yamj.core.config.ConfigService;
+import org.yamj.core.database.model.Library;
+import org.yamj.core.scheduling.ImportScheduler;
+import org.yamj.core.service.metrics.MetricsRegistry;
+
+public class ImportInboxServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger stored = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final List<Long> storedDates = Collections.synchronizedList(new ArrayList<Long>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean failing = false;
+    private ImportInboxService inbox;
+
+    private ImportInboxService createInbox() {
+        return createInbox(1);
+    }
+
+    private ImportInboxService createInbox(int maxThreads) {
+        ConfigService configService = new ConfigService();
+        Properties properties = new Properties();
+        properties.setProperty("yamj3.import.inbox.maxThreads", String.valueOf(maxThreads));
+        configService.setDynamicProperties(properties);
+
+        StagingService stagingService = new StagingService() {
+            @Override
+            public Library storeLibrary(ImportDTO libraryDTO) {
+                int current = active.incrementAndGet();
+                if (current > maxActive.get()) {
+                    maxActive.set(current);
+                }
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) { //NOSONAR
+                    Thread.currentThread().interrupt();
+                }
+                if (failing) {
+                    active.decrementAndGet();
+                    throw new IllegalStateException("database down");
+                }
+                return new Library();
+            }
+
+            @Override
+            public void storeStageDirectory(StageDirectoryDTO stageDirectoryDTO, Library library) {
+                storedDates.add(stageDirectoryDTO.getDate());
+                stored.incrementAndGet();
+                active.decrementAndGet();
+            }
+        };
+
+        ImportInboxService service = new ImportInboxService();
+        ReflectionTestUtils.setField(service, "configService", configService);
+        ReflectionTestUtils.setField(service, "stagingService", stagingService);
+        ReflectionTestUtils.setField(service, "importScheduler", new ImportScheduler());
+        ReflectionTestUtils.setField(service, "metricsRegistry", new MetricsRegistry());
+        service.init(folder.getRoot());
+        return service;
+    }
+
+    @After
+    public void destroy() {
+        inbox.destroy();
+    }
+
+    private static ImportDTO createImport(String path) {
+        return createImport(path, 1234L);
+    }
+
+    private static ImportDTO createImport(String path, long date) {
+        StageDirectoryDTO directory = new StageDirectoryDTO();
+        directory.setPath(path);
+        directory.setDate(date);
+        ImportDTO importDTO = new ImportDTO();
+        importDTO.setClient("test");
+        importDTO.setBaseDirectory("/media");
+        importDTO.setStageDirectory(directory);
+        return importDTO;
+    }
+
+    private static void waitFor(ImportInboxService service, String key) throws InterruptedException {
+        for (int i = 0; i < 100 && service.getStatus(key) == StatusType.NEW; i++) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    @Test
+    public void testIdempotentImport() throws Exception {
+        inbox = createInbox();
+        String key = inbox.enqueue(createImport("/media/movies"));
+        assertEquals(key, inbox.enqueue(createImport("/media/movies")));
+        assertEquals(StatusType.NEW, inbox.getStatus(key));
+        assertEquals(1, inbox.getInboxSize());
+
+        release.countDown();
+        waitFor(inbox, key);
+        assertEquals(StatusType.DONE, inbox.getStatus(key));
+        assertEquals(1, stored.get());
+        assertEquals(0, inbox.getInboxSize());
+        assertEquals(0, folder.getRoot().listFiles().length);
+
+        assertEquals(StatusType.NOTFOUND, inbox.getStatus("unknown"));
+    }
+
+    @Test
+    public void testReimportAfterChange() throws Exception {
+        inbox = createInbox();
+        release.countDown();
+        String first = inbox.enqueue(createImport("/media/movies", 1L));
+        waitFor(inbox, first);
+        String second = inbox.enqueue(createImport("/media/movies", 2L));
+        waitFor(inbox, second);
+
+        // changing a directory back to a former state must be imported again
+        assertEquals(first, inbox.enqueue(createImport("/media/movies", 1L)));
+        waitFor(inbox, first);
+        assertEquals(StatusType.DONE, inbox.getStatus(first));
+        assertEquals(3, stored.get());
+    }
+
+    @Test
+    public void testFailureAndRecovery() throws Exception {
+        failing = true;
+        inbox = createInbox();
+        String key = inbox.enqueue(createImport("/media/series"));
+        release.countDown();
+        waitFor(inbox, key);
+        assertEquals(StatusType.ERROR, inbox.getStatus(key));
+        assertTrue(new File(folder.getRoot(), key + ".failed").exists());
+
+        // a pending spool file is imported after restart
+        inbox.destroy();
+        assertTrue(new File(folder.getRoot(), key + ".failed").renameTo(new File(folder.getRoot(), key + ".import")));
+        failing = false;
+        inbox = createInbox();
+        waitFor(inbox, key);
+        assertEquals(StatusType.DONE, inbox.getStatus(key));
+        assertEquals(1, stored.get());
+    }
+
+    @Test
+    public void testVersionsOfDirectoryAreImportedInOrder() throws Exception {
+        inbox = createInbox(2);
+        String first = inbox.enqueue(createImport("/media/movies", 1L));
+        String second = inbox.enqueue(createImport("/media/movies", 2L));
+        assertEquals(2, inbox.getInboxSize());
+
+        release.countDown();
+        waitFor(inbox, first);
+        waitFor(inbox, second);
+        assertEquals(StatusType.DONE, inbox.getStatus(second));
+        assertEquals(Arrays.asList(1L, 2L), storedDates);
+        assertEquals(1, maxActive.get());
+    }
+}
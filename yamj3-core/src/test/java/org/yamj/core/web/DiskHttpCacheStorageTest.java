@@ -0,0 +1,205 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.core.web;
+
+import static org.junit.Assert.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import org.apache.commons.io.FileUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiskHttpCacheStorageTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger revalidations = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/max-age", new Responder("public, max-age=3600", null));
+        server.createContext("/etag", new Responder("max-age=0", "\"v1\""));
+        server.createContext("/plain", new Responder(null, null));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testCachedAcrossRestart() throws IOException {
+        File dir = folder.newFolder("cache");
+        try (CloseableHttpClient client = createClient(new DiskHttpCacheStorage(dir, 1024 * 1024), null)) {
+            assertEquals("body", get(client, "/max-age"));
+            assertEquals("body", get(client, "/max-age"));
+        }
+        assertEquals(1, requests.get());
+
+        // a new storage on the same directory simulates a restart
+        DiskHttpCacheStorage storage = new DiskHttpCacheStorage(dir, 1024 * 1024);
+        assertEquals(1, storage.getEntryCount());
+        try (CloseableHttpClient client = createClient(storage, null)) {
+            assertEquals("body", get(client, "/max-age"));
+        }
+        assertEquals(1, requests.get());
+        assertTrue((Long) storage.getStatistics().get("hits") > 0);
+    }
+
+    @Test
+    public void testConditionalRevalidation() throws IOException {
+        DiskHttpCacheStorage storage = new DiskHttpCacheStorage(folder.newFolder("cache"), 1024 * 1024);
+        try (CloseableHttpClient client = createClient(storage, null)) {
+            assertEquals("body", get(client, "/etag"));
+            assertEquals("body", get(client, "/etag"));
+        }
+        assertEquals(2, requests.get());
+        assertEquals(1, revalidations.get());
+    }
+
+    @Test
+    public void testTtlOverride() throws IOException {
+        DiskHttpCacheStorage storage = new DiskHttpCacheStorage(folder.newFolder("cache"), 1024 * 1024);
+        try (CloseableHttpClient client = createClient(storage, "127\\.0\\.0\\.1=60")) {
+            assertEquals("body", get(client, "/plain"));
+            assertEquals("body", get(client, "/plain"));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testPurge() throws IOException {
+        DiskHttpCacheStorage storage = new DiskHttpCacheStorage(folder.newFolder("cache"), 1024 * 1024);
+        try (CloseableHttpClient client = createClient(storage, null)) {
+            get(client, "/max-age");
+            assertEquals(1, storage.getEntryCount());
+            assertEquals(0, storage.purge("example.com"));
+            assertEquals(1, storage.purge("127.0.0.1"));
+            assertEquals(0, storage.getEntryCount());
+            assertEquals(0L, storage.getSize());
+
+            get(client, "/max-age");
+        }
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testKeyNotStored() throws IOException {
+        File dir = folder.newFolder("cache");
+        try (CloseableHttpClient client = createClient(new DiskHttpCacheStorage(dir, 1024 * 1024), null)) {
+            get(client, "/max-age?api_key=secret");
+        }
+        for (File file : FileUtils.listFiles(dir, null, true)) {
+            String content = FileUtils.readFileToString(file, StandardCharsets.ISO_8859_1);
+            assertFalse(content.contains("secret"));
+        }
+    }
+
+    @Test
+    public void testSizeBounded() throws IOException {
+        DiskHttpCacheStorage storage = new DiskHttpCacheStorage(folder.newFolder("cache"), 1);
+        try (CloseableHttpClient client = createClient(storage, null)) {
+            get(client, "/max-age");
+        }
+        assertEquals(0, storage.getEntryCount());
+        assertEquals(1L, storage.getStatistics().get("evictions"));
+    }
+
+    private String get(CloseableHttpClient client, String path) throws IOException {
+        try (CloseableHttpResponse response = client.execute(new HttpGet(baseUrl + path))) {
+            return EntityUtils.toString(response.getEntity());
+        }
+    }
+
+    private CloseableHttpClient createClient(DiskHttpCacheStorage storage, String ttl) {
+        final Map<Pattern, Integer> ttls = HttpCacheTtlExec.parseTtls(ttl);
+        return new CachingHttpClientBuilder() {
+            @Override
+            protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+                return super.decorateMainExec(new HttpCacheTtlExec(mainExec, ttls));
+            }
+        }.setCacheConfig(CacheConfig.custom().setSharedCache(false).build())
+         .setHttpCacheStorage(storage)
+         .build();
+    }
+
+    private class Responder implements HttpHandler {
+
+        private final String cacheControl;
+        private final String etag;
+
+        Responder(String cacheControl, String etag) {
+            this.cacheControl = cacheControl;
+            this.etag = etag;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            requests.incrementAndGet();
+            if (cacheControl != null) {
+                exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            }
+            if (etag != null) {
+                exchange.getResponseHeaders().add("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    revalidations.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+            }
+            byte[] body = "body".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
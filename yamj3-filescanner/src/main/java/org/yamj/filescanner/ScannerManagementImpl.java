@@ -408,8 +408,10 @@ public class ScannerManagementImpl implements ScannerManagement {
                 }
 
                 if (!excluded) {
-                    stageDir.addStageFile(scanFile(file));
+                    StageFileDTO stageFile = scanFile(file);
+                    stageDir.addStageFile(stageFile);
                     library.getStatistics().increment(StatType.FILE);
+                    library.getStatistics().increment(StatType.BYTES, stageFile.getFileSize());
                 }
             }
 
@@ -25,6 +25,7 @@ package org.yamj.filescanner.model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,7 +49,8 @@ public class LibraryCollection implements Serializable {
     private XmlTools xmlTools;
 
     public LibraryCollection() {
-        libraries = new ArrayList<>();
+        // the libraries are read concurrently by the sending and reporting threads
+        libraries = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -27,5 +27,9 @@ public enum StatType {
     FILE,
     DIRECTORY,
     BLURAY,
-    DVD;
+    DVD,
+    BYTES,
+    DIRECTORY_SENT,
+    SEND_RETRY,
+    SEND_ERROR;
 }
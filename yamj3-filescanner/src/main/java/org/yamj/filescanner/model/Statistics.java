@@ -22,6 +22,7 @@
  */
 package org.yamj.filescanner.model;
 
+import static org.apache.commons.io.FileUtils.byteCountToDisplaySize;
 import static org.apache.commons.lang3.text.WordUtils.capitalizeFully;
 import static org.yamj.common.tools.DateTimeTools.formatDurationColon;
 import static org.yamj.common.tools.DateTimeTools.formatDurationText;
@@ -29,6 +30,7 @@ import static org.yamj.common.tools.DateTimeTools.getDuration;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -36,23 +38,26 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 /**
  * Class to store any statistics about the jukebox
  *
+ * The counters are updated concurrently by the scanner and the sending
+ * threads, so they are held in atomic values rather than guarded by a lock.
+ *
  * @author stuart.boston
  */
 public class Statistics {
 
     // Statistics
-    private final Map<StatType, Integer> stats = new EnumMap<>(StatType.class);
-    private final Map<TimeType, Long> times = new EnumMap<>(TimeType.class);
+    private final Map<StatType, AtomicLong> stats = new EnumMap<>(StatType.class);
+    private final Map<TimeType, AtomicLong> times = new EnumMap<>(TimeType.class);
 
     public Statistics() {
         // Initialise the statistic values
         for (StatType stat : StatType.values()) {
-            stats.put(stat, 0);
+            stats.put(stat, new AtomicLong(0));
         }
 
         // Initialise the time values
         for (TimeType time : TimeType.values()) {
-            times.put(time, 0L);
+            times.put(time, new AtomicLong(0));
         }
     }
 
@@ -62,8 +67,8 @@ public class Statistics {
      * @param stat
      * @return
      */
-    public synchronized int getStatistic(StatType stat) {
-        return stats.get(stat);
+    public long getStatistic(StatType stat) {
+        return stats.get(stat).get();
     }
 
     /**
@@ -72,8 +77,8 @@ public class Statistics {
      * @param stat
      * @param value
      */
-    public synchronized void setStatistic(StatType stat, Integer value) {
-        stats.put(stat, value);
+    public void setStatistic(StatType stat, long value) {
+        stats.get(stat).set(value);
     }
 
     /**
@@ -81,7 +86,7 @@ public class Statistics {
      *
      * @param stat
      */
-    public synchronized void increment(StatType stat) {
+    public void increment(StatType stat) {
         increment(stat, 1);
     }
 
@@ -91,14 +96,8 @@ public class Statistics {
      * @param stat
      * @param amount
      */
-    public synchronized void increment(StatType stat, Integer amount) {
-        Integer current;
-        if (stats.containsKey(stat)) {
-            current = stats.get(stat);
-        } else {
-            current = 0;
-        }
-        stats.put(stat, current + amount);
+    public void increment(StatType stat, long amount) {
+        stats.get(stat).addAndGet(amount);
     }
 
     /**
@@ -106,7 +105,7 @@ public class Statistics {
      *
      * @param stat
      */
-    public synchronized void decrement(StatType stat) {
+    public void decrement(StatType stat) {
         decrement(stat, 1);
     }
 
@@ -116,15 +115,46 @@ public class Statistics {
      * @param stat
      * @param amount
      */
-    public synchronized void decrement(StatType stat, Integer amount) {
-        Integer current;
-        if (stats.containsKey(stat)) {
-            current = stats.get(stat);
-        } else {
-            // The end result will be zero
-            current = amount;
+    public void decrement(StatType stat, long amount) {
+        stats.get(stat).addAndGet(-amount);
+    }
+
+    /**
+     * Get the rate per second of the statistic since the START time.
+     *
+     * The rate is frozen once the END time has been set.
+     *
+     * @param stat
+     * @return
+     */
+    public double getRate(StatType stat) {
+        return getRate(stat, TimeType.START, TimeType.END);
+    }
+
+    /**
+     * Get the rate per second of the statistic between two times.
+     *
+     * If the end time is not set yet, the current time is used.
+     *
+     * @param stat
+     * @param timeStart
+     * @param timeEnd
+     * @return
+     */
+    public double getRate(StatType stat, TimeType timeStart, TimeType timeEnd) {
+        final long start = getTime(timeStart);
+        if (start <= 0L) {
+            return 0d;
+        }
+        long end = getTime(timeEnd);
+        if (end <= 0L) {
+            end = System.currentTimeMillis();
         }
-        stats.put(stat, current - amount);
+        final long elapsed = end - start;
+        if (elapsed <= 0L) {
+            return 0d;
+        }
+        return getStatistic(stat) * 1000d / elapsed;
     }
 
     /**
@@ -134,9 +164,8 @@ public class Statistics {
      * @param timeValue
      */
     public void setTime(TimeType timeType, long timeValue) {
-        if (times.get(timeType) <= 0L) {
-            times.put(timeType, timeValue);
-        }
+        // only the first setting of a time is kept
+        times.get(timeType).compareAndSet(0L, timeValue);
     }
 
     /**
@@ -145,9 +174,7 @@ public class Statistics {
      * @param timeType
      */
     public void setTime(TimeType timeType) {
-        if (times.get(timeType) <= 0L) {
-            setTime(timeType, System.currentTimeMillis());
-        }
+        setTime(timeType, System.currentTimeMillis());
     }
 
     /**
@@ -161,7 +188,7 @@ public class Statistics {
     public String getProcessingTime(TimeType timeStart, TimeType timeEnd, boolean useColon) {
         String returnValue = "";
         if (times.containsKey(timeStart) && times.containsKey(timeEnd)) {
-            Long duration = getDuration(times.get(timeStart), times.get(timeEnd));
+            Long duration = getDuration(getTime(timeStart), getTime(timeEnd));
             if (useColon) {
                 returnValue = formatDurationColon(duration);
             } else {
@@ -191,7 +218,7 @@ public class Statistics {
     public String getTime(TimeType timeType, boolean useColon) {
         String returnValue = "";
         if (times.containsKey(timeType)) {
-            long timeToFormat = times.get(timeType);
+            long timeToFormat = times.get(timeType).get();
             if (useColon) {
                 returnValue = formatDurationColon(timeToFormat);
             } else {
@@ -209,7 +236,7 @@ public class Statistics {
      */
     public long getTime(TimeType timeType) {
         if (times.containsKey(timeType)) {
-            return times.get(timeType);
+            return times.get(timeType).get();
         }
         return 0L;
     }
@@ -225,9 +252,9 @@ public class Statistics {
         final StringBuilder statOutput = new StringBuilder("Jukebox Statistics:");
         
         // Build the counts
-        int value;
+        long value;
         for (StatType stat : StatType.values()) {
-            value = stats.get(stat);
+            value = getStatistic(stat);
             if (value > 0 || !skipZero) {
                 statOutput.append(lineFeed);
                 statOutput.append(capitalizeFully(stat.toString().replace("_", " ").toLowerCase()));
@@ -253,6 +280,22 @@ public class Statistics {
         return statOutput.toString();
     }
 
+    /**
+     * Output a single line with the current progress and rates
+     *
+     * @return
+     */
+    public String generateProgress() {
+        return String.format("%d directories (%.1f/s), %d files (%.1f/s), %s (%s/s), %d sent (%.1f/s), %d retries, %d errors",
+                getStatistic(StatType.DIRECTORY), getRate(StatType.DIRECTORY),
+                getStatistic(StatType.FILE), getRate(StatType.FILE),
+                byteCountToDisplaySize(getStatistic(StatType.BYTES)),
+                byteCountToDisplaySize(Math.round(getRate(StatType.BYTES))),
+                getStatistic(StatType.DIRECTORY_SENT), getRate(StatType.DIRECTORY_SENT, TimeType.SENDING_START, TimeType.SENDING_END),
+                getStatistic(StatType.SEND_RETRY),
+                getStatistic(StatType.SEND_ERROR));
+    }
+
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
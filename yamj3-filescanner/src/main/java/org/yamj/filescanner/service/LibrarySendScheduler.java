@@ -46,6 +46,7 @@ import org.yamj.common.type.StatusType;
 import org.yamj.filescanner.ApplicationContextProvider;
 import org.yamj.filescanner.model.Library;
 import org.yamj.filescanner.model.LibraryCollection;
+import org.yamj.filescanner.model.StatType;
 import org.yamj.filescanner.model.TimeType;
 
 @Service
@@ -79,6 +80,24 @@ public class LibrarySendScheduler {
         yamjExecutor.shutdown();
     }
 
+    /**
+     * Get the number of directories queued to be sent to the core
+     *
+     * @return
+     */
+    public int getRunningCount() {
+        return runningCount.get();
+    }
+
+    /**
+     * Get the number of consecutive failed attempts to send
+     *
+     * @return
+     */
+    public int getRetryCount() {
+        return retryCount.get();
+    }
+
     @Async
     @Scheduled(initialDelay = 10000, fixedDelay = 15000)
     public void sendLibraries() { //NOSONAR
@@ -151,6 +170,7 @@ public class LibrarySendScheduler {
                 sendStatus = sendToCore(library, directory);
             } else if (processingStatus == StatusType.ERROR) {
                 LOG.info("    Resending '{}' to core for processing (was in error status).", directory);
+                library.getStatistics().increment(StatType.SEND_RETRY);
                 sendStatus = sendToCore(library, directory);
             } else if (processingStatus == StatusType.DONE) {
                 LOG.info("    Completed: '{}'", directory);
@@ -192,6 +212,7 @@ public class LibrarySendScheduler {
         SendToCore stc = (SendToCore) appContext.getBean("sendToCore");
         stc.setImportDto(library.getImportDTO(stageDto));
         stc.setCounter(runningCount);
+        stc.setStatistics(library.getStatistics());
         FutureTask<StatusType> task = new FutureTask<>(stc);
 
         try {
@@ -0,0 +1,70 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.filescanner.service;
+
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.yamj.common.tools.PropertyTools;
+import org.yamj.filescanner.model.Library;
+import org.yamj.filescanner.model.LibraryCollection;
+
+/**
+ * Periodically log the progress of the libraries which are still scanning or sending
+ */
+@Service
+public class ProgressReporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProgressReporter.class);
+    private static final long INTERVAL = TimeUnit.SECONDS.toMillis(PropertyTools.getIntProperty("filescanner.progress.interval", 30));
+    private long lastReport = System.currentTimeMillis();
+
+    @Autowired
+    private LibraryCollection libraryCollection;
+    @Autowired
+    private LibrarySendScheduler librarySendScheduler;
+
+    @Scheduled(initialDelay = 5000, fixedDelay = 5000)
+    public void reportProgress() {
+        if (INTERVAL <= 0 || System.currentTimeMillis() - lastReport < INTERVAL) {
+            return;
+        }
+        lastReport = System.currentTimeMillis();
+
+        boolean active = false;
+        for (Library library : libraryCollection.getLibraries()) {
+            if (!library.isSendingComplete()) {
+                active = true;
+                LOG.info("Progress '{}': {}", library.getImportDTO().getBaseDirectory(), library.getStatistics().generateProgress());
+            }
+        }
+
+        if (active) {
+            LOG.info("Progress: {} directories queued for sending, {} consecutive failed attempts",
+                    librarySendScheduler.getRunningCount(), librarySendScheduler.getRetryCount());
+        }
+    }
+}
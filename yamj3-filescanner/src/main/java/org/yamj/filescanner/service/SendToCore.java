@@ -23,6 +23,7 @@
 package org.yamj.filescanner.service;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,15 +35,21 @@ import org.springframework.remoting.RemoteConnectFailureException;
 import org.springframework.stereotype.Service;
 import org.yamj.common.dto.ImportDTO;
 import org.yamj.common.remote.service.FileImportService;
+import org.yamj.common.tools.PropertyTools;
 import org.yamj.common.type.StatusType;
+import org.yamj.filescanner.model.StatType;
+import org.yamj.filescanner.model.Statistics;
 
 @Service
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class SendToCore implements Callable<StatusType> {
 
     private static final Logger LOG = LoggerFactory.getLogger(SendToCore.class);
+    private static final long POLL_INTERVAL = PropertyTools.getLongProperty("filescanner.send.pollInterval", 2);
+    private static final long POLL_TIMEOUT = PropertyTools.getLongProperty("filescanner.send.pollTimeout", 600);
     private ImportDTO importDto;
     private AtomicInteger runningCount;
+    private Statistics statistics;
 
     @Autowired
     private FileImportService fileImportService;
@@ -63,15 +70,19 @@ public class SendToCore implements Callable<StatusType> {
           this.runningCount = runningCount;
     }
 
+    public void setStatistics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
     @Override
     public StatusType call() {
         StatusType status;
         String displayPath = importDto.getStageDirectory().getPath();
         try {
             LOG.debug("Sending: {}", displayPath);
-            fileImportService.importScanned(importDto);
+            String key = fileImportService.enqueueScanned(importDto);
             LOG.debug("{}: Successfully queued", displayPath);
-            status = StatusType.DONE;
+            status = waitForImport(key, displayPath);
         } catch (RemoteConnectFailureException ex) {
             LOG.error("{}: Failed to connect to the core server: {}", displayPath, ex.getMessage());
             LOG.trace("Exception:", ex);
@@ -82,8 +93,45 @@ public class SendToCore implements Callable<StatusType> {
             status = StatusType.ERROR;
         }
 
+        if (statistics != null) {
+            statistics.increment(status == StatusType.ERROR ? StatType.SEND_ERROR : StatType.DIRECTORY_SENT);
+        }
+
         // Whether or not the message was sent, quit
         LOG.info("{}: Exiting with status {}, remaining threads: {}", displayPath, status, runningCount.decrementAndGet());
         return status;
     }
+
+    /**
+     * Poll the core until the spooled directory has been imported.
+     *
+     * A directory still pending after the poll timeout is considered as sent,
+     * because the core keeps it in the inbox even across a restart.
+     */
+    private StatusType waitForImport(String key, String displayPath) {
+        final long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(POLL_TIMEOUT);
+        while (true) {
+            StatusType importStatus = fileImportService.getImportStatus(key);
+            if (importStatus == StatusType.ERROR) {
+                LOG.warn("{}: Import failed in core", displayPath);
+                return StatusType.ERROR;
+            }
+            if (importStatus != StatusType.NEW) {
+                // NOTFOUND means that the result is no longer known
+                LOG.debug("{}: Successfully imported", displayPath);
+                return StatusType.DONE;
+            }
+            if (System.currentTimeMillis() >= end) {
+                LOG.info("{}: Import still pending in core, stop waiting", displayPath);
+                return StatusType.DONE;
+            }
+
+            try {
+                TimeUnit.SECONDS.sleep(POLL_INTERVAL);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return StatusType.DONE;
+            }
+        }
+    }
 }
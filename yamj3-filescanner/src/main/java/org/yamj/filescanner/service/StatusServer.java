@@ -0,0 +1,192 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.filescanner.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.yamj.common.tools.PropertyTools;
+import org.yamj.filescanner.model.*;
+
+/**
+ * Optional local HTTP endpoint which delivers the scanning and sending status as JSON.
+ *
+ * The server is only started if a port is configured.
+ */
+@Service
+public class StatusServer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatusServer.class);
+    private static final String STATUS_HOST = PropertyTools.getProperty("filescanner.status.host", "localhost");
+    private static final int STATUS_PORT = PropertyTools.getIntProperty("filescanner.status.port", 0);
+    private HttpServer server;
+
+    @Autowired
+    private LibraryCollection libraryCollection;
+    @Autowired
+    private LibrarySendScheduler librarySendScheduler;
+
+    @PostConstruct
+    public void init() {
+        if (STATUS_PORT <= 0) {
+            LOG.debug("Status server is disabled");
+            return;
+        }
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(STATUS_HOST, STATUS_PORT), 0);
+            server.createContext("/status", new HttpHandler() {
+                @Override
+                public void handle(HttpExchange exchange) throws IOException {
+                    sendStatus(exchange);
+                }
+            });
+            server.start();
+            LOG.info("Status server listening on http://{}:{}/status", STATUS_HOST, STATUS_PORT);
+        } catch (IOException ex) {
+            LOG.warn("Failed to start status server on port {}: {}", STATUS_PORT, ex.getMessage());
+            LOG.trace("Exception:", ex);
+            server = null;
+        }
+    }
+
+    @PreDestroy
+    public void cleanUp() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private void sendStatus(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            final byte[] body = buildStatus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Build the JSON status of the send backlog and all libraries
+     *
+     * @return
+     */
+    protected String buildStatus() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"sendBacklog\":").append(librarySendScheduler.getRunningCount());
+        sb.append(",\"sendFailedAttempts\":").append(librarySendScheduler.getRetryCount());
+        sb.append(",\"libraries\":[");
+
+        boolean first = true;
+        for (Library library : libraryCollection.getLibraries()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendLibrary(sb, library);
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    private static void appendLibrary(StringBuilder sb, Library library) {
+        final Statistics statistics = library.getStatistics();
+
+        sb.append("{\"baseDirectory\":");
+        appendString(sb, library.getImportDTO().getBaseDirectory());
+        sb.append(",\"description\":");
+        appendString(sb, library.getDescription());
+        sb.append(",\"scanningComplete\":").append(library.isScanningComplete());
+        sb.append(",\"sendingComplete\":").append(library.isSendingComplete());
+        sb.append(",\"directories\":").append(library.getDirectories().size());
+
+        sb.append(",\"statistics\":{");
+        boolean first = true;
+        for (StatType stat : StatType.values()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendString(sb, stat.name().toLowerCase(Locale.ENGLISH));
+            sb.append(':').append(statistics.getStatistic(stat));
+        }
+        sb.append('}');
+
+        sb.append(",\"rates\":{");
+        appendRate(sb, "files", statistics.getRate(StatType.FILE));
+        sb.append(',');
+        appendRate(sb, "bytes", statistics.getRate(StatType.BYTES));
+        sb.append(',');
+        appendRate(sb, "directories", statistics.getRate(StatType.DIRECTORY));
+        sb.append(',');
+        appendRate(sb, "directoriesSent", statistics.getRate(StatType.DIRECTORY_SENT, TimeType.SENDING_START, TimeType.SENDING_END));
+        sb.append('}');
+
+        sb.append(",\"times\":{");
+        first = true;
+        for (TimeType time : TimeType.values()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendString(sb, time.name().toLowerCase(Locale.ENGLISH));
+            sb.append(':').append(statistics.getTime(time));
+        }
+        sb.append("}}");
+    }
+
+    private static void appendRate(StringBuilder sb, String name, double rate) {
+        appendString(sb, name);
+        sb.append(':').append(String.format(Locale.ENGLISH, "%.2f", rate));
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+        } else {
+            sb.append('"').append(StringEscapeUtils.escapeJson(value)).append('"');
+        }
+    }
+}
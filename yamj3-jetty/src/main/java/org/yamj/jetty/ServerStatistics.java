@@ -0,0 +1,168 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.jetty;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.eclipse.jetty.server.nio.SelectChannelConnector;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the connector, thread pool and request statistics of the server.
+ */
+public final class ServerStatistics implements ServerStatisticsMBean, Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServerStatistics.class);
+    private static final String OBJECT_NAME = "org.yamj.jetty:type=ServerStatistics";
+
+    private final SelectChannelConnector connector;
+    private final QueuedThreadPool threadPool;
+    private final StatisticsHandler statisticsHandler;
+
+    public ServerStatistics(SelectChannelConnector connector, QueuedThreadPool threadPool, StatisticsHandler statisticsHandler) {
+        this.connector = connector;
+        this.threadPool = threadPool;
+        this.statisticsHandler = statisticsHandler;
+    }
+
+    /**
+     * Register the statistics in the platform MBean server
+     */
+    public void register() {
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!mbs.isRegistered(name)) {
+                mbs.registerMBean(this, name);
+            }
+            LOG.info("Server statistics published as '{}'", OBJECT_NAME);
+        } catch (Exception ex) {
+            LOG.warn("Failed to publish server statistics: {}", ex.getMessage());
+            LOG.trace("JMX error", ex);
+        }
+    }
+
+    /**
+     * Log the current statistics; used for periodic reporting.
+     */
+    @Override
+    public void run() {
+        LOG.info("Connections: open={}, max={}, total={}; Threads: busy={}, idle={}, max={}, low={}",
+                getConnectionsOpen(), getConnectionsOpenMax(), getConnections(),
+                getThreads() - getIdleThreads(), getIdleThreads(), getMaxThreads(), isLowOnThreads());
+        LOG.info("Requests: total={}, active={}, maxActive={}, meanTime={}ms, maxTime={}ms, 4xx={}, 5xx={}, bytes={}",
+                getRequests(), getRequestsActive(), getRequestsActiveMax(),
+                Math.round(getRequestTimeMean()), getRequestTimeMax(),
+                getResponses4xx(), getResponses5xx(), getResponsesBytesTotal());
+    }
+
+    @Override
+    public int getConnectionsOpen() {
+        return connector.getConnectionsOpen();
+    }
+
+    @Override
+    public int getConnectionsOpenMax() {
+        return connector.getConnectionsOpenMax();
+    }
+
+    @Override
+    public int getConnections() {
+        return connector.getConnections();
+    }
+
+    @Override
+    public double getConnectionsDurationMean() {
+        return connector.getConnectionsDurationMean();
+    }
+
+    @Override
+    public int getThreads() {
+        return threadPool.getThreads();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return threadPool.getIdleThreads();
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return threadPool.getMaxThreads();
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return threadPool.isLowOnThreads();
+    }
+
+    @Override
+    public int getRequests() {
+        return statisticsHandler.getRequests();
+    }
+
+    @Override
+    public int getRequestsActive() {
+        return statisticsHandler.getRequestsActive();
+    }
+
+    @Override
+    public int getRequestsActiveMax() {
+        return statisticsHandler.getRequestsActiveMax();
+    }
+
+    @Override
+    public double getRequestTimeMean() {
+        return statisticsHandler.getRequestTimeMean();
+    }
+
+    @Override
+    public long getRequestTimeMax() {
+        return statisticsHandler.getRequestTimeMax();
+    }
+
+    @Override
+    public int getResponses4xx() {
+        return statisticsHandler.getResponses4xx();
+    }
+
+    @Override
+    public int getResponses5xx() {
+        return statisticsHandler.getResponses5xx();
+    }
+
+    @Override
+    public long getResponsesBytesTotal() {
+        return statisticsHandler.getResponsesBytesTotal();
+    }
+
+    @Override
+    public void statsReset() {
+        connector.statsReset();
+        statisticsHandler.statsReset();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.jetty;
+
+/**
+ * JMX view of the connector, thread pool and request statistics of the server.
+ */
+public interface ServerStatisticsMBean {
+
+    int getConnectionsOpen();
+
+    int getConnectionsOpenMax();
+
+    int getConnections();
+
+    double getConnectionsDurationMean();
+
+    int getThreads();
+
+    int getIdleThreads();
+
+    int getMaxThreads();
+
+    boolean isLowOnThreads();
+
+    int getRequests();
+
+    int getRequestsActive();
+
+    int getRequestsActiveMax();
+
+    double getRequestTimeMean();
+
+    long getRequestTimeMax();
+
+    int getResponses4xx();
+
+    int getResponses5xx();
+
+    long getResponsesBytesTotal();
+
+    void statsReset();
+}
@@ -27,16 +27,23 @@ import static org.yamj.common.type.ExitType.STARTUP_FAILURE;
 import static org.yamj.common.type.ExitType.SUCCESS;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.PropertyConfigurator;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.Server;
-import org.eclipse.jetty.server.handler.DefaultHandler;
-import org.eclipse.jetty.server.handler.HandlerList;
-import org.eclipse.jetty.server.handler.ResourceHandler;
+import org.eclipse.jetty.server.handler.*;
+import org.eclipse.jetty.server.nio.SelectChannelConnector;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.webapp.WebAppContext;
 import org.slf4j.Logger;
@@ -46,6 +53,7 @@ import org.yamj.common.cmdline.CmdLineOption;
 import org.yamj.common.cmdline.CmdLineParser;
 import org.yamj.common.model.YamjInfo;
 import org.yamj.common.model.YamjInfoBuild;
+import org.yamj.common.tools.PropertyTools;
 import org.yamj.common.tools.SystemTools;
 import org.yamj.common.type.ExitType;
 
@@ -59,6 +67,8 @@ public final class Start {
     private static final String SKINS_DIR = "skins/";
     private static final String[] DEFAULT_WELCOME_PAGES = {"yamj.html", "yamj3.html", "index.html"};
     private static final String SERVER_ERROR = "Server error";
+    private static final String CONFIG_FILE = "config/yamj3-jetty.properties";
+    private static final String CONFIG_USER_FILE = "config/yamj3-jetty.user.properties";
 
     private static String yamjHome = ".";
     private static int yamjPort = 8888;
@@ -136,11 +146,21 @@ public final class Start {
         }
 
         LOG.info("Starting server...");
+        loadSettings();
         System.setProperty("yamj3.core.port", String.valueOf(yamjPort));
-        Server server = new Server(yamjPort);
+
+        QueuedThreadPool threadPool = createThreadPool();
+        Server server = new Server();
+        server.setThreadPool(threadPool);
+        SelectChannelConnector connector = createConnector();
+        server.addConnector(connector);
         server.setGracefulShutdown(yamjShutdownTimeout);
         server.setStopAtShutdown(yamjStopAtShutdown);
 
+        if (PropertyTools.getBooleanProperty("jetty.http2.enabled", false)) {
+            LOG.warn("HTTP/2 cleartext is not supported by this Jetty version; serving HTTP/1.1 only");
+        }
+
         try {
             WebAppContext webapp = new WebAppContext();
             webapp.setContextPath("/yamj3");
@@ -153,6 +173,11 @@ public final class Start {
             resourceDirHandler.setResourceBase(RESOURCES_DIR);
             resourceDirHandler.setWelcomeFiles(DEFAULT_WELCOME_PAGES);
             resourceDirHandler.setDirectoriesListed(true);
+            resourceDirHandler.setEtags(PropertyTools.getBooleanProperty("jetty.resources.etags", true));
+            String cacheControl = PropertyTools.getProperty("jetty.resources.cacheControl", "public, max-age=86400");
+            if (StringUtils.isNotBlank(cacheControl)) {
+                resourceDirHandler.setCacheControl(cacheControl);
+            }
             LOG.info("Resource base: {}", resourceDirHandler.getResourceBase());
 
             // Ensure the 'SKIN_DIR' directory is created
@@ -162,12 +187,24 @@ public final class Start {
 
             HandlerList handlers = new HandlerList();
             handlers.setHandlers(new Handler[]{webapp, resourceDirHandler, new DefaultHandler()});
-            server.setHandler(handlers);
 
-            if (server.getThreadPool() instanceof QueuedThreadPool) {
-                ((QueuedThreadPool) server.getThreadPool()).setMaxIdleTimeMs(2000);
+            Handler handler = handlers;
+            if (PropertyTools.getBooleanProperty("jetty.gzip.enabled", true)) {
+                GzipHandler gzipHandler = new GzipHandler();
+                gzipHandler.setMimeTypes(PropertyTools.getProperty("jetty.gzip.mimeTypes", "application/json,text/html,text/plain,text/xml,text/css,application/javascript"));
+                gzipHandler.setMinGzipSize(PropertyTools.getIntProperty("jetty.gzip.minSize", 1024));
+                gzipHandler.setHandler(handler);
+                handler = gzipHandler;
             }
 
+            StatisticsHandler statisticsHandler = new StatisticsHandler();
+            statisticsHandler.setHandler(handler);
+            server.setHandler(statisticsHandler);
+
+            ServerStatistics statistics = new ServerStatistics(connector, threadPool, statisticsHandler);
+            statistics.register();
+            scheduleStatistics(statistics);
+
             server.start();
             server.join();
 
@@ -189,6 +226,89 @@ public final class Start {
         }
     }
 
+    /**
+     * Load the server settings, user settings will override the defaults
+     */
+    private static void loadSettings() {
+        for (String fileName : new String[]{CONFIG_FILE, CONFIG_USER_FILE}) {
+            File file = new File(FilenameUtils.concat(yamjHome, fileName));
+            if (!file.exists()) {
+                continue;
+            }
+
+            Properties props = new Properties();
+            try (InputStream is = new FileInputStream(file)) {
+                props.load(is);
+            } catch (IOException ex) {
+                LOG.warn("Failed to load settings from '{}': {}", fileName, ex.getMessage());
+                continue;
+            }
+
+            for (Entry<Object, Object> entry : props.entrySet()) {
+                PropertyTools.setProperty(entry.getKey().toString(), entry.getValue().toString().trim());
+            }
+            LOG.debug("Loaded {} settings from '{}'", props.size(), fileName);
+        }
+    }
+
+    /**
+     * Create the bounded thread pool which serves the requests
+     *
+     * @return
+     */
+    private static QueuedThreadPool createThreadPool() {
+        QueuedThreadPool threadPool = new QueuedThreadPool();
+        threadPool.setName("jetty");
+        threadPool.setMinThreads(PropertyTools.getIntProperty("jetty.threads.min", 4));
+        threadPool.setMaxThreads(PropertyTools.getIntProperty("jetty.threads.max", 50));
+        threadPool.setMaxQueued(PropertyTools.getIntProperty("jetty.threads.maxQueued", 200));
+        threadPool.setMaxIdleTimeMs(PropertyTools.getIntProperty("jetty.threads.idleTimeout", 2000));
+        LOG.info("Server threads: min={}, max={}, maxQueued={}", threadPool.getMinThreads(), threadPool.getMaxThreads(), threadPool.getMaxQueued());
+        return threadPool;
+    }
+
+    /**
+     * Create the HTTP connector with the keep-alive settings
+     *
+     * @return
+     */
+    private static SelectChannelConnector createConnector() {
+        SelectChannelConnector connector = new SelectChannelConnector();
+        connector.setPort(yamjPort);
+        connector.setAcceptQueueSize(PropertyTools.getIntProperty("jetty.connector.acceptQueue", 100));
+        connector.setMaxIdleTime(PropertyTools.getIntProperty("jetty.connector.idleTimeout", 30000));
+        connector.setLowResourcesMaxIdleTime(PropertyTools.getIntProperty("jetty.connector.lowResourcesIdleTimeout", 5000));
+        int acceptors = PropertyTools.getIntProperty("jetty.connector.acceptors", 0);
+        if (acceptors > 0) {
+            connector.setAcceptors(acceptors);
+        }
+        connector.setStatsOn(PropertyTools.getBooleanProperty("jetty.statistics.enabled", true));
+        LOG.info("Server connector: acceptQueue={}, idleTimeout={}ms", connector.getAcceptQueueSize(), connector.getMaxIdleTime());
+        return connector;
+    }
+
+    /**
+     * Schedule the periodic logging of the server statistics
+     *
+     * @param statistics
+     */
+    private static void scheduleStatistics(ServerStatistics statistics) {
+        int interval = PropertyTools.getIntProperty("jetty.statistics.logInterval", 0);
+        if (interval <= 0) {
+            return;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jetty-statistics");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleAtFixedRate(statistics, interval, interval, TimeUnit.MINUTES);
+    }
+
     /**
      * Print the parse descriptions
      *
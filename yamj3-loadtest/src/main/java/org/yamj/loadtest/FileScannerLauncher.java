@@ -0,0 +1,104 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest;
+
+import java.io.File;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.yamj.common.cmdline.CmdLineException;
+import org.yamj.common.cmdline.CmdLineOption;
+import org.yamj.common.cmdline.CmdLineParser;
+import org.yamj.common.remote.service.FileImportService;
+import org.yamj.common.type.ExitType;
+import org.yamj.filescanner.ScannerManagement;
+import org.yamj.filescanner.model.LibraryCollection;
+import org.yamj.loadtest.report.TimingFileImportService;
+import org.yamj.loadtest.stub.OfflineGitHubService;
+
+/**
+ * Runs the file scanner in a child context of the core.
+ *
+ * The remote services of the core are replaced by the core beans themselves,
+ * so the scanner talks to the core in-process instead of via HTTP.
+ */
+public class FileScannerLauncher implements AutoCloseable {
+
+    private final GenericApplicationContext context;
+    private final TimingFileImportService fileImportService;
+
+    public FileScannerLauncher(ApplicationContext coreContext) {
+        fileImportService = new TimingFileImportService(coreContext.getBean(FileImportService.class));
+
+        context = new GenericApplicationContext(coreContext);
+        new XmlBeanDefinitionReader(context).loadBeanDefinitions(new ClassPathResource("/yamj3-filescanner.xml"));
+
+        // the remaining remote services are resolved from the core context
+        DefaultListableBeanFactory beanFactory = context.getDefaultListableBeanFactory();
+        beanFactory.removeBeanDefinition("propertyConfigurer");
+        beanFactory.removeBeanDefinition("fileImportService");
+        beanFactory.removeBeanDefinition("systemInfoService");
+        beanFactory.removeBeanDefinition("githubService");
+        beanFactory.registerSingleton("fileImportService", fileImportService);
+        beanFactory.registerSingleton("githubService", new OfflineGitHubService());
+
+        context.addBeanFactoryPostProcessor(LoadTestConfiguration.createPropertyConfigurer(true));
+        context.refresh();
+    }
+
+    /**
+     * Scan the library and wait until all directories have been sent.
+     *
+     * @param libraryDirectory
+     * @return the exit status of the file scanner
+     */
+    public ExitType run(File libraryDirectory) {
+        CmdLineParser parser = new CmdLineParser();
+        parser.addOption(new CmdLineOption("d", "directory", "The directory to process", false, true));
+        parser.addOption(new CmdLineOption("w", "watcher", "Keep watching the directories for changes", false, true));
+        parser.addOption(new CmdLineOption("l", "library", "The library file to read", false, true));
+        try {
+            parser.parse(new String[]{"-d", libraryDirectory.getAbsolutePath(), "-w", "false"});
+        } catch (CmdLineException ex) {
+            throw new IllegalStateException("Invalid file scanner options", ex);
+        }
+
+        ScannerManagement scannerManagement = (ScannerManagement) context.getBean("scannerManagement");
+        return scannerManagement.runScanner(parser);
+    }
+
+    public TimingFileImportService getFileImportService() {
+        return fileImportService;
+    }
+
+    public LibraryCollection getLibraryCollection() {
+        return context.getBean(LibraryCollection.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.config.PropertiesFactoryBean;
+import org.springframework.beans.factory.config.PropertyPlaceholderConfigurer;
+import org.springframework.context.annotation.*;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
+import org.yamj.common.tools.PropertyTools;
+import org.yamj.loadtest.stub.StubPluginManager;
+import org.yamj.loadtest.stub.StubScanner;
+import ro.fortsoft.pf4j.PluginManager;
+
+/**
+ * Non-web variant of the core configuration, which runs the core services
+ * with the stub scanner instead of the installed plugins.
+ *
+ * The stub scanner must be registered as singleton before the context is refreshed.
+ */
+@Configuration
+@ComponentScan(basePackages = "org.yamj.core", excludeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, value = WebMvcConfigurationSupport.class))
+public class LoadTestConfiguration {
+
+    @Bean
+    public static PropertyPlaceholderConfigurer propertyConfigurer() {
+        return createPropertyConfigurer(false);
+    }
+
+    /**
+     * Create the configurer of the static properties.
+     *
+     * PropertyTools holds the static properties of all contexts in one place,
+     * so the file scanner context must load the core properties as well.
+     *
+     * @param withFileScanner true to include the file scanner properties
+     * @return the configurer
+     */
+    public static PropertyPlaceholderConfigurer createPropertyConfigurer(boolean withFileScanner) {
+        final String yamjHome = System.getProperty("yamj3.home", ".");
+
+        List<Resource> locations = new ArrayList<>();
+        locations.add(new ClassPathResource("/yamj3-core-static.properties"));
+        if (withFileScanner) {
+            locations.add(new ClassPathResource("/yamj3-filescanner.properties"));
+        }
+        locations.add(new ClassPathResource("/yamj3-loadtest-static.properties"));
+
+        // the relative default paths would end up in the working directory
+        Properties homeProperties = new Properties();
+        homeProperties.setProperty("yamj3.file.storage.resources", yamjHome + "/resources/");
+        homeProperties.setProperty("mediainfo.home", yamjHome + "/mediaInfo/");
+        homeProperties.setProperty("mkvtoolnix.home", yamjHome + "/mkvToolnix/");
+
+        PropertyPlaceholderConfigurer configurer = new PropertyTools();
+        configurer.setLocations(locations.toArray(new Resource[locations.size()]));
+        configurer.setProperties(homeProperties);
+        configurer.setLocalOverride(true);
+        return configurer;
+    }
+
+    @Bean
+    public FactoryBean<Properties> dynamicProperties() {
+        PropertiesFactoryBean factoryBean = new PropertiesFactoryBean();
+        // load test properties override the core defaults
+        factoryBean.setLocations(
+                new ClassPathResource("/yamj3-core-dynamic.properties"),
+                new ClassPathResource("/yamj3-loadtest-dynamic.properties"));
+        return factoryBean;
+    }
+
+    @Bean(destroyMethod="stopPlugins")
+    public PluginManager pluginManager(StubScanner stubScanner) {
+        final String yamjHome = System.getProperty("yamj3.home", ".");
+        File pluginsDir = new File(yamjHome + "/plugins");
+        pluginsDir.mkdirs();
+
+        return new StubPluginManager(pluginsDir, stubScanner);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.yamj.common.cmdline.CmdLineException;
+import org.yamj.common.cmdline.CmdLineOption;
+import org.yamj.common.cmdline.CmdLineParser;
+
+/**
+ * Holds the settings of a load test run.
+ */
+public final class LoadTestOptions {
+
+    private int movies = 200;
+    private int series = 10;
+    private int seasons = 2;
+    private int episodes = 10;
+    private int actors = 5;
+    private long seed = 42L;
+    private long latency = 50L;
+    private long jitter = 25L;
+    private long imageLatency = 20L;
+    private int apiRate = 5;
+    private int apiThreads = 2;
+    private int apiRequests = 500;
+    private int timeout = 3600;
+    private String home;
+    private String report = "loadtest-result.json";
+    private boolean keep = false;
+
+    public static CmdLineParser createParser() {
+        CmdLineParser parser = new CmdLineParser();
+        parser.addOption(new CmdLineOption("movies", "count", "Number of movies to generate (default 200)", false, true));
+        parser.addOption(new CmdLineOption("series", "count", "Number of series to generate (default 10)", false, true));
+        parser.addOption(new CmdLineOption("seasons", "count", "Number of seasons per series (default 2)", false, true));
+        parser.addOption(new CmdLineOption("episodes", "count", "Number of episodes per season (default 10)", false, true));
+        parser.addOption(new CmdLineOption("actors", "count", "Number of actors in each NFO (default 5)", false, true));
+        parser.addOption(new CmdLineOption("seed", "value", "Random seed of the generated library (default 42)", false, true));
+        parser.addOption(new CmdLineOption("latency", "millis", "Latency of each stub scanner call (default 50)", false, true));
+        parser.addOption(new CmdLineOption("jitter", "millis", "Maximal additional latency of each stub scanner call (default 25)", false, true));
+        parser.addOption(new CmdLineOption("imageLatency", "millis", "Latency of each stub image download (default 20)", false, true));
+        parser.addOption(new CmdLineOption("apiRate", "count", "API requests per second while the pipeline is running; 0 disables (default 5)", false, true));
+        parser.addOption(new CmdLineOption("apiThreads", "count", "Threads issuing API requests (default 2)", false, true));
+        parser.addOption(new CmdLineOption("apiRequests", "count", "API requests after the pipeline has drained (default 500)", false, true));
+        parser.addOption(new CmdLineOption("timeout", "seconds", "Maximal time to wait for the pipeline to drain (default 3600)", false, true));
+        parser.addOption(new CmdLineOption("home", "directory", "YAMJ home for the run; a temporary directory if not given", false, true));
+        parser.addOption(new CmdLineOption("report", "file", "JSON report file (default loadtest-result.json)", false, true));
+        parser.addOption(new CmdLineOption("keep", "Keep the temporary YAMJ home after the run", false));
+        return parser;
+    }
+
+    public static LoadTestOptions parse(CmdLineParser parser, String[] args) throws CmdLineException {
+        parser.parse(args);
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.movies = getInt(parser, "movies", options.movies);
+        options.series = getInt(parser, "series", options.series);
+        options.seasons = Math.max(1, getInt(parser, "seasons", options.seasons));
+        options.episodes = Math.max(1, getInt(parser, "episodes", options.episodes));
+        options.actors = getInt(parser, "actors", options.actors);
+        options.seed = getLong(parser, "seed", options.seed);
+        options.latency = getLong(parser, "latency", options.latency);
+        options.jitter = getLong(parser, "jitter", options.jitter);
+        options.imageLatency = getLong(parser, "imageLatency", options.imageLatency);
+        options.apiRate = getInt(parser, "apiRate", options.apiRate);
+        options.apiThreads = Math.max(1, getInt(parser, "apiThreads", options.apiThreads));
+        options.apiRequests = getInt(parser, "apiRequests", options.apiRequests);
+        options.timeout = getInt(parser, "timeout", options.timeout);
+        options.home = StringUtils.trimToNull(parser.getParsedOptionValue("home"));
+        options.report = StringUtils.defaultIfBlank(parser.getParsedOptionValue("report"), options.report);
+        options.keep = parser.containsOption("keep");
+        return options;
+    }
+
+    private static int getInt(CmdLineParser parser, String name, int defaultValue) {
+        return NumberUtils.toInt(parser.getParsedOptionValue(name), defaultValue);
+    }
+
+    private static long getLong(CmdLineParser parser, String name, long defaultValue) {
+        return NumberUtils.toLong(parser.getParsedOptionValue(name), defaultValue);
+    }
+
+    public int getMovies() {
+        return movies;
+    }
+
+    public int getSeries() {
+        return series;
+    }
+
+    public int getSeasons() {
+        return seasons;
+    }
+
+    public int getEpisodes() {
+        return episodes;
+    }
+
+    public int getActors() {
+        return actors;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getLatency() {
+        return latency;
+    }
+
+    public long getJitter() {
+        return jitter;
+    }
+
+    public long getImageLatency() {
+        return imageLatency;
+    }
+
+    public int getApiRate() {
+        return apiRate;
+    }
+
+    public int getApiThreads() {
+        return apiThreads;
+    }
+
+    public int getApiRequests() {
+        return apiRequests;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public String getHome() {
+        return home;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public boolean isKeep() {
+        return keep;
+    }
+}
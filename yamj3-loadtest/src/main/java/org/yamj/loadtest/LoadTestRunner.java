@@ -0,0 +1,342 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import javax.sql.DataSource;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.yamj.common.cmdline.CmdLineException;
+import org.yamj.common.cmdline.CmdLineParser;
+import org.yamj.common.type.ExitType;
+import org.yamj.core.database.DatabaseType;
+import org.yamj.core.database.service.JsonApiStorageService;
+import org.yamj.core.service.metrics.MetricsRegistry;
+import org.yamj.filescanner.model.*;
+import org.yamj.loadtest.fixture.LibraryGenerator;
+import org.yamj.loadtest.report.*;
+import org.yamj.loadtest.stub.StubImageServer;
+import org.yamj.loadtest.stub.StubLatency;
+import org.yamj.loadtest.stub.StubScanner;
+
+/**
+ * Runs a load test of the whole pipeline from the file scanner to the API.
+ *
+ * A library is generated and scanned by the file scanner, which sends it to an
+ * embedded core running against a H2 database. All online sources are replaced
+ * by stubs with configurable latency. The run ends when all queues are drained;
+ * then throughput and latency percentiles of each stage are reported.
+ *
+ * Build with <code>mvn -Pbenchmarks,loadtest install</code> and run with
+ * <code>java -jar yamj3-loadtest/target/loadtest.jar [options]</code>
+ */
+public final class LoadTestRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final String YAMJ3_HOME = "yamj3.home";
+    private static final long POLL_MILLIS = 2000L;
+    private static final long PROGRESS_MILLIS = 10000L;
+    // the run ends if the pending queues make no progress for this time;
+    // longer than the periodic trigger of the queue schedulers
+    private static final long STALL_MILLIS = 330000L;
+
+    private final LoadTestOptions options;
+    private final LoadTestReport report = new LoadTestReport();
+    private File homeDirectory;
+    private boolean temporaryHome = false;
+
+    private LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        CmdLineParser parser = LoadTestOptions.createParser();
+        ExitType status;
+        try {
+            LoadTestOptions options = LoadTestOptions.parse(parser, args);
+            if (parser.userWantsHelp()) {
+                LOG.info(parser.getDescriptions());
+                status = ExitType.SUCCESS;
+            } else {
+                status = new LoadTestRunner(options).execute();
+            }
+        } catch (CmdLineException ex) {
+            LOG.error("Failed to parse command line options: {}", ex.getMessage());
+            LOG.info(parser.getDescriptions());
+            status = ExitType.CMDLINE_ERROR;
+        }
+        System.exit(status.getReturn()); //NOSONAR
+    }
+
+    private ExitType execute() {
+        StubImageServer imageServer = null;
+        AnnotationConfigApplicationContext coreContext = null;
+        Connection databaseConnection = null;
+        FileScannerLauncher fileScanner = null;
+        try {
+            prepareEnvironment();
+
+            imageServer = new StubImageServer(new StubLatency(options.getImageLatency(), options.getJitter()), options.getSeed());
+            imageServer.start();
+
+            final File libraryDirectory = new File(homeDirectory, "library");
+            long start = System.currentTimeMillis();
+            int files = new LibraryGenerator(options, imageServer.getBaseUrl()).generate(libraryDirectory);
+            LOG.info("Generated {} files in {} ms", files, System.currentTimeMillis() - start);
+
+            coreContext = new AnnotationConfigApplicationContext();
+            coreContext.getBeanFactory().registerSingleton("stubScanner",
+                    new StubScanner(new StubLatency(options.getLatency(), options.getJitter()), imageServer.getBaseUrl()));
+            coreContext.register(LoadTestConfiguration.class);
+            coreContext.refresh();
+
+            // H2 closes the database whenever the last connection is released,
+            // so keep it open as a connected client of the core would do
+            databaseConnection = coreContext.getBean(DataSource.class).getConnection();
+
+            fileScanner = new FileScannerLauncher(coreContext);
+            runPipeline(coreContext, fileScanner, libraryDirectory, files);
+
+            report.print(LOG);
+            File reportFile = new File(options.getReport());
+            report.write(reportFile);
+            LOG.info("Report written to {}", reportFile.getAbsolutePath());
+            return ExitType.SUCCESS;
+        } catch (Exception ex) {
+            LOG.error("Load test failed", ex);
+            return ExitType.CONFIG_ERROR;
+        } finally {
+            if (fileScanner != null) {
+                fileScanner.close();
+            }
+            if (databaseConnection != null) {
+                try {
+                    databaseConnection.close();
+                } catch (SQLException ex) {
+                    LOG.trace("Failed to close database connection", ex);
+                }
+            }
+            if (coreContext != null) {
+                coreContext.close();
+            }
+            if (imageServer != null) {
+                imageServer.stop();
+            }
+            if (temporaryHome && !options.isKeep()) {
+                FileUtils.deleteQuietly(homeDirectory);
+            } else {
+                LOG.info("YAMJ home of the run: {}", homeDirectory);
+            }
+        }
+    }
+
+    private void prepareEnvironment() throws IOException {
+        if (options.getHome() != null) {
+            homeDirectory = new File(options.getHome()).getAbsoluteFile();
+            homeDirectory.mkdirs();
+        } else {
+            homeDirectory = Files.createTempDirectory("yamj3-loadtest").toFile();
+            temporaryHome = true;
+        }
+        System.setProperty(YAMJ3_HOME, homeDirectory.getAbsolutePath());
+
+        if (System.getProperty("spring.profiles.active") == null) {
+            System.setProperty("spring.profiles.active", DatabaseType.H2);
+        }
+        if (System.getProperty("yamj3.database.port") == null) {
+            // avoid clashes with a running YAMJ
+            try (ServerSocket socket = new ServerSocket(0)) {
+                System.setProperty("yamj3.database.port", Integer.toString(socket.getLocalPort()));
+            }
+        }
+    }
+
+    private void runPipeline(AnnotationConfigApplicationContext coreContext, final FileScannerLauncher fileScanner,
+            final File libraryDirectory, int files) throws InterruptedException, ExecutionException
+    {
+        final StageCollector stageCollector = new StageCollector(coreContext.getBean(DataSource.class));
+        final ApiLoad apiLoad = new ApiLoad(coreContext.getBean(JsonApiStorageService.class));
+        final LatencyRecorder apiUnderLoad = new LatencyRecorder();
+        final LatencyRecorder apiIdle = new LatencyRecorder();
+
+        final long start = System.currentTimeMillis();
+        apiLoad.startBackground(options.getApiRate(), options.getApiThreads(), apiUnderLoad);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<ExitType> scan = executor.submit(new Callable<ExitType>() {
+            @Override
+            public ExitType call() {
+                return fileScanner.run(libraryDirectory);
+            }
+        });
+        executor.shutdown();
+
+        final boolean drained = awaitDrain(stageCollector, fileScanner, scan, start);
+        final long pipelineMillis = System.currentTimeMillis() - start;
+        apiLoad.stopBackground();
+        LOG.info("Pipeline finished after {} ms", pipelineMillis);
+
+        final long apiIdleMillis = apiLoad.run(options.getApiRequests(), options.getApiThreads(), apiIdle);
+
+        report.put("configuration", configuration());
+
+        Map<String, Object> pipeline = new LinkedHashMap<>();
+        pipeline.put("files", files);
+        pipeline.put("durationMillis", pipelineMillis);
+        pipeline.put("drained", drained);
+        pipeline.put("fileScannerStatus", scan.isDone() ? scan.get() : "RUNNING");
+        pipeline.put("apiErrors", apiLoad.getErrors());
+        report.put("pipeline", pipeline);
+
+        report.put("filescanner", fileScannerStatistics(fileScanner.getLibraryCollection()));
+
+        List<Map<String, Object>> transfer = new ArrayList<>();
+        transfer.add(LoadTestReport.summarize("send", fileScanner.getFileImportService().getSendLatency(), pipelineMillis));
+        transfer.add(LoadTestReport.summarize("send until imported", fileScanner.getFileImportService().getImportLatency(), pipelineMillis));
+        report.put("transfer", transfer);
+
+        report.put("stages", stageCollector.collect());
+        report.put("services", serviceTimes(coreContext.getBean(MetricsRegistry.class)));
+
+        List<Map<String, Object>> api = new ArrayList<>();
+        api.add(LoadTestReport.summarize("api under load", apiUnderLoad, pipelineMillis));
+        api.add(LoadTestReport.summarize("api idle", apiIdle, apiIdleMillis));
+        report.put("api", api);
+    }
+
+    /**
+     * Wait until the file scanner has sent all directories and all queues are empty.
+     *
+     * @return true if drained, false if stalled or timed out
+     */
+    private boolean awaitDrain(StageCollector stageCollector, FileScannerLauncher fileScanner, Future<ExitType> scan, long start)
+            throws InterruptedException
+    {
+        final long deadline = start + TimeUnit.SECONDS.toMillis(options.getTimeout());
+        long lastProgress = 0;
+        long lastChange = System.currentTimeMillis();
+        long lastState = -1;
+        int emptyPolls = 0;
+
+        while (true) {
+            TimeUnit.MILLISECONDS.sleep(POLL_MILLIS);
+            final long now = System.currentTimeMillis();
+
+            final Map<String, Long> pendingCounts = stageCollector.getPendingCounts();
+            long pending = fileScanner.getFileImportService().getInboxSize();
+            for (Long count : pendingCounts.values()) {
+                pending += count;
+            }
+            final long state = 31 * pending + stageCollector.getFinishedCount();
+
+            if (now - lastProgress >= PROGRESS_MILLIS) {
+                LOG.info("Pending: {} (inbox {})", pendingCounts, fileScanner.getFileImportService().getInboxSize());
+                lastProgress = now;
+            }
+
+            if (!scan.isDone()) {
+                lastChange = now;
+            } else if (pending == 0) {
+                // two empty polls, so that no stage is just handing over
+                if (++emptyPolls >= 2) {
+                    return true;
+                }
+            } else {
+                emptyPolls = 0;
+                if (state != lastState) {
+                    lastChange = now;
+                } else if (now - lastChange >= STALL_MILLIS) {
+                    LOG.warn("No progress for {} seconds; pending: {}", TimeUnit.MILLISECONDS.toSeconds(STALL_MILLIS), pendingCounts);
+                    return false;
+                }
+            }
+            lastState = state;
+
+            if (now >= deadline) {
+                LOG.warn("Timeout after {} seconds; pending: {}", options.getTimeout(), pendingCounts);
+                return false;
+            }
+        }
+    }
+
+    private Map<String, Object> configuration() {
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("movies", options.getMovies());
+        configuration.put("series", options.getSeries());
+        configuration.put("seasons", options.getSeasons());
+        configuration.put("episodes", options.getEpisodes());
+        configuration.put("actors", options.getActors());
+        configuration.put("seed", options.getSeed());
+        configuration.put("latency", options.getLatency());
+        configuration.put("jitter", options.getJitter());
+        configuration.put("imageLatency", options.getImageLatency());
+        configuration.put("apiRate", options.getApiRate());
+        configuration.put("apiThreads", options.getApiThreads());
+        return configuration;
+    }
+
+    private static Map<String, Object> fileScannerStatistics(LibraryCollection libraryCollection) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (Library library : libraryCollection.getLibraries()) {
+            final Statistics stats = library.getStatistics();
+            for (StatType statType : StatType.values()) {
+                statistics.put(statType.name().toLowerCase(), stats.getStatistic(statType));
+            }
+            statistics.put("filesPerSecond", Math.round(stats.getRate(StatType.FILE, TimeType.SCANNING_START, TimeType.SCANNING_END) * 100d) / 100d);
+        }
+        return statistics;
+    }
+
+    /**
+     * Get the service times measured by the core, so that they can be set against the end-to-end latencies.
+     */
+    private static List<Map<String, Object>> serviceTimes(MetricsRegistry metricsRegistry) {
+        List<Map<String, Object>> serviceTimes = new ArrayList<>();
+        for (Map<String, Object> metric : metricsRegistry.getSnapshot()) {
+            final String name = String.valueOf(metric.get("name"));
+            if (!name.endsWith("_duration_millis")) {
+                continue;
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", metric.containsKey("labels") ? name + metric.get("labels") : name);
+            row.put("count", metric.get("count"));
+            row.put("mean", Math.round(((Number) metric.get("mean")).doubleValue() * 100d) / 100d);
+            row.put("p50", metric.get("p50"));
+            row.put("p95", metric.get("p95"));
+            row.put("p99", metric.get("p99"));
+            row.put("max", metric.get("max"));
+            serviceTimes.add(row);
+        }
+        return serviceTimes;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.fixture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.apache.commons.io.FileUtils;
+import org.yamj.benchmarks.fixture.FilenameFixtures;
+import org.yamj.benchmarks.fixture.ImageFixtures;
+import org.yamj.benchmarks.fixture.NfoFixtures;
+import org.yamj.loadtest.LoadTestOptions;
+
+/**
+ * Generates a media library with videos, NFO files and local artwork.
+ *
+ * The titles are unique, so that every generated movie and series will be
+ * imported as an own video. Remote URLs within the NFO files point to the
+ * stub image server.
+ */
+public class LibraryGenerator {
+
+    private static final String[] SUFFIXES = new String[]{"Returns", "Reloaded", "Rising", "Origins", "Legacy", "Redemption", "Revelations", "Awakening"};
+    private static final String EXAMPLE_URL = "http://www.example.com/";
+    private static final int IMAGE_POOL_SIZE = 4;
+    private static final byte[] VIDEO_CONTENT = new byte[1024];
+
+    private final LoadTestOptions options;
+    private final String imageBaseUrl;
+    private final byte[][] posters = new byte[IMAGE_POOL_SIZE][];
+    private final byte[][] fanarts = new byte[IMAGE_POOL_SIZE][];
+    private int files = 0;
+
+    public LibraryGenerator(LoadTestOptions options, String imageBaseUrl) throws IOException {
+        this.options = options;
+        this.imageBaseUrl = imageBaseUrl.endsWith("/") ? imageBaseUrl : imageBaseUrl + "/";
+        for (int i = 0; i < IMAGE_POOL_SIZE; i++) {
+            posters[i] = encode(200, 300, options.getSeed() + i);
+            fanarts[i] = encode(320, 180, options.getSeed() + IMAGE_POOL_SIZE + i);
+        }
+    }
+
+    /**
+     * Generate the library.
+     *
+     * @param libraryDirectory the root directory of the library
+     * @return the number of generated files
+     * @throws IOException
+     */
+    public int generate(File libraryDirectory) throws IOException {
+        files = 0;
+
+        File moviesDirectory = new File(libraryDirectory, "movies");
+        for (int i = 0; i < options.getMovies(); i++) {
+            generateMovie(moviesDirectory, i);
+        }
+
+        File seriesDirectory = new File(libraryDirectory, "tvshows");
+        for (int i = 0; i < options.getSeries(); i++) {
+            generateSeries(seriesDirectory, i);
+        }
+
+        return files;
+    }
+
+    private void generateMovie(File parent, int index) throws IOException {
+        final String name = uniqueTitle(index) + " (" + (1950 + ((index * 7) % 70)) + ")";
+        File directory = new File(parent, name);
+
+        write(new File(directory, name + ".mkv"), VIDEO_CONTENT);
+        writeNfo(directory, name, NfoFixtures.TYPE_MOVIE, index);
+        writeArtwork(directory, index);
+    }
+
+    private void generateSeries(File parent, int index) throws IOException {
+        final String name = uniqueTitle(index);
+        File directory = new File(parent, name);
+
+        writeNfo(directory, "tvshow", NfoFixtures.TYPE_TVSHOW, options.getMovies() + index);
+        writeArtwork(directory, index);
+
+        for (int season = 1; season <= options.getSeasons(); season++) {
+            File seasonDirectory = new File(directory, String.format("Season %02d", season));
+            for (int episode = 1; episode <= options.getEpisodes(); episode++) {
+                write(new File(seasonDirectory, String.format("%s S%02dE%02d.mkv", name, season, episode)), VIDEO_CONTENT);
+            }
+        }
+    }
+
+    private void writeNfo(File directory, String baseName, String type, int index) throws IOException {
+        final String content = NfoFixtures.generate(type, options.getActors(), options.getSeed() + index);
+        NfoFixtures.write(directory, baseName, content.replace(EXAMPLE_URL, imageBaseUrl));
+        files++;
+    }
+
+    private void writeArtwork(File directory, int index) throws IOException {
+        write(new File(directory, "poster.jpg"), posters[index % IMAGE_POOL_SIZE]);
+        write(new File(directory, "fanart.jpg"), fanarts[index % IMAGE_POOL_SIZE]);
+    }
+
+    private void write(File file, byte[] content) throws IOException {
+        FileUtils.writeByteArrayToFile(file, content);
+        files++;
+    }
+
+    private static String uniqueTitle(int index) {
+        final String[] titles = FilenameFixtures.TITLES;
+        StringBuilder sb = new StringBuilder(titles[index % titles.length]);
+        int round = index / titles.length;
+        while (round > 0) {
+            sb.append(' ').append(SUFFIXES[(round - 1) % SUFFIXES.length]);
+            round = (round - 1) / SUFFIXES.length;
+        }
+        return sb.toString();
+    }
+
+    private static byte[] encode(int width, int height, long seed) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ImageIO.write(ImageFixtures.createImage(width, height, seed), "jpg", bos);
+        return bos.toByteArray();
+    }
+}
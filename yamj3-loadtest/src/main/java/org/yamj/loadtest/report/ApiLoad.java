@@ -0,0 +1,179 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.report;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yamj.core.api.model.dto.ApiPersonDTO;
+import org.yamj.core.api.model.dto.ApiVideoDTO;
+import org.yamj.core.api.options.OptionsId;
+import org.yamj.core.api.options.OptionsIndexVideo;
+import org.yamj.core.api.wrapper.ApiWrapperList;
+import org.yamj.core.database.service.JsonApiStorageService;
+
+/**
+ * Issues the index queries of the API, as a client browsing the library would do.
+ *
+ * The queries are the same as in the API benchmark and are issued round-robin.
+ */
+public class ApiLoad {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApiLoad.class);
+    private static final int QUERIES = 4;
+
+    private final JsonApiStorageService jsonApiStorageService;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicLong errors = new AtomicLong();
+    private ScheduledExecutorService background;
+
+    public ApiLoad(JsonApiStorageService jsonApiStorageService) {
+        this.jsonApiStorageService = jsonApiStorageService;
+    }
+
+    /**
+     * Start issuing requests with a fixed rate in the background.
+     *
+     * @param rate the requests per second
+     * @param threads the maximal number of concurrent requests
+     * @param recorder the recorder of the latencies
+     */
+    public synchronized void startBackground(int rate, int threads, final LatencyRecorder recorder) {
+        if (rate <= 0 || background != null) {
+            return;
+        }
+
+        background = Executors.newScheduledThreadPool(threads);
+        final long period = TimeUnit.SECONDS.toMicros(1) / rate;
+        for (int i = 0; i < threads; i++) {
+            // every thread serves an equal share of the rate
+            background.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    request(recorder);
+                }
+            }, i * period, period * threads, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    public synchronized void stopBackground() {
+        if (background != null) {
+            background.shutdownNow();
+            try {
+                background.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) { //NOSONAR
+                LOG.trace("Interrupted whilst waiting for API requests to complete");
+            }
+            background = null;
+        }
+    }
+
+    /**
+     * Issue a fixed number of requests as fast as possible.
+     *
+     * @param requests the number of requests
+     * @param threads the number of concurrent requests
+     * @param recorder the recorder of the latencies
+     * @return the elapsed time in milliseconds
+     */
+    public long run(final int requests, int threads, final LatencyRecorder recorder) {
+        final AtomicInteger remaining = new AtomicInteger(requests);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        while (remaining.getAndDecrement() > 0) {
+                            request(recorder);
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.HOURS);
+        } catch (InterruptedException ex) { //NOSONAR
+            LOG.warn("Interrupted whilst waiting for API requests to complete");
+            executor.shutdownNow();
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    private void request(LatencyRecorder recorder) {
+        final long start = System.currentTimeMillis();
+        try {
+            switch (sequence.getAndIncrement() % QUERIES) {
+                case 0:
+                    videoIndex("movie", null, null, 1);
+                    break;
+                case 1:
+                    videoIndex("all", "poster,fanart", null, 3);
+                    break;
+                case 2:
+                    videoIndex("movie,series", null, "the", 1);
+                    break;
+                default:
+                    personIndex();
+                    break;
+            }
+            recorder.recordSince(start);
+        } catch (Exception ex) {
+            errors.incrementAndGet();
+            LOG.debug("API request failed", ex);
+        }
+    }
+
+    private void videoIndex(String type, String artwork, String search, int page) {
+        OptionsIndexVideo options = new OptionsIndexVideo();
+        options.setType(type);
+        options.setSortby("title");
+        options.setPerpage(50);
+        options.setPage(page);
+        if (artwork != null) {
+            options.setArtwork(artwork);
+        }
+        if (search != null) {
+            options.setField("title");
+            options.setSearch(search);
+            options.setMode("ANY");
+        }
+        ApiWrapperList<ApiVideoDTO> wrapper = new ApiWrapperList<>(options);
+        jsonApiStorageService.getVideoList(wrapper, options);
+    }
+
+    private void personIndex() {
+        OptionsId options = new OptionsId();
+        options.setSortby("name");
+        options.setPerpage(50);
+        options.setPage(2);
+        ApiWrapperList<ApiPersonDTO> wrapper = new ApiWrapperList<>(options);
+        jsonApiStorageService.getPersonList(wrapper, options);
+    }
+}
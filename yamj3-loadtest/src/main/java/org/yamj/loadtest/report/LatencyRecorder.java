@@ -0,0 +1,75 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.report;
+
+import java.util.Arrays;
+
+/**
+ * Records latencies in milliseconds and calculates exact percentiles.
+ */
+public final class LatencyRecorder {
+
+    private long[] values = new long[256];
+    private int count = 0;
+
+    public synchronized void record(long millis) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = millis;
+    }
+
+    public synchronized void recordSince(long startMillis) {
+        record(System.currentTimeMillis() - startMillis);
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Get a snapshot of the sorted values.
+     *
+     * @return the sorted values
+     */
+    public synchronized long[] getSortedValues() {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Get the value of the given percentile by the nearest rank method.
+     *
+     * @param sorted the sorted values
+     * @param percentile the percentile between 0 and 1
+     * @return the value; 0 if no values are given
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import org.slf4j.Logger;
+
+/**
+ * Result of a load test run, which can be logged as table and written as JSON.
+ */
+public class LoadTestReport {
+
+    private static final String ROW_FORMAT = "%-50s %8s %10s %8s %8s %8s %8s %8s";
+    private final Map<String, Object> sections = new LinkedHashMap<>();
+
+    public void put(String section, Object value) {
+        sections.put(section, value);
+    }
+
+    /**
+     * Summarize the recorded latencies.
+     *
+     * @param name the name of the measured operation
+     * @param recorder the recorded latencies
+     * @param elapsedMillis the time span of the measurement, used for the throughput
+     * @return the count, throughput per second and latency statistics in milliseconds
+     */
+    public static Map<String, Object> summarize(String name, LatencyRecorder recorder, long elapsedMillis) {
+        final long[] sorted = recorder.getSortedValues();
+        long sum = 0;
+        for (long value : sorted) {
+            sum += value;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("count", sorted.length);
+        result.put("throughput", elapsedMillis > 0 ? round(sorted.length * 1000d / elapsedMillis) : 0d);
+        result.put("mean", sorted.length > 0 ? round((double) sum / sorted.length) : 0d);
+        result.put("p50", LatencyRecorder.percentile(sorted, 0.5d));
+        result.put("p95", LatencyRecorder.percentile(sorted, 0.95d));
+        result.put("p99", LatencyRecorder.percentile(sorted, 0.99d));
+        result.put("max", sorted.length > 0 ? sorted[sorted.length - 1] : 0L);
+        return result;
+    }
+
+    /**
+     * Log all sections; lists of latency summaries are logged as table.
+     *
+     * @param log
+     */
+    public void print(Logger log) {
+        for (Map.Entry<String, Object> entry : sections.entrySet()) {
+            log.info("--- {} ---", entry.getKey());
+            if (entry.getValue() instanceof Collection) {
+                log.info(String.format(ROW_FORMAT, "name", "count", "per sec", "mean", "p50", "p95", "p99", "max"));
+                for (Object row : (Collection<?>) entry.getValue()) {
+                    printRow(log, row);
+                }
+            } else if (entry.getValue() instanceof Map) {
+                for (Map.Entry<?, ?> value : ((Map<?, ?>) entry.getValue()).entrySet()) {
+                    log.info(String.format("%-50s %s", value.getKey(), value.getValue()));
+                }
+            } else {
+                log.info("{}", entry.getValue());
+            }
+        }
+    }
+
+    public void write(File file) throws IOException {
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, sections);
+    }
+
+    private static void printRow(Logger log, Object row) {
+        if (row instanceof Map) {
+            Map<?, ?> values = (Map<?, ?>) row;
+            log.info(String.format(ROW_FORMAT, cell(values, "name"), cell(values, "count"), cell(values, "throughput"),
+                    cell(values, "mean"), cell(values, "p50"), cell(values, "p95"), cell(values, "p99"), cell(values, "max")));
+        } else {
+            log.info("{}", row);
+        }
+    }
+
+    private static Object cell(Map<?, ?> values, String key) {
+        final Object value = values.get(key);
+        return value == null ? "-" : value;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100d) / 100d;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.report;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Reads the progress of the processing stages from the database.
+ *
+ * Every stage is a table with a status; an element is pending while its status
+ * is NEW or UPDATED. The latency of a finished element is the time from its
+ * creation until its last update.
+ */
+public class StageCollector {
+
+    private static final String PENDING = "status in ('NEW','UPDATED')";
+    private static final Stage[] STAGES = new Stage[]{
+        new Stage("import", "stage_file", "file_type in ('VIDEO','NFO','IMAGE')"),
+        new Stage("metadata movie", "videodata", "episode < 0"),
+        new Stage("metadata episode", "videodata", "episode >= 0"),
+        new Stage("metadata series", "series", null),
+        new Stage("metadata season", "season", null),
+        new Stage("metadata people", "person", null),
+        new Stage("artwork scan", "artwork", null),
+        new Stage("artwork process", "artwork_located", null)
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StageCollector(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Get the number of pending elements of each stage.
+     *
+     * @return the pending elements by stage name
+     */
+    public Map<String, Long> getPendingCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Stage stage : STAGES) {
+            counts.put(stage.name, jdbcTemplate.queryForObject(stage.select("count(*)", PENDING), Long.class));
+        }
+        return counts;
+    }
+
+    /**
+     * Get the number of finished elements of all stages.
+     *
+     * @return the number of finished elements
+     */
+    public long getFinishedCount() {
+        long count = 0;
+        for (Stage stage : STAGES) {
+            count += jdbcTemplate.queryForObject(stage.select("count(*)", "not " + PENDING), Long.class);
+        }
+        return count;
+    }
+
+    /**
+     * Collect count, throughput and latency percentiles of the finished elements of each stage.
+     *
+     * @return the stage results
+     */
+    public List<Map<String, Object>> collect() {
+        final Map<String, Long> pending = getPendingCounts();
+        List<Map<String, Object>> results = new ArrayList<>(STAGES.length);
+
+        for (Stage stage : STAGES) {
+            final LatencyRecorder recorder = new LatencyRecorder();
+            final long[] window = new long[]{Long.MAX_VALUE, Long.MIN_VALUE};
+
+            jdbcTemplate.query(stage.select("create_timestamp, update_timestamp", "not " + PENDING), new RowCallbackHandler() {
+                @Override
+                public void processRow(ResultSet rs) throws SQLException {
+                    final Timestamp created = rs.getTimestamp(1);
+                    Timestamp updated = rs.getTimestamp(2);
+                    if (updated == null) {
+                        updated = created;
+                    }
+                    recorder.record(Math.max(0L, updated.getTime() - created.getTime()));
+                    window[0] = Math.min(window[0], created.getTime());
+                    window[1] = Math.max(window[1], updated.getTime());
+                }
+            });
+
+            Map<String, Object> result = LoadTestReport.summarize(stage.name, recorder, window[1] - window[0]);
+            result.put("pending", pending.get(stage.name));
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static final class Stage {
+
+        private final String name;
+        private final String table;
+        private final String condition;
+
+        Stage(String name, String table, String condition) {
+            this.name = name;
+            this.table = table;
+            this.condition = condition;
+        }
+
+        String select(String columns, String statusCondition) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("select ").append(columns).append(" from ").append(table);
+            sb.append(" where ").append(statusCondition);
+            if (condition != null) {
+                sb.append(" and ").append(condition);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.report;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.yamj.common.dto.ImportDTO;
+import org.yamj.common.remote.service.FileImportService;
+import org.yamj.common.type.StatusType;
+
+/**
+ * Measures the calls of the file scanner to the import service of the core.
+ *
+ * The send latency is the duration of spooling a directory; the import latency
+ * lasts until the file scanner sees the directory imported, so it includes
+ * the poll interval of the file scanner.
+ */
+public class TimingFileImportService implements FileImportService {
+
+    private final FileImportService delegate;
+    private final ConcurrentMap<String, Long> enqueued = new ConcurrentHashMap<>();
+    private final LatencyRecorder sendLatency = new LatencyRecorder();
+    private final LatencyRecorder importLatency = new LatencyRecorder();
+
+    public TimingFileImportService(FileImportService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void importScanned(ImportDTO importDTO) {
+        final long start = System.currentTimeMillis();
+        delegate.importScanned(importDTO);
+        sendLatency.recordSince(start);
+        importLatency.recordSince(start);
+    }
+
+    @Override
+    public String enqueueScanned(ImportDTO importDTO) {
+        final long start = System.currentTimeMillis();
+        final String key = delegate.enqueueScanned(importDTO);
+        sendLatency.recordSince(start);
+        enqueued.put(key, start);
+        return key;
+    }
+
+    @Override
+    public StatusType getImportStatus(String key) {
+        final StatusType status = delegate.getImportStatus(key);
+        if (status != StatusType.NEW) {
+            Long start = enqueued.remove(key);
+            if (start != null) {
+                importLatency.recordSince(start);
+            }
+        }
+        return status;
+    }
+
+    @Override
+    public int getInboxSize() {
+        return delegate.getInboxSize();
+    }
+
+    public LatencyRecorder getSendLatency() {
+        return sendLatency;
+    }
+
+    public LatencyRecorder getImportLatency() {
+        return importLatency;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.stub;
+
+import org.joda.time.DateTime;
+import org.yamj.common.remote.service.GitHubService;
+
+/**
+ * GitHub service which never contacts GitHub, so that the installation check
+ * of the file scanner doesn't depend on the network.
+ */
+public class OfflineGitHubService implements GitHubService {
+
+    @Override
+    public String pushDate() {
+        return "";
+    }
+
+    @Override
+    public String pushDate(String owner, String repository) {
+        return "";
+    }
+
+    @Override
+    public boolean checkInstallationDate(DateTime buildDate, int maxAgeDays) {
+        return true;
+    }
+
+    @Override
+    public boolean checkInstallationDate(String owner, String repository, DateTime buildDate, int maxAgeDays) {
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import org.yamj.benchmarks.fixture.ImageFixtures;
+
+/**
+ * Local HTTP server which delivers the online artwork of the stub scanner.
+ *
+ * A small pool of generated images is served for all requested URLs,
+ * delayed by the configured latency.
+ */
+public class StubImageServer {
+
+    private static final int IMAGE_POOL_SIZE = 8;
+    private final StubLatency latency;
+    private final byte[][] images = new byte[IMAGE_POOL_SIZE][];
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StubImageServer(StubLatency latency, long seed) throws IOException {
+        this.latency = latency;
+        for (int i = 0; i < IMAGE_POOL_SIZE; i++) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ImageIO.write(ImageFixtures.createImage(400, 600, seed + i), "jpg", bos);
+            images[i] = bos.toByteArray();
+        }
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                serve(exchange);
+            }
+        });
+        executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try {
+            final String path = exchange.getRequestURI().getPath();
+            if (!path.toLowerCase().endsWith(".jpg")) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            latency.await(path);
+            final byte[] image = images[(path.hashCode() & Integer.MAX_VALUE) % IMAGE_POOL_SIZE];
+            exchange.getResponseHeaders().set("Content-Type", "image/jpeg");
+            exchange.sendResponseHeaders(200, image.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(image);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.stub;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates the latency of a remote provider.
+ *
+ * The latency of a call only depends on its key, so that runs with the same
+ * settings and library are comparable.
+ */
+public final class StubLatency {
+
+    private final long latency;
+    private final long jitter;
+
+    public StubLatency(long latency, long jitter) {
+        this.latency = Math.max(0, latency);
+        this.jitter = Math.max(0, jitter);
+    }
+
+    /**
+     * Get the latency in milliseconds for the given key.
+     *
+     * @param key
+     * @return the latency
+     */
+    public long getLatency(String key) {
+        if (jitter == 0) {
+            return latency;
+        }
+        final int hash = key == null ? 0 : key.hashCode();
+        return latency + ((hash & Integer.MAX_VALUE) % (jitter + 1));
+    }
+
+    /**
+     * Sleep for the latency of the given key.
+     *
+     * @param key
+     */
+    public void await(String key) {
+        final long millis = getLatency(key);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) { //NOSONAR
+            Thread.currentThread().interrupt();
+        }
+    }
+}
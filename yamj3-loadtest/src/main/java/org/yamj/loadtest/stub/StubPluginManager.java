@@ -0,0 +1,50 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.stub;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import ro.fortsoft.pf4j.DefaultPluginManager;
+
+/**
+ * Plugin manager which delivers the stub scanner instead of the installed plugin extensions.
+ */
+public class StubPluginManager extends DefaultPluginManager {
+
+    private final StubScanner stubScanner;
+
+    public StubPluginManager(File pluginsDirectory, StubScanner stubScanner) {
+        super(pluginsDirectory);
+        this.stubScanner = stubScanner;
+    }
+
+    @Override
+    public <T> List<T> getExtensions(Class<T> type) {
+        List<T> extensions = new ArrayList<>(1);
+        if (type.isInstance(stubScanner)) {
+            extensions.add(type.cast(stubScanner));
+        }
+        return extensions;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.loadtest.stub;
+
+import java.util.*;
+import org.apache.commons.lang3.StringUtils;
+import org.yamj.plugin.api.artwork.*;
+import org.yamj.plugin.api.metadata.MovieScanner;
+import org.yamj.plugin.api.metadata.PersonScanner;
+import org.yamj.plugin.api.metadata.SeriesScanner;
+import org.yamj.plugin.api.model.*;
+import org.yamj.plugin.api.model.type.JobType;
+
+/**
+ * Deterministic in-process replacement for the online metadata and artwork scanners.
+ *
+ * All data is derived from the scanned titles and names, and every call
+ * is delayed by the configured latency to simulate a remote provider.
+ */
+public class StubScanner implements MovieScanner, SeriesScanner, PersonScanner,
+    MovieArtworkScanner, SeriesArtworkScanner, PersonArtworkScanner
+{
+
+    public static final String SCANNER_NAME = "stub";
+    private static final String[] GENRES = new String[]{"Action", "Drama", "Crime", "Thriller", "Comedy"};
+    private static final String[] COUNTRIES = new String[]{"USA", "United Kingdom", "Germany", "France"};
+    private static final String PLOT = "A deterministic plot delivered by the stub scanner for load tests.";
+
+    private final StubLatency latency;
+    private final String imageBaseUrl;
+
+    public StubScanner(StubLatency latency, String imageBaseUrl) {
+        this.latency = latency;
+        this.imageBaseUrl = imageBaseUrl;
+    }
+
+    @Override
+    public String getScannerName() {
+        return SCANNER_NAME;
+    }
+
+    @Override
+    public boolean scanNFO(String nfoContent, IdMap idMap) {
+        // NFO files never contain stub IDs
+        return false;
+    }
+
+    // MOVIES
+
+    @Override
+    public boolean isValidMovieId(String movieId) {
+        return StringUtils.isNotBlank(movieId);
+    }
+
+    @Override
+    public String getMovieId(IMovie movie, boolean throwTempError) {
+        String movieId = movie.getId(SCANNER_NAME);
+        if (StringUtils.isBlank(movieId)) {
+            // simulate the search
+            latency.await("search-movie-" + movie.getTitle());
+            movieId = buildId("m", movie.getTitle() + "|" + movie.getYear());
+            movie.addId(SCANNER_NAME, movieId);
+        }
+        return movieId;
+    }
+
+    @Override
+    public boolean scanMovie(IMovie movie, boolean throwTempError) {
+        final String movieId = movie.getId(SCANNER_NAME);
+        latency.await(movieId);
+
+        final int hash = positiveHash(movieId);
+        movie.setPlot(PLOT);
+        movie.setOutline(PLOT);
+        movie.setTagline("Stub tagline " + hash % 100);
+        movie.setRating(hash % 101);
+        movie.setGenres(Arrays.asList(pick(GENRES, hash), pick(GENRES, hash / 7)));
+        movie.setCountries(Collections.singleton(pick(COUNTRIES, hash)));
+        movie.setStudios(Collections.singleton("Stub Studio " + hash % 10));
+        movie.setRelease(null, new Date(946684800000L + (hash % 7000) * 86400000L));
+        movie.addCredit(JobType.DIRECTOR, "Stub Director " + hash % 50);
+        movie.addCredit(JobType.WRITER, "Stub Writer " + hash % 80);
+        return true;
+    }
+
+    // SERIES
+
+    @Override
+    public boolean isValidSeriesId(String seriesId) {
+        return StringUtils.isNotBlank(seriesId);
+    }
+
+    @Override
+    public String getSeriesId(ISeries series, boolean throwTempError) {
+        String seriesId = series.getId(SCANNER_NAME);
+        if (StringUtils.isBlank(seriesId)) {
+            latency.await("search-series-" + series.getTitle());
+            seriesId = buildId("s", series.getTitle() + "|" + series.getStartYear());
+            series.addId(SCANNER_NAME, seriesId);
+        }
+        return seriesId;
+    }
+
+    @Override
+    public boolean scanSeries(ISeries series, boolean throwTempError) {
+        final String seriesId = series.getId(SCANNER_NAME);
+        latency.await(seriesId);
+
+        final int hash = positiveHash(seriesId);
+        series.setPlot(PLOT);
+        series.setOutline(PLOT);
+        series.setRating(hash % 101);
+        series.setGenres(Collections.singleton(pick(GENRES, hash)));
+        series.setCountries(Collections.singleton(pick(COUNTRIES, hash)));
+        series.setStudios(Collections.singleton("Stub Network " + hash % 10));
+
+        for (ISeason season : series.getSeasons()) {
+            if (season.isDone()) {
+                continue;
+            }
+            // every season is fetched with an own call
+            final String seasonKey = seriesId + "-" + season.getNumber();
+            latency.await(seasonKey);
+
+            season.addId(SCANNER_NAME, seasonKey);
+            season.setTitle(series.getTitle());
+            season.setPlot(PLOT);
+            season.setRating(hash % 101);
+            season.setDone();
+
+            for (IEpisode episode : season.getEpisodes()) {
+                if (episode.isDone()) {
+                    continue;
+                }
+                final String episodeKey = seasonKey + "-" + episode.getNumber();
+                episode.addId(SCANNER_NAME, episodeKey);
+                episode.setTitle("Episode " + episode.getNumber());
+                episode.setPlot(PLOT);
+                episode.setRating(positiveHash(episodeKey) % 101);
+                episode.setRelease(new Date(946684800000L + (positiveHash(episodeKey) % 7000) * 86400000L));
+                episode.addCredit(JobType.DIRECTOR, "Stub Director " + positiveHash(episodeKey) % 50);
+                episode.setDone();
+            }
+        }
+        return true;
+    }
+
+    // PERSONS
+
+    @Override
+    public boolean isValidPersonId(String personId) {
+        return StringUtils.isNotBlank(personId);
+    }
+
+    @Override
+    public String getPersonId(IPerson person, boolean throwTempError) {
+        String personId = person.getId(SCANNER_NAME);
+        if (StringUtils.isBlank(personId)) {
+            latency.await("search-person-" + person.getName());
+            personId = buildId("p", person.getName());
+            person.addId(SCANNER_NAME, personId);
+        }
+        return personId;
+    }
+
+    @Override
+    public boolean scanPerson(IPerson person, boolean throwTempError) {
+        final String personId = person.getId(SCANNER_NAME);
+        latency.await(personId);
+
+        person.setBiography("Biography of " + person.getName() + " delivered by the stub scanner.");
+        person.setBirthPlace(pick(COUNTRIES, positiveHash(personId)));
+        return true;
+    }
+
+    // ARTWORK
+
+    @Override
+    public List<ArtworkDTO> getPosters(IMovie movie) {
+        return artwork("poster", movieKey(movie));
+    }
+
+    @Override
+    public List<ArtworkDTO> getFanarts(IMovie movie) {
+        return artwork("fanart", movieKey(movie));
+    }
+
+    @Override
+    public List<ArtworkDTO> getPosters(ISeason season) {
+        return artwork("poster", seasonKey(season));
+    }
+
+    @Override
+    public List<ArtworkDTO> getPosters(ISeries series) {
+        return artwork("poster", seriesKey(series));
+    }
+
+    @Override
+    public List<ArtworkDTO> getFanarts(ISeason season) {
+        return artwork("fanart", seasonKey(season));
+    }
+
+    @Override
+    public List<ArtworkDTO> getFanarts(ISeries series) {
+        return artwork("fanart", seriesKey(series));
+    }
+
+    @Override
+    public List<ArtworkDTO> getBanners(ISeason season) {
+        return artwork("banner", seasonKey(season));
+    }
+
+    @Override
+    public List<ArtworkDTO> getBanners(ISeries series) {
+        return artwork("banner", seriesKey(series));
+    }
+
+    @Override
+    public List<ArtworkDTO> getVideoImages(IEpisode episode) {
+        return artwork("videoimage", seasonKey(episode.getSeason()) + "-" + episode.getNumber());
+    }
+
+    @Override
+    public List<ArtworkDTO> getPhotos(IPerson person) {
+        return artwork("photo", StringUtils.defaultIfBlank(person.getId(SCANNER_NAME), buildId("p", person.getName())));
+    }
+
+    private List<ArtworkDTO> artwork(String type, String key) {
+        latency.await(type + "-" + key);
+        List<ArtworkDTO> result = new ArrayList<>(1);
+        result.add(new ArtworkDTO(SCANNER_NAME, imageBaseUrl + "/" + type + "/" + key + ".jpg"));
+        return result;
+    }
+
+    private static String movieKey(IMovie movie) {
+        return StringUtils.defaultIfBlank(movie.getId(SCANNER_NAME), buildId("m", movie.getTitle() + "|" + movie.getYear()));
+    }
+
+    private static String seriesKey(ISeries series) {
+        return StringUtils.defaultIfBlank(series.getId(SCANNER_NAME), buildId("s", series.getTitle() + "|" + series.getStartYear()));
+    }
+
+    private static String seasonKey(ISeason season) {
+        return seriesKey(season.getSeries()) + "-" + season.getNumber();
+    }
+
+    private static String buildId(String prefix, String value) {
+        return prefix + Integer.toString(positiveHash(value), 36);
+    }
+
+    private static int positiveHash(String value) {
+        return value == null ? 0 : value.hashCode() & Integer.MAX_VALUE;
+    }
+
+    private static String pick(String[] values, int hash) {
+        return values[hash % values.length];
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.plugin.api.metadata;
+
+/**
+ * Optional extension for metadata scanners which are able to look up
+ * several items in one call.
+ * 
+ * The batch call just fetches the data for the given IDs; the data must be
+ * hold by the scanner until the following single scan of the item requests it.
+ * Items which could not be fetched will be scanned the usual way.
+ */
+public interface BatchScanner extends MetadataScanner {
+
+    /**
+     * Get the maximum number of IDs which can be requested in one call.
+     * 
+     * @return the maximum batch size
+     */
+    int getMaxBatchSize();
+}
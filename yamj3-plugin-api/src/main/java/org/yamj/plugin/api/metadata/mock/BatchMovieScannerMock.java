@@ -0,0 +1,131 @@
+/*
+ *      Copyright (c) 2004-2015 YAMJ Members
+ *      https://github.com/organizations/YAMJ/teams
+ *
+ *      This file is part of the Yet Another Media Jukebox (YAMJ).
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v3
+ *
+ */
+package org.yamj.plugin.api.metadata.mock;
+
+import java.util.*;
+import org.apache.commons.lang3.StringUtils;
+import org.yamj.plugin.api.metadata.BatchMovieScanner;
+import org.yamj.plugin.api.metadata.BatchResult;
+import org.yamj.plugin.api.model.IMovie;
+import org.yamj.plugin.api.model.IdMap;
+import org.yamj.plugin.api.web.TemporaryUnavailableException;
+
+/**
+ * Movie scanner supporting batch lookups; the movie titles are served from
+ * a known map of IDs and titles.
+ */
+public class BatchMovieScannerMock implements BatchMovieScanner {
+
+    private final String scannerName;
+    private final int maxBatchSize;
+    private final Map<String, String> titles = new HashMap<>();
+    private final Map<String, BatchResult> failures = new HashMap<>();
+    private final Map<String, String> prefetched = new HashMap<>();
+    private final List<Collection<String>> batchCalls = new ArrayList<>();
+    private int singleLookups = 0;
+
+    public BatchMovieScannerMock(String scannerName, int maxBatchSize) {
+        this.scannerName = scannerName;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public void addMovie(String movieId, String title) {
+        titles.put(movieId, title);
+    }
+
+    public void setFailure(String movieId, BatchResult result) {
+        failures.put(movieId, result);
+    }
+
+    public List<Collection<String>> getBatchCalls() {
+        return batchCalls;
+    }
+
+    public int getSingleLookups() {
+        return singleLookups;
+    }
+
+    @Override
+    public String getScannerName() {
+        return scannerName;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public Map<String, BatchResult> prefetchMovies(Collection<String> movieIds, boolean throwTempError) {
+        batchCalls.add(new ArrayList<>(movieIds));
+
+        Map<String, BatchResult> results = new HashMap<>();
+        for (String movieId : movieIds) {
+            BatchResult failure = failures.get(movieId);
+            if (failure != null) {
+                results.put(movieId, failure);
+            } else if (titles.containsKey(movieId)) {
+                prefetched.put(movieId, titles.get(movieId));
+                results.put(movieId, BatchResult.OK);
+            } else {
+                results.put(movieId, BatchResult.NOT_FOUND);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public boolean isValidMovieId(String movieId) {
+        return StringUtils.isNotBlank(movieId);
+    }
+
+    @Override
+    public String getMovieId(IMovie movie, boolean throwTempError) {
+        return movie.getId(scannerName);
+    }
+
+    @Override
+    public boolean scanMovie(IMovie movie, boolean throwTempError) {
+        final String movieId = movie.getId(scannerName);
+
+        String title = prefetched.remove(movieId);
+        if (title == null) {
+            singleLookups++;
+            if (throwTempError && BatchResult.TEMPORARY_ERROR.equals(failures.get(movieId))) {
+                throw new TemporaryUnavailableException("Mock scanner temporary not available");
+            }
+            title = titles.get(movieId);
+        }
+
+        if (title == null) {
+            return false;
+        }
+        movie.setTitle(title);
+        return true;
+    }
+
+    @Override
+    public boolean scanNFO(String nfoContent, IdMap idMap) {
+        return false;
+    }
+}